@@ -0,0 +1,85 @@
+package com.aws.sqs.benchmark;
+
+import com.aws.sqs.config.PublisherBatchProperties;
+import com.aws.sqs.config.QueueUrlCacheProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.metrics.QueueMetricsAspect;
+import com.aws.sqs.service.MessageConsumerService;
+import com.aws.sqs.service.MessagePublisherService;
+import com.aws.sqs.service.QueueUrlResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+final class BenchmarkFixtures {
+
+    static final String QUEUE_NAME = "benchmark-queue";
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final QueueMetrics queueMetrics = new QueueMetrics(new SimpleMeterRegistry());
+    final SqsAsyncClient sqsAsyncClient;
+    final QueueUrlResolver queueUrlResolver;
+
+    BenchmarkFixtures(int messageCount, int bodyBytes) throws Exception {
+        this.sqsAsyncClient = new FakeSqsAsyncClient(messages(messageCount, bodyBytes));
+        this.queueUrlResolver = new QueueUrlResolver(sqsAsyncClient, queueMetrics, new QueueUrlCacheProperties(null, null));
+        queueUrlResolver.resolve(QUEUE_NAME).join();
+    }
+
+    MessagePublisherService publisher() {
+        return new MessagePublisherService(
+                sqsAsyncClient,
+                objectMapper,
+                queueUrlResolver,
+                new PublisherBatchProperties(null, null),
+                Optional.empty(),
+                Optional.empty()
+        );
+    }
+
+    MessageConsumerService consumer() {
+        return new MessageConsumerService(
+                sqsAsyncClient,
+                objectMapper,
+                queueUrlResolver,
+                queueMetrics,
+                Runnable::run,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty()
+        );
+    }
+
+    <T> T withMetricsAspect(T target) {
+        var proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new QueueMetricsAspect(queueMetrics));
+        return proxyFactory.getProxy();
+    }
+
+    private List<Message> messages(int count, int bodyBytes) throws Exception {
+        var body = BenchmarkPayloads.jsonBody(objectMapper, bodyBytes);
+        var messages = new ArrayList<Message>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(Message.builder()
+                    .messageId("message-" + i)
+                    .receiptHandle("receipt-handle-" + i)
+                    .body(body)
+                    .attributes(Map.of(
+                            MessageSystemAttributeName.SENT_TIMESTAMP, "1700000000000",
+                            MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1"))
+                    .build());
+        }
+        return messages;
+    }
+}
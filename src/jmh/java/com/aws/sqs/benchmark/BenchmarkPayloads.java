@@ -0,0 +1,30 @@
+package com.aws.sqs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class BenchmarkPayloads {
+
+    private BenchmarkPayloads() {
+    }
+
+    static Map<String, Object> bodyMap(int approximateBytes) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "order-123");
+        body.put("timestamp", "2024-01-01T10:00:00Z");
+        int index = 0;
+        int size = 64;
+        while (size < approximateBytes) {
+            body.put("field" + index, "value-" + index + "-abcdefghijklmnopqrstuvwxyz");
+            size += 48;
+            index++;
+        }
+        return body;
+    }
+
+    static String jsonBody(ObjectMapper objectMapper, int approximateBytes) throws Exception {
+        return objectMapper.writeValueAsString(bodyMap(approximateBytes));
+    }
+}
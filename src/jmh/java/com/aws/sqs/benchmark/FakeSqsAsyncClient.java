@@ -0,0 +1,60 @@
+package com.aws.sqs.benchmark;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+final class FakeSqsAsyncClient implements SqsAsyncClient {
+
+    private final CompletableFuture<SendMessageResponse> sendResponse = CompletableFuture.completedFuture(
+            SendMessageResponse.builder().messageId("00000000-0000-0000-0000-000000000000").build());
+    private final CompletableFuture<DeleteMessageResponse> deleteResponse =
+            CompletableFuture.completedFuture(DeleteMessageResponse.builder().build());
+    private final CompletableFuture<ReceiveMessageResponse> receiveResponse;
+
+    FakeSqsAsyncClient(List<Message> messages) {
+        this.receiveResponse = CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(messages).build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder()
+                .queueUrl("http://localhost:4566/000000000000/" + request.queueName())
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        return sendResponse;
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        return receiveResponse;
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        return deleteResponse;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
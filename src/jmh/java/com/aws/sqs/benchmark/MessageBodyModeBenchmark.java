@@ -0,0 +1,53 @@
+package com.aws.sqs.benchmark;
+
+import com.aws.sqs.model.dto.MessageBodyMode;
+import com.aws.sqs.model.dto.MessageResponse;
+import com.aws.sqs.service.MessageBodies;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBodyModeBenchmark {
+
+    @Param({"256", "16384"})
+    private int bodySize;
+
+    private ObjectMapper objectMapper;
+    private String body;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        body = BenchmarkPayloads.jsonBody(objectMapper, bodySize);
+    }
+
+    @Benchmark
+    public byte[] jsonMode() throws Exception {
+        return serialize(MessageBodyMode.JSON);
+    }
+
+    @Benchmark
+    public byte[] rawMode() throws Exception {
+        return serialize(MessageBodyMode.RAW);
+    }
+
+    private byte[] serialize(MessageBodyMode mode) throws Exception {
+        var response = new MessageResponse(
+                "message-id",
+                "receipt-handle",
+                MessageBodies.toBody(objectMapper, body, mode),
+                Map.of(),
+                Instant.EPOCH
+        );
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
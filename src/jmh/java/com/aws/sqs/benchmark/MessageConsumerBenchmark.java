@@ -0,0 +1,58 @@
+package com.aws.sqs.benchmark;
+
+import com.aws.sqs.model.dto.ConsumeRequest;
+import com.aws.sqs.model.dto.MessageResponse;
+import com.aws.sqs.service.MessageConsumerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConsumerBenchmark {
+
+    @Param({"256", "16384"})
+    private int bodySize;
+
+    private MessageConsumerService consumer;
+    private MessageConsumerService instrumentedConsumer;
+    private MappingJackson2HttpMessageConverter converter;
+    private ConsumeRequest consumeRequest;
+    private List<MessageResponse> responses;
+
+    @Setup
+    public void setUp() throws Exception {
+        var fixtures = new BenchmarkFixtures(10, bodySize);
+        consumer = fixtures.consumer();
+        instrumentedConsumer = fixtures.withMetricsAspect(fixtures.consumer());
+        converter = new MappingJackson2HttpMessageConverter(new ObjectMapper().findAndRegisterModules());
+        consumeRequest = new ConsumeRequest(10, 0);
+        responses = consumer.consumeMessages(BenchmarkFixtures.QUEUE_NAME, consumeRequest).join();
+    }
+
+    @Benchmark
+    public List<MessageResponse> consumeMessages() {
+        return consumer.consumeMessages(BenchmarkFixtures.QUEUE_NAME, consumeRequest).join();
+    }
+
+    @Benchmark
+    public List<MessageResponse> consumeMessagesWithMetricsAspect() {
+        return instrumentedConsumer.consumeMessages(BenchmarkFixtures.QUEUE_NAME, consumeRequest).join();
+    }
+
+    @Benchmark
+    public int serializeConsumeResponse() throws Exception {
+        var output = new MockHttpOutputMessage();
+        converter.write(responses, MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes().length;
+    }
+}
@@ -0,0 +1,49 @@
+package com.aws.sqs.benchmark;
+
+import com.aws.sqs.model.dto.MessageRequest;
+import com.aws.sqs.service.MessagePublisherService;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagePublisherBenchmark {
+
+    @Param({"256", "16384"})
+    private int bodySize;
+
+    private MessagePublisherService publisher;
+    private MessagePublisherService instrumentedPublisher;
+    private MessageRequest messageRequest;
+    private byte[] rawBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        var fixtures = new BenchmarkFixtures(0, bodySize);
+        publisher = fixtures.publisher();
+        instrumentedPublisher = fixtures.withMetricsAspect(fixtures.publisher());
+        messageRequest = new MessageRequest(BenchmarkPayloads.bodyMap(bodySize));
+        rawBody = BenchmarkPayloads.jsonBody(fixtures.objectMapper, bodySize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String publishMessage() {
+        return publisher.publishMessage(BenchmarkFixtures.QUEUE_NAME, messageRequest).join();
+    }
+
+    @Benchmark
+    public String publishMessageWithMetricsAspect() {
+        return instrumentedPublisher.publishMessage(BenchmarkFixtures.QUEUE_NAME, messageRequest).join();
+    }
+
+    @Benchmark
+    public String publishRawMessage() {
+        return publisher.publishRawMessage(BenchmarkFixtures.QUEUE_NAME, rawBody, true, null, null).join();
+    }
+}
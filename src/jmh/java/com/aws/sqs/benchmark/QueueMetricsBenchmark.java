@@ -0,0 +1,72 @@
+package com.aws.sqs.benchmark;
+
+import com.aws.sqs.metrics.QueueMeters;
+import com.aws.sqs.metrics.QueueMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueMetricsBenchmark {
+
+    @Param({"orders"})
+    private String queueName;
+    private String status;
+    private String operation;
+
+    private MeterRegistry meterRegistry;
+    private QueueMetrics queueMetrics;
+    private ConcurrentMap<String, Counter> legacyCounters;
+    private ConcurrentMap<String, Timer> legacyTimers;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queueMetrics = new QueueMetrics(meterRegistry);
+        legacyCounters = new ConcurrentHashMap<>();
+        legacyTimers = new ConcurrentHashMap<>();
+        status = "success";
+        operation = "publish";
+        queueMetrics.forQueue(queueName).processingTimer(operation);
+    }
+
+    @Benchmark
+    public void legacyStringKeys() {
+        var sample = Timer.start(meterRegistry);
+        legacyCounters.computeIfAbsent(queueName + "." + status, key -> Counter.builder("legacy.sent")
+                        .tag("queue_name", queueName)
+                        .tag("status", status)
+                        .register(meterRegistry))
+                .increment();
+        sample.stop(legacyTimers.computeIfAbsent(queueName + "." + operation, key -> Timer.builder("legacy.duration")
+                .tag("queue_name", queueName)
+                .tag("operation", operation)
+                .register(meterRegistry)));
+    }
+
+    @Benchmark
+    public void namedApi() {
+        var sample = queueMetrics.startProcessingTimer();
+        queueMetrics.incrementMessagesSent(queueName, status);
+        queueMetrics.recordProcessingDuration(sample, queueName, operation);
+    }
+
+    @Benchmark
+    public void queueMeters() {
+        var startNanos = System.nanoTime();
+        QueueMeters meters = queueMetrics.forQueue(queueName);
+        meters.messagesSent(true).increment();
+        meters.recordProcessing(operation, startNanos);
+    }
+}
@@ -0,0 +1,14 @@
+package com.aws.sqs;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+public class LoadGeneratorApplication {
+
+    public static void main(String[] args) {
+        var context = new SpringApplicationBuilder(AwsSqsObservabilityApplication.class)
+                .profiles("loadtest")
+                .run(args);
+        System.exit(SpringApplication.exit(context));
+    }
+}
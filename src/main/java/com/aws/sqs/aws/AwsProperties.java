@@ -2,11 +2,75 @@ package com.aws.sqs.aws;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "aws")
 public record AwsProperties(
         String region,
         String endpointUrl,
         String accessKeyId,
-        String secretAccessKey
+        String secretAccessKey,
+        SqsEngine sqsEngine,
+        Transport transport,
+        Boolean sdkMetricsEnabled
 ) {
+
+    public AwsProperties {
+        if (sqsEngine == null) {
+            sqsEngine = SqsEngine.AWS;
+        }
+        if (transport == null) {
+            transport = new Transport(null, null, null, null, null, null, null);
+        }
+        if (sdkMetricsEnabled == null) {
+            sdkMetricsEnabled = true;
+        }
+    }
+
+    public enum SqsEngine {
+        AWS,
+        IN_MEMORY
+    }
+
+    public enum HttpClientType {
+        NETTY,
+        CRT
+    }
+
+    public record Transport(
+            HttpClientType client,
+            Integer maxConcurrency,
+            Integer maxPendingConnectionAcquires,
+            Duration connectionAcquisitionTimeout,
+            Duration connectionTimeout,
+            Duration connectionMaxIdleTime,
+            Boolean tcpKeepAlive
+    ) {
+        public Transport {
+            if (client == null) {
+                client = HttpClientType.NETTY;
+            }
+            if (maxConcurrency == null) {
+                maxConcurrency = 50;
+            }
+            if (maxPendingConnectionAcquires == null) {
+                maxPendingConnectionAcquires = 10_000;
+            }
+            if (connectionAcquisitionTimeout == null) {
+                connectionAcquisitionTimeout = Duration.ofSeconds(10);
+            }
+            if (connectionTimeout == null) {
+                connectionTimeout = Duration.ofSeconds(2);
+            }
+            if (connectionMaxIdleTime == null) {
+                connectionMaxIdleTime = Duration.ofSeconds(60);
+            }
+            if (tcpKeepAlive == null) {
+                tcpKeepAlive = false;
+            }
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("aws.transport.max-concurrency must be at least 1");
+            }
+        }
+    }
 }
@@ -0,0 +1,39 @@
+package com.aws.sqs.aws;
+
+import org.springframework.util.ClassUtils;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+
+import java.time.Duration;
+
+final class CrtHttpClients {
+
+    private static final String CRT_CLIENT_CLASS = "software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient";
+    private static final String CRT_RUNTIME_CLASS = "software.amazon.awssdk.crt.CRT";
+
+    private CrtHttpClients() {
+    }
+
+    static void requireAvailable(ClassLoader classLoader) {
+        if (!ClassUtils.isPresent(CRT_CLIENT_CLASS, classLoader) || !ClassUtils.isPresent(CRT_RUNTIME_CLASS, classLoader)) {
+            throw new IllegalStateException("aws.transport.client is crt, but software.amazon.awssdk:aws-crt-client "
+                    + "and software.amazon.awssdk.crt:aws-crt are not on the classpath; build with -Pcrt "
+                    + "or switch to aws.transport.client: netty");
+        }
+    }
+
+    static SdkAsyncHttpClient.Builder<?> builder(AwsProperties.Transport transport) {
+        var builder = AwsCrtAsyncHttpClient.builder()
+                .maxConcurrency(transport.maxConcurrency())
+                .connectionTimeout(transport.connectionTimeout())
+                .connectionMaxIdleTime(transport.connectionMaxIdleTime());
+        if (transport.tcpKeepAlive()) {
+            builder.tcpKeepAliveConfiguration(TcpKeepAliveConfiguration.builder()
+                    .keepAliveInterval(Duration.ofSeconds(30))
+                    .keepAliveTimeout(Duration.ofSeconds(5))
+                    .build());
+        }
+        return builder;
+    }
+}
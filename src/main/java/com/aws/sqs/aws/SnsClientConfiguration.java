@@ -0,0 +1,42 @@
+package com.aws.sqs.aws;
+
+import com.aws.sqs.aws.memory.InMemorySnsAsyncClient;
+import com.aws.sqs.metrics.SdkMetricsPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.net.URI;
+import java.util.Optional;
+
+@Slf4j
+@Configuration
+public class SnsClientConfiguration {
+
+    @Bean
+    public SnsAsyncClient snsAsyncClient(AwsProperties awsProperties,
+                                         Optional<SdkMetricsPublisher> sdkMetricsPublisher,
+                                         SqsAsyncClient sqsAsyncClient) {
+        if (awsProperties.sqsEngine() == AwsProperties.SqsEngine.IN_MEMORY) {
+            log.warn("Using the in-memory SNS engine; topics only fan out to queues of the in-memory SQS engine");
+            return new InMemorySnsAsyncClient(awsProperties.region(), sqsAsyncClient);
+        }
+
+        var builder = SnsAsyncClient.builder()
+                .region(Region.of(awsProperties.region()))
+                .httpClientBuilder(SqsClientConfiguration.httpClientBuilder("SNS", awsProperties.transport()))
+                .credentialsProvider(SqsClientConfiguration.credentialsProvider(awsProperties));
+
+        if (awsProperties.endpointUrl() != null && !awsProperties.endpointUrl().isEmpty()) {
+            builder.endpointOverride(URI.create(awsProperties.endpointUrl()));
+        }
+
+        sdkMetricsPublisher.ifPresent(publisher ->
+                builder.overrideConfiguration(configuration -> configuration.addMetricPublisher(publisher)));
+
+        return builder.build();
+    }
+}
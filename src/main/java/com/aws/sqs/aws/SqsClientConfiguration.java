@@ -1,40 +1,105 @@
 package com.aws.sqs.aws;
 
+import com.aws.sqs.aws.memory.InMemorySqsAsyncClient;
+import com.aws.sqs.metrics.SdkMetricsPublisher;
+import com.aws.sqs.resilience.GuardedSqsAsyncClient;
+import com.aws.sqs.resilience.SqsCallGuard;
+import com.aws.sqs.resilience.SqsCircuitBreakers;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
 import java.net.URI;
+import java.util.Optional;
 
+@Slf4j
 @Configuration
 @EnableConfigurationProperties(AwsProperties.class)
 public class SqsClientConfiguration {
 
     @Bean
-    public SqsAsyncClient sqsAsyncClient(AwsProperties awsProperties) {
+    public SqsAsyncClient sqsAsyncClient(AwsProperties awsProperties,
+                                         Optional<SdkMetricsPublisher> sdkMetricsPublisher,
+                                         Optional<SqsCallGuard> callGuard,
+                                         Optional<SqsCircuitBreakers> circuitBreakers) {
+        var client = createClient(awsProperties, sdkMetricsPublisher, callGuard.isPresent());
+        if (callGuard.isPresent()) {
+            client = new GuardedSqsAsyncClient(client, callGuard.get());
+        }
+        if (circuitBreakers.isPresent()) {
+            client = new GuardedSqsAsyncClient(client, circuitBreakers.get());
+        }
+        return client;
+    }
+
+    private static SqsAsyncClient createClient(AwsProperties awsProperties,
+                                               Optional<SdkMetricsPublisher> sdkMetricsPublisher,
+                                               boolean guarded) {
+        if (awsProperties.sqsEngine() == AwsProperties.SqsEngine.IN_MEMORY) {
+            log.warn("Using the in-memory SQS engine; messages are not persisted and never leave this process");
+            return new InMemorySqsAsyncClient(awsProperties.region());
+        }
+
         var builder = SqsAsyncClient.builder()
-                .region(Region.of(awsProperties.region()));
+                .region(Region.of(awsProperties.region()))
+                .httpClientBuilder(httpClientBuilder("SQS", awsProperties.transport()))
+                .credentialsProvider(credentialsProvider(awsProperties));
 
         if (awsProperties.endpointUrl() != null && !awsProperties.endpointUrl().isEmpty()) {
             builder.endpointOverride(URI.create(awsProperties.endpointUrl()));
         }
 
+        builder.overrideConfiguration(configuration -> {
+            sdkMetricsPublisher.ifPresent(configuration::addMetricPublisher);
+            if (guarded) {
+                configuration.retryPolicy(RetryPolicy.none());
+            }
+        });
+
+        return builder.build();
+    }
+
+    static AwsCredentialsProvider credentialsProvider(AwsProperties awsProperties) {
         if (awsProperties.accessKeyId() != null && !awsProperties.accessKeyId().isEmpty()
                 && awsProperties.secretAccessKey() != null && !awsProperties.secretAccessKey().isEmpty()) {
             var credentials = AwsBasicCredentials.create(
                     awsProperties.accessKeyId(),
                     awsProperties.secretAccessKey()
             );
-            builder.credentialsProvider(StaticCredentialsProvider.create(credentials));
-        } else {
-            builder.credentialsProvider(DefaultCredentialsProvider.create());
+            return StaticCredentialsProvider.create(credentials);
         }
+        return DefaultCredentialsProvider.create();
+    }
 
-        return builder.build();
+    static SdkAsyncHttpClient.Builder<?> httpClientBuilder(String service, AwsProperties.Transport transport) {
+        log.info("{} transport: {} (maxConcurrency: {}, maxPendingConnectionAcquires: {}, tcpKeepAlive: {})",
+                service, transport.client(), transport.maxConcurrency(), transport.maxPendingConnectionAcquires(),
+                transport.tcpKeepAlive());
+
+        if (transport.client() == AwsProperties.HttpClientType.CRT) {
+            log.warn("{} transport: the crt client does not support max-pending-connection-acquires ({}) "
+                            + "or connection-acquisition-timeout ({}); both settings are ignored",
+                    service, transport.maxPendingConnectionAcquires(), transport.connectionAcquisitionTimeout());
+            CrtHttpClients.requireAvailable(SqsClientConfiguration.class.getClassLoader());
+            return CrtHttpClients.builder(transport);
+        }
+
+        return NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(transport.maxConcurrency())
+                .maxPendingConnectionAcquires(transport.maxPendingConnectionAcquires())
+                .connectionAcquisitionTimeout(transport.connectionAcquisitionTimeout())
+                .connectionTimeout(transport.connectionTimeout())
+                .connectionMaxIdleTime(transport.connectionMaxIdleTime())
+                .tcpKeepAlive(transport.tcpKeepAlive());
     }
 }
@@ -0,0 +1,45 @@
+package com.aws.sqs.aws;
+
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+public final class SqsErrors {
+
+    private SqsErrors() {
+    }
+
+    public static Throwable unwrap(Throwable throwable) {
+        var current = throwable;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    public static boolean isRetryable(Throwable throwable) {
+        var cause = unwrap(throwable);
+        if (cause instanceof AwsServiceException serviceException) {
+            return serviceException.isThrottlingException() || serviceException.statusCode() >= 500;
+        }
+        return cause instanceof SdkClientException;
+    }
+
+    public static String errorCode(Throwable throwable) {
+        var cause = unwrap(throwable);
+        if (cause instanceof AwsServiceException serviceException
+                && serviceException.awsErrorDetails() != null
+                && serviceException.awsErrorDetails().errorCode() != null) {
+            return serviceException.awsErrorDetails().errorCode();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    public static String errorMessage(Throwable throwable) {
+        var cause = unwrap(throwable);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
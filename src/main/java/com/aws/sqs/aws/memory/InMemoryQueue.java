@@ -0,0 +1,504 @@
+package com.aws.sqs.aws.memory;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+final class InMemoryQueue {
+
+    private static final long DEDUPLICATION_WINDOW_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final Pattern DEAD_LETTER_TARGET = Pattern.compile("\"deadLetterTargetArn\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern MAX_RECEIVE_COUNT = Pattern.compile("\"maxReceiveCount\"\\s*:\\s*\"?(\\d+)\"?");
+
+    final String name;
+    final String url;
+    final String arn;
+    final boolean fifo;
+    final long createdTimestampSeconds;
+
+    private final ConcurrentMap<String, String> attributes = new ConcurrentHashMap<>();
+    private final AtomicLong receiptSequence = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<StoredMessage> visible = new ArrayDeque<>();
+    private final LinkedHashMap<String, PriorityQueue<StoredMessage>> groups = new LinkedHashMap<>();
+    private final Map<String, Integer> groupsInFlight = new HashMap<>();
+    private final PriorityQueue<StoredMessage> delayed =
+            new PriorityQueue<>(Comparator.comparingLong(StoredMessage::visibleAtNanos));
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private final PriorityQueue<InFlight> expiries = new PriorityQueue<>(Comparator.comparingLong(InFlight::deadlineNanos));
+    private final LinkedHashMap<String, Deduplicated> deduplication = new LinkedHashMap<>();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private long sequenceNumber;
+    private int visibleCount;
+
+    private volatile int visibilityTimeoutSeconds;
+    private volatile int delaySeconds;
+    private volatile int receiveWaitTimeSeconds;
+    private volatile long retentionNanos;
+    private volatile boolean contentBasedDeduplication;
+    private volatile String deadLetterTargetArn;
+    private volatile int maxReceiveCount;
+
+    InMemoryQueue(String name, String url, String arn, Map<String, String> initialAttributes) {
+        this.name = name;
+        this.url = url;
+        this.arn = arn;
+        this.fifo = name.endsWith(".fifo");
+        this.createdTimestampSeconds = System.currentTimeMillis() / 1000;
+        attributes.put("VisibilityTimeout", "30");
+        attributes.put("DelaySeconds", "0");
+        attributes.put("ReceiveMessageWaitTimeSeconds", "0");
+        attributes.put("MessageRetentionPeriod", "345600");
+        attributes.put("MaximumMessageSize", "262144");
+        if (fifo) {
+            attributes.put("FifoQueue", "true");
+            attributes.put("ContentBasedDeduplication", "false");
+        }
+        setAttributes(initialAttributes);
+    }
+
+    void setAttributes(Map<String, String> updates) {
+        attributes.putAll(updates);
+        visibilityTimeoutSeconds = Integer.parseInt(attributes.get("VisibilityTimeout"));
+        delaySeconds = Integer.parseInt(attributes.get("DelaySeconds"));
+        receiveWaitTimeSeconds = Integer.parseInt(attributes.get("ReceiveMessageWaitTimeSeconds"));
+        retentionNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(attributes.get("MessageRetentionPeriod")));
+        contentBasedDeduplication = Boolean.parseBoolean(attributes.get("ContentBasedDeduplication"));
+
+        var redrivePolicy = attributes.get("RedrivePolicy");
+        if (redrivePolicy == null || redrivePolicy.isBlank()) {
+            deadLetterTargetArn = null;
+            maxReceiveCount = 0;
+        } else {
+            var target = DEAD_LETTER_TARGET.matcher(redrivePolicy);
+            var count = MAX_RECEIVE_COUNT.matcher(redrivePolicy);
+            if (!target.find() || !count.find()) {
+                throw new IllegalArgumentException("Invalid RedrivePolicy: " + redrivePolicy);
+            }
+            deadLetterTargetArn = target.group(1);
+            maxReceiveCount = Integer.parseInt(count.group(1));
+        }
+    }
+
+    Map<String, String> attributes() {
+        var result = new HashMap<>(attributes);
+        lock.lock();
+        try {
+            result.put("ApproximateNumberOfMessages", String.valueOf(visibleCount));
+            result.put("ApproximateNumberOfMessagesNotVisible", String.valueOf(inFlight.size()));
+            result.put("ApproximateNumberOfMessagesDelayed", String.valueOf(delayed.size()));
+        } finally {
+            lock.unlock();
+        }
+        result.put("QueueArn", arn);
+        result.put("CreatedTimestamp", String.valueOf(createdTimestampSeconds));
+        result.put("LastModifiedTimestamp", String.valueOf(createdTimestampSeconds));
+        return result;
+    }
+
+    int visibilityTimeoutSeconds() {
+        return visibilityTimeoutSeconds;
+    }
+
+    int receiveWaitTimeSeconds() {
+        return receiveWaitTimeSeconds;
+    }
+
+    boolean contentBasedDeduplication() {
+        return contentBasedDeduplication;
+    }
+
+    String deadLetterTargetArn() {
+        return deadLetterTargetArn;
+    }
+
+    StoredMessage send(StoredMessage message, Integer messageDelaySeconds, long nowNanos, List<Waiter> ready) {
+        var delay = messageDelaySeconds != null ? messageDelaySeconds : delaySeconds;
+        lock.lock();
+        try {
+            if (fifo) {
+                pruneDeduplication(nowNanos);
+                var duplicate = deduplication.get(message.deduplicationId());
+                if (duplicate != null) {
+                    return duplicate.message();
+                }
+                message = message.withSequenceNumber(String.format("%020d", ++sequenceNumber));
+                deduplication.put(message.deduplicationId(), new Deduplicated(message, nowNanos + DEDUPLICATION_WINDOW_NANOS));
+            }
+            if (delay > 0) {
+                message.visibleAtNanos(nowNanos + TimeUnit.SECONDS.toNanos(delay));
+                delayed.add(message);
+            } else {
+                makeVisible(message);
+                serveWaiters(nowNanos, ready);
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void redriven(StoredMessage message, long nowNanos, List<Waiter> ready) {
+        lock.lock();
+        try {
+            message.resetReceives();
+            makeVisible(message);
+            serveWaiters(nowNanos, ready);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Delivery> receive(ReceiveSpec spec, long nowNanos, List<StoredMessage> redrive) {
+        lock.lock();
+        try {
+            return take(spec, nowNanos, redrive);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Delivery> receiveOrWait(Waiter waiter, long nowNanos, List<StoredMessage> redrive) {
+        lock.lock();
+        try {
+            var deliveries = take(waiter.spec(), nowNanos, redrive);
+            if (deliveries.isEmpty()) {
+                waiters.add(waiter);
+            }
+            return deliveries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean delete(String receiptHandle) {
+        lock.lock();
+        try {
+            var entry = inFlight.remove(receiptHandle);
+            if (entry == null) {
+                return false;
+            }
+            releaseGroup(entry.message());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean changeVisibility(String receiptHandle, int timeoutSeconds, long nowNanos, List<Waiter> ready) {
+        lock.lock();
+        try {
+            var entry = inFlight.get(receiptHandle);
+            if (entry == null) {
+                return false;
+            }
+            if (timeoutSeconds == 0) {
+                inFlight.remove(receiptHandle);
+                releaseGroup(entry.message());
+                makeVisible(entry.message());
+                serveWaiters(nowNanos, ready);
+            } else {
+                var updated = new InFlight(receiptHandle, entry.message(), nowNanos + TimeUnit.SECONDS.toNanos(timeoutSeconds));
+                inFlight.put(receiptHandle, updated);
+                expiries.add(updated);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void purge() {
+        lock.lock();
+        try {
+            visible.clear();
+            groups.clear();
+            groupsInFlight.clear();
+            delayed.clear();
+            inFlight.clear();
+            expiries.clear();
+            visibleCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    List<Waiter> drainWaiters() {
+        lock.lock();
+        try {
+            var drained = new ArrayList<>(waiters);
+            waiters.clear();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void maintain(long nowNanos, List<Waiter> ready, List<Waiter> expired) {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            InFlight next;
+            while ((next = expiries.peek()) != null && next.deadlineNanos() <= nowNanos) {
+                expiries.poll();
+                if (inFlight.get(next.receiptHandle()) == next) {
+                    inFlight.remove(next.receiptHandle());
+                    releaseGroup(next.message());
+                    makeVisible(next.message());
+                }
+            }
+            StoredMessage due;
+            while ((due = delayed.peek()) != null && due.visibleAtNanos() <= nowNanos) {
+                delayed.poll();
+                makeVisible(due);
+            }
+            for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                var waiter = iterator.next();
+                if (waiter.deadlineNanos() <= nowNanos || waiter.future().isDone()) {
+                    iterator.remove();
+                    expired.add(waiter);
+                }
+            }
+            serveWaiters(nowNanos, ready);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void serveWaiters(long nowNanos, List<Waiter> ready) {
+        while (visibleCount > 0 && !waiters.isEmpty()) {
+            var waiter = waiters.poll();
+            if (waiter.future().isDone()) {
+                continue;
+            }
+            var deliveries = take(waiter.spec(), nowNanos, waiter.redrive());
+            if (deliveries.isEmpty()) {
+                waiters.addFirst(waiter);
+                return;
+            }
+            waiter.deliveries().addAll(deliveries);
+            ready.add(waiter);
+        }
+    }
+
+    private List<Delivery> take(ReceiveSpec spec, long nowNanos, List<StoredMessage> redrive) {
+        if (visibleCount == 0) {
+            return List.of();
+        }
+        var deliveries = new ArrayList<Delivery>(spec.maxMessages());
+        var deadline = nowNanos + TimeUnit.SECONDS.toNanos(
+                spec.visibilityTimeoutSeconds() != null ? spec.visibilityTimeoutSeconds() : visibilityTimeoutSeconds);
+
+        if (fifo) {
+            var groupIterator = groups.entrySet().iterator();
+            while (deliveries.size() < spec.maxMessages() && groupIterator.hasNext()) {
+                var group = groupIterator.next();
+                if (groupsInFlight.containsKey(group.getKey())) {
+                    continue;
+                }
+                var messages = group.getValue();
+                StoredMessage message;
+                while (deliveries.size() < spec.maxMessages() && (message = messages.poll()) != null) {
+                    visibleCount--;
+                    deliver(message, deadline, nowNanos, deliveries, redrive);
+                }
+                if (messages.isEmpty()) {
+                    groupIterator.remove();
+                }
+            }
+        } else {
+            StoredMessage message;
+            while (deliveries.size() < spec.maxMessages() && (message = visible.poll()) != null) {
+                visibleCount--;
+                deliver(message, deadline, nowNanos, deliveries, redrive);
+            }
+        }
+        return deliveries;
+    }
+
+    private void deliver(StoredMessage message, long deadline, long nowNanos, List<Delivery> deliveries, List<StoredMessage> redrive) {
+        if (nowNanos - message.sentAtNanos() > retentionNanos) {
+            return;
+        }
+        if (maxReceiveCount > 0 && message.receiveCount() >= maxReceiveCount && deadLetterTargetArn != null) {
+            redrive.add(message);
+            return;
+        }
+        var receiptHandle = message.messageId() + ":" + receiptSequence.incrementAndGet();
+        int receiveCount = message.recordReceive();
+        var entry = new InFlight(receiptHandle, message, deadline);
+        inFlight.put(receiptHandle, entry);
+        expiries.add(entry);
+        if (fifo) {
+            groupsInFlight.merge(message.groupId(), 1, Integer::sum);
+        }
+        deliveries.add(new Delivery(message, receiptHandle, receiveCount, message.firstReceiveTimestamp()));
+    }
+
+    private void makeVisible(StoredMessage message) {
+        visibleCount++;
+        if (fifo) {
+            groups.computeIfAbsent(message.groupId(), key -> new PriorityQueue<>(
+                    Comparator.comparing(StoredMessage::sequenceNumber))).add(message);
+        } else {
+            visible.add(message);
+        }
+    }
+
+    private void releaseGroup(StoredMessage message) {
+        if (fifo) {
+            groupsInFlight.computeIfPresent(message.groupId(), (key, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    private void pruneDeduplication(long nowNanos) {
+        var iterator = deduplication.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAtNanos() <= nowNanos) {
+            iterator.remove();
+        }
+    }
+
+    record ReceiveSpec(
+            int maxMessages,
+            Integer visibilityTimeoutSeconds,
+            List<String> attributeNames,
+            List<String> messageAttributeNames
+    ) {
+    }
+
+    record Delivery(StoredMessage message, String receiptHandle, int receiveCount, long firstReceiveTimestamp) {
+    }
+
+    record Waiter(
+            ReceiveSpec spec,
+            long deadlineNanos,
+            CompletableFuture<List<Delivery>> future,
+            List<Delivery> deliveries,
+            List<StoredMessage> redrive
+    ) {
+    }
+
+    private record InFlight(String receiptHandle, StoredMessage message, long deadlineNanos) {
+    }
+
+    private record Deduplicated(StoredMessage message, long expiresAtNanos) {
+    }
+
+    static final class StoredMessage {
+
+        private final String messageId;
+        private final String body;
+        private final String md5OfBody;
+        private final Map<String, MessageAttributeValue> messageAttributes;
+        private final long sentTimestamp;
+        private final long sentAtNanos;
+        private final String groupId;
+        private final String deduplicationId;
+        private String sequenceNumber;
+        private long visibleAtNanos;
+        private int receiveCount;
+        private long firstReceiveTimestamp;
+
+        StoredMessage(String messageId,
+                      String body,
+                      String md5OfBody,
+                      Map<String, MessageAttributeValue> messageAttributes,
+                      long sentAtNanos,
+                      String groupId,
+                      String deduplicationId) {
+            this.messageId = messageId;
+            this.body = body;
+            this.md5OfBody = md5OfBody;
+            this.messageAttributes = messageAttributes;
+            this.sentTimestamp = System.currentTimeMillis();
+            this.sentAtNanos = sentAtNanos;
+            this.groupId = groupId;
+            this.deduplicationId = deduplicationId;
+        }
+
+        String messageId() {
+            return messageId;
+        }
+
+        String body() {
+            return body;
+        }
+
+        String md5OfBody() {
+            return md5OfBody;
+        }
+
+        Map<String, MessageAttributeValue> messageAttributes() {
+            return messageAttributes;
+        }
+
+        long sentTimestamp() {
+            return sentTimestamp;
+        }
+
+        long sentAtNanos() {
+            return sentAtNanos;
+        }
+
+        String groupId() {
+            return groupId;
+        }
+
+        String deduplicationId() {
+            return deduplicationId;
+        }
+
+        String sequenceNumber() {
+            return sequenceNumber;
+        }
+
+        StoredMessage withSequenceNumber(String sequenceNumber) {
+            this.sequenceNumber = sequenceNumber;
+            return this;
+        }
+
+        long visibleAtNanos() {
+            return visibleAtNanos;
+        }
+
+        void visibleAtNanos(long visibleAtNanos) {
+            this.visibleAtNanos = visibleAtNanos;
+        }
+
+        int receiveCount() {
+            return receiveCount;
+        }
+
+        long firstReceiveTimestamp() {
+            return firstReceiveTimestamp;
+        }
+
+        int recordReceive() {
+            if (receiveCount == 0) {
+                firstReceiveTimestamp = System.currentTimeMillis();
+            }
+            return ++receiveCount;
+        }
+
+        void resetReceives() {
+            receiveCount = 0;
+            firstReceiveTimestamp = 0;
+        }
+    }
+}
@@ -0,0 +1,494 @@
+package com.aws.sqs.aws.memory;
+
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.*;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class InMemorySnsAsyncClient implements SnsAsyncClient {
+
+    private static final String ACCOUNT_ID = "000000000000";
+    private static final String SQS_PROTOCOL = "sqs";
+    private static final int PAGE_SIZE = 100;
+    private static final Pattern TOPIC_NAME = Pattern.compile("[A-Za-z0-9_-]{1,256}|[A-Za-z0-9_-]{1,251}\\.fifo");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String region;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final ConcurrentSkipListMap<String, Topic> topics = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    public InMemorySnsAsyncClient(String region, SqsAsyncClient sqsAsyncClient) {
+        this.region = region;
+        this.sqsAsyncClient = sqsAsyncClient;
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public CompletableFuture<CreateTopicResponse> createTopic(CreateTopicRequest request) {
+        var name = request.name();
+        if (name == null || !TOPIC_NAME.matcher(name).matches()) {
+            return failed(InvalidParameterException.builder(), "InvalidParameter",
+                    "Invalid parameter: Topic Name: " + name);
+        }
+        var attributes = request.hasAttributes() ? request.attributes() : Map.<String, String>of();
+        if (Boolean.parseBoolean(attributes.get("FifoTopic")) != name.endsWith(".fifo")) {
+            return failed(InvalidParameterException.builder(), "InvalidParameter",
+                    "Invalid parameter: Fifo Topic names must end with .fifo and must be made up of only "
+                            + "uppercase and lowercase ASCII letters, numbers, underscores, and hyphens: " + name);
+        }
+        var topic = topics.computeIfAbsent(name, key ->
+                new Topic(key, "arn:aws:sns:" + region + ":" + ACCOUNT_ID + ":" + key, attributes));
+        return CompletableFuture.completedFuture(CreateTopicResponse.builder().topicArn(topic.arn).build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteTopicResponse> deleteTopic(DeleteTopicRequest request) {
+        var topic = topics.remove(name(request.topicArn()));
+        if (topic != null) {
+            topic.subscriptions.forEach(subscription -> subscriptions.remove(subscription.arn));
+        }
+        return CompletableFuture.completedFuture(DeleteTopicResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ListTopicsResponse> listTopics(ListTopicsRequest request) {
+        var candidates = request.nextToken() != null ? topics.tailMap(request.nextToken(), false) : topics;
+        var page = new ArrayList<software.amazon.awssdk.services.sns.model.Topic>(PAGE_SIZE);
+        String nextToken = null;
+        for (var topic : candidates.values()) {
+            if (page.size() == PAGE_SIZE) {
+                nextToken = name(page.getLast().topicArn());
+                break;
+            }
+            page.add(software.amazon.awssdk.services.sns.model.Topic.builder().topicArn(topic.arn).build());
+        }
+        return CompletableFuture.completedFuture(ListTopicsResponse.builder()
+                .topics(page)
+                .nextToken(nextToken)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<GetTopicAttributesResponse> getTopicAttributes(GetTopicAttributesRequest request) {
+        try {
+            var topic = requireTopic(request.topicArn());
+            var attributes = new HashMap<>(topic.attributes);
+            attributes.put("TopicArn", topic.arn);
+            attributes.put("Owner", ACCOUNT_ID);
+            attributes.put("SubscriptionsConfirmed", String.valueOf(topic.subscriptions.size()));
+            attributes.put("SubscriptionsPending", "0");
+            attributes.put("SubscriptionsDeleted", "0");
+            return CompletableFuture.completedFuture(GetTopicAttributesResponse.builder()
+                    .attributes(attributes)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<SubscribeResponse> subscribe(SubscribeRequest request) {
+        try {
+            var topic = requireTopic(request.topicArn());
+            if (!SQS_PROTOCOL.equals(request.protocol())) {
+                throw error(InvalidParameterException.builder(), "InvalidParameter",
+                        "Invalid parameter: Protocol: only sqs endpoints are supported in memory");
+            }
+            if (request.endpoint() == null || !request.endpoint().startsWith("arn:aws:sqs:")) {
+                throw error(InvalidParameterException.builder(), "InvalidParameter",
+                        "Invalid parameter: SQS endpoint ARN: " + request.endpoint());
+            }
+            if (topic.fifo != request.endpoint().endsWith(".fifo")) {
+                throw error(InvalidParameterException.builder(), "InvalidParameter",
+                        "Invalid parameter: FIFO topics can only deliver to FIFO queues and vice versa");
+            }
+            var attributes = request.hasAttributes() ? request.attributes() : Map.<String, String>of();
+            for (var existing : topic.subscriptions) {
+                if (existing.queueArn.equals(request.endpoint())) {
+                    existing.update(attributes);
+                    return CompletableFuture.completedFuture(SubscribeResponse.builder()
+                            .subscriptionArn(existing.arn)
+                            .build());
+                }
+            }
+            var subscription = new Subscription(topic.arn + ":" + UUID.randomUUID(), topic.arn, request.endpoint());
+            subscription.update(attributes);
+            topic.subscriptions.add(subscription);
+            subscriptions.put(subscription.arn, subscription);
+            return CompletableFuture.completedFuture(SubscribeResponse.builder()
+                    .subscriptionArn(subscription.arn)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (IllegalArgumentException e) {
+            return failed(InvalidParameterException.builder(), "InvalidParameter", e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<UnsubscribeResponse> unsubscribe(UnsubscribeRequest request) {
+        var subscription = subscriptions.remove(request.subscriptionArn());
+        if (subscription == null) {
+            return failed(NotFoundException.builder(), "NotFound", "Subscription does not exist");
+        }
+        var topic = topics.get(name(subscription.topicArn));
+        if (topic != null) {
+            topic.subscriptions.remove(subscription);
+        }
+        return CompletableFuture.completedFuture(UnsubscribeResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ListSubscriptionsByTopicResponse> listSubscriptionsByTopic(
+            ListSubscriptionsByTopicRequest request) {
+        try {
+            var topic = requireTopic(request.topicArn());
+            var page = topic.subscriptions.stream()
+                    .map(subscription -> software.amazon.awssdk.services.sns.model.Subscription.builder()
+                            .subscriptionArn(subscription.arn)
+                            .topicArn(subscription.topicArn)
+                            .protocol(SQS_PROTOCOL)
+                            .endpoint(subscription.queueArn)
+                            .owner(ACCOUNT_ID)
+                            .build())
+                    .toList();
+            return CompletableFuture.completedFuture(ListSubscriptionsByTopicResponse.builder()
+                    .subscriptions(page)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<GetSubscriptionAttributesResponse> getSubscriptionAttributes(
+            GetSubscriptionAttributesRequest request) {
+        var subscription = subscriptions.get(request.subscriptionArn());
+        if (subscription == null) {
+            return failed(NotFoundException.builder(), "NotFound", "Subscription does not exist");
+        }
+        var attributes = new HashMap<>(subscription.attributes);
+        attributes.put("SubscriptionArn", subscription.arn);
+        attributes.put("TopicArn", subscription.topicArn);
+        attributes.put("Protocol", SQS_PROTOCOL);
+        attributes.put("Endpoint", subscription.queueArn);
+        attributes.put("Owner", ACCOUNT_ID);
+        attributes.put("PendingConfirmation", "false");
+        attributes.put("ConfirmationWasAuthenticated", "true");
+        return CompletableFuture.completedFuture(GetSubscriptionAttributesResponse.builder()
+                .attributes(attributes)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SetSubscriptionAttributesResponse> setSubscriptionAttributes(
+            SetSubscriptionAttributesRequest request) {
+        var subscription = subscriptions.get(request.subscriptionArn());
+        if (subscription == null) {
+            return failed(NotFoundException.builder(), "NotFound", "Subscription does not exist");
+        }
+        try {
+            var update = new HashMap<String, String>();
+            update.put(request.attributeName(), request.attributeValue());
+            subscription.update(update);
+            return CompletableFuture.completedFuture(SetSubscriptionAttributesResponse.builder().build());
+        } catch (IllegalArgumentException e) {
+            return failed(InvalidParameterException.builder(), "InvalidParameter", e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<PublishResponse> publish(PublishRequest request) {
+        try {
+            var topic = requireTopic(request.topicArn());
+            var messageId = UUID.randomUUID().toString();
+            return deliver(topic, messageId, request.message(), request.messageAttributes(),
+                    request.messageGroupId(), request.messageDeduplicationId())
+                    .thenApply(v -> PublishResponse.builder().messageId(messageId).build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<PublishBatchResponse> publishBatch(PublishBatchRequest request) {
+        try {
+            var topic = requireTopic(request.topicArn());
+            var entries = request.publishBatchRequestEntries();
+            validateBatch(entries);
+
+            var successful = new ArrayList<PublishBatchResultEntry>(entries.size());
+            var failed = new ArrayList<BatchResultErrorEntry>();
+            var deliveries = new ArrayList<CompletableFuture<Void>>(entries.size());
+            for (var entry : entries) {
+                try {
+                    var messageId = UUID.randomUUID().toString();
+                    deliveries.add(deliver(topic, messageId, entry.message(), entry.messageAttributes(),
+                            entry.messageGroupId(), entry.messageDeduplicationId()));
+                    successful.add(PublishBatchResultEntry.builder()
+                            .id(entry.id())
+                            .messageId(messageId)
+                            .build());
+                } catch (AwsServiceException e) {
+                    failed.add(BatchResultErrorEntry.builder()
+                            .id(entry.id())
+                            .code(e.awsErrorDetails().errorCode())
+                            .message(e.awsErrorDetails().errorMessage())
+                            .senderFault(true)
+                            .build());
+                }
+            }
+            return CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+                    .thenApply(v -> PublishBatchResponse.builder()
+                            .successful(successful)
+                            .failed(failed)
+                            .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private CompletableFuture<Void> deliver(Topic topic,
+                                            String messageId,
+                                            String message,
+                                            Map<String, MessageAttributeValue> attributes,
+                                            String messageGroupId,
+                                            String messageDeduplicationId) {
+        if (message == null || message.isEmpty()) {
+            throw error(InvalidParameterException.builder(), "InvalidParameter",
+                    "Invalid parameter: Empty message");
+        }
+        if (SqsBatchLimits.utf8Length(message) > SqsBatchLimits.MAX_PAYLOAD_BYTES) {
+            throw error(InvalidParameterException.builder(), "InvalidParameter",
+                    "Invalid parameter: Message too long");
+        }
+        if (topic.fifo && messageGroupId == null) {
+            throw error(InvalidParameterException.builder(), "InvalidParameter",
+                    "Invalid parameter: The MessageGroupId parameter is required for FIFO topics");
+        }
+        if (topic.fifo && messageDeduplicationId == null) {
+            if (!topic.contentBasedDeduplication) {
+                throw error(InvalidParameterException.builder(), "InvalidParameter",
+                        "Invalid parameter: The topic should either have ContentBasedDeduplication enabled "
+                                + "or MessageDeduplicationId provided explicitly");
+            }
+            messageDeduplicationId = sha256(message);
+        }
+
+        var deliveries = new ArrayList<CompletableFuture<Void>>();
+        for (var subscription : topic.subscriptions) {
+            var filterPolicy = subscription.filterPolicy;
+            if (filterPolicy != null && !filterPolicy.matches(attributes, message)) {
+                continue;
+            }
+            var send = SendMessageRequest.builder()
+                    .messageGroupId(messageGroupId)
+                    .messageDeduplicationId(messageDeduplicationId);
+            if (subscription.rawMessageDelivery) {
+                send.messageBody(message).messageAttributes(toSqsAttributes(attributes));
+            } else {
+                send.messageBody(envelope(topic, messageId, message, attributes));
+            }
+            var queueName = name(subscription.queueArn);
+            deliveries.add(sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build())
+                    .thenCompose(response -> sqsAsyncClient.sendMessage(send.queueUrl(response.queueUrl()).build()))
+                    .handle((response, throwable) -> {
+                        if (throwable != null) {
+                            log.warn("Failed to deliver message {} from topic {} to queue {}",
+                                    messageId, topic.name, queueName, throwable);
+                        }
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new));
+    }
+
+    private static String envelope(Topic topic, String messageId, String message,
+                                   Map<String, MessageAttributeValue> attributes) {
+        ObjectNode envelope = MAPPER.createObjectNode()
+                .put("Type", "Notification")
+                .put("MessageId", messageId)
+                .put("TopicArn", topic.arn)
+                .put("Message", message)
+                .put("Timestamp", Instant.now().toString())
+                .put("SignatureVersion", "1")
+                .put("Signature", "IN-MEMORY")
+                .put("SigningCertURL", "")
+                .put("UnsubscribeURL", "");
+        if (attributes != null && !attributes.isEmpty()) {
+            var messageAttributes = envelope.putObject("MessageAttributes");
+            for (var attribute : attributes.entrySet()) {
+                var value = attribute.getValue();
+                messageAttributes.putObject(attribute.getKey())
+                        .put("Type", value.dataType())
+                        .put("Value", value.stringValue() != null
+                                ? value.stringValue()
+                                : Base64.getEncoder().encodeToString(value.binaryValue().asByteArray()));
+            }
+        }
+        return envelope.toString();
+    }
+
+    private static Map<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue> toSqsAttributes(
+            Map<String, MessageAttributeValue> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return Map.of();
+        }
+        var converted = new HashMap<String, software.amazon.awssdk.services.sqs.model.MessageAttributeValue>(
+                attributes.size() * 2);
+        for (var attribute : attributes.entrySet()) {
+            var value = attribute.getValue();
+            var dataType = value.dataType().startsWith("String.Array") ? "String" : value.dataType();
+            converted.put(attribute.getKey(), software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
+                    .dataType(dataType)
+                    .stringValue(value.stringValue())
+                    .binaryValue(value.binaryValue() != null ? SdkBytes.fromByteArray(value.binaryValue().asByteArray()) : null)
+                    .build());
+        }
+        return converted;
+    }
+
+    private Topic requireTopic(String topicArn) {
+        var topic = topicArn != null ? topics.get(name(topicArn)) : null;
+        if (topic == null || !topic.arn.equals(topicArn)) {
+            throw error(NotFoundException.builder(), "NotFound", "Topic does not exist");
+        }
+        return topic;
+    }
+
+    private static void validateBatch(List<PublishBatchRequestEntry> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw error(EmptyBatchRequestException.builder(), "EmptyBatchRequest",
+                    "The batch request doesn't contain any entries");
+        }
+        if (entries.size() > SqsBatchLimits.MAX_ENTRIES) {
+            throw error(TooManyEntriesInBatchRequestException.builder(), "TooManyEntriesInBatchRequest",
+                    "The batch request contains more entries than permissible: " + entries.size());
+        }
+        var ids = new HashSet<String>();
+        int payloadBytes = 0;
+        for (var entry : entries) {
+            if (!ids.add(entry.id())) {
+                throw error(BatchEntryIdsNotDistinctException.builder(), "BatchEntryIdsNotDistinct",
+                        "Two or more batch entries in the request have the same Id");
+            }
+            payloadBytes += SqsBatchLimits.utf8Length(entry.message());
+        }
+        if (payloadBytes > SqsBatchLimits.MAX_PAYLOAD_BYTES) {
+            throw error(BatchRequestTooLongException.builder(), "BatchRequestTooLong",
+                    "The length of all the messages put together is more than the limit");
+        }
+    }
+
+    private static String name(String arn) {
+        return arn == null ? "" : arn.substring(arn.lastIndexOf(':') + 1);
+    }
+
+    private static <T> CompletableFuture<T> failed(AwsServiceException.Builder builder, String code, String message) {
+        return CompletableFuture.failedFuture(error(builder, code, message));
+    }
+
+    private static AwsServiceException error(AwsServiceException.Builder builder, String code, String message) {
+        return builder
+                .message(message)
+                .statusCode(code.equals("NotFound") ? 404 : 400)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(code)
+                        .errorMessage(message)
+                        .serviceName(SERVICE_NAME)
+                        .build())
+                .build();
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Topic {
+        private final String name;
+        private final String arn;
+        private final boolean fifo;
+        private final boolean contentBasedDeduplication;
+        private final Map<String, String> attributes;
+        private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+        private Topic(String name, String arn, Map<String, String> attributes) {
+            this.name = name;
+            this.arn = arn;
+            this.fifo = name.endsWith(".fifo");
+            this.contentBasedDeduplication = Boolean.parseBoolean(attributes.get("ContentBasedDeduplication"));
+            this.attributes = new HashMap<>(attributes);
+        }
+    }
+
+    private static final class Subscription {
+        private final String arn;
+        private final String topicArn;
+        private final String queueArn;
+        private final Map<String, String> attributes = new ConcurrentHashMap<>();
+        private volatile boolean rawMessageDelivery;
+        private volatile SnsFilterPolicy filterPolicy;
+
+        private Subscription(String arn, String topicArn, String queueArn) {
+            this.arn = arn;
+            this.topicArn = topicArn;
+            this.queueArn = queueArn;
+        }
+
+        private synchronized void update(Map<String, String> updates) {
+            var merged = new HashMap<>(attributes);
+            merged.putAll(updates);
+            var policy = SnsFilterPolicy.parse(merged.get("FilterPolicy"), merged.get("FilterPolicyScope"));
+            attributes.clear();
+            merged.forEach((key, value) -> {
+                if (value != null) {
+                    attributes.put(key, value);
+                }
+            });
+            rawMessageDelivery = Boolean.parseBoolean(attributes.get("RawMessageDelivery"));
+            filterPolicy = policy;
+        }
+    }
+}
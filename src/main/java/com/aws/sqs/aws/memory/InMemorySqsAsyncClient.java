@@ -0,0 +1,617 @@
+package com.aws.sqs.aws.memory;
+
+import com.aws.sqs.aws.memory.InMemoryQueue.Delivery;
+import com.aws.sqs.aws.memory.InMemoryQueue.ReceiveSpec;
+import com.aws.sqs.aws.memory.InMemoryQueue.StoredMessage;
+import com.aws.sqs.aws.memory.InMemoryQueue.Waiter;
+import com.aws.sqs.batch.SqsBatchLimits;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+@Slf4j
+public class InMemorySqsAsyncClient implements SqsAsyncClient {
+
+    private static final String ACCOUNT_ID = "000000000000";
+    private static final String SENDER_ID = "AIDAINMEMORYSQS";
+    private static final String ALL = "All";
+    private static final int MAX_WAIT_TIME_SECONDS = 20;
+    private static final long MAINTENANCE_INTERVAL_MILLIS = 10;
+    private static final Pattern QUEUE_NAME = Pattern.compile("[A-Za-z0-9_-]{1,80}|[A-Za-z0-9_-]{1,75}\\.fifo");
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> digest("MD5"));
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> digest("SHA-256"));
+
+    private final String region;
+    private final String baseUrl;
+    private final ConcurrentSkipListMap<String, InMemoryQueue> queues = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService maintenance;
+    private final ExecutorService completions;
+
+    public InMemorySqsAsyncClient(String region) {
+        this.region = region;
+        this.baseUrl = "http://sqs." + region + ".in-memory/" + ACCOUNT_ID + "/";
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "in-memory-sqs-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.completions = Executors.newVirtualThreadPerTaskExecutor();
+        maintenance.scheduleAtFixedRate(this::maintain, MAINTENANCE_INTERVAL_MILLIS,
+                MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdownNow();
+        for (var queue : queues.values()) {
+            queue.drainWaiters().forEach(waiter -> waiter.future().complete(waiter.deliveries()));
+        }
+        completions.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        var queueName = request.queueName();
+        if (queueName == null || !QUEUE_NAME.matcher(queueName).matches()) {
+            return failed(SqsException.builder(), "InvalidParameterValue",
+                    "Queue name can only include alphanumeric characters, hyphens, or underscores: " + queueName);
+        }
+        var attributes = request.hasAttributes() ? request.attributesAsStrings() : Map.<String, String>of();
+        if (Boolean.parseBoolean(attributes.get("FifoQueue")) != queueName.endsWith(".fifo")) {
+            return failed(SqsException.builder(), "InvalidParameterValue",
+                    "The name of a FIFO queue can only include alphanumeric characters, hyphens, or underscores, "
+                            + "must end with .fifo suffix: " + queueName);
+        }
+        try {
+            var queue = queues.computeIfAbsent(queueName, name -> new InMemoryQueue(
+                    name, baseUrl + name, "arn:aws:sqs:" + region + ":" + ACCOUNT_ID + ":" + name, attributes));
+            return CompletableFuture.completedFuture(CreateQueueResponse.builder().queueUrl(queue.url).build());
+        } catch (IllegalArgumentException e) {
+            return failed(SqsException.builder(), "InvalidAttributeValue", e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        var queue = queues.get(request.queueName());
+        if (queue == null) {
+            return failed(QueueDoesNotExistException.builder(), "AWS.SimpleQueueService.NonExistentQueue",
+                    "The specified queue does not exist: " + request.queueName());
+        }
+        return CompletableFuture.completedFuture(GetQueueUrlResponse.builder().queueUrl(queue.url).build());
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(ListQueuesRequest request) {
+        var prefix = request.queueNamePrefix() != null ? request.queueNamePrefix() : "";
+        var candidates = request.nextToken() != null
+                ? queues.tailMap(request.nextToken(), false)
+                : queues.tailMap(prefix, true);
+        int limit = request.maxResults() != null ? Math.max(1, request.maxResults()) : 1000;
+
+        var urls = new ArrayList<String>();
+        String nextToken = null;
+        for (var entry : candidates.entrySet()) {
+            if (!entry.getKey().startsWith(prefix)) {
+                break;
+            }
+            if (urls.size() == limit) {
+                nextToken = request.maxResults() != null ? queueName(urls.getLast()) : null;
+                break;
+            }
+            urls.add(entry.getValue().url);
+        }
+        return CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                .queueUrls(urls)
+                .nextToken(nextToken)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(DeleteQueueRequest request) {
+        var queue = queues.remove(queueName(request.queueUrl()));
+        if (queue == null) {
+            return nonExistentQueue(request.queueUrl());
+        }
+        queue.drainWaiters().forEach(waiter -> completions.execute(() -> waiter.future().complete(waiter.deliveries())));
+        return CompletableFuture.completedFuture(DeleteQueueResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(PurgeQueueRequest request) {
+        var queue = queues.get(queueName(request.queueUrl()));
+        if (queue == null) {
+            return nonExistentQueue(request.queueUrl());
+        }
+        queue.purge();
+        return CompletableFuture.completedFuture(PurgeQueueResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        var queue = queues.get(queueName(request.queueUrl()));
+        if (queue == null) {
+            return nonExistentQueue(request.queueUrl());
+        }
+        var attributes = queue.attributes();
+        var requested = request.hasAttributeNames() ? request.attributeNamesAsStrings() : List.<String>of();
+        if (!requested.contains(ALL)) {
+            attributes.keySet().retainAll(new HashSet<>(requested));
+        }
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributesWithStrings(attributes)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        var queue = queues.get(queueName(request.queueUrl()));
+        if (queue == null) {
+            return nonExistentQueue(request.queueUrl());
+        }
+        try {
+            queue.setAttributes(request.attributesAsStrings());
+            return CompletableFuture.completedFuture(SetQueueAttributesResponse.builder().build());
+        } catch (IllegalArgumentException e) {
+            return failed(SqsException.builder(), "InvalidAttributeValue", e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            var message = send(queue, request.messageBody(), request.messageAttributes(), request.delaySeconds(),
+                    request.messageGroupId(), request.messageDeduplicationId());
+            return CompletableFuture.completedFuture(SendMessageResponse.builder()
+                    .messageId(message.messageId())
+                    .md5OfMessageBody(message.md5OfBody())
+                    .sequenceNumber(message.sequenceNumber())
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            var entries = request.entries();
+            validateBatch(entries.stream().map(SendMessageBatchRequestEntry::id).toList());
+            int payloadBytes = 0;
+            for (var entry : entries) {
+                payloadBytes += SqsBatchLimits.utf8Length(entry.messageBody()) + attributesSize(entry.messageAttributes());
+            }
+            if (payloadBytes > SqsBatchLimits.MAX_PAYLOAD_BYTES) {
+                throw error(BatchRequestTooLongException.builder(), "AWS.SimpleQueueService.BatchRequestTooLong",
+                        "Batch requests cannot be longer than " + SqsBatchLimits.MAX_PAYLOAD_BYTES + " bytes");
+            }
+
+            var successful = new ArrayList<SendMessageBatchResultEntry>(entries.size());
+            var failed = new ArrayList<BatchResultErrorEntry>();
+            for (var entry : entries) {
+                try {
+                    var message = send(queue, entry.messageBody(), entry.messageAttributes(), entry.delaySeconds(),
+                            entry.messageGroupId(), entry.messageDeduplicationId());
+                    successful.add(SendMessageBatchResultEntry.builder()
+                            .id(entry.id())
+                            .messageId(message.messageId())
+                            .md5OfMessageBody(message.md5OfBody())
+                            .sequenceNumber(message.sequenceNumber())
+                            .build());
+                } catch (AwsServiceException e) {
+                    failed.add(errorEntry(entry.id(), e));
+                }
+            }
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                    .successful(successful)
+                    .failed(failed)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        InMemoryQueue queue;
+        try {
+            queue = requireQueue(request.queueUrl());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        int maxMessages = request.maxNumberOfMessages() != null ? request.maxNumberOfMessages() : 1;
+        int waitTimeSeconds = request.waitTimeSeconds() != null
+                ? request.waitTimeSeconds()
+                : queue.receiveWaitTimeSeconds();
+        if (maxMessages < 1 || maxMessages > SqsBatchLimits.MAX_ENTRIES) {
+            return failed(SqsException.builder(), "InvalidParameterValue",
+                    "MaxNumberOfMessages must be between 1 and 10: " + maxMessages);
+        }
+        if (waitTimeSeconds < 0 || waitTimeSeconds > MAX_WAIT_TIME_SECONDS) {
+            return failed(SqsException.builder(), "InvalidParameterValue",
+                    "WaitTimeSeconds must be between 0 and 20: " + waitTimeSeconds);
+        }
+
+        var spec = new ReceiveSpec(
+                maxMessages,
+                request.visibilityTimeout(),
+                request.hasAttributeNames() ? request.attributeNamesAsStrings() : List.of(),
+                request.hasMessageAttributeNames() ? request.messageAttributeNames() : List.of());
+        var now = System.nanoTime();
+        var redrive = new ArrayList<StoredMessage>();
+
+        if (waitTimeSeconds == 0) {
+            var deliveries = queue.receive(spec, now, redrive);
+            redrive(queue, redrive);
+            return CompletableFuture.completedFuture(toResponse(queue, spec, deliveries));
+        }
+
+        var waiter = new Waiter(spec, now + TimeUnit.SECONDS.toNanos(waitTimeSeconds),
+                new CompletableFuture<>(), new ArrayList<>(), redrive);
+        var deliveries = queue.receiveOrWait(waiter, now, redrive);
+        if (!deliveries.isEmpty()) {
+            redrive(queue, redrive);
+            return CompletableFuture.completedFuture(toResponse(queue, spec, deliveries));
+        }
+        return waiter.future().thenApply(delivered -> toResponse(queue, spec, delivered));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            requireReceiptHandle(request.receiptHandle());
+            queue.delete(request.receiptHandle());
+            return CompletableFuture.completedFuture(DeleteMessageResponse.builder().build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            validateBatch(request.entries().stream().map(DeleteMessageBatchRequestEntry::id).toList());
+
+            var successful = new ArrayList<DeleteMessageBatchResultEntry>(request.entries().size());
+            var failed = new ArrayList<BatchResultErrorEntry>();
+            for (var entry : request.entries()) {
+                try {
+                    requireReceiptHandle(entry.receiptHandle());
+                    queue.delete(entry.receiptHandle());
+                    successful.add(DeleteMessageBatchResultEntry.builder().id(entry.id()).build());
+                } catch (AwsServiceException e) {
+                    failed.add(errorEntry(entry.id(), e));
+                }
+            }
+            return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                    .successful(successful)
+                    .failed(failed)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(
+            ChangeMessageVisibilityRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            changeVisibility(queue, request.receiptHandle(), request.visibilityTimeout());
+            return CompletableFuture.completedFuture(ChangeMessageVisibilityResponse.builder().build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+        try {
+            var queue = requireQueue(request.queueUrl());
+            validateBatch(request.entries().stream().map(ChangeMessageVisibilityBatchRequestEntry::id).toList());
+
+            var successful = new ArrayList<ChangeMessageVisibilityBatchResultEntry>(request.entries().size());
+            var failed = new ArrayList<BatchResultErrorEntry>();
+            for (var entry : request.entries()) {
+                try {
+                    changeVisibility(queue, entry.receiptHandle(), entry.visibilityTimeout());
+                    successful.add(ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build());
+                } catch (AwsServiceException e) {
+                    failed.add(errorEntry(entry.id(), e));
+                }
+            }
+            return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder()
+                    .successful(successful)
+                    .failed(failed)
+                    .build());
+        } catch (AwsServiceException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private StoredMessage send(InMemoryQueue queue,
+                               String body,
+                               Map<String, MessageAttributeValue> attributes,
+                               Integer delaySeconds,
+                               String groupId,
+                               String deduplicationId) {
+        if (body == null || body.isEmpty()) {
+            throw error(SqsException.builder(), "MissingParameter", "The request must contain the parameter MessageBody");
+        }
+        if (SqsBatchLimits.utf8Length(body) + attributesSize(attributes) > SqsBatchLimits.MAX_PAYLOAD_BYTES) {
+            throw error(SqsException.builder(), "InvalidParameterValue",
+                    "Message must be shorter than " + SqsBatchLimits.MAX_PAYLOAD_BYTES + " bytes");
+        }
+        if (queue.fifo) {
+            if (groupId == null || groupId.isEmpty()) {
+                throw error(SqsException.builder(), "MissingParameter",
+                        "The request must contain the parameter MessageGroupId");
+            }
+            if (deduplicationId == null) {
+                if (!queue.contentBasedDeduplication()) {
+                    throw error(SqsException.builder(), "InvalidParameterValue",
+                            "The queue should either have ContentBasedDeduplication enabled "
+                                    + "or MessageDeduplicationId provided explicitly");
+                }
+                deduplicationId = hex(SHA_256.get(), body);
+            }
+        }
+
+        var random = ThreadLocalRandom.current();
+        var message = new StoredMessage(
+                new UUID(random.nextLong(), random.nextLong()).toString(),
+                body,
+                hex(MD5.get(), body),
+                attributes != null ? attributes : Map.of(),
+                System.nanoTime(),
+                queue.fifo ? groupId : null,
+                queue.fifo ? deduplicationId : null);
+
+        var ready = new ArrayList<Waiter>();
+        var stored = queue.send(message, queue.fifo ? null : delaySeconds, System.nanoTime(), ready);
+        complete(queue, ready);
+        return stored;
+    }
+
+    private void changeVisibility(InMemoryQueue queue, String receiptHandle, Integer visibilityTimeout) {
+        requireReceiptHandle(receiptHandle);
+        int timeout = visibilityTimeout != null ? visibilityTimeout : 0;
+        if (timeout < 0 || timeout > TimeUnit.HOURS.toSeconds(12)) {
+            throw error(SqsException.builder(), "InvalidParameterValue",
+                    "VisibilityTimeout must be between 0 and 43200: " + timeout);
+        }
+        var ready = new ArrayList<Waiter>();
+        if (!queue.changeVisibility(receiptHandle, timeout, System.nanoTime(), ready)) {
+            throw error(MessageNotInflightException.builder(), "AWS.SimpleQueueService.MessageNotInflight",
+                    "Message does not exist or is not available for visibility timeout change");
+        }
+        complete(queue, ready);
+    }
+
+    private void maintain() {
+        try {
+            var now = System.nanoTime();
+            for (var queue : queues.values()) {
+                var ready = new ArrayList<Waiter>();
+                var expired = new ArrayList<Waiter>();
+                queue.maintain(now, ready, expired);
+                complete(queue, ready);
+                complete(queue, expired);
+            }
+        } catch (RuntimeException e) {
+            log.warn("In-memory SQS maintenance failed", e);
+        }
+    }
+
+    private void complete(InMemoryQueue queue, List<Waiter> waiters) {
+        for (var waiter : waiters) {
+            redrive(queue, waiter.redrive());
+            completions.execute(() -> waiter.future().complete(waiter.deliveries()));
+        }
+    }
+
+    private void redrive(InMemoryQueue queue, List<StoredMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        var targetArn = queue.deadLetterTargetArn();
+        var target = targetArn != null ? queues.get(targetArn.substring(targetArn.lastIndexOf(':') + 1)) : null;
+        if (target == null) {
+            log.warn("Dead-letter queue {} of {} does not exist, returning {} messages to the source queue",
+                    targetArn, queue.name, messages.size());
+            target = queue;
+        }
+        var ready = new ArrayList<Waiter>();
+        var now = System.nanoTime();
+        for (var message : messages) {
+            target.redriven(message, now, ready);
+        }
+        messages.clear();
+        complete(target, ready);
+    }
+
+    private ReceiveMessageResponse toResponse(InMemoryQueue queue, ReceiveSpec spec, List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return ReceiveMessageResponse.builder().messages(List.of()).build();
+        }
+        var messages = new ArrayList<Message>(deliveries.size());
+        for (var delivery : deliveries) {
+            var stored = delivery.message();
+            var builder = Message.builder()
+                    .messageId(stored.messageId())
+                    .receiptHandle(delivery.receiptHandle())
+                    .body(stored.body())
+                    .md5OfBody(stored.md5OfBody());
+            if (!spec.attributeNames().isEmpty()) {
+                builder.attributesWithStrings(systemAttributes(queue, spec.attributeNames(), delivery));
+            }
+            if (!spec.messageAttributeNames().isEmpty() && !stored.messageAttributes().isEmpty()) {
+                builder.messageAttributes(messageAttributes(spec.messageAttributeNames(), stored.messageAttributes()));
+            }
+            messages.add(builder.build());
+        }
+        return ReceiveMessageResponse.builder().messages(messages).build();
+    }
+
+    private Map<String, String> systemAttributes(InMemoryQueue queue, List<String> names, Delivery delivery) {
+        var stored = delivery.message();
+        var all = new HashMap<String, String>();
+        all.put("SenderId", SENDER_ID);
+        all.put("SentTimestamp", String.valueOf(stored.sentTimestamp()));
+        all.put("ApproximateReceiveCount", String.valueOf(delivery.receiveCount()));
+        all.put("ApproximateFirstReceiveTimestamp", String.valueOf(delivery.firstReceiveTimestamp()));
+        if (queue.fifo) {
+            all.put("MessageGroupId", stored.groupId());
+            all.put("MessageDeduplicationId", stored.deduplicationId());
+            all.put("SequenceNumber", stored.sequenceNumber());
+        }
+        if (!names.contains(ALL)) {
+            all.keySet().retainAll(new HashSet<>(names));
+        }
+        return all;
+    }
+
+    private Map<String, MessageAttributeValue> messageAttributes(List<String> names,
+                                                                 Map<String, MessageAttributeValue> attributes) {
+        if (names.contains(ALL) || names.contains(".*")) {
+            return attributes;
+        }
+        var selected = new HashMap<String, MessageAttributeValue>();
+        for (var attribute : attributes.entrySet()) {
+            for (var name : names) {
+                var matches = name.endsWith(".*")
+                        ? attribute.getKey().startsWith(name.substring(0, name.length() - 1))
+                        : attribute.getKey().equals(name);
+                if (matches) {
+                    selected.put(attribute.getKey(), attribute.getValue());
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private InMemoryQueue requireQueue(String queueUrl) {
+        var queue = queueUrl != null ? queues.get(queueName(queueUrl)) : null;
+        if (queue == null) {
+            throw error(QueueDoesNotExistException.builder(), "AWS.SimpleQueueService.NonExistentQueue",
+                    "The specified queue does not exist: " + queueUrl);
+        }
+        return queue;
+    }
+
+    private static void requireReceiptHandle(String receiptHandle) {
+        if (receiptHandle == null || receiptHandle.indexOf(':') < 0) {
+            throw error(ReceiptHandleIsInvalidException.builder(), "ReceiptHandleIsInvalid",
+                    "The input receipt handle is invalid: " + receiptHandle);
+        }
+    }
+
+    private static void validateBatch(List<String> ids) {
+        if (ids.isEmpty()) {
+            throw error(EmptyBatchRequestException.builder(), "AWS.SimpleQueueService.EmptyBatchRequest",
+                    "There should be at least one entry in the request");
+        }
+        if (ids.size() > SqsBatchLimits.MAX_ENTRIES) {
+            throw error(TooManyEntriesInBatchRequestException.builder(),
+                    "AWS.SimpleQueueService.TooManyEntriesInBatchRequest",
+                    "Maximum number of entries per request are " + SqsBatchLimits.MAX_ENTRIES + ": " + ids.size());
+        }
+        if (new HashSet<>(ids).size() != ids.size()) {
+            throw error(BatchEntryIdsNotDistinctException.builder(), "AWS.SimpleQueueService.BatchEntryIdsNotDistinct",
+                    "Two or more batch entries in the request have the same Id");
+        }
+    }
+
+    private static int attributesSize(Map<String, MessageAttributeValue> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return 0;
+        }
+        int size = 0;
+        for (var attribute : attributes.entrySet()) {
+            var value = attribute.getValue();
+            size += SqsBatchLimits.utf8Length(attribute.getKey())
+                    + SqsBatchLimits.utf8Length(value.dataType())
+                    + SqsBatchLimits.utf8Length(value.stringValue())
+                    + (value.binaryValue() != null ? value.binaryValue().asByteArray().length : 0);
+        }
+        return size;
+    }
+
+    private static BatchResultErrorEntry errorEntry(String id, AwsServiceException exception) {
+        return BatchResultErrorEntry.builder()
+                .id(id)
+                .code(exception.awsErrorDetails().errorCode())
+                .message(exception.awsErrorDetails().errorMessage())
+                .senderFault(true)
+                .build();
+    }
+
+    private static String queueName(String queueUrl) {
+        return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
+    }
+
+    private static <T> CompletableFuture<T> nonExistentQueue(String queueUrl) {
+        return failed(QueueDoesNotExistException.builder(), "AWS.SimpleQueueService.NonExistentQueue",
+                "The specified queue does not exist: " + queueUrl);
+    }
+
+    private static <T> CompletableFuture<T> failed(AwsServiceException.Builder builder, String code, String message) {
+        return CompletableFuture.failedFuture(error(builder, code, message));
+    }
+
+    private static AwsServiceException error(AwsServiceException.Builder builder, String code, String message) {
+        return builder
+                .message(message)
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(code)
+                        .errorMessage(message)
+                        .serviceName(SERVICE_NAME)
+                        .build())
+                .build();
+    }
+
+    private static String hex(MessageDigest digest, String value) {
+        return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.aws.sqs.aws.memory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+final class SnsFilterPolicy {
+
+    static final String SCOPE_ATTRIBUTES = "MessageAttributes";
+    static final String SCOPE_BODY = "MessageBody";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Set<String> OPERATORS =
+            Set.of("prefix", "suffix", "equals-ignore-case", "anything-but", "exists", "numeric");
+
+    private final ObjectNode policy;
+    private final boolean bodyScope;
+
+    private SnsFilterPolicy(ObjectNode policy, boolean bodyScope) {
+        this.policy = policy;
+        this.bodyScope = bodyScope;
+    }
+
+    static SnsFilterPolicy parse(String json, String scope) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        if (scope != null && !scope.equals(SCOPE_ATTRIBUTES) && !scope.equals(SCOPE_BODY)) {
+            throw new IllegalArgumentException("Invalid FilterPolicyScope: " + scope);
+        }
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid filter policy: " + e.getOriginalMessage());
+        }
+        if (!(root instanceof ObjectNode object) || object.isEmpty()) {
+            throw new IllegalArgumentException("Filter policy must be a non-empty JSON object");
+        }
+        validate(object);
+        return new SnsFilterPolicy(object, SCOPE_BODY.equals(scope));
+    }
+
+    boolean matches(Map<String, MessageAttributeValue> attributes, String message) {
+        if (!bodyScope) {
+            return matches(policy, toDocument(attributes));
+        }
+        try {
+            return matches(policy, MAPPER.readTree(message));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private static void validate(ObjectNode node) {
+        for (var field : node.properties()) {
+            var condition = field.getValue();
+            if (condition instanceof ObjectNode nested) {
+                validate(nested);
+            } else if (condition.isArray()) {
+                for (var alternative : condition) {
+                    if (alternative.isObject()) {
+                        var operator = alternative.fieldNames().hasNext() ? alternative.fieldNames().next() : "";
+                        if (alternative.size() != 1 || !OPERATORS.contains(operator)) {
+                            throw new IllegalArgumentException("Unrecognized match type " + alternative);
+                        }
+                    }
+                }
+            } else {
+                throw new IllegalArgumentException("Match value for " + field.getKey() + " must be an array");
+            }
+        }
+    }
+
+    private static boolean matches(ObjectNode policy, JsonNode document) {
+        for (var field : policy.properties()) {
+            var value = document != null && document.isObject() ? document.get(field.getKey()) : null;
+            var condition = field.getValue();
+            boolean matched = condition instanceof ObjectNode nested
+                    ? matches(nested, value)
+                    : matchesAny(condition, value);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAny(JsonNode alternatives, JsonNode value) {
+        for (var alternative : alternatives) {
+            if (alternative.isObject() && alternative.has("exists")) {
+                if (alternative.get("exists").asBoolean() == (value != null && !value.isNull())) {
+                    return true;
+                }
+                continue;
+            }
+            if (value == null) {
+                continue;
+            }
+            if (value.isArray()) {
+                for (var element : value) {
+                    if (matchesOne(alternative, element)) {
+                        return true;
+                    }
+                }
+            } else if (matchesOne(alternative, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesOne(JsonNode condition, JsonNode value) {
+        if (!condition.isObject()) {
+            return equalTo(condition, value);
+        }
+        var operator = condition.fieldNames().next();
+        var operand = condition.get(operator);
+        return switch (operator) {
+            case "prefix" -> value.isTextual() && value.textValue().startsWith(operand.asText());
+            case "suffix" -> value.isTextual() && value.textValue().endsWith(operand.asText());
+            case "equals-ignore-case" -> value.isTextual() && value.textValue().equalsIgnoreCase(operand.asText());
+            case "anything-but" -> anythingBut(operand, value);
+            case "numeric" -> numeric(operand, value);
+            default -> false;
+        };
+    }
+
+    private static boolean anythingBut(JsonNode operand, JsonNode value) {
+        if (operand.isObject() && operand.has("prefix")) {
+            return value.isTextual() && !value.textValue().startsWith(operand.get("prefix").asText());
+        }
+        if (operand.isArray()) {
+            for (var excluded : operand) {
+                if (equalTo(excluded, value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return !equalTo(operand, value);
+    }
+
+    private static boolean numeric(JsonNode operand, JsonNode value) {
+        if (!value.isNumber() || !operand.isArray() || operand.size() % 2 != 0) {
+            return false;
+        }
+        var actual = value.decimalValue();
+        for (int i = 0; i < operand.size(); i += 2) {
+            int comparison = actual.compareTo(operand.get(i + 1).decimalValue());
+            boolean satisfied = switch (operand.get(i).asText()) {
+                case "=" -> comparison == 0;
+                case "<" -> comparison < 0;
+                case "<=" -> comparison <= 0;
+                case ">" -> comparison > 0;
+                case ">=" -> comparison >= 0;
+                default -> false;
+            };
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalTo(JsonNode expected, JsonNode value) {
+        if (expected.isNumber() && value.isNumber()) {
+            return expected.decimalValue().compareTo(value.decimalValue()) == 0;
+        }
+        return expected.equals(value);
+    }
+
+    private static ObjectNode toDocument(Map<String, MessageAttributeValue> attributes) {
+        var document = JsonNodeFactory.instance.objectNode();
+        if (attributes == null) {
+            return document;
+        }
+        for (var attribute : attributes.entrySet()) {
+            var value = attribute.getValue();
+            if (value.stringValue() == null) {
+                continue;
+            }
+            var dataType = value.dataType() != null ? value.dataType() : "String";
+            if (dataType.startsWith("Number")) {
+                try {
+                    document.set(attribute.getKey(), DecimalNode.valueOf(new BigDecimal(value.stringValue())));
+                } catch (NumberFormatException e) {
+                    document.put(attribute.getKey(), value.stringValue());
+                }
+            } else if (dataType.startsWith("String.Array")) {
+                try {
+                    document.set(attribute.getKey(), MAPPER.readTree(value.stringValue()));
+                } catch (JsonProcessingException e) {
+                    document.put(attribute.getKey(), value.stringValue());
+                }
+            } else {
+                document.put(attribute.getKey(), value.stringValue());
+            }
+        }
+        return document;
+    }
+}
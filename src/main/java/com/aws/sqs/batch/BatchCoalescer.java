@@ -0,0 +1,227 @@
+package com.aws.sqs.batch;
+
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.metrics.QueueMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class BatchCoalescer<T, R> implements AutoCloseable {
+
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String operation;
+    private final BatchSender<T, R> sender;
+    private final QueueMetrics queueMetrics;
+    private final int maxEntries;
+    private final int maxBytes;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<String, Buffer<T, R>> buffers = new ConcurrentHashMap<>();
+
+    public BatchCoalescer(String operation,
+                          BatchSender<T, R> sender,
+                          QueueMetrics queueMetrics,
+                          int maxEntries,
+                          int maxBytes,
+                          Duration linger,
+                          int maxAttempts,
+                          Duration retryBackoff) {
+        this.operation = operation;
+        this.sender = sender;
+        this.queueMetrics = queueMetrics;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.lingerNanos = linger.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, operation + "-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> evictIdle(IDLE_TIMEOUT_NANOS),
+                IDLE_TIMEOUT_NANOS, IDLE_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    public CompletableFuture<R> submit(String key, T payload, int sizeBytes) {
+        var pending = new Pending<T, R>(payload, sizeBytes, 1, new CompletableFuture<>());
+        enqueue(key, pending);
+        return pending.result();
+    }
+
+    public int pending(String key) {
+        var buffer = buffers.get(key);
+        return buffer == null ? 0 : buffer.count.get();
+    }
+
+    public void flushAll() {
+        buffers.values().forEach(this::drain);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        flushAll();
+    }
+
+    int bufferCount() {
+        return buffers.size();
+    }
+
+    void evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        for (var buffer : buffers.values()) {
+            if (buffer.count.get() == 0 && !buffer.lingerArmed.get() && now - buffer.lastUsedNanos > idleNanos
+                    && buffers.remove(buffer.key, buffer) && buffer.count.get() > 0) {
+                drain(buffer);
+            }
+        }
+    }
+
+    private void enqueue(String key, Pending<T, R> pending) {
+        var buffer = buffers.computeIfAbsent(key, Buffer::new);
+        var entry = new Queued<>(pending, System.nanoTime());
+        buffer.lastUsedNanos = entry.enqueuedAtNanos();
+        buffer.entries.offer(entry);
+        int count = buffer.count.incrementAndGet();
+        int bytes = buffer.bytes.addAndGet(pending.sizeBytes());
+
+        if (count >= maxEntries || bytes >= maxBytes) {
+            drain(buffer);
+        } else if (buffer.lingerArmed.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(() -> {
+                    buffer.lingerArmed.set(false);
+                    drain(buffer);
+                }, lingerNanos, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                buffer.lingerArmed.set(false);
+                drain(buffer);
+            }
+        }
+    }
+
+    private void drain(Buffer<T, R> buffer) {
+        var batch = new ArrayList<Queued<T, R>>(maxEntries);
+        int batchBytes = 0;
+        Queued<T, R> entry;
+        while ((entry = buffer.entries.poll()) != null) {
+            buffer.count.decrementAndGet();
+            buffer.bytes.addAndGet(-entry.pending().sizeBytes());
+            if (!batch.isEmpty() && (batch.size() == maxEntries
+                    || batchBytes + entry.pending().sizeBytes() > maxBytes)) {
+                dispatch(buffer.key, batch);
+                batch = new ArrayList<>(maxEntries);
+                batchBytes = 0;
+            }
+            batch.add(entry);
+            batchBytes += entry.pending().sizeBytes();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(buffer.key, batch);
+        }
+    }
+
+    private void dispatch(String key, List<Queued<T, R>> queued) {
+        var now = System.nanoTime();
+        queueMetrics.recordBatchFill(key, operation, queued.size(), maxEntries);
+        var batch = new ArrayList<Entry<T, R>>(queued.size());
+        for (var entry : queued) {
+            queueMetrics.recordLingerDelay(key, operation, now - entry.enqueuedAtNanos());
+            batch.add(new Entry<>(entry.pending().payload(), entry.pending().sizeBytes(), entry.enqueuedAtNanos(),
+                    new CompletableFuture<>()));
+        }
+
+        CompletableFuture<Void> sent;
+        try {
+            sent = sender.send(key, batch);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                log.error("Error sending {} batch of {} entries for: {}", operation, batch.size(), key, throwable);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                var attempt = batch.get(i).future();
+                var pending = queued.get(i).pending();
+                if (attempt.isDone() && !attempt.isCompletedExceptionally()) {
+                    pending.result().complete(attempt.join());
+                    continue;
+                }
+                var failure = attempt.isCompletedExceptionally()
+                        ? attempt.exceptionNow()
+                        : throwable != null
+                        ? throwable
+                        : new IllegalStateException("Batch entry was not acknowledged by " + operation);
+                if (pending.attempt() < maxAttempts && isRetryable(failure)) {
+                    retry(key, pending);
+                } else {
+                    pending.result().completeExceptionally(failure);
+                }
+            }
+        });
+    }
+
+    private void retry(String key, Pending<T, R> pending) {
+        var next = new Pending<T, R>(pending.payload(), pending.sizeBytes(), pending.attempt() + 1, pending.result());
+        try {
+            scheduler.schedule(() -> enqueue(key, next),
+                    retryBackoffNanos * pending.attempt(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            pending.result().completeExceptionally(
+                    new IllegalStateException(operation + " coalescer is shut down", e));
+        }
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        var cause = SqsErrors.unwrap(failure);
+        if (cause instanceof BatchEntryException entryException) {
+            return !entryException.isSenderFault();
+        }
+        return SqsErrors.isRetryable(cause);
+    }
+
+    @FunctionalInterface
+    public interface BatchSender<T, R> {
+        CompletableFuture<Void> send(String key, List<Entry<T, R>> batch);
+    }
+
+    public record Entry<T, R>(T payload, int sizeBytes, long enqueuedAtNanos, CompletableFuture<R> future) {
+    }
+
+    private record Pending<T, R>(T payload, int sizeBytes, int attempt, CompletableFuture<R> result) {
+    }
+
+    private record Queued<T, R>(Pending<T, R> pending, long enqueuedAtNanos) {
+    }
+
+    private static final class Buffer<T, R> {
+        private final String key;
+        private final ConcurrentLinkedQueue<Queued<T, R>> entries = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger bytes = new AtomicInteger();
+        private final AtomicBoolean lingerArmed = new AtomicBoolean();
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private Buffer(String key) {
+            this.key = key;
+        }
+    }
+}
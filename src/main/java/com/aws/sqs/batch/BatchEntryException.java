@@ -0,0 +1,16 @@
+package com.aws.sqs.batch;
+
+import lombok.Getter;
+
+@Getter
+public class BatchEntryException extends RuntimeException {
+
+    private final String errorCode;
+    private final boolean senderFault;
+
+    public BatchEntryException(String errorCode, String message, boolean senderFault) {
+        super("Batch entry rejected: " + errorCode + " - " + message);
+        this.errorCode = errorCode;
+        this.senderFault = senderFault;
+    }
+}
@@ -0,0 +1,179 @@
+package com.aws.sqs.batch;
+
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.model.dto.BatchEntryResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+@Slf4j
+public final class BatchEntrySender<E> {
+
+    public static final String GROUP_FAILED = "MessageGroupFailed";
+
+    private final String operation;
+    private final Function<E, String> idOf;
+    private final Function<E, String> groupIdOf;
+    private final ToIntFunction<E> sizeOf;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public BatchEntrySender(String operation,
+                            Function<E, String> idOf,
+                            Function<E, String> groupIdOf,
+                            ToIntFunction<E> sizeOf,
+                            int maxAttempts,
+                            Duration retryBackoff) {
+        this.operation = operation;
+        this.idOf = idOf;
+        this.groupIdOf = groupIdOf;
+        this.sizeOf = sizeOf;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    public CompletableFuture<Void> send(List<E> entries, BatchCall<E> call, BatchEntryResult[] results) {
+        var chunks = BatchPacker.pack(entries, sizeOf);
+        var failedGroups = ConcurrentHashMap.<String>newKeySet();
+        boolean ordered = entries.stream().anyMatch(entry -> groupIdOf.apply(entry) != null);
+        if (ordered) {
+            var chain = CompletableFuture.<Void>completedFuture(null);
+            for (var chunk : chunks) {
+                chain = chain.thenCompose(ignored ->
+                        sendChunk(withoutFailedGroups(chunk, failedGroups, results), call, 1, results, failedGroups));
+            }
+            return chain;
+        }
+        return CompletableFuture.allOf(chunks.stream()
+                .map(chunk -> sendChunk(chunk, call, 1, results, failedGroups))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    private List<E> withoutFailedGroups(List<E> chunk, Set<String> failedGroups, BatchEntryResult[] results) {
+        if (failedGroups.isEmpty()) {
+            return chunk;
+        }
+        var remaining = new ArrayList<E>(chunk.size());
+        for (var entry : chunk) {
+            var groupId = groupIdOf.apply(entry);
+            if (groupId != null && failedGroups.contains(groupId)) {
+                skip(entry, results);
+            } else {
+                remaining.add(entry);
+            }
+        }
+        return remaining;
+    }
+
+    private void skip(E entry, BatchEntryResult[] results) {
+        int index = Integer.parseInt(idOf.apply(entry));
+        results[index] = BatchEntryResult.failure(index, GROUP_FAILED,
+                "An earlier message of group " + groupIdOf.apply(entry) + " was not sent");
+    }
+
+    private CompletableFuture<Void> sendChunk(List<E> chunk,
+                                              BatchCall<E> call,
+                                              int attempt,
+                                              BatchEntryResult[] results,
+                                              Set<String> failedGroups) {
+        if (chunk.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<BatchResponse> sent;
+        try {
+            sent = call.send(chunk);
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return sent
+                .handle((response, throwable) -> {
+                    var retryable = new ArrayList<E>();
+                    boolean canRetry = attempt < maxAttempts;
+
+                    if (throwable != null) {
+                        if (canRetry && SqsErrors.isRetryable(throwable)) {
+                            retryable.addAll(chunk);
+                        } else {
+                            var errorCode = SqsErrors.errorCode(throwable);
+                            var errorMessage = SqsErrors.errorMessage(throwable);
+                            for (var entry : chunk) {
+                                int index = Integer.parseInt(idOf.apply(entry));
+                                results[index] = BatchEntryResult.failure(index, errorCode, errorMessage);
+                                var groupId = groupIdOf.apply(entry);
+                                if (groupId != null) {
+                                    failedGroups.add(groupId);
+                                }
+                            }
+                        }
+                    } else {
+                        var entriesById = new HashMap<String, E>();
+                        chunk.forEach(entry -> entriesById.put(idOf.apply(entry), entry));
+                        var lastSucceeded = new HashMap<String, Integer>();
+                        for (var accepted : response.successful()) {
+                            int index = Integer.parseInt(accepted.id());
+                            results[index] = BatchEntryResult.success(index, accepted.messageId());
+                            var entry = entriesById.get(accepted.id());
+                            var groupId = entry != null ? groupIdOf.apply(entry) : null;
+                            if (groupId != null) {
+                                lastSucceeded.merge(groupId, index, Math::max);
+                            }
+                        }
+                        var rejections = new HashMap<String, Rejected>();
+                        response.failed().forEach(rejected -> rejections.put(rejected.id(), rejected));
+                        for (var entry : chunk) {
+                            var rejected = rejections.get(idOf.apply(entry));
+                            if (rejected == null) {
+                                continue;
+                            }
+                            int index = Integer.parseInt(rejected.id());
+                            var groupId = groupIdOf.apply(entry);
+                            if (groupId != null && failedGroups.contains(groupId)) {
+                                skip(entry, results);
+                            } else if (canRetry && !rejected.senderFault()
+                                    && (groupId == null || lastSucceeded.getOrDefault(groupId, -1) < index)) {
+                                retryable.add(entry);
+                            } else {
+                                results[index] = BatchEntryResult.failure(index, rejected.code(), rejected.message());
+                                if (groupId != null) {
+                                    failedGroups.add(groupId);
+                                }
+                            }
+                        }
+                    }
+
+                    if (retryable.isEmpty()) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    log.warn("Retrying {} {} entries (attempt {})", retryable.size(), operation, attempt + 1);
+                    var delay = CompletableFuture.delayedExecutor(
+                            retryBackoff.toMillis() * attempt, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, delay)
+                            .thenCompose(v -> sendChunk(retryable, call, attempt + 1, results, failedGroups));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    @FunctionalInterface
+    public interface BatchCall<E> {
+        CompletableFuture<BatchResponse> send(List<E> chunk);
+    }
+
+    public record BatchResponse(List<Accepted> successful, List<Rejected> failed) {
+    }
+
+    public record Accepted(String id, String messageId) {
+    }
+
+    public record Rejected(String id, String code, String message, boolean senderFault) {
+    }
+}
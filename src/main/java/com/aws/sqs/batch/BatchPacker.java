@@ -0,0 +1,37 @@
+package com.aws.sqs.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+public final class BatchPacker {
+
+    private BatchPacker() {
+    }
+
+    public static <T> List<List<T>> pack(List<T> items, ToIntFunction<T> sizeOf) {
+        return pack(items, sizeOf, SqsBatchLimits.MAX_ENTRIES, SqsBatchLimits.MAX_PAYLOAD_BYTES);
+    }
+
+    public static <T> List<List<T>> pack(List<T> items, ToIntFunction<T> sizeOf, int maxEntries, int maxBytes) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + maxEntries - 1) / maxEntries);
+        List<T> current = new ArrayList<>(Math.min(maxEntries, items.size()));
+        int currentBytes = 0;
+
+        for (T item : items) {
+            int size = sizeOf.applyAsInt(item);
+            if (!current.isEmpty() && (current.size() == maxEntries || currentBytes + size > maxBytes)) {
+                chunks.add(current);
+                current = new ArrayList<>(maxEntries);
+                currentBytes = 0;
+            }
+            current.add(item);
+            currentBytes += size;
+        }
+
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
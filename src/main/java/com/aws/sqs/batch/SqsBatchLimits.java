@@ -0,0 +1,32 @@
+package com.aws.sqs.batch;
+
+public final class SqsBatchLimits {
+
+    public static final int MAX_ENTRIES = 10;
+    public static final int MAX_PAYLOAD_BYTES = 262_144;
+
+    private SqsBatchLimits() {
+    }
+
+    public static int utf8Length(CharSequence value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes += 1;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+}
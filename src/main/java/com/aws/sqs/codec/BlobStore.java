@@ -0,0 +1,12 @@
+package com.aws.sqs.codec;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface BlobStore {
+
+    CompletableFuture<Void> put(String key, byte[] payload);
+
+    CompletableFuture<byte[]> get(String key);
+
+    CompletableFuture<Void> delete(String key);
+}
@@ -0,0 +1,18 @@
+package com.aws.sqs.codec;
+
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.Map;
+
+public record EncodedMessage(
+        String body,
+        Map<String, MessageAttributeValue> attributes
+) {
+    public static EncodedMessage plain(String body) {
+        return new EncodedMessage(body, Map.of());
+    }
+
+    public boolean isPlain() {
+        return attributes.isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.aws.sqs.codec;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Slf4j
+public class LocalFileBlobStore implements BlobStore {
+
+    private final Path directory;
+    private final Executor executor;
+
+    public LocalFileBlobStore(Path directory, Executor executor) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.executor = executor;
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create blob directory: " + this.directory, e);
+        }
+        log.info("Local blob store at {}", this.directory);
+    }
+
+    @Override
+    public CompletableFuture<Void> put(String key, byte[] payload) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                var target = resolve(key);
+                var temp = Files.createTempFile(directory, key, ".tmp");
+                Files.write(temp, payload);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to store blob: " + key, e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.readAllBytes(resolve(key));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read blob: " + key, e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete blob: " + key, e);
+            }
+        }, executor);
+    }
+
+    private Path resolve(String key) {
+        var path = directory.resolve(key).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+}
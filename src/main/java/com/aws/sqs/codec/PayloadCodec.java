@@ -0,0 +1,238 @@
+package com.aws.sqs.codec;
+
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.aws.sqs.config.PayloadCodecProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.codec.enabled", havingValue = "true")
+public class PayloadCodec {
+
+    public static final String ENCODING_ATTRIBUTE = "sqs-codec-encoding";
+    public static final String CLAIM_CHECK_ATTRIBUTE = "sqs-codec-claim-check";
+    public static final List<String> ATTRIBUTE_NAMES = List.of(ENCODING_ATTRIBUTE, CLAIM_CHECK_ATTRIBUTE);
+
+    static final String GZIP = "gzip";
+    static final String IDENTITY = "identity";
+
+    private static final long PRUNE_INTERVAL_NANOS = 60_000_000_000L;
+
+    private final BlobStore blobStore;
+    private final QueueMetrics queueMetrics;
+    private final int compressionThreshold;
+    private final int offloadThreshold;
+    private final long claimRetentionNanos;
+    private final ConcurrentMap<String, PendingClaim> pendingClaims = new ConcurrentHashMap<>();
+    private final AtomicLong nextPruneNanos = new AtomicLong(System.nanoTime() + PRUNE_INTERVAL_NANOS);
+
+    public PayloadCodec(BlobStore blobStore, QueueMetrics queueMetrics, PayloadCodecProperties properties) {
+        this.blobStore = blobStore;
+        this.queueMetrics = queueMetrics;
+        this.compressionThreshold = (int) properties.compressionThreshold().toBytes();
+        this.offloadThreshold = (int) Math.min(properties.offloadThreshold().toBytes(), SqsBatchLimits.MAX_PAYLOAD_BYTES);
+        this.claimRetentionNanos = properties.claimRetention().toNanos();
+        log.info("Payload codec enabled (compression above {} bytes, offload above {} bytes)",
+                compressionThreshold, offloadThreshold);
+    }
+
+    public CompletableFuture<EncodedMessage> encode(String queueName, String body) {
+        var raw = body.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < compressionThreshold && raw.length <= offloadThreshold) {
+            return CompletableFuture.completedFuture(EncodedMessage.plain(body));
+        }
+
+        var payload = raw;
+        var encoding = IDENTITY;
+        if (raw.length >= compressionThreshold) {
+            var compressed = gzip(raw);
+            if (base64Length(compressed.length) < raw.length) {
+                payload = compressed;
+                encoding = GZIP;
+                queueMetrics.incrementPayloadCodec(queueName, "compressed");
+            }
+        }
+
+        var inlineLength = GZIP.equals(encoding) ? base64Length(payload.length) : raw.length;
+        if (inlineLength <= offloadThreshold) {
+            return CompletableFuture.completedFuture(GZIP.equals(encoding)
+                    ? new EncodedMessage(Base64.getEncoder().encodeToString(payload),
+                            Map.of(ENCODING_ATTRIBUTE, stringAttribute(GZIP)))
+                    : EncodedMessage.plain(body));
+        }
+
+        var key = UUID.randomUUID().toString();
+        var attributes = Map.of(
+                ENCODING_ATTRIBUTE, stringAttribute(encoding),
+                CLAIM_CHECK_ATTRIBUTE, stringAttribute(key));
+        return blobStore.put(key, payload)
+                .thenApply(v -> {
+                    queueMetrics.incrementPayloadCodec(queueName, "offloaded");
+                    return new EncodedMessage("{\"claimCheck\":\"" + key + "\"}", attributes);
+                });
+    }
+
+    public CompletableFuture<List<Message>> decodeAll(String queueName, List<Message> messages) {
+        boolean encoded = false;
+        for (var message : messages) {
+            if (isEncoded(message)) {
+                encoded = true;
+                break;
+            }
+        }
+        if (!encoded) {
+            return CompletableFuture.completedFuture(messages);
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Message>[] decoded = messages.stream()
+                .map(message -> decode(queueName, message).exceptionally(throwable -> {
+                    log.warn("Skipping message {} from queue {}: payload could not be decoded",
+                            message.messageId(), queueName, throwable);
+                    queueMetrics.incrementPayloadCodec(queueName, "decode_failed");
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(decoded)
+                .thenApply(v -> {
+                    var result = new ArrayList<Message>(decoded.length);
+                    for (var future : decoded) {
+                        var message = future.join();
+                        if (message != null) {
+                            result.add(message);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    public CompletableFuture<Message> decode(String queueName, Message message) {
+        if (!isEncoded(message)) {
+            return CompletableFuture.completedFuture(message);
+        }
+
+        var attributes = message.messageAttributes();
+        var encoding = stringValue(attributes.get(ENCODING_ATTRIBUTE), IDENTITY);
+        var claimCheck = stringValue(attributes.get(CLAIM_CHECK_ATTRIBUTE), null);
+
+        CompletableFuture<byte[]> payload;
+        if (claimCheck != null) {
+            payload = blobStore.get(claimCheck).thenApply(bytes -> {
+                queueMetrics.incrementPayloadCodec(queueName, "resolved");
+                return bytes;
+            });
+        } else if (GZIP.equals(encoding)) {
+            payload = CompletableFuture.completedFuture(message.body()).thenApply(Base64.getDecoder()::decode);
+        } else {
+            payload = CompletableFuture.completedFuture(message.body().getBytes(StandardCharsets.UTF_8));
+        }
+
+        return payload.thenApply(bytes -> {
+            var body = GZIP.equals(encoding) ? gunzip(bytes) : bytes;
+            if (claimCheck != null) {
+                pendingClaims.put(message.receiptHandle(), new PendingClaim(claimCheck, System.nanoTime()));
+                pruneExpiredClaims();
+            }
+            var remaining = new HashMap<>(attributes);
+            ATTRIBUTE_NAMES.forEach(remaining::remove);
+            return message.toBuilder()
+                    .body(new String(body, StandardCharsets.UTF_8))
+                    .messageAttributes(remaining)
+                    .build();
+        });
+    }
+
+    public void release(String queueName, String receiptHandle) {
+        var claim = pendingClaims.remove(receiptHandle);
+        if (claim == null) {
+            return;
+        }
+        blobStore.delete(claim.key()).whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                log.warn("Failed to delete offloaded payload {} for queue: {}", claim.key(), queueName, throwable);
+            } else {
+                queueMetrics.incrementPayloadCodec(queueName, "released");
+            }
+        });
+    }
+
+    int pendingClaims() {
+        return pendingClaims.size();
+    }
+
+    private void pruneExpiredClaims() {
+        var now = System.nanoTime();
+        var next = nextPruneNanos.get();
+        if (now - next < 0 || !nextPruneNanos.compareAndSet(next, now + PRUNE_INTERVAL_NANOS)) {
+            return;
+        }
+        pendingClaims.values().removeIf(claim -> now - claim.decodedAtNanos() > claimRetentionNanos);
+    }
+
+    private static boolean isEncoded(Message message) {
+        if (!message.hasMessageAttributes()) {
+            return false;
+        }
+        var attributes = message.messageAttributes();
+        return attributes.containsKey(ENCODING_ATTRIBUTE) || attributes.containsKey(CLAIM_CHECK_ATTRIBUTE);
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    private static String stringValue(MessageAttributeValue value, String defaultValue) {
+        return value == null || value.stringValue() == null ? defaultValue : value.stringValue();
+    }
+
+    private static int base64Length(int length) {
+        return 4 * ((length + 2) / 3);
+    }
+
+    static byte[] gzip(byte[] raw) {
+        var output = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress payload", e);
+        }
+        return output.toByteArray();
+    }
+
+    static byte[] gunzip(byte[] compressed) {
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress payload", e);
+        }
+    }
+
+    private record PendingClaim(String key, long decodedAtNanos) {
+    }
+}
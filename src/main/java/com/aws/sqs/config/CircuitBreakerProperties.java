@@ -0,0 +1,44 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.circuit-breaker")
+public record CircuitBreakerProperties(
+        Boolean enabled,
+        Double failureRateThreshold,
+        Double slowCallRateThreshold,
+        Duration slowCallDuration,
+        Duration slidingWindow,
+        Integer minimumCalls,
+        Duration waitDurationInOpenState,
+        Integer permittedCallsInHalfOpenState
+) {
+    public CircuitBreakerProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (failureRateThreshold == null || failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            failureRateThreshold = 50.0;
+        }
+        if (slowCallRateThreshold == null || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+            slowCallRateThreshold = 100.0;
+        }
+        if (slowCallDuration == null) {
+            slowCallDuration = Duration.ofSeconds(2);
+        }
+        if (slidingWindow == null || slidingWindow.toSeconds() < 1) {
+            slidingWindow = Duration.ofSeconds(10);
+        }
+        if (minimumCalls == null || minimumCalls < 1) {
+            minimumCalls = 20;
+        }
+        if (waitDurationInOpenState == null) {
+            waitDurationInOpenState = Duration.ofSeconds(5);
+        }
+        if (permittedCallsInHalfOpenState == null || permittedCallsInHalfOpenState < 1) {
+            permittedCallsInHalfOpenState = 3;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "sqs.consumer.engine")
+public record ConsumerEngineProperties(
+        Boolean enabled,
+        Duration shutdownTimeout,
+        List<QueueConsumer> queues
+) {
+    public ConsumerEngineProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (shutdownTimeout == null) {
+            shutdownTimeout = Duration.ofSeconds(30);
+        }
+        if (queues == null) {
+            queues = List.of();
+        }
+    }
+
+    public record QueueConsumer(
+            String name,
+            Integer receivers,
+            Integer maxInFlight,
+            Integer maxMessages,
+            Integer waitTimeSeconds,
+            List<String> attributeNames,
+            List<String> messageAttributeNames
+    ) {
+        public QueueConsumer {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Consumer queue name is required");
+            }
+            if (receivers == null) {
+                receivers = 2;
+            }
+            if (maxInFlight == null) {
+                maxInFlight = 100;
+            }
+            if (maxMessages == null || maxMessages > 10) {
+                maxMessages = 10;
+            }
+            if (waitTimeSeconds == null) {
+                waitTimeSeconds = 20;
+            }
+            if (attributeNames == null) {
+                attributeNames = List.of("SentTimestamp");
+            }
+            if (messageAttributeNames == null) {
+                messageAttributeNames = List.of();
+            }
+        }
+
+        public boolean fifo() {
+            return name.endsWith(".fifo");
+        }
+    }
+}
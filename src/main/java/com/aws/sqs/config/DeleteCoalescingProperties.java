@@ -0,0 +1,28 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.consumer.delete-coalescing")
+public record DeleteCoalescingProperties(
+        Boolean enabled,
+        Duration flushInterval,
+        Integer maxAttempts,
+        Duration retryBackoff
+) {
+    public DeleteCoalescingProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (flushInterval == null) {
+            flushInterval = Duration.ofMillis(10);
+        }
+        if (maxAttempts == null) {
+            maxAttempts = 3;
+        }
+        if (retryBackoff == null) {
+            retryBackoff = Duration.ofMillis(50);
+        }
+    }
+}
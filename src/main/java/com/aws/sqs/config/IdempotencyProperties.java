@@ -0,0 +1,46 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.consumer.idempotency")
+public record IdempotencyProperties(
+        Boolean enabled,
+        KeySource keySource,
+        String attributeName,
+        Duration ttl,
+        Duration inFlightTtl,
+        Integer maxEntries
+) {
+    public enum KeySource {
+        MESSAGE_ID, BODY, ATTRIBUTE
+    }
+
+    public IdempotencyProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (keySource == null) {
+            keySource = KeySource.MESSAGE_ID;
+        }
+        if (attributeName == null || attributeName.isBlank()) {
+            attributeName = "idempotency-key";
+        }
+        if (ttl == null) {
+            ttl = Duration.ofMinutes(15);
+        }
+        if (inFlightTtl == null) {
+            inFlightTtl = Duration.ofMinutes(15);
+        }
+        if (maxEntries == null) {
+            maxEntries = 100_000;
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Idempotency max entries must be positive");
+        }
+        if (inFlightTtl.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("Idempotency in-flight TTL must not exceed the TTL");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.load-test")
+public record LoadTestProperties(
+        Boolean enabled,
+        Target target,
+        String baseUrl,
+        String queue,
+        Mode mode,
+        Integer publishers,
+        Integer consumers,
+        Integer targetRate,
+        Integer payloadBytes,
+        Integer maxMessages,
+        Integer waitTimeSeconds,
+        Duration warmup,
+        Duration duration
+) {
+    public LoadTestProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (target == null) {
+            target = Target.SERVICE;
+        }
+        if (queue == null || queue.isBlank()) {
+            queue = "load-test";
+        }
+        if (mode == null) {
+            mode = Mode.CLOSED_LOOP;
+        }
+        if (publishers == null) {
+            publishers = 4;
+        }
+        if (consumers == null) {
+            consumers = 4;
+        }
+        if (targetRate == null) {
+            targetRate = 1000;
+        }
+        if (payloadBytes == null) {
+            payloadBytes = 256;
+        }
+        if (maxMessages == null || maxMessages > 10) {
+            maxMessages = 10;
+        }
+        if (waitTimeSeconds == null) {
+            waitTimeSeconds = 1;
+        }
+        if (warmup == null) {
+            warmup = Duration.ofSeconds(5);
+        }
+        if (duration == null) {
+            duration = Duration.ofSeconds(30);
+        }
+        if (publishers < 0 || consumers < 0 || publishers + consumers == 0) {
+            throw new IllegalArgumentException("sqs.load-test needs at least one publisher or consumer");
+        }
+        if (mode == Mode.TARGET_RATE && targetRate < 1) {
+            throw new IllegalArgumentException("sqs.load-test.target-rate must be at least 1");
+        }
+    }
+
+    public enum Target {
+        SERVICE,
+        REST
+    }
+
+    public enum Mode {
+        CLOSED_LOOP,
+        TARGET_RATE
+    }
+}
@@ -0,0 +1,23 @@
+package com.aws.sqs.config;
+
+import com.aws.sqs.codec.BlobStore;
+import com.aws.sqs.codec.LocalFileBlobStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@ConditionalOnProperty(name = "sqs.codec.enabled", havingValue = "true")
+public class PayloadCodecConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(BlobStore.class)
+    public BlobStore localFileBlobStore(PayloadCodecProperties properties,
+                                        @Qualifier("virtualThreadExecutor") Executor executor) {
+        return new LocalFileBlobStore(properties.blobDirectory(), executor);
+    }
+}
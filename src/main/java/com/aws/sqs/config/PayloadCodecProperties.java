@@ -0,0 +1,34 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.codec")
+public record PayloadCodecProperties(
+        Boolean enabled,
+        DataSize compressionThreshold,
+        DataSize offloadThreshold,
+        Path blobDirectory,
+        Duration claimRetention
+) {
+    public PayloadCodecProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (compressionThreshold == null) {
+            compressionThreshold = DataSize.ofKilobytes(32);
+        }
+        if (offloadThreshold == null) {
+            offloadThreshold = DataSize.ofKilobytes(192);
+        }
+        if (blobDirectory == null) {
+            blobDirectory = Path.of(System.getProperty("java.io.tmpdir"), "sqs-payloads");
+        }
+        if (claimRetention == null) {
+            claimRetention = Duration.ofHours(12);
+        }
+    }
+}
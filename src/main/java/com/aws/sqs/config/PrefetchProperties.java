@@ -0,0 +1,41 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "sqs.consumer.prefetch")
+public record PrefetchProperties(
+        Boolean enabled,
+        List<String> queues,
+        Integer capacity,
+        Duration visibilityTimeout,
+        Duration releaseMargin,
+        Integer waitTimeSeconds,
+        Duration reapInterval
+) {
+    public PrefetchProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (queues == null) {
+            queues = List.of();
+        }
+        if (capacity == null) {
+            capacity = 100;
+        }
+        if (visibilityTimeout == null) {
+            visibilityTimeout = Duration.ofSeconds(30);
+        }
+        if (releaseMargin == null) {
+            releaseMargin = Duration.ofSeconds(5);
+        }
+        if (waitTimeSeconds == null) {
+            waitTimeSeconds = 1;
+        }
+        if (reapInterval == null) {
+            reapInterval = Duration.ofSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.publisher.batch")
+public record PublisherBatchProperties(
+        Integer maxAttempts,
+        Duration retryBackoff
+) {
+    public PublisherBatchProperties {
+        if (maxAttempts == null) {
+            maxAttempts = 3;
+        }
+        if (retryBackoff == null) {
+            retryBackoff = Duration.ofMillis(50);
+        }
+    }
+}
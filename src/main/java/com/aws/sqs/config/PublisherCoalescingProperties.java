@@ -0,0 +1,24 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.publisher.coalescing")
+public record PublisherCoalescingProperties(
+        Boolean enabled,
+        Duration linger,
+        Integer maxBatchSize
+) {
+    public PublisherCoalescingProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (linger == null) {
+            linger = Duration.ofMillis(5);
+        }
+        if (maxBatchSize == null || maxBatchSize > 10) {
+            maxBatchSize = 10;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "sqs.metrics.depth")
+public record QueueDepthProperties(
+        Boolean enabled,
+        List<String> queues,
+        Duration interval,
+        Integer maxRequestsPerSecond
+) {
+    public QueueDepthProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (queues == null) {
+            queues = List.of();
+        }
+        if (interval == null) {
+            interval = Duration.ofSeconds(15);
+        }
+        if (maxRequestsPerSecond == null) {
+            maxRequestsPerSecond = 10;
+        }
+        if (maxRequestsPerSecond < 1) {
+            throw new IllegalArgumentException("sqs.metrics.depth.max-requests-per-second must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.queue-listing")
+public record QueueListingProperties(
+        Integer pageSize,
+        Integer maxConcurrency,
+        Boolean snapshotEnabled,
+        Duration snapshotRefreshInterval
+) {
+    public QueueListingProperties {
+        if (pageSize == null) {
+            pageSize = 1000;
+        }
+        if (pageSize < 1 || pageSize > 1000) {
+            throw new IllegalArgumentException("sqs.queue-listing.page-size must be between 1 and 1000");
+        }
+        if (maxConcurrency == null) {
+            maxConcurrency = 8;
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("sqs.queue-listing.max-concurrency must be at least 1");
+        }
+        if (snapshotEnabled == null) {
+            snapshotEnabled = false;
+        }
+        if (snapshotRefreshInterval == null) {
+            snapshotRefreshInterval = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.queue-url-cache")
+public record QueueUrlCacheProperties(
+        Integer maxSize,
+        Duration ttl
+) {
+    public QueueUrlCacheProperties {
+        if (maxSize == null) {
+            maxSize = 1000;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofMinutes(10);
+        }
+    }
+}
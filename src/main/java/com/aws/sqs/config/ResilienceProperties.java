@@ -0,0 +1,64 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.resilience")
+public record ResilienceProperties(
+        Boolean enabled,
+        Integer initialLimit,
+        Integer minLimit,
+        Integer maxLimit,
+        Double backoffRatio,
+        Duration backoffCooldown,
+        Integer maxAttempts,
+        Duration retryBaseDelay,
+        Duration retryMaxDelay,
+        Double retryBudgetRatio,
+        Integer minRetriesPerSecond,
+        Duration retryAfter
+) {
+    public ResilienceProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (minLimit == null || minLimit < 1) {
+            minLimit = 1;
+        }
+        if (maxLimit == null || maxLimit < minLimit) {
+            maxLimit = Math.max(500, minLimit);
+        }
+        if (initialLimit == null) {
+            initialLimit = 20;
+        }
+        initialLimit = Math.min(Math.max(initialLimit, minLimit), maxLimit);
+        if (backoffRatio == null || backoffRatio <= 0 || backoffRatio >= 1) {
+            backoffRatio = 0.9;
+        }
+        if (backoffCooldown == null) {
+            backoffCooldown = Duration.ofMillis(100);
+        }
+        if (maxAttempts == null || maxAttempts < 1) {
+            maxAttempts = 3;
+        }
+        if (retryBaseDelay == null) {
+            retryBaseDelay = Duration.ofMillis(25);
+        }
+        if (retryMaxDelay == null) {
+            retryMaxDelay = Duration.ofSeconds(2);
+        }
+        if (retryMaxDelay.compareTo(retryBaseDelay) < 0) {
+            retryMaxDelay = retryBaseDelay;
+        }
+        if (retryBudgetRatio == null || retryBudgetRatio < 0) {
+            retryBudgetRatio = 0.1;
+        }
+        if (minRetriesPerSecond == null || minRetriesPerSecond < 0) {
+            minRetriesPerSecond = 10;
+        }
+        if (retryAfter == null) {
+            retryAfter = Duration.ofSeconds(1);
+        }
+    }
+}
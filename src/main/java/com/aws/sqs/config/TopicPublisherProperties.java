@@ -0,0 +1,42 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sns.publisher")
+public record TopicPublisherProperties(
+        Integer maxAttempts,
+        Duration retryBackoff,
+        Coalescing coalescing
+) {
+    public TopicPublisherProperties {
+        if (maxAttempts == null) {
+            maxAttempts = 3;
+        }
+        if (retryBackoff == null) {
+            retryBackoff = Duration.ofMillis(50);
+        }
+        if (coalescing == null) {
+            coalescing = new Coalescing(null, null, null);
+        }
+    }
+
+    public record Coalescing(
+            Boolean enabled,
+            Duration linger,
+            Integer maxBatchSize
+    ) {
+        public Coalescing {
+            if (enabled == null) {
+                enabled = false;
+            }
+            if (linger == null) {
+                linger = Duration.ofMillis(5);
+            }
+            if (maxBatchSize == null || maxBatchSize > 10) {
+                maxBatchSize = 10;
+            }
+        }
+    }
+}
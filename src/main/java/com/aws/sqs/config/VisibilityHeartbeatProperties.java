@@ -0,0 +1,42 @@
+package com.aws.sqs.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "sqs.consumer.heartbeat")
+public record VisibilityHeartbeatProperties(
+        Boolean enabled,
+        Duration visibilityTimeout,
+        Duration safetyMargin,
+        Duration maxExtension,
+        Duration tickDuration,
+        Integer wheelSize
+) {
+    public VisibilityHeartbeatProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (visibilityTimeout == null) {
+            visibilityTimeout = Duration.ofSeconds(30);
+        }
+        if (safetyMargin == null) {
+            safetyMargin = Duration.ofSeconds(10);
+        }
+        if (maxExtension == null) {
+            maxExtension = Duration.ofMinutes(15);
+        }
+        if (tickDuration == null) {
+            tickDuration = Duration.ofMillis(500);
+        }
+        if (wheelSize == null) {
+            wheelSize = 512;
+        }
+        if (!safetyMargin.minus(visibilityTimeout).isNegative()) {
+            throw new IllegalArgumentException("Heartbeat safety margin must be shorter than the visibility timeout");
+        }
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Heartbeat wheel size must be a power of two");
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.aws.sqs.consumer;
+
+import com.aws.sqs.codec.PayloadCodec;
+import com.aws.sqs.config.ConsumerEngineProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.service.MessageConsumerService;
+import com.aws.sqs.service.PublishTimestamps;
+import com.aws.sqs.service.QueueUrlResolver;
+import com.aws.sqs.service.VisibilityHeartbeat;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.consumer.engine.enabled", havingValue = "true")
+public class ConsumerEngine implements SmartLifecycle {
+
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final MessageConsumerService messageConsumerService;
+    private final QueueMetrics queueMetrics;
+    private final ConsumerEngineProperties properties;
+    private final Executor executor;
+    private final Optional<VisibilityHeartbeat> visibilityHeartbeat;
+    private final Optional<PayloadCodec> payloadCodec;
+    private final Map<String, MessageHandler> handlers = new ConcurrentHashMap<>();
+    private final List<QueueWorker> workers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public ConsumerEngine(SqsAsyncClient sqsAsyncClient,
+                          QueueUrlResolver queueUrlResolver,
+                          MessageConsumerService messageConsumerService,
+                          QueueMetrics queueMetrics,
+                          ConsumerEngineProperties properties,
+                          List<MessageHandler> messageHandlers,
+                          @Qualifier("virtualThreadExecutor") Executor executor,
+                          Optional<VisibilityHeartbeat> visibilityHeartbeat,
+                          Optional<PayloadCodec> payloadCodec) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.messageConsumerService = messageConsumerService;
+        this.queueMetrics = queueMetrics;
+        this.properties = properties;
+        this.executor = executor;
+        this.visibilityHeartbeat = visibilityHeartbeat;
+        this.payloadCodec = payloadCodec;
+        messageHandlers.forEach(this::register);
+    }
+
+    public void register(MessageHandler handler) {
+        if (handlers.putIfAbsent(handler.queueName(), handler) != null) {
+            throw new IllegalArgumentException("Handler already registered for queue: " + handler.queueName());
+        }
+        if (running) {
+            properties.queues().stream()
+                    .filter(queue -> queue.name().equals(handler.queueName()))
+                    .findFirst()
+                    .ifPresent(queue -> startWorker(queue, handler));
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (var queue : properties.queues()) {
+            var handler = handlers.get(queue.name());
+            if (handler == null) {
+                log.warn("No message handler registered for queue: {}", queue.name());
+                continue;
+            }
+            startWorker(queue, handler);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        var deadline = System.nanoTime() + properties.shutdownTimeout().toNanos();
+        for (var worker : workers) {
+            worker.awaitTermination(deadline);
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int inFlight(String queueName) {
+        return workers.stream()
+                .filter(worker -> worker.queue.name().equals(queueName))
+                .mapToInt(QueueWorker::inFlight)
+                .sum();
+    }
+
+    private void startWorker(ConsumerEngineProperties.QueueConsumer queue, MessageHandler handler) {
+        var worker = new QueueWorker(queue, handler);
+        workers.add(worker);
+        queueMetrics.registerInFlightGauge(queue.name(), worker::inFlight);
+        if (worker.groupDispatcher != null) {
+            queueMetrics.registerActiveGroupsGauge(queue.name(), worker.groupDispatcher::activeGroups);
+        }
+        log.info("Starting {} receivers for queue: {} (maxInFlight: {}, fifo: {})",
+                queue.receivers(), queue.name(), queue.maxInFlight(), worker.groupDispatcher != null);
+        for (int i = 0; i < queue.receivers(); i++) {
+            executor.execute(worker::receiveLoop);
+        }
+    }
+
+    private final class QueueWorker {
+
+        private final ConsumerEngineProperties.QueueConsumer queue;
+        private final MessageHandler handler;
+        private final Semaphore permits;
+        private final CountDownLatch receiversDone;
+        private final MessageGroupDispatcher groupDispatcher;
+        private final List<String> attributeNames;
+        private final List<String> messageAttributeNames;
+
+        private QueueWorker(ConsumerEngineProperties.QueueConsumer queue, MessageHandler handler) {
+            this.queue = queue;
+            this.handler = handler;
+            this.permits = new Semaphore(queue.maxInFlight());
+            this.receiversDone = new CountDownLatch(queue.receivers());
+            this.groupDispatcher = queue.fifo() ? new MessageGroupDispatcher(executor) : null;
+            this.attributeNames = new ArrayList<>(queue.attributeNames());
+            if (queue.fifo() && !attributeNames.contains(MessageSystemAttributeName.MESSAGE_GROUP_ID.toString())) {
+                attributeNames.add(MessageSystemAttributeName.MESSAGE_GROUP_ID.toString());
+            }
+            this.messageAttributeNames = messageConsumerService.withInternalAttributes(queue.messageAttributeNames());
+        }
+
+        int inFlight() {
+            return queue.maxInFlight() - permits.availablePermits();
+        }
+
+        void receiveLoop() {
+            long backoffMillis = 0;
+            try {
+                while (running) {
+                    int granted = acquirePermits();
+                    int dispatched = 0;
+                    try {
+                        var queueUrl = queueUrlResolver.resolve(queue.name()).join();
+                        var response = sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
+                                        .queueUrl(queueUrl)
+                                        .maxNumberOfMessages(granted)
+                                        .waitTimeSeconds(queue.waitTimeSeconds())
+                                        .attributeNamesWithStrings(attributeNames)
+                                        .messageAttributeNames(messageAttributeNames)
+                                        .build())
+                                .join();
+                        PublishTimestamps.recordEndToEndLatency(
+                                queueMetrics.forQueue(queue.name()).endToEndLatency(), response.messages());
+                        var received = payloadCodec.isPresent()
+                                ? payloadCodec.get().decodeAll(queue.name(), response.messages()).join()
+                                : response.messages();
+                        var messages = messageConsumerService.suppressDuplicates(queue.name(), received);
+                        var groups = new LinkedHashMap<String, List<MessageGroupDispatcher.GroupTask>>();
+                        for (var message : messages) {
+                            visibilityHeartbeat.ifPresent(heartbeat -> heartbeat.track(queue.name(), message.receiptHandle()));
+                            var groupId = groupId(message);
+                            if (groupId == null) {
+                                executor.execute(() -> process(message));
+                            } else {
+                                groups.computeIfAbsent(groupId, key -> new ArrayList<>()).add(
+                                        new MessageGroupDispatcher.GroupTask(() -> process(message), () -> skip(message)));
+                            }
+                            dispatched++;
+                        }
+                        groups.forEach((groupId, batch) -> groupDispatcher.dispatch(groupId, batch));
+                        backoffMillis = 0;
+                    } catch (RuntimeException e) {
+                        queueUrlResolver.invalidateIfMissing(queue.name(), e);
+                        backoffMillis = Math.min(Math.max(backoffMillis * 2, 100), MAX_BACKOFF_MILLIS);
+                        log.warn("Error receiving from queue: {}, retrying in {} ms", queue.name(), backoffMillis, e);
+                        Thread.sleep(backoffMillis);
+                    } finally {
+                        permits.release(granted - dispatched);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                receiversDone.countDown();
+            }
+        }
+
+        void awaitTermination(long deadlineNanos) {
+            try {
+                if (!receiversDone.await(remaining(deadlineNanos), TimeUnit.NANOSECONDS)
+                        || !permits.tryAcquire(queue.maxInFlight(), remaining(deadlineNanos), TimeUnit.NANOSECONDS)) {
+                    log.warn("Timed out waiting for consumers of queue: {} ({} in flight)", queue.name(), inFlight());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private int acquirePermits() throws InterruptedException {
+            permits.acquire();
+            int granted = 1;
+            while (granted < queue.maxMessages() && permits.tryAcquire()) {
+                granted++;
+            }
+            return granted;
+        }
+
+        private String groupId(Message message) {
+            return groupDispatcher != null
+                    ? message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID)
+                    : null;
+        }
+
+        private void skip(Message message) {
+            visibilityHeartbeat.ifPresent(heartbeat -> heartbeat.untrack(message.receiptHandle()));
+            messageConsumerService.abandon(message.receiptHandle());
+            queueMetrics.incrementMessagesProcessed(queue.name(), "skipped");
+            permits.release();
+        }
+
+        private boolean process(Message message) {
+            var sample = queueMetrics.startProcessingTimer();
+            try {
+                try {
+                    handler.handle(PublishTimestamps.strip(message));
+                } catch (Exception e) {
+                    visibilityHeartbeat.ifPresent(heartbeat -> heartbeat.untrack(message.receiptHandle()));
+                    messageConsumerService.abandon(message.receiptHandle());
+                    queueMetrics.incrementMessagesProcessed(queue.name(), "error");
+                    log.error("Handler failed for message {} from queue: {}", message.messageId(), queue.name(), e);
+                    return false;
+                }
+                var deleted = messageConsumerService.deleteMessage(queue.name(), message.receiptHandle());
+                if (groupDispatcher != null) {
+                    try {
+                        deleted.join();
+                    } catch (RuntimeException e) {
+                        queueMetrics.incrementMessagesProcessed(queue.name(), "delete_failed");
+                        log.warn("Message {} from queue {} was handled but could not be deleted",
+                                message.messageId(), queue.name(), e);
+                        return true;
+                    }
+                }
+                queueMetrics.incrementMessagesProcessed(queue.name(), "success");
+                return true;
+            } finally {
+                queueMetrics.recordProcessingDuration(sample, queue.name(), "handle");
+                permits.release();
+            }
+        }
+
+        private long remaining(long deadlineNanos) {
+            return Math.max(0, deadlineNanos - System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.aws.sqs.consumer;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+final class MessageGroupDispatcher {
+
+    private final Executor executor;
+    private final ConcurrentMap<String, GroupLane> lanes = new ConcurrentHashMap<>();
+
+    MessageGroupDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    void dispatch(String groupId, List<GroupTask> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var scheduled = new boolean[1];
+        lanes.compute(groupId, (key, lane) -> {
+            if (lane == null) {
+                lane = new GroupLane();
+                scheduled[0] = true;
+            }
+            lane.batches.add(new GroupBatch(List.copyOf(batch)));
+            return lane;
+        });
+        if (scheduled[0]) {
+            executor.execute(() -> drain(groupId));
+        }
+    }
+
+    int activeGroups() {
+        return lanes.size();
+    }
+
+    private void drain(String groupId) {
+        GroupBatch batch;
+        while ((batch = poll(groupId)) != null) {
+            boolean failed = false;
+            for (var next : batch.tasks()) {
+                if (failed) {
+                    next.onSkipped().run();
+                    continue;
+                }
+                try {
+                    failed = !next.task().getAsBoolean();
+                } catch (RuntimeException e) {
+                    failed = true;
+                }
+            }
+        }
+    }
+
+    private GroupBatch poll(String groupId) {
+        var next = new GroupBatch[1];
+        lanes.computeIfPresent(groupId, (key, lane) -> {
+            next[0] = lane.batches.poll();
+            return next[0] == null ? null : lane;
+        });
+        return next[0];
+    }
+
+    record GroupTask(BooleanSupplier task, Runnable onSkipped) {
+    }
+
+    private record GroupBatch(List<GroupTask> tasks) {
+    }
+
+    private static final class GroupLane {
+        private final ArrayDeque<GroupBatch> batches = new ArrayDeque<>();
+    }
+}
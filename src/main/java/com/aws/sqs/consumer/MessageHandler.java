@@ -0,0 +1,10 @@
+package com.aws.sqs.consumer;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+public interface MessageHandler {
+
+    String queueName();
+
+    void handle(Message message) throws Exception;
+}
@@ -1,12 +1,20 @@
 package com.aws.sqs.controller;
 
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.resilience.CircuitOpenException;
+import com.aws.sqs.resilience.SqsCallRejectedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RestControllerAdvice
@@ -20,6 +28,26 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", e.getMessage()));
     }
 
+    @ExceptionHandler(BindException.class)
+    public ResponseEntity<Map<String, String>> handleBindException(BindException e) {
+        var error = e.getBindingResult().getAllErrors().stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining("; "));
+        log.warn("Invalid request: {}", error);
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", error));
+    }
+
+    @ExceptionHandler(SqsCallRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleSqsCallRejected(SqsCallRejectedException e) {
+        log.warn("SQS call rejected: {}", e.getMessage());
+        return ResponseEntity
+                .status(e instanceof CircuitOpenException ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, String>> handleRuntimeException(RuntimeException e) {
         log.error("Runtime exception", e);
@@ -35,4 +63,17 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("error", "Internal server error"));
     }
+
+    static void rethrowClientErrors(Throwable throwable) {
+        SqsCallRejectedException.find(throwable).ifPresent(rejection -> {
+            throw rejection;
+        });
+        if (SqsErrors.unwrap(throwable) instanceof IllegalArgumentException invalid) {
+            throw invalid;
+        }
+    }
+
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
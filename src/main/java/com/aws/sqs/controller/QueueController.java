@@ -4,16 +4,22 @@ import com.aws.sqs.model.dto.*;
 import com.aws.sqs.service.MessageConsumerService;
 import com.aws.sqs.service.MessagePublisherService;
 import com.aws.sqs.service.QueueManagementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @RestController
@@ -24,6 +30,7 @@ public class QueueController {
     private final QueueManagementService queueManagementService;
     private final MessagePublisherService messagePublisherService;
     private final MessageConsumerService messageConsumerService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public CompletableFuture<ResponseEntity<QueueResponse>> createQueue(
@@ -34,26 +41,19 @@ public class QueueController {
                 .thenApply(queueResponse -> ResponseEntity
                         .status(HttpStatus.CREATED)
                         .body(queueResponse))
-                .exceptionally(throwable -> {
-                    log.error("Error creating queue", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build();
-                });
+                .exceptionally(throwable ->
+                        failure("Error creating queue", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
     @GetMapping
-    public CompletableFuture<ResponseEntity<List<QueueResponse>>> listQueues() {
-        log.info("Listing all queues");
+    public CompletableFuture<ResponseEntity<List<QueueResponse>>> listQueues(
+            @RequestParam(required = false) String prefix) {
+        log.info("Listing queues (prefix: {})", prefix);
 
-        return queueManagementService.listQueues()
+        return queueManagementService.listQueues(prefix)
                 .thenApply(ResponseEntity::ok)
-                .exceptionally(throwable -> {
-                    log.error("Error listing queues", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build();
-                });
+                .exceptionally(throwable ->
+                        failure("Error listing queues", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
     @GetMapping("/{queueName}/attributes")
@@ -63,12 +63,8 @@ public class QueueController {
 
         return queueManagementService.getQueueAttributes(queueName)
                 .thenApply(ResponseEntity::ok)
-                .exceptionally(throwable -> {
-                    log.error("Error getting queue attributes", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.NOT_FOUND)
-                            .build();
-                });
+                .exceptionally(throwable ->
+                        failure("Error getting queue attributes", throwable, HttpStatus.NOT_FOUND));
     }
 
     @DeleteMapping("/{queueName}")
@@ -78,12 +74,8 @@ public class QueueController {
 
         return queueManagementService.deleteQueue(queueName)
                 .<ResponseEntity<Void>>thenApply(v -> ResponseEntity.noContent().build())
-                .exceptionally(throwable -> {
-                    log.error("Error deleting queue", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .<Void>build();
-                });
+                .exceptionally(throwable ->
+                        this.<Void>failure("Error deleting queue", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
     @PostMapping("/{queueName}/messages")
@@ -96,12 +88,43 @@ public class QueueController {
                 .thenApply(messageId -> ResponseEntity
                         .status(HttpStatus.CREATED)
                         .body(Map.of("messageId", messageId)))
-                .exceptionally(throwable -> {
-                    log.error("Error publishing message", throwable);
+                .exceptionally(throwable ->
+                        failure("Error publishing message", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    @PostMapping(value = "/{queueName}/messages/raw", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public CompletableFuture<ResponseEntity<Map<String, String>>> publishRawMessage(
+            @PathVariable String queueName,
+            @RequestBody byte[] body,
+            @RequestParam(defaultValue = "true") boolean validate,
+            @RequestParam(required = false) String messageGroupId,
+            @RequestParam(required = false) String messageDeduplicationId) {
+        log.info("Publishing raw message to queue: {}", queueName);
+
+        return messagePublisherService.publishRawMessage(queueName, body, validate,
+                        messageGroupId, messageDeduplicationId)
+                .thenApply(messageId -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(Map.of("messageId", messageId)))
+                .exceptionally(throwable ->
+                        failure("Error publishing raw message", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    @PostMapping("/{queueName}/messages/batch")
+    public CompletableFuture<ResponseEntity<BatchPublishResponse>> publishMessageBatch(
+            @PathVariable String queueName,
+            @Valid @RequestBody MessageBatchRequest batchRequest) {
+        log.info("Publishing batch of {} messages to queue: {}", batchRequest.messages().size(), queueName);
+
+        return messagePublisherService.publishBatch(queueName, batchRequest.messages())
+                .thenApply(entries -> {
+                    var response = BatchPublishResponse.of(entries);
                     return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build();
-                });
+                            .status(response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                            .body(response);
+                })
+                .exceptionally(throwable ->
+                        failure("Error publishing message batch", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
     }
 
     @PostMapping("/{queueName}/consume")
@@ -116,12 +139,55 @@ public class QueueController {
 
         return messageConsumerService.consumeMessages(queueName, consumeRequest)
                 .thenApply(ResponseEntity::ok)
-                .exceptionally(throwable -> {
-                    log.error("Error consuming messages", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .build();
+                .exceptionally(throwable ->
+                        failure("Error consuming messages", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    @GetMapping("/{queueName}/consume/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamMessages(
+            @PathVariable String queueName,
+            @Valid StreamConsumeRequest streamRequest,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Streaming messages from queue: {} as {}", queueName, format);
+
+        boolean sse = "sse".equalsIgnoreCase(format);
+        var emitter = sse ? new SseEmitter(0L) : new ResponseBodyEmitter(0L);
+        var closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(throwable -> closed.set(true));
+
+        messageConsumerService.streamMessages(queueName, streamRequest, message -> {
+                    if (closed.get()) {
+                        return false;
+                    }
+                    try {
+                        if (emitter instanceof SseEmitter sseEmitter) {
+                            sseEmitter.send(SseEmitter.event()
+                                    .id(message.messageId())
+                                    .name("message")
+                                    .data(message, MediaType.APPLICATION_JSON));
+                        } else {
+                            emitter.send(objectMapper.writeValueAsString(message) + "\n", MediaType.APPLICATION_NDJSON);
+                        }
+                        return true;
+                    } catch (IOException e) {
+                        closed.set(true);
+                        return false;
+                    }
+                }, closed::get)
+                .whenComplete((count, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Error streaming messages", throwable);
+                        emitter.completeWithError(throwable);
+                    } else {
+                        emitter.complete();
+                    }
                 });
+
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .body(emitter);
     }
 
     @DeleteMapping("/{queueName}/messages/{receiptHandle}")
@@ -132,11 +198,29 @@ public class QueueController {
 
         return messageConsumerService.deleteMessage(queueName, receiptHandle)
                 .<ResponseEntity<Void>>thenApply(v -> ResponseEntity.noContent().build())
-                .exceptionally(throwable -> {
-                    log.error("Error deleting message", throwable);
-                    return ResponseEntity
-                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                            .<Void>build();
-                });
+                .exceptionally(throwable ->
+                        this.<Void>failure("Error deleting message", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    @PostMapping("/{queueName}/messages/ack")
+    public CompletableFuture<ResponseEntity<AckResponse>> acknowledgeMessages(
+            @PathVariable String queueName,
+            @Valid @RequestBody AckRequest ackRequest) {
+        log.info("Acknowledging {} messages from queue: {}", ackRequest.receiptHandles().size(), queueName);
+
+        return messageConsumerService.acknowledgeMessages(queueName, ackRequest.receiptHandles())
+                .thenApply(response -> ResponseEntity
+                        .status(response.failed().isEmpty() ? HttpStatus.OK : HttpStatus.MULTI_STATUS)
+                        .body(response))
+                .exceptionally(throwable ->
+                        failure("Error acknowledging messages", throwable, HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    private <T> ResponseEntity<T> failure(String message, Throwable throwable, HttpStatus status) {
+        GlobalExceptionHandler.rethrowClientErrors(throwable);
+        log.error(message, throwable);
+        return ResponseEntity
+                .status(status)
+                .build();
     }
 }
@@ -0,0 +1,144 @@
+package com.aws.sqs.controller;
+
+import com.aws.sqs.model.dto.*;
+import com.aws.sqs.service.TopicManagementService;
+import com.aws.sqs.service.TopicPublisherService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/topics")
+@RequiredArgsConstructor
+public class TopicController {
+
+    private final TopicManagementService topicManagementService;
+    private final TopicPublisherService topicPublisherService;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<TopicResponse>> createTopic(
+            @Valid @RequestBody TopicCreateRequest request) {
+        log.info("Creating topic: {}", request.topicName());
+
+        return topicManagementService.createTopic(request)
+                .thenApply(topicResponse -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(topicResponse))
+                .exceptionally(throwable -> failure("Error creating topic", throwable));
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<TopicResponse>>> listTopics() {
+        log.info("Listing topics");
+
+        return topicManagementService.listTopics()
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> failure("Error listing topics", throwable));
+    }
+
+    @GetMapping("/{topicName}")
+    public CompletableFuture<ResponseEntity<TopicResponse>> getTopic(
+            @PathVariable String topicName) {
+        log.info("Getting topic: {}", topicName);
+
+        return topicManagementService.getTopic(topicName)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> failure("Error getting topic", throwable));
+    }
+
+    @DeleteMapping("/{topicName}")
+    public CompletableFuture<ResponseEntity<Void>> deleteTopic(
+            @PathVariable String topicName) {
+        log.info("Deleting topic: {}", topicName);
+
+        return topicManagementService.deleteTopic(topicName)
+                .<ResponseEntity<Void>>thenApply(v -> ResponseEntity.noContent().build())
+                .exceptionally(throwable -> this.<Void>failure("Error deleting topic", throwable));
+    }
+
+    @PostMapping("/{topicName}/subscriptions")
+    public CompletableFuture<ResponseEntity<SubscriptionResponse>> subscribeQueue(
+            @PathVariable String topicName,
+            @Valid @RequestBody SubscriptionRequest request) {
+        log.info("Subscribing queue {} to topic: {}", request.queueName(), topicName);
+
+        return topicManagementService.subscribeQueue(topicName, request)
+                .thenApply(subscription -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(subscription))
+                .exceptionally(throwable -> failure("Error subscribing queue", throwable));
+    }
+
+    @GetMapping("/{topicName}/subscriptions")
+    public CompletableFuture<ResponseEntity<List<SubscriptionResponse>>> listSubscriptions(
+            @PathVariable String topicName) {
+        log.info("Listing subscriptions of topic: {}", topicName);
+
+        return topicManagementService.listSubscriptions(topicName)
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(throwable -> failure("Error listing subscriptions", throwable));
+    }
+
+    @DeleteMapping("/subscriptions")
+    public CompletableFuture<ResponseEntity<Void>> unsubscribe(
+            @RequestParam String subscriptionArn) {
+        log.info("Removing subscription: {}", subscriptionArn);
+
+        return topicManagementService.unsubscribe(subscriptionArn)
+                .<ResponseEntity<Void>>thenApply(v -> ResponseEntity.noContent().build())
+                .exceptionally(throwable -> this.<Void>failure("Error removing subscription", throwable));
+    }
+
+    @PostMapping("/{topicName}/messages")
+    public CompletableFuture<ResponseEntity<Map<String, String>>> publishMessage(
+            @PathVariable String topicName,
+            @Valid @RequestBody TopicMessageRequest messageRequest) {
+        log.info("Publishing message to topic: {}", topicName);
+
+        return topicPublisherService.publishMessage(topicName, messageRequest)
+                .thenApply(messageId -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(Map.of("messageId", messageId)))
+                .exceptionally(throwable -> failure("Error publishing message to topic", throwable));
+    }
+
+    @PostMapping("/{topicName}/messages/batch")
+    public CompletableFuture<ResponseEntity<BatchPublishResponse>> publishMessageBatch(
+            @PathVariable String topicName,
+            @Valid @RequestBody TopicMessageBatchRequest batchRequest) {
+        log.info("Publishing batch of {} messages to topic: {}", batchRequest.messages().size(), topicName);
+
+        return topicPublisherService.publishBatch(topicName, batchRequest.messages())
+                .thenApply(entries -> {
+                    var response = BatchPublishResponse.of(entries);
+                    return ResponseEntity
+                            .status(response.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                            .body(response);
+                })
+                .exceptionally(throwable -> failure("Error publishing message batch to topic", throwable));
+    }
+
+    private <T> ResponseEntity<T> failure(String message, Throwable throwable) {
+        GlobalExceptionHandler.rethrowClientErrors(throwable);
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NotFoundException || cause instanceof QueueDoesNotExistException) {
+                log.warn("{}: {}", message, cause.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+        }
+        log.error(message, throwable);
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .build();
+    }
+}
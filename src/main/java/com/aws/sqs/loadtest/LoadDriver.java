@@ -0,0 +1,20 @@
+package com.aws.sqs.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+interface LoadDriver {
+
+    CompletableFuture<Void> createQueue(String queueName);
+
+    CompletableFuture<Void> publish(String queueName, String body);
+
+    CompletableFuture<List<Received>> receive(String queueName, int maxMessages, int waitTimeSeconds);
+
+    CompletableFuture<Void> acknowledge(String queueName, List<String> receiptHandles);
+
+    record Received(String receiptHandle, JsonNode body) {
+    }
+}
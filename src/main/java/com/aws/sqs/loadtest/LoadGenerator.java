@@ -0,0 +1,45 @@
+package com.aws.sqs.loadtest;
+
+import com.aws.sqs.config.LoadTestProperties;
+import com.aws.sqs.service.MessageConsumerService;
+import com.aws.sqs.service.MessagePublisherService;
+import com.aws.sqs.service.QueueManagementService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.load-test.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class LoadGenerator implements ApplicationRunner {
+
+    private final LoadTestProperties properties;
+    private final QueueManagementService queueManagementService;
+    private final MessagePublisherService messagePublisherService;
+    private final MessageConsumerService messageConsumerService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var report = new LoadRunner(properties, driver()).run();
+        log.info(report.format());
+    }
+
+    private LoadDriver driver() {
+        if (properties.target() == LoadTestProperties.Target.REST) {
+            var baseUrl = properties.baseUrl() != null && !properties.baseUrl().isBlank()
+                    ? properties.baseUrl()
+                    : "http://localhost:" + environment.getProperty("local.server.port", "8080");
+            log.info("Driving load through the REST API at {}", baseUrl);
+            return new RestLoadDriver(objectMapper, baseUrl);
+        }
+        return new ServiceLoadDriver(queueManagementService, messagePublisherService, messageConsumerService);
+    }
+}
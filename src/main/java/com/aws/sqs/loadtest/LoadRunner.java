@@ -0,0 +1,159 @@
+package com.aws.sqs.loadtest;
+
+import com.aws.sqs.config.LoadTestProperties;
+import com.aws.sqs.config.LoadTestProperties.Mode;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+@Slf4j
+class LoadRunner {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final long EMPTY_RECEIVE_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadTestProperties properties;
+    private final LoadDriver driver;
+    private final String padding;
+    private final Recorder publishLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder receiveLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder endToEndLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder published = new LongAdder();
+    private final LongAdder publishErrors = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder receiveErrors = new LongAdder();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    LoadRunner(LoadTestProperties properties, LoadDriver driver) {
+        this.properties = properties;
+        this.driver = driver;
+        this.padding = "x".repeat(properties.payloadBytes());
+    }
+
+    LoadTestReport run() {
+        var queueName = properties.queue();
+        driver.createQueue(queueName).join();
+
+        long intervalNanos = properties.mode() == Mode.TARGET_RATE
+                ? TimeUnit.SECONDS.toNanos(properties.publishers()) / properties.targetRate()
+                : 0;
+
+        log.info("Load test on queue {}: {} publishers, {} consumers, mode {}, warmup {}, duration {}",
+                queueName, properties.publishers(), properties.consumers(), properties.mode(),
+                properties.warmup(), properties.duration());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < properties.publishers(); i++) {
+                executor.execute(() -> publishLoop(queueName, intervalNanos));
+            }
+            for (int i = 0; i < properties.consumers(); i++) {
+                executor.execute(() -> consumeLoop(queueName));
+            }
+
+            sleep(properties.warmup());
+            publishLatency.reset();
+            receiveLatency.reset();
+            endToEndLatency.reset();
+            published.reset();
+            publishErrors.reset();
+            received.reset();
+            receiveErrors.reset();
+
+            long start = System.nanoTime();
+            sleep(properties.duration());
+            var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            var report = new LoadTestReport(
+                    properties.target(),
+                    properties.mode(),
+                    properties.publishers(),
+                    properties.consumers(),
+                    elapsed,
+                    published.sum(),
+                    publishErrors.sum(),
+                    received.sum(),
+                    receiveErrors.sum(),
+                    LoadTestReport.Latency.of(publishLatency.getIntervalHistogram()),
+                    LoadTestReport.Latency.of(receiveLatency.getIntervalHistogram()),
+                    LoadTestReport.Latency.of(endToEndLatency.getIntervalHistogram()));
+            running.set(false);
+            return report;
+        }
+    }
+
+    private void publishLoop(String queueName, long intervalNanos) {
+        long next = System.nanoTime();
+        while (running.get()) {
+            long intended;
+            if (intervalNanos > 0) {
+                intended = next;
+                next += intervalNanos;
+                long delay = intended - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+            } else {
+                LockSupport.parkNanos(1);
+                intended = System.nanoTime();
+            }
+
+            long sentAt = System.nanoTime();
+            try {
+                driver.publish(queueName, "{\"sentAtNanos\":" + sentAt + ",\"padding\":\"" + padding + "\"}").join();
+                record(publishLatency, System.nanoTime() - intended);
+                published.increment();
+            } catch (RuntimeException e) {
+                publishErrors.increment();
+                log.debug("Publish failed", e);
+            }
+        }
+    }
+
+    private void consumeLoop(String queueName) {
+        while (running.get()) {
+            long start = System.nanoTime();
+            try {
+                var messages = driver.receive(queueName, properties.maxMessages(), properties.waitTimeSeconds()).join();
+                long now = System.nanoTime();
+                record(receiveLatency, now - start);
+                if (messages.isEmpty()) {
+                    LockSupport.parkNanos(EMPTY_RECEIVE_BACKOFF_NANOS);
+                    continue;
+                }
+
+                var receiptHandles = new ArrayList<String>(messages.size());
+                for (var message : messages) {
+                    long sentAt = message.body() != null ? message.body().path("sentAtNanos").asLong(0) : 0;
+                    if (sentAt > 0) {
+                        record(endToEndLatency, now - sentAt);
+                    }
+                    receiptHandles.add(message.receiptHandle());
+                }
+                received.add(messages.size());
+                driver.acknowledge(queueName, receiptHandles).join();
+            } catch (RuntimeException e) {
+                receiveErrors.increment();
+                log.debug("Receive failed", e);
+            }
+        }
+    }
+
+    private static void record(Recorder recorder, long nanos) {
+        recorder.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.aws.sqs.loadtest;
+
+import com.aws.sqs.config.LoadTestProperties.Mode;
+import com.aws.sqs.config.LoadTestProperties.Target;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Locale;
+
+public record LoadTestReport(
+        Target target,
+        Mode mode,
+        int publishers,
+        int consumers,
+        Duration elapsed,
+        long published,
+        long publishErrors,
+        long received,
+        long receiveErrors,
+        Latency publish,
+        Latency receive,
+        Latency endToEnd
+) {
+
+    public double publishThroughput() {
+        return perSecond(published);
+    }
+
+    public double receiveThroughput() {
+        return perSecond(received);
+    }
+
+    public String format() {
+        return String.format(Locale.ROOT, """
+                        Load test finished: target=%s mode=%s publishers=%d consumers=%d elapsed=%.1fs
+                          published  %,12d msgs  %,10.1f msgs/s  errors %d
+                          received   %,12d msgs  %,10.1f msgs/s  errors %d
+                          latency (ms)    count        p50        p90        p99      p99.9        max
+                          publish    %s
+                          receive    %s
+                          end-to-end %s""",
+                target, mode, publishers, consumers, elapsed.toNanos() / 1e9,
+                published, publishThroughput(), publishErrors,
+                received, receiveThroughput(), receiveErrors,
+                publish.format(), receive.format(), endToEnd.format());
+    }
+
+    private double perSecond(long count) {
+        var seconds = elapsed.toNanos() / 1e9;
+        return seconds > 0 ? count / seconds : 0;
+    }
+
+    public record Latency(long count, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    micros.getTotalCount(),
+                    micros.getValueAtPercentile(50) / 1000.0,
+                    micros.getValueAtPercentile(90) / 1000.0,
+                    micros.getValueAtPercentile(99) / 1000.0,
+                    micros.getValueAtPercentile(99.9) / 1000.0,
+                    micros.getMaxValue() / 1000.0);
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%,10d %10.3f %10.3f %10.3f %10.3f %10.3f", count, p50, p90, p99, p999, max);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.aws.sqs.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class RestLoadDriver implements LoadDriver {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    RestLoadDriver(ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @Override
+    public CompletableFuture<Void> createQueue(String queueName) {
+        return post("/api/queues", json(Map.of("queueName", queueName)))
+                .thenApply(body -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String queueName, String body) {
+        return post("/api/queues/" + queueName + "/messages/raw?validate=false", body)
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<List<Received>> receive(String queueName, int maxMessages, int waitTimeSeconds) {
+        return post("/api/queues/" + queueName + "/consume",
+                json(Map.of("maxMessages", maxMessages, "waitTimeSeconds", waitTimeSeconds)))
+                .thenApply(body -> {
+                    try {
+                        var messages = objectMapper.readTree(body);
+                        var received = new ArrayList<Received>(messages.size());
+                        for (var message : messages) {
+                            received.add(new Received(message.path("receiptHandle").asText(), message.get("body")));
+                        }
+                        return received;
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Invalid consume response from " + baseUrl, e);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> acknowledge(String queueName, List<String> receiptHandles) {
+        return post("/api/queues/" + queueName + "/messages/ack", json(Map.of("receiptHandles", receiptHandles)))
+                .thenApply(body -> null);
+    }
+
+    private CompletableFuture<String> post(String path, String body) {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 300) {
+                        throw new IllegalStateException("POST " + path + " returned " + response.statusCode());
+                    }
+                    return response.body();
+                });
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to serialize request body", e);
+        }
+    }
+}
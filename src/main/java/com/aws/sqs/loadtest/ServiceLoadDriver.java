@@ -0,0 +1,46 @@
+package com.aws.sqs.loadtest;
+
+import com.aws.sqs.model.dto.ConsumeRequest;
+import com.aws.sqs.model.dto.QueueCreateRequest;
+import com.aws.sqs.service.MessageConsumerService;
+import com.aws.sqs.service.MessagePublisherService;
+import com.aws.sqs.service.QueueManagementService;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+class ServiceLoadDriver implements LoadDriver {
+
+    private final QueueManagementService queueManagementService;
+    private final MessagePublisherService messagePublisherService;
+    private final MessageConsumerService messageConsumerService;
+
+    @Override
+    public CompletableFuture<Void> createQueue(String queueName) {
+        return queueManagementService.createQueue(new QueueCreateRequest(queueName, false, null, null, null))
+                .thenApply(response -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String queueName, String body) {
+        return messagePublisherService.publishRawMessage(queueName, body.getBytes(StandardCharsets.UTF_8), false, null, null)
+                .thenApply(messageId -> null);
+    }
+
+    @Override
+    public CompletableFuture<List<Received>> receive(String queueName, int maxMessages, int waitTimeSeconds) {
+        return messageConsumerService.consumeMessages(queueName, new ConsumeRequest(maxMessages, waitTimeSeconds))
+                .thenApply(messages -> messages.stream()
+                        .map(message -> new Received(message.receiptHandle(), message.body()))
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<Void> acknowledge(String queueName, List<String> receiptHandles) {
+        return messageConsumerService.acknowledgeMessages(queueName, receiptHandles)
+                .thenApply(response -> null);
+    }
+}
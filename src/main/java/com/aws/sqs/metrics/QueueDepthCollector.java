@@ -0,0 +1,128 @@
+package com.aws.sqs.metrics;
+
+import com.aws.sqs.config.QueueDepthProperties;
+import com.aws.sqs.service.QueueManagementService;
+import com.aws.sqs.service.QueueUrlResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.metrics.depth.enabled", havingValue = "true")
+public class QueueDepthCollector {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final QueueManagementService queueManagementService;
+    private final QueueMetrics queueMetrics;
+    private final QueueDepthProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    public QueueDepthCollector(SqsAsyncClient sqsAsyncClient,
+                               QueueUrlResolver queueUrlResolver,
+                               QueueManagementService queueManagementService,
+                               QueueMetrics queueMetrics,
+                               QueueDepthProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.queueManagementService = queueManagementService;
+        this.queueMetrics = queueMetrics;
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "queue-depth-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        var interval = properties.interval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::collectSafely, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("Queue depth collector enabled (queues: {}, interval: {})",
+                properties.queues().isEmpty() ? "all" : properties.queues(), properties.interval());
+    }
+
+    CompletableFuture<Void> collect() {
+        if (properties.queues().isEmpty()) {
+            return queueManagementService.listQueueNames().thenCompose(this::collect);
+        }
+        return collect(properties.queues());
+    }
+
+    private CompletableFuture<Void> collect(List<String> queueNames) {
+        var spacingNanos = TimeUnit.SECONDS.toNanos(1) / properties.maxRequestsPerSecond();
+        var fetches = new ArrayList<CompletableFuture<Void>>(queueNames.size());
+        for (int i = 0; i < queueNames.size(); i++) {
+            var queueName = queueNames.get(i);
+            var delay = CompletableFuture.delayedExecutor(spacingNanos * i, TimeUnit.NANOSECONDS);
+            fetches.add(CompletableFuture.supplyAsync(() -> queueName, delay)
+                    .thenCompose(this::fetch)
+                    .exceptionally(throwable -> {
+                        queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                        log.warn("Error collecting depth for queue: {}", queueName, throwable);
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> fetch(String queueName) {
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(
+                                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE,
+                                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED
+                        )
+                        .build()))
+                .thenAccept(response -> record(queueName, response.attributesAsStrings()));
+    }
+
+    private void record(String queueName, Map<String, String> attributes) {
+        queueMetrics.recordQueueDepth(
+                queueName,
+                parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES.toString())),
+                parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE.toString())),
+                parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED.toString())));
+    }
+
+    private void collectSafely() {
+        try {
+            collect().join();
+        } catch (RuntimeException e) {
+            log.warn("Error collecting queue depths", e);
+        }
+    }
+
+    private static long parse(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,123 @@
+package com.aws.sqs.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+public final class QueueMeters {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private static final Duration[] END_TO_END_SLOS = {
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(30),
+            Duration.ofMinutes(1), Duration.ofMinutes(5)
+    };
+
+    private final String queueName;
+    private final MeterRegistry meterRegistry;
+    private final Counter messagesSentSuccess;
+    private final Counter messagesSentError;
+    private final Counter messagesReceivedSuccess;
+    private final Counter messagesReceivedError;
+    private final ConcurrentMap<String, Counter> otherCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    private volatile Timer endToEndLatency;
+
+    QueueMeters(String queueName, MeterRegistry meterRegistry) {
+        this.queueName = queueName;
+        this.meterRegistry = meterRegistry;
+        this.messagesSentSuccess = counter("sqs.messages.sent.total", SUCCESS);
+        this.messagesSentError = counter("sqs.messages.sent.total", ERROR);
+        this.messagesReceivedSuccess = counter("sqs.messages.received.total", SUCCESS);
+        this.messagesReceivedError = counter("sqs.messages.received.total", ERROR);
+    }
+
+    public String queueName() {
+        return queueName;
+    }
+
+    public Counter messagesSent(boolean success) {
+        return success ? messagesSentSuccess : messagesSentError;
+    }
+
+    public Counter messagesReceived(boolean success) {
+        return success ? messagesReceivedSuccess : messagesReceivedError;
+    }
+
+    public Timer processingTimer(String operation) {
+        var timer = processingTimers.get(operation);
+        if (timer != null) {
+            return timer;
+        }
+        return processingTimers.computeIfAbsent(operation, key -> Timer.builder("sqs.message.processing.duration")
+                .tag("queue_name", queueName)
+                .tag("operation", operation)
+                .register(meterRegistry));
+    }
+
+    public Timer endToEndLatency() {
+        var timer = endToEndLatency;
+        if (timer == null) {
+            timer = Timer.builder("sqs.message.e2e.latency")
+                    .description("Time from publish to receive")
+                    .tag("queue_name", queueName)
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(END_TO_END_SLOS)
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofHours(1))
+                    .register(meterRegistry);
+            endToEndLatency = timer;
+        }
+        return timer;
+    }
+
+    public void recordProcessing(String operation, long startNanos) {
+        processingTimer(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    Counter messagesSent(String status) {
+        return switch (status) {
+            case SUCCESS -> messagesSentSuccess;
+            case ERROR -> messagesSentError;
+            default -> otherCounters.computeIfAbsent("sent." + status, key -> counter("sqs.messages.sent.total", status));
+        };
+    }
+
+    Counter messagesReceived(String status) {
+        return switch (status) {
+            case SUCCESS -> messagesReceivedSuccess;
+            case ERROR -> messagesReceivedError;
+            default -> otherCounters.computeIfAbsent("received." + status,
+                    key -> counter("sqs.messages.received.total", status));
+        };
+    }
+
+    Counter messagesProcessed(String status) {
+        var key = "processed." + status;
+        var counter = otherCounters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        return otherCounters.computeIfAbsent(key, ignored -> counter("sqs.messages.processed.total", status));
+    }
+
+    Counter queueCreated() {
+        return otherCounters.computeIfAbsent("queue.created", key -> Counter.builder("sqs.queue.created.total")
+                .tag("queue_name", queueName)
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String status) {
+        return Counter.builder(name)
+                .tag("queue_name", queueName)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+}
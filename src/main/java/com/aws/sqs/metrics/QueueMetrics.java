@@ -1,6 +1,8 @@
 package com.aws.sqs.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -8,70 +10,304 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 
 @Component
 public class QueueMetrics {
 
     private final MeterRegistry meterRegistry;
-    private final ConcurrentMap<String, Counter> messagesSentCounters = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Counter> messagesReceivedCounters = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Counter> queueCreatedCounters = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueueMeters> queueMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> queueUrlCacheCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> prefetchCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> visibilityExtensionCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> payloadCodecCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> batchFillSummaries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> lingerTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> resilienceCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> idempotencyCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueueDepth> queueDepths = new ConcurrentHashMap<>();
+    private volatile LongSupplier idempotencyEvictions;
 
     public QueueMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
     }
 
+    public QueueMeters forQueue(String queueName) {
+        var meters = queueMeters.get(queueName);
+        if (meters != null) {
+            return meters;
+        }
+        return queueMeters.computeIfAbsent(queueName, key -> new QueueMeters(queueName, meterRegistry));
+    }
+
+    public TopicMeters forTopic(String topicName) {
+        var meters = topicMeters.get(topicName);
+        if (meters != null) {
+            return meters;
+        }
+        return topicMeters.computeIfAbsent(topicName, key -> new TopicMeters(topicName, meterRegistry));
+    }
+
     public void incrementMessagesSent(String queueName, String status) {
-        var counter = messagesSentCounters.computeIfAbsent(
-                queueName + "." + status,
-                key -> Counter.builder("sqs.messages.sent.total")
+        incrementMessagesSent(queueName, status, 1);
+    }
+
+    public void incrementMessagesSent(String queueName, String status, long count) {
+        forQueue(queueName).messagesSent(status).increment(count);
+    }
+
+    public void incrementMessagesReceived(String queueName, String status) {
+        forQueue(queueName).messagesReceived(status).increment();
+    }
+
+    public void incrementMessagesProcessed(String queueName, String status) {
+        forQueue(queueName).messagesProcessed(status).increment();
+    }
+
+    public void registerInFlightGauge(String queueName, IntSupplier inFlight) {
+        Gauge.builder("sqs.consumer.in.flight", inFlight::getAsInt)
+                .tag("queue_name", queueName)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void registerActiveGroupsGauge(String queueName, IntSupplier activeGroups) {
+        Gauge.builder("sqs.consumer.fifo.groups.active", activeGroups::getAsInt)
+                .tag("queue_name", queueName)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void incrementPrefetchLookup(String queueName, String result) {
+        var counter = prefetchCounters.computeIfAbsent(
+                queueName + ".lookup." + result,
+                key -> Counter.builder("sqs.prefetch.lookups.total")
                         .tag("queue_name", queueName)
-                        .tag("status", status)
+                        .tag("result", result)
                         .register(meterRegistry)
         );
         counter.increment();
     }
 
-    public void incrementMessagesReceived(String queueName, String status) {
-        var counter = messagesReceivedCounters.computeIfAbsent(
+    public void incrementPrefetchReleased(String queueName, long count) {
+        var counter = prefetchCounters.computeIfAbsent(
+                queueName + ".released",
+                key -> Counter.builder("sqs.prefetch.released.total")
+                        .tag("queue_name", queueName)
+                        .register(meterRegistry)
+        );
+        counter.increment(count);
+    }
+
+    public void registerPrefetchGauges(String queueName, IntSupplier depth, DoubleSupplier oldestAgeMillis) {
+        Gauge.builder("sqs.prefetch.depth", depth::getAsInt)
+                .tag("queue_name", queueName)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("sqs.prefetch.oldest.age", oldestAgeMillis::getAsDouble)
+                .tag("queue_name", queueName)
+                .baseUnit("milliseconds")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void incrementVisibilityExtensions(String queueName, String status, long count) {
+        var counter = visibilityExtensionCounters.computeIfAbsent(
                 queueName + "." + status,
-                key -> Counter.builder("sqs.messages.received.total")
+                key -> Counter.builder("sqs.visibility.extensions.total")
                         .tag("queue_name", queueName)
                         .tag("status", status)
                         .register(meterRegistry)
         );
+        counter.increment(count);
+    }
+
+    public void registerHeartbeatGauge(IntSupplier trackedMessages) {
+        Gauge.builder("sqs.visibility.heartbeat.tracked", trackedMessages::getAsInt)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void incrementPayloadCodec(String queueName, String action) {
+        var counter = payloadCodecCounters.computeIfAbsent(
+                queueName + "." + action,
+                key -> Counter.builder("sqs.payload.codec.total")
+                        .tag("queue_name", queueName)
+                        .tag("action", action)
+                        .register(meterRegistry)
+        );
         counter.increment();
     }
 
+    public void registerConcurrencyLimiter(String queueName, String operation, IntSupplier limit, IntSupplier inFlight) {
+        Gauge.builder("sqs.limiter.limit", limit::getAsInt)
+                .tag("queue_name", queueName)
+                .tag("operation", operation)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("sqs.limiter.in.flight", inFlight::getAsInt)
+                .tag("queue_name", queueName)
+                .tag("operation", operation)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void incrementLimiterRejected(String queueName, String operation) {
+        var counter = resilienceCounters.computeIfAbsent(
+                queueName + "." + operation + ".rejected",
+                key -> Counter.builder("sqs.limiter.rejections.total")
+                        .tag("queue_name", queueName)
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+        );
+        counter.increment();
+    }
+
+    public void incrementRetries(String queueName, String operation, String outcome) {
+        var counter = resilienceCounters.computeIfAbsent(
+                queueName + "." + operation + ".retry." + outcome,
+                key -> Counter.builder("sqs.retries.total")
+                        .tag("queue_name", queueName)
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+        );
+        counter.increment();
+    }
+
+    public void registerCircuitBreakerState(String queueName, String state, BooleanSupplier active) {
+        Gauge.builder("sqs.circuit.breaker.state", () -> active.getAsBoolean() ? 1 : 0)
+                .tag("queue_name", queueName)
+                .tag("state", state)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public void registerCircuitBreakerFailureRate(String queueName, DoubleSupplier failureRate) {
+        Gauge.builder("sqs.circuit.breaker.failure.rate", failureRate::getAsDouble)
+                .tag("queue_name", queueName)
+                .baseUnit("percent")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    public Counter circuitBreakerCalls(String queueName, String outcome) {
+        return resilienceCounters.computeIfAbsent(
+                queueName + ".circuit." + outcome,
+                key -> Counter.builder("sqs.circuit.breaker.calls.total")
+                        .tag("queue_name", queueName)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+        );
+    }
+
+    public void incrementIdempotencyLookup(String queueName, String result) {
+        var counter = idempotencyCounters.computeIfAbsent(
+                queueName + "." + result,
+                key -> Counter.builder("sqs.idempotency.lookups.total")
+                        .tag("queue_name", queueName)
+                        .tag("result", result)
+                        .register(meterRegistry)
+        );
+        counter.increment();
+    }
+
+    public void registerIdempotencyMeters(IntSupplier entries, LongSupplier evictions) {
+        Gauge.builder("sqs.idempotency.entries", entries::getAsInt)
+                .strongReference(true)
+                .register(meterRegistry);
+        idempotencyEvictions = evictions;
+        FunctionCounter.builder("sqs.idempotency.evictions.total", evictions, LongSupplier::getAsLong)
+                .register(meterRegistry);
+    }
+
     public void incrementQueueCreated(String queueName) {
-        var counter = queueCreatedCounters.computeIfAbsent(
-                queueName,
-                key -> Counter.builder("sqs.queue.created.total")
+        forQueue(queueName).queueCreated().increment();
+    }
+
+    public void incrementQueueUrlCacheLookup(String queueName, String result) {
+        var counter = queueUrlCacheCounters.computeIfAbsent(
+                queueName + "." + result,
+                key -> Counter.builder("sqs.queue.url.cache.total")
                         .tag("queue_name", queueName)
+                        .tag("result", result)
                         .register(meterRegistry)
         );
         counter.increment();
     }
 
-    public Timer.Sample startProcessingTimer() {
-        return Timer.start(meterRegistry);
+    public void recordBatchFill(String queueName, String operation, int batchSize, int maxBatchSize) {
+        var summary = batchFillSummaries.computeIfAbsent(
+                queueName + "." + operation,
+                key -> DistributionSummary.builder("sqs.batch.fill.ratio")
+                        .tag("queue_name", queueName)
+                        .tag("operation", operation)
+                        .publishPercentiles(0.5, 0.95)
+                        .register(meterRegistry)
+        );
+        summary.record((double) batchSize / maxBatchSize);
     }
 
-    public void recordProcessingDuration(Timer.Sample sample, String queueName, String operation) {
-        var timer = processingTimers.computeIfAbsent(
+    public void recordLingerDelay(String queueName, String operation, long nanos) {
+        var timer = lingerTimers.computeIfAbsent(
                 queueName + "." + operation,
-                key -> Timer.builder("sqs.message.processing.duration")
+                key -> Timer.builder("sqs.batch.linger.duration")
                         .tag("queue_name", queueName)
                         .tag("operation", operation)
+                        .publishPercentiles(0.5, 0.95, 0.99)
                         .register(meterRegistry)
         );
-        sample.stop(timer);
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Timer.Sample startProcessingTimer() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordProcessingDuration(Timer.Sample sample, String queueName, String operation) {
+        sample.stop(forQueue(queueName).processingTimer(operation));
+    }
+
+    public void recordQueueDepth(String queueName, long visible, long inFlight, long delayed) {
+        var depth = queueDepth(queueName);
+        depth.visible.set(visible);
+        depth.inFlight.set(inFlight);
+        depth.delayed.set(delayed);
     }
 
-    public void setQueueSize(String queueName, long size) {
-        Gauge.builder("sqs.queue.size", () -> size)
+    private QueueDepth queueDepth(String queueName) {
+        return queueDepths.computeIfAbsent(queueName, this::registerQueueDepth);
+    }
+
+    private QueueDepth registerQueueDepth(String queueName) {
+        var depth = new QueueDepth();
+        Gauge.builder("sqs.queue.size", depth.visible, AtomicLong::get)
+                .tag("queue_name", queueName)
+                .register(meterRegistry);
+        Gauge.builder("sqs.queue.messages", depth.visible, AtomicLong::get)
+                .tag("queue_name", queueName)
+                .tag("state", "visible")
+                .register(meterRegistry);
+        Gauge.builder("sqs.queue.messages", depth.inFlight, AtomicLong::get)
                 .tag("queue_name", queueName)
+                .tag("state", "in_flight")
                 .register(meterRegistry);
+        Gauge.builder("sqs.queue.messages", depth.delayed, AtomicLong::get)
+                .tag("queue_name", queueName)
+                .tag("state", "delayed")
+                .register(meterRegistry);
+        return depth;
+    }
+
+    private static final class QueueDepth {
+        private final AtomicLong visible = new AtomicLong();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong delayed = new AtomicLong();
     }
 }
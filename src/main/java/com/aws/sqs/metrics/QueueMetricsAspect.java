@@ -1,5 +1,7 @@
 package com.aws.sqs.metrics;
 
+import com.aws.sqs.model.dto.BatchEntryResult;
+import com.aws.sqs.model.dto.QueueCreateRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -7,98 +9,166 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Aspect
 @Component
 @RequiredArgsConstructor
 public class QueueMetricsAspect {
 
+    private static final String CREATE = "create";
+    private static final String PUBLISH = "publish";
+    private static final String PUBLISH_BATCH = "publish_batch";
+    private static final String CONSUME = "consume";
+
     private final QueueMetrics queueMetrics;
 
     @Around("execution(* com.aws.sqs.service.QueueManagementService.createQueue(..))")
     public Object measureQueueCreation(ProceedingJoinPoint joinPoint) throws Throwable {
-        var sample = queueMetrics.startProcessingTimer();
-        String queueName = extractQueueName(joinPoint.getArgs()[0]);
+        var startNanos = System.nanoTime();
+        var meters = queueMetrics.forQueue(extractQueueName(joinPoint.getArgs()[0]));
 
         try {
             var result = joinPoint.proceed();
-            if (result instanceof java.util.concurrent.CompletableFuture) {
-                ((java.util.concurrent.CompletableFuture<?>) result).thenAccept(response -> {
-                    queueMetrics.incrementQueueCreated(queueName);
-                    queueMetrics.recordProcessingDuration(sample, queueName, "create");
+            if (result instanceof CompletableFuture<?> future) {
+                future.thenAccept(response -> {
+                    queueMetrics.incrementQueueCreated(meters.queueName());
+                    meters.recordProcessing(CREATE, startNanos);
                 });
             }
             return result;
         } catch (Exception e) {
-            queueMetrics.recordProcessingDuration(sample, queueName, "create");
+            meters.recordProcessing(CREATE, startNanos);
             throw e;
         }
     }
 
-    @Around("execution(* com.aws.sqs.service.MessagePublisherService.publishMessage(..))")
+    @Around("execution(* com.aws.sqs.service.MessagePublisherService.publishMessage(..))"
+            + " || execution(* com.aws.sqs.service.MessagePublisherService.publishRawMessage(..))")
     public Object measureMessagePublish(ProceedingJoinPoint joinPoint) throws Throwable {
-        var sample = queueMetrics.startProcessingTimer();
-        String queueName = (String) joinPoint.getArgs()[0];
-        final String statusSuccess = "success";
+        var startNanos = System.nanoTime();
+        var meters = queueMetrics.forQueue((String) joinPoint.getArgs()[0]);
+
+        try {
+            var result = joinPoint.proceed();
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((response, throwable) -> {
+                    meters.messagesSent(throwable == null).increment();
+                    meters.recordProcessing(PUBLISH, startNanos);
+                });
+            }
+            return result;
+        } catch (Exception e) {
+            meters.messagesSent(false).increment();
+            meters.recordProcessing(PUBLISH, startNanos);
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.aws.sqs.service.MessagePublisherService.publishBatch(..))")
+    public Object measureMessageBatchPublish(ProceedingJoinPoint joinPoint) throws Throwable {
+        var startNanos = System.nanoTime();
+        var args = joinPoint.getArgs();
+        var meters = queueMetrics.forQueue((String) args[0]);
+        int batchSize = ((List<?>) args[1]).size();
+
+        try {
+            var result = joinPoint.proceed();
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((response, throwable) -> {
+                    long succeeded = throwable == null ? succeeded(response) : 0;
+                    meters.messagesSent(true).increment(succeeded);
+                    meters.messagesSent(false).increment(batchSize - succeeded);
+                    meters.recordProcessing(PUBLISH_BATCH, startNanos);
+                });
+            }
+            return result;
+        } catch (Exception e) {
+            meters.messagesSent(false).increment(batchSize);
+            meters.recordProcessing(PUBLISH_BATCH, startNanos);
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.aws.sqs.service.TopicPublisherService.publishMessage(..))")
+    public Object measureTopicPublish(ProceedingJoinPoint joinPoint) throws Throwable {
+        var meters = queueMetrics.forTopic((String) joinPoint.getArgs()[0]);
+
+        try {
+            var result = joinPoint.proceed();
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((response, throwable) -> meters.messagesPublished(throwable == null).increment());
+            }
+            return result;
+        } catch (Exception e) {
+            meters.messagesPublished(false).increment();
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.aws.sqs.service.TopicPublisherService.publishBatch(..))")
+    public Object measureTopicBatchPublish(ProceedingJoinPoint joinPoint) throws Throwable {
+        var args = joinPoint.getArgs();
+        var meters = queueMetrics.forTopic((String) args[0]);
+        int batchSize = ((List<?>) args[1]).size();
 
         try {
             var result = joinPoint.proceed();
-            if (result instanceof java.util.concurrent.CompletableFuture) {
-                ((java.util.concurrent.CompletableFuture<?>) result)
-                        .thenAccept(response -> {
-                            queueMetrics.incrementMessagesSent(queueName, statusSuccess);
-                            queueMetrics.recordProcessingDuration(sample, queueName, "publish");
-                        })
-                        .exceptionally(throwable -> {
-                            queueMetrics.incrementMessagesSent(queueName, "error");
-                            queueMetrics.recordProcessingDuration(sample, queueName, "publish");
-                            return null;
-                        });
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((response, throwable) -> {
+                    long succeeded = throwable == null ? succeeded(response) : 0;
+                    meters.messagesPublished(true).increment(succeeded);
+                    meters.messagesPublished(false).increment(batchSize - succeeded);
+                });
             }
             return result;
         } catch (Exception e) {
-            queueMetrics.incrementMessagesSent(queueName, "error");
-            queueMetrics.recordProcessingDuration(sample, queueName, "publish");
+            meters.messagesPublished(false).increment(batchSize);
             throw e;
         }
     }
 
     @Around("execution(* com.aws.sqs.service.MessageConsumerService.consumeMessages(..))")
     public Object measureMessageConsume(ProceedingJoinPoint joinPoint) throws Throwable {
-        var sample = queueMetrics.startProcessingTimer();
-        String queueName = (String) joinPoint.getArgs()[0];
-        final String statusSuccess = "success";
+        var startNanos = System.nanoTime();
+        var meters = queueMetrics.forQueue((String) joinPoint.getArgs()[0]);
 
         try {
             var result = joinPoint.proceed();
-            if (result instanceof java.util.concurrent.CompletableFuture) {
-                ((java.util.concurrent.CompletableFuture<?>) result)
-                        .thenAccept(response -> {
-                            if (response instanceof java.util.List) {
-                                var count = ((java.util.List<?>) response).size();
-                                queueMetrics.incrementMessagesReceived(queueName, statusSuccess);
-                                if (count > 0) {
-                                    queueMetrics.setQueueSize(queueName, count);
-                                }
-                            }
-                            queueMetrics.recordProcessingDuration(sample, queueName, "consume");
-                        })
-                        .exceptionally(throwable -> {
-                            queueMetrics.incrementMessagesReceived(queueName, "error");
-                            queueMetrics.recordProcessingDuration(sample, queueName, "consume");
-                            return null;
-                        });
+            if (result instanceof CompletableFuture<?> future) {
+                future.whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        meters.messagesReceived(false).increment();
+                    } else {
+                        meters.messagesReceived(true).increment();
+                    }
+                    meters.recordProcessing(CONSUME, startNanos);
+                });
             }
             return result;
         } catch (Exception e) {
-            queueMetrics.incrementMessagesReceived(queueName, "error");
-            queueMetrics.recordProcessingDuration(sample, queueName, "consume");
+            meters.messagesReceived(false).increment();
+            meters.recordProcessing(CONSUME, startNanos);
             throw e;
         }
     }
 
+    private static long succeeded(Object response) {
+        long succeeded = 0;
+        if (response instanceof List<?> entries) {
+            for (var entry : entries) {
+                if (entry instanceof BatchEntryResult batchEntry && batchEntry.success()) {
+                    succeeded++;
+                }
+            }
+        }
+        return succeeded;
+    }
+
     private String extractQueueName(Object arg) {
-        if (arg instanceof com.aws.sqs.model.dto.QueueCreateRequest request) {
+        if (arg instanceof QueueCreateRequest request) {
             return request.queueName();
         }
         return "unknown";
@@ -0,0 +1,150 @@
+package com.aws.sqs.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "aws.sdk-metrics-enabled", havingValue = "true", matchIfMissing = true)
+public class SdkMetricsPublisher implements MetricPublisher {
+
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<OperationKey, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    public SdkMetricsPublisher(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void publish(MetricCollection apiCall) {
+        try {
+            var meters = forOperation(first(apiCall, CoreMetric.SERVICE_ID, UNKNOWN),
+                    first(apiCall, CoreMetric.OPERATION_NAME, UNKNOWN));
+
+            var duration = first(apiCall, CoreMetric.API_CALL_DURATION, null);
+            if (duration != null) {
+                meters.callDuration(Boolean.TRUE.equals(first(apiCall, CoreMetric.API_CALL_SUCCESSFUL, false)))
+                        .record(duration);
+            }
+            var retries = first(apiCall, CoreMetric.RETRY_COUNT, null);
+            if (retries != null) {
+                meters.retries.record(retries);
+            }
+            recordHttpMetrics(apiCall, meters);
+        } catch (RuntimeException e) {
+            log.debug("Failed to record SDK metrics", e);
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void recordHttpMetrics(MetricCollection collection, OperationMeters meters) {
+        for (var acquire : collection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            meters.acquireDuration.record(acquire);
+        }
+        for (var leased : collection.metricValues(HttpMetric.LEASED_CONCURRENCY)) {
+            meters.leased.set(leased);
+        }
+        for (var available : collection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)) {
+            meters.available.set(available);
+        }
+        for (var pending : collection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)) {
+            meters.pending.set(pending);
+        }
+        for (var child : collection.children()) {
+            recordHttpMetrics(child, meters);
+        }
+    }
+
+    private OperationMeters forOperation(String service, String operation) {
+        var key = new OperationKey(service, operation);
+        var meters = operations.get(key);
+        if (meters != null) {
+            return meters;
+        }
+        return operations.computeIfAbsent(key, k -> new OperationMeters(service, operation, meterRegistry));
+    }
+
+    private static <T> T first(MetricCollection collection, SdkMetric<T> metric, T defaultValue) {
+        var values = collection.metricValues(metric);
+        return values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    private record OperationKey(String service, String operation) {
+    }
+
+    private static final class OperationMeters {
+
+        private final Timer successfulCalls;
+        private final Timer failedCalls;
+        private final DistributionSummary retries;
+        private final Timer acquireDuration;
+        private final AtomicLong leased = new AtomicLong();
+        private final AtomicLong available = new AtomicLong();
+        private final AtomicLong pending = new AtomicLong();
+
+        OperationMeters(String service, String operation, MeterRegistry meterRegistry) {
+            this.successfulCalls = callTimer(service, operation, "success", meterRegistry);
+            this.failedCalls = callTimer(service, operation, "error", meterRegistry);
+            this.retries = DistributionSummary.builder("sqs.sdk.api.call.retries")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.acquireDuration = Timer.builder("sqs.sdk.connection.acquire.duration")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry);
+            registerConnectionGauge(service, operation, "leased", leased, meterRegistry);
+            registerConnectionGauge(service, operation, "available", available, meterRegistry);
+            registerConnectionGauge(service, operation, "pending_acquire", pending, meterRegistry);
+        }
+
+        Timer callDuration(boolean successful) {
+            return successful ? successfulCalls : failedCalls;
+        }
+
+        private static Timer callTimer(String service, String operation, String status,
+                                       MeterRegistry meterRegistry) {
+            return Timer.builder("sqs.sdk.api.call.duration")
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private static void registerConnectionGauge(String service,
+                                                    String operation,
+                                                    String state,
+                                                    AtomicLong value,
+                                                    MeterRegistry meterRegistry) {
+            Gauge.builder("sqs.sdk.connections", value, AtomicLong::get)
+                    .tag("service", service)
+                    .tag("operation", operation)
+                    .tag("state", state)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aws.sqs.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static com.aws.sqs.metrics.QueueMeters.ERROR;
+import static com.aws.sqs.metrics.QueueMeters.SUCCESS;
+
+public final class TopicMeters {
+
+    private final Counter messagesPublishedSuccess;
+    private final Counter messagesPublishedError;
+
+    TopicMeters(String topicName, MeterRegistry meterRegistry) {
+        this.messagesPublishedSuccess = counter(topicName, SUCCESS, meterRegistry);
+        this.messagesPublishedError = counter(topicName, ERROR, meterRegistry);
+    }
+
+    public Counter messagesPublished(boolean success) {
+        return success ? messagesPublishedSuccess : messagesPublishedError;
+    }
+
+    private static Counter counter(String topicName, String status, MeterRegistry meterRegistry) {
+        return Counter.builder("sns.messages.published.total")
+                .tag("topic_name", topicName)
+                .tag("status", status)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.aws.sqs.model.dto;
+
+public record AckFailure(
+        String receiptHandle,
+        String errorCode,
+        String errorMessage,
+        boolean retryable
+) {
+}
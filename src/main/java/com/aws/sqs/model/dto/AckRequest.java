@@ -0,0 +1,14 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record AckRequest(
+        @NotEmpty(message = "Receipt handles cannot be empty")
+        @Size(max = 1000, message = "Cannot acknowledge more than 1000 messages per request")
+        List<@NotBlank String> receiptHandles
+) {
+}
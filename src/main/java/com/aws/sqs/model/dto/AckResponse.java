@@ -0,0 +1,9 @@
+package com.aws.sqs.model.dto;
+
+import java.util.List;
+
+public record AckResponse(
+        int acknowledged,
+        List<AckFailure> failed
+) {
+}
@@ -0,0 +1,20 @@
+package com.aws.sqs.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchEntryResult(
+        int index,
+        boolean success,
+        String messageId,
+        String errorCode,
+        String errorMessage
+) {
+    public static BatchEntryResult success(int index, String messageId) {
+        return new BatchEntryResult(index, true, messageId, null, null);
+    }
+
+    public static BatchEntryResult failure(int index, String errorCode, String errorMessage) {
+        return new BatchEntryResult(index, false, null, errorCode, errorMessage);
+    }
+}
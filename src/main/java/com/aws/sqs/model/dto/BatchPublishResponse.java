@@ -0,0 +1,19 @@
+package com.aws.sqs.model.dto;
+
+import java.util.List;
+
+public record BatchPublishResponse(
+        int successful,
+        int failed,
+        List<BatchEntryResult> entries
+) {
+    public static BatchPublishResponse of(List<BatchEntryResult> entries) {
+        int successful = 0;
+        for (var entry : entries) {
+            if (entry.success()) {
+                successful++;
+            }
+        }
+        return new BatchPublishResponse(successful, entries.size() - successful, entries);
+    }
+}
@@ -3,6 +3,8 @@ package com.aws.sqs.model.dto;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
+import java.util.List;
+
 public record ConsumeRequest(
         @Min(value = 1, message = "Max messages must be at least 1")
         @Max(value = 10, message = "Max messages cannot exceed 10")
@@ -10,8 +12,20 @@ public record ConsumeRequest(
         
         @Min(value = 0, message = "Wait time cannot be negative")
         @Max(value = 20, message = "Wait time cannot exceed 20 seconds")
-        Integer waitTimeSeconds
+        Integer waitTimeSeconds,
+
+        MessageBodyMode bodyMode,
+
+        List<String> attributeNames,
+
+        List<String> messageAttributeNames
 ) {
+    public static final String ALL_ATTRIBUTES = "All";
+
+    public ConsumeRequest(Integer maxMessages, Integer waitTimeSeconds) {
+        this(maxMessages, waitTimeSeconds, null, null, null);
+    }
+
     public ConsumeRequest {
         if (maxMessages == null) {
             maxMessages = 1;
@@ -19,5 +33,10 @@ public record ConsumeRequest(
         if (waitTimeSeconds == null) {
             waitTimeSeconds = 0;
         }
+        if (bodyMode == null) {
+            bodyMode = MessageBodyMode.JSON;
+        }
+        attributeNames = attributeNames == null ? List.of(ALL_ATTRIBUTES) : List.copyOf(attributeNames);
+        messageAttributeNames = messageAttributeNames == null ? List.of() : List.copyOf(messageAttributeNames);
     }
 }
@@ -0,0 +1,14 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MessageBatchRequest(
+        @NotEmpty(message = "Messages cannot be empty")
+        @Size(max = 1000, message = "Batch cannot exceed 1000 messages")
+        List<@Valid MessageRequest> messages
+) {
+}
@@ -0,0 +1,14 @@
+package com.aws.sqs.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum MessageBodyMode {
+    JSON,
+    RAW,
+    STRING;
+
+    @JsonCreator
+    public static MessageBodyMode from(String value) {
+        return value == null ? JSON : valueOf(value.trim().toUpperCase());
+    }
+}
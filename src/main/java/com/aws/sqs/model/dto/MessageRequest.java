@@ -2,13 +2,20 @@ package com.aws.sqs.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.util.HashMap;
 import java.util.Map;
 
 public record MessageRequest(
         @NotNull(message = "Body cannot be null")
-        Map<String, Object> body
+        Map<String, Object> body,
+
+        @Size(max = 128, message = "Message group id cannot exceed 128 characters")
+        String messageGroupId,
+
+        @Size(max = 128, message = "Message deduplication id cannot exceed 128 characters")
+        String messageDeduplicationId
 ) {
     public MessageRequest {
         if (body == null) {
@@ -16,6 +23,10 @@ public record MessageRequest(
         }
     }
 
+    public MessageRequest(Map<String, Object> body) {
+        this(body, null, null);
+    }
+
     @JsonAnyGetter
     public Map<String, Object> body() {
         return body;
@@ -1,5 +1,6 @@
 package com.aws.sqs.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.time.Instant;
@@ -10,6 +11,15 @@ public record MessageResponse(
         String receiptHandle,
         JsonNode body,
         Map<String, String> attributes,
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        Map<String, String> messageAttributes,
         Instant receivedAt
 ) {
+    public MessageResponse(String messageId,
+                           String receiptHandle,
+                           JsonNode body,
+                           Map<String, String> attributes,
+                           Instant receivedAt) {
+        this(messageId, receiptHandle, body, attributes, Map.of(), receivedAt);
+    }
 }
@@ -14,8 +14,16 @@ public record QueueCreateRequest(
         
         Integer visibilityTimeoutSeconds,
         
-        Integer messageRetentionPeriodSeconds
+        Integer messageRetentionPeriodSeconds,
+
+        Boolean fifo,
+
+        Boolean contentBasedDeduplication,
+
+        Boolean highThroughput
 ) {
+    public static final String FIFO_SUFFIX = ".fifo";
+
     public QueueCreateRequest {
         if (enableDlq == null) {
             enableDlq = false;
@@ -29,5 +37,26 @@ public record QueueCreateRequest(
         if (messageRetentionPeriodSeconds == null) {
             messageRetentionPeriodSeconds = 345600;
         }
+        if (fifo == null) {
+            fifo = queueName != null && queueName.endsWith(FIFO_SUFFIX);
+        }
+        if (fifo && queueName != null && !queueName.isBlank() && !queueName.endsWith(FIFO_SUFFIX)) {
+            queueName = queueName + FIFO_SUFFIX;
+        }
+        if (contentBasedDeduplication == null) {
+            contentBasedDeduplication = false;
+        }
+        if (highThroughput == null) {
+            highThroughput = false;
+        }
+    }
+
+    public QueueCreateRequest(String queueName,
+                              Boolean enableDlq,
+                              Integer maxReceiveCount,
+                              Integer visibilityTimeoutSeconds,
+                              Integer messageRetentionPeriodSeconds) {
+        this(queueName, enableDlq, maxReceiveCount, visibilityTimeoutSeconds, messageRetentionPeriodSeconds,
+                null, null, null);
     }
 }
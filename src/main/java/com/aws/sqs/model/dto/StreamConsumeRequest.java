@@ -0,0 +1,42 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record StreamConsumeRequest(
+        @Min(value = 1, message = "Limit must be at least 1")
+        @Max(value = 100000, message = "Limit cannot exceed 100000 messages")
+        Integer limit,
+
+        @Min(value = 1, message = "Max messages must be at least 1")
+        @Max(value = 10, message = "Max messages cannot exceed 10")
+        Integer maxMessages,
+
+        @Min(value = 1, message = "Stream wait time must be at least 1 second")
+        @Max(value = 20, message = "Wait time cannot exceed 20 seconds")
+        Integer waitTimeSeconds,
+
+        @Min(value = 1, message = "Idle timeout must be at least 1 second")
+        @Max(value = 300, message = "Idle timeout cannot exceed 300 seconds")
+        Integer idleTimeoutSeconds,
+
+        MessageBodyMode bodyMode
+) {
+    public StreamConsumeRequest {
+        if (limit == null) {
+            limit = 1000;
+        }
+        if (maxMessages == null) {
+            maxMessages = 10;
+        }
+        if (waitTimeSeconds == null) {
+            waitTimeSeconds = 20;
+        }
+        if (idleTimeoutSeconds == null) {
+            idleTimeoutSeconds = 30;
+        }
+        if (bodyMode == null) {
+            bodyMode = MessageBodyMode.JSON;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.Map;
+
+public record SubscriptionRequest(
+        @NotBlank(message = "Queue name is required")
+        String queueName,
+
+        Boolean rawMessageDelivery,
+
+        Map<String, Object> filterPolicy,
+
+        FilterPolicyScope filterPolicyScope
+) {
+    public enum FilterPolicyScope {
+        MessageAttributes, MessageBody
+    }
+
+    public SubscriptionRequest {
+        if (rawMessageDelivery == null) {
+            rawMessageDelivery = true;
+        }
+        if (filterPolicyScope == null) {
+            filterPolicyScope = FilterPolicyScope.MessageAttributes;
+        }
+    }
+
+    public SubscriptionRequest(String queueName) {
+        this(queueName, null, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.aws.sqs.model.dto;
+
+public record SubscriptionResponse(
+        String subscriptionArn,
+        String topicArn,
+        String protocol,
+        String endpoint
+) {
+}
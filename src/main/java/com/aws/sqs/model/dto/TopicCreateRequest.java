@@ -0,0 +1,32 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TopicCreateRequest(
+        @NotBlank(message = "Topic name is required")
+        String topicName,
+
+        String displayName,
+
+        Boolean fifo,
+
+        Boolean contentBasedDeduplication
+) {
+    public static final String FIFO_SUFFIX = ".fifo";
+
+    public TopicCreateRequest {
+        if (fifo == null) {
+            fifo = topicName != null && topicName.endsWith(FIFO_SUFFIX);
+        }
+        if (fifo && topicName != null && !topicName.isBlank() && !topicName.endsWith(FIFO_SUFFIX)) {
+            topicName = topicName + FIFO_SUFFIX;
+        }
+        if (contentBasedDeduplication == null) {
+            contentBasedDeduplication = false;
+        }
+    }
+
+    public TopicCreateRequest(String topicName) {
+        this(topicName, null, null, null);
+    }
+}
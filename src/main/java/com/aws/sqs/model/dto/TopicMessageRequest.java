@@ -0,0 +1,34 @@
+package com.aws.sqs.model.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public record TopicMessageRequest(
+        @NotNull(message = "Body cannot be null")
+        Map<String, Object> body,
+
+        @Size(max = 9, message = "A message cannot carry more than 9 attributes")
+        Map<String, Object> attributes,
+
+        @Size(max = 128, message = "Message group id cannot exceed 128 characters")
+        String messageGroupId,
+
+        @Size(max = 128, message = "Message deduplication id cannot exceed 128 characters")
+        String messageDeduplicationId
+) {
+    public TopicMessageRequest {
+        if (body == null) {
+            body = new HashMap<>();
+        }
+        if (attributes == null) {
+            attributes = Map.of();
+        }
+    }
+
+    public TopicMessageRequest(Map<String, Object> body, Map<String, Object> attributes) {
+        this(body, attributes, null, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.aws.sqs.model.dto;
+
+import java.util.Map;
+
+public record TopicResponse(
+        String topicArn,
+        String topicName,
+        Map<String, String> attributes
+) {
+}
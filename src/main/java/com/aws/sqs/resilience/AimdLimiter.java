@@ -0,0 +1,83 @@
+package com.aws.sqs.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+final class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long cooldownNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong limitBits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDropNanos;
+
+    AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long cooldownNanos,
+                LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.cooldownNanos = cooldownNanos;
+        this.nanoClock = nanoClock;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        this.lastDropNanos = new AtomicLong(nanoClock.getAsLong() - cooldownNanos);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void onSuccess() {
+        int released = inFlight.getAndDecrement();
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            if (limit >= maxLimit || released * 2 < limit) {
+                return;
+            }
+            double next = Math.min(maxLimit, limit + 1.0 / limit);
+            if (limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    void onDropped() {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        long lastDrop = lastDropNanos.get();
+        if (now - lastDrop < cooldownNanos || !lastDropNanos.compareAndSet(lastDrop, now)) {
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio);
+            if (limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,38 @@
+package com.aws.sqs.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "circuitbreakers")
+@ConditionalOnProperty(name = "sqs.circuit-breaker.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CircuitBreakerEndpoint {
+
+    private final SqsCircuitBreakers circuitBreakers;
+
+    @ReadOperation
+    public Map<String, CircuitBreakerSnapshot> circuitBreakers() {
+        return circuitBreakers.snapshots();
+    }
+
+    @ReadOperation
+    public CircuitBreakerSnapshot circuitBreaker(@Selector String queueName) {
+        return circuitBreakers.snapshot(queueName).orElse(null);
+    }
+
+    @WriteOperation
+    public CircuitBreakerSnapshot reset(@Selector String queueName) {
+        if (!circuitBreakers.reset(queueName)) {
+            return null;
+        }
+        return circuitBreakers.snapshot(queueName).orElse(null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.aws.sqs.resilience;
+
+import java.time.Instant;
+
+public record CircuitBreakerSnapshot(
+        String queueName,
+        String state,
+        Instant since,
+        long calls,
+        double failureRate,
+        double slowCallRate
+) {
+}
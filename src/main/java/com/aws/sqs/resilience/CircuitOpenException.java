@@ -0,0 +1,10 @@
+package com.aws.sqs.resilience;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends SqsCallRejectedException {
+
+    public CircuitOpenException(String queueName, Duration retryAfter) {
+        super("Circuit breaker is open for queue " + queueName, queueName, retryAfter);
+    }
+}
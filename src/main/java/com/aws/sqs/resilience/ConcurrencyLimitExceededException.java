@@ -0,0 +1,16 @@
+package com.aws.sqs.resilience;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ConcurrencyLimitExceededException extends SqsCallRejectedException {
+
+    private final String operation;
+
+    public ConcurrencyLimitExceededException(String queueName, String operation, Duration retryAfter) {
+        super("Concurrency limit reached for " + operation + " on queue " + queueName, queueName, retryAfter);
+        this.operation = operation;
+    }
+}
@@ -0,0 +1,103 @@
+package com.aws.sqs.resilience;
+
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.concurrent.CompletableFuture;
+
+public class GuardedSqsAsyncClient implements SqsAsyncClient {
+
+    private static final String ALL_QUEUES = "_all";
+
+    private final SqsAsyncClient delegate;
+    private final SqsCallDecorator decorator;
+
+    public GuardedSqsAsyncClient(SqsAsyncClient delegate, SqsCallDecorator decorator) {
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public String serviceName() {
+        return delegate.serviceName();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public CompletableFuture<CreateQueueResponse> createQueue(CreateQueueRequest request) {
+        return decorator.call(request.queueName(), "CreateQueue", () -> delegate.createQueue(request));
+    }
+
+    @Override
+    public CompletableFuture<GetQueueUrlResponse> getQueueUrl(GetQueueUrlRequest request) {
+        return decorator.call(request.queueName(), "GetQueueUrl", () -> delegate.getQueueUrl(request));
+    }
+
+    @Override
+    public CompletableFuture<ListQueuesResponse> listQueues(ListQueuesRequest request) {
+        return decorator.call(ALL_QUEUES, "ListQueues", () -> delegate.listQueues(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteQueueResponse> deleteQueue(DeleteQueueRequest request) {
+        return decorator.call(request.queueUrl(), "DeleteQueue", () -> delegate.deleteQueue(request));
+    }
+
+    @Override
+    public CompletableFuture<PurgeQueueResponse> purgeQueue(PurgeQueueRequest request) {
+        return decorator.call(request.queueUrl(), "PurgeQueue", () -> delegate.purgeQueue(request));
+    }
+
+    @Override
+    public CompletableFuture<GetQueueAttributesResponse> getQueueAttributes(GetQueueAttributesRequest request) {
+        return decorator.call(request.queueUrl(), "GetQueueAttributes", () -> delegate.getQueueAttributes(request));
+    }
+
+    @Override
+    public CompletableFuture<SetQueueAttributesResponse> setQueueAttributes(SetQueueAttributesRequest request) {
+        return decorator.call(request.queueUrl(), "SetQueueAttributes", () -> delegate.setQueueAttributes(request));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        return decorator.call(request.queueUrl(), "SendMessage", () -> delegate.sendMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+        return decorator.call(request.queueUrl(), "SendMessageBatch", () -> delegate.sendMessageBatch(request));
+    }
+
+    @Override
+    public CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+        return decorator.call(request.queueUrl(), "ReceiveMessage", () -> delegate.receiveMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        return decorator.call(request.queueUrl(), "DeleteMessage", () -> delegate.deleteMessage(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+        return decorator.call(request.queueUrl(), "DeleteMessageBatch", () -> delegate.deleteMessageBatch(request));
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(
+            ChangeMessageVisibilityRequest request) {
+        return decorator.call(request.queueUrl(), "ChangeMessageVisibility",
+                () -> delegate.changeMessageVisibility(request));
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatch(
+            ChangeMessageVisibilityBatchRequest request) {
+        return decorator.call(request.queueUrl(), "ChangeMessageVisibilityBatch",
+                () -> delegate.changeMessageVisibilityBatch(request));
+    }
+}
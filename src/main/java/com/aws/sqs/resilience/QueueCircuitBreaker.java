@@ -0,0 +1,173 @@
+package com.aws.sqs.resilience;
+
+import com.aws.sqs.config.CircuitBreakerProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+@Slf4j
+final class QueueCircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String queueName;
+    private final CircuitBreakerProperties properties;
+    private final long slowCallNanos;
+    private final long waitNanos;
+    private final LongSupplier nanoClock;
+    private final SlidingWindow window;
+    private final AtomicReference<Transition> transition;
+
+    QueueCircuitBreaker(String queueName, CircuitBreakerProperties properties, LongSupplier nanoClock) {
+        this.queueName = queueName;
+        this.properties = properties;
+        this.slowCallNanos = properties.slowCallDuration().toNanos();
+        this.waitNanos = properties.waitDurationInOpenState().toNanos();
+        this.nanoClock = nanoClock;
+        this.window = new SlidingWindow((int) properties.slidingWindow().toSeconds());
+        this.transition = new AtomicReference<>(new Transition(State.CLOSED, nanoClock.getAsLong()));
+    }
+
+    Transition tryAcquire() {
+        while (true) {
+            var current = transition.get();
+            switch (current.state()) {
+                case CLOSED -> {
+                    return current;
+                }
+                case OPEN -> {
+                    if (nanoClock.getAsLong() - current.sinceNanos() < waitNanos) {
+                        return null;
+                    }
+                    transitionTo(current, State.HALF_OPEN);
+                }
+                case HALF_OPEN -> {
+                    return current.tryPermit(properties.permittedCallsInHalfOpenState()) ? current : null;
+                }
+            }
+        }
+    }
+
+    void onResult(Transition permit, long durationNanos, boolean failure, boolean slowCallEligible) {
+        boolean slow = slowCallEligible && durationNanos >= slowCallNanos;
+        if (permit.state() == State.CLOSED) {
+            long now = nanoClock.getAsLong();
+            window.record(now, failure, slow);
+            if ((failure || slow) && shouldOpen(window.totals(now))) {
+                transitionTo(permit, State.OPEN);
+            }
+        } else if (permit.state() == State.HALF_OPEN) {
+            if (failure || slow) {
+                transitionTo(permit, State.OPEN);
+            } else if (permit.successes.incrementAndGet() >= properties.permittedCallsInHalfOpenState()) {
+                transitionTo(permit, State.CLOSED);
+            }
+        }
+    }
+
+    void onIgnored(Transition permit) {
+        if (permit.state() == State.HALF_OPEN) {
+            permit.permits.decrementAndGet();
+        }
+    }
+
+    Duration retryAfter() {
+        var current = transition.get();
+        if (current.state() != State.OPEN) {
+            return properties.waitDurationInOpenState();
+        }
+        return Duration.ofNanos(Math.max(0, waitNanos - (nanoClock.getAsLong() - current.sinceNanos())));
+    }
+
+    void reset() {
+        var current = transition.get();
+        if (current.state() != State.CLOSED || window.totals(nanoClock.getAsLong()).calls() > 0) {
+            transitionTo(current, State.CLOSED);
+        }
+    }
+
+    String queueName() {
+        return queueName;
+    }
+
+    State state() {
+        return transition.get().state();
+    }
+
+    double failureRate() {
+        return window.totals(nanoClock.getAsLong()).failureRate();
+    }
+
+    CircuitBreakerSnapshot snapshot() {
+        var current = transition.get();
+        long now = nanoClock.getAsLong();
+        var totals = window.totals(now);
+        return new CircuitBreakerSnapshot(
+                queueName,
+                current.state().name(),
+                Instant.now().minusNanos(now - current.sinceNanos()),
+                totals.calls(),
+                totals.failureRate(),
+                totals.slowCallRate()
+        );
+    }
+
+    private boolean shouldOpen(SlidingWindow.Totals totals) {
+        return totals.calls() >= properties.minimumCalls()
+                && (totals.failureRate() >= properties.failureRateThreshold()
+                || totals.slowCallRate() >= properties.slowCallRateThreshold());
+    }
+
+    private void transitionTo(Transition expected, State state) {
+        if (!transition.compareAndSet(expected, new Transition(state, nanoClock.getAsLong()))) {
+            return;
+        }
+        if (state == State.CLOSED) {
+            window.reset();
+        }
+        if (state == State.OPEN) {
+            log.warn("Circuit breaker for queue {} opened (was {})", queueName, expected.state());
+        } else {
+            log.info("Circuit breaker for queue {} moved from {} to {}", queueName, expected.state(), state);
+        }
+    }
+
+    static final class Transition {
+
+        private final State state;
+        private final long sinceNanos;
+        private final AtomicInteger permits = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+
+        private Transition(State state, long sinceNanos) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+        }
+
+        State state() {
+            return state;
+        }
+
+        long sinceNanos() {
+            return sinceNanos;
+        }
+
+        private boolean tryPermit(int permitted) {
+            while (true) {
+                int issued = permits.get();
+                if (issued >= permitted) {
+                    return false;
+                }
+                if (permits.compareAndSet(issued, issued + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.aws.sqs.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final int minRetriesPerSecond;
+    private final LongSupplier nanoClock;
+    private final AtomicLong balance = new AtomicLong();
+    private final AtomicLong windowStartNanos;
+    private final AtomicLong windowRetries = new AtomicLong();
+
+    RetryBudget(double ratio, int minRetriesPerSecond, LongSupplier nanoClock) {
+        this.depositPerCall = Math.round(ratio * TOKEN);
+        this.maxBalance = Math.max(TOKEN, depositPerCall * 1000);
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.nanoClock = nanoClock;
+        this.windowStartNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    void deposit() {
+        if (depositPerCall == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerCall)));
+    }
+
+    boolean tryWithdraw() {
+        if (withinMinimumRate()) {
+            return true;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private boolean withinMinimumRate() {
+        if (minRetriesPerSecond == 0) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        long windowStart = windowStartNanos.get();
+        if (now - windowStart >= SECOND_NANOS && windowStartNanos.compareAndSet(windowStart, now)) {
+            windowRetries.set(0);
+        }
+        if (windowRetries.incrementAndGet() <= minRetriesPerSecond) {
+            return true;
+        }
+        windowRetries.decrementAndGet();
+        return false;
+    }
+}
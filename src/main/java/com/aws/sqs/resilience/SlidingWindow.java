@@ -0,0 +1,74 @@
+package com.aws.sqs.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class SlidingWindow {
+
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int size;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray calls;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray slowCalls;
+
+    SlidingWindow(int seconds) {
+        this.size = seconds;
+        this.epochs = new AtomicLongArray(seconds);
+        this.calls = new AtomicLongArray(seconds);
+        this.failures = new AtomicLongArray(seconds);
+        this.slowCalls = new AtomicLongArray(seconds);
+        reset();
+    }
+
+    void record(long nowNanos, boolean failure, boolean slow) {
+        long epoch = Math.floorDiv(nowNanos, BUCKET_NANOS);
+        int index = (int) Math.floorMod(epoch, (long) size);
+        long bucketEpoch = epochs.get(index);
+        if (bucketEpoch != epoch && epochs.compareAndSet(index, bucketEpoch, epoch)) {
+            calls.set(index, 0);
+            failures.set(index, 0);
+            slowCalls.set(index, 0);
+        }
+        calls.incrementAndGet(index);
+        if (failure) {
+            failures.incrementAndGet(index);
+        }
+        if (slow) {
+            slowCalls.incrementAndGet(index);
+        }
+    }
+
+    Totals totals(long nowNanos) {
+        long oldestEpoch = Math.floorDiv(nowNanos, BUCKET_NANOS) - size;
+        long totalCalls = 0;
+        long totalFailures = 0;
+        long totalSlowCalls = 0;
+        for (int i = 0; i < size; i++) {
+            if (epochs.get(i) > oldestEpoch) {
+                totalCalls += calls.get(i);
+                totalFailures += failures.get(i);
+                totalSlowCalls += slowCalls.get(i);
+            }
+        }
+        return new Totals(totalCalls, totalFailures, totalSlowCalls);
+    }
+
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    record Totals(long calls, long failures, long slowCalls) {
+
+        double failureRate() {
+            return calls == 0 ? 0 : failures * 100.0 / calls;
+        }
+
+        double slowCallRate() {
+            return calls == 0 ? 0 : slowCalls * 100.0 / calls;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.aws.sqs.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface SqsCallDecorator {
+
+    <T> CompletableFuture<T> call(String queueKey, String operation, Supplier<CompletableFuture<T>> call);
+}
@@ -0,0 +1,150 @@
+package com.aws.sqs.resilience;
+
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.config.ResilienceProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.resilience.enabled", havingValue = "true")
+public class SqsCallGuard implements SqsCallDecorator {
+
+    private final ResilienceProperties properties;
+    private final QueueMetrics queueMetrics;
+    private final RetryBudget retryBudget;
+    private final ConcurrentMap<String, QueueLimiters> limiters = new ConcurrentHashMap<>();
+
+    public SqsCallGuard(ResilienceProperties properties, QueueMetrics queueMetrics) {
+        this.properties = properties;
+        this.queueMetrics = queueMetrics;
+        this.retryBudget = new RetryBudget(properties.retryBudgetRatio(), properties.minRetriesPerSecond(), System::nanoTime);
+        log.info("SQS call guard enabled (limit: {} [{}..{}], maxAttempts: {}, retryBudgetRatio: {})",
+                properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+                properties.maxAttempts(), properties.retryBudgetRatio());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> call(String queueKey, String operation, Supplier<CompletableFuture<T>> call) {
+        var guarded = limiters(queueKey).forOperation(operation);
+        var result = new CompletableFuture<T>();
+        retryBudget.deposit();
+        attempt(guarded, call, 1, properties.retryBaseDelay().toMillis(), result);
+        return result;
+    }
+
+    private <T> void attempt(GuardedOperation guarded, Supplier<CompletableFuture<T>> call,
+                             int attempt, long previousDelayMillis, CompletableFuture<T> result) {
+        if (!guarded.limiter().tryAcquire()) {
+            queueMetrics.incrementLimiterRejected(guarded.queueName(), guarded.operation());
+            result.completeExceptionally(new ConcurrencyLimitExceededException(
+                    guarded.queueName(), guarded.operation(), properties.retryAfter()));
+            return;
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            guarded.limiter().onIgnore();
+            result.completeExceptionally(e);
+            return;
+        }
+
+        future.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                guarded.limiter().onSuccess();
+                result.complete(value);
+                return;
+            }
+
+            var cause = SqsErrors.unwrap(throwable);
+            if (!SqsErrors.isRetryable(cause)) {
+                guarded.limiter().onIgnore();
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            guarded.limiter().onDropped();
+            if (attempt >= properties.maxAttempts()) {
+                queueMetrics.incrementRetries(guarded.queueName(), guarded.operation(), "exhausted");
+                result.completeExceptionally(cause);
+                return;
+            }
+            if (!retryBudget.tryWithdraw()) {
+                queueMetrics.incrementRetries(guarded.queueName(), guarded.operation(), "budget_exhausted");
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long delayMillis = decorrelatedJitter(previousDelayMillis);
+            queueMetrics.incrementRetries(guarded.queueName(), guarded.operation(), "retried");
+            log.debug("Retrying {} on {} in {}ms (attempt {}): {}", guarded.operation(), guarded.queueName(),
+                    delayMillis, attempt + 1, SqsErrors.errorCode(cause));
+            CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS)
+                    .execute(() -> attempt(guarded, call, attempt + 1, delayMillis, result));
+        });
+    }
+
+    private long decorrelatedJitter(long previousDelayMillis) {
+        long base = properties.retryBaseDelay().toMillis();
+        long cap = properties.retryMaxDelay().toMillis();
+        long upper = Math.max(base + 1, Math.min(cap, previousDelayMillis * 3) + 1);
+        return Math.min(cap, ThreadLocalRandom.current().nextLong(base, upper));
+    }
+
+    private QueueLimiters limiters(String queueKey) {
+        var queueLimiters = limiters.get(queueKey);
+        if (queueLimiters != null) {
+            return queueLimiters;
+        }
+        return limiters.computeIfAbsent(queueKey, key -> new QueueLimiters(queueName(key)));
+    }
+
+    private static String queueName(String queueKey) {
+        return queueKey.substring(queueKey.lastIndexOf('/') + 1);
+    }
+
+    private record GuardedOperation(String queueName, String operation, AimdLimiter limiter) {
+    }
+
+    private final class QueueLimiters {
+
+        private final String queueName;
+        private final ConcurrentMap<String, GuardedOperation> operations = new ConcurrentHashMap<>();
+
+        private QueueLimiters(String queueName) {
+            this.queueName = queueName;
+        }
+
+        private GuardedOperation forOperation(String operation) {
+            var guarded = operations.get(operation);
+            if (guarded != null) {
+                return guarded;
+            }
+            return operations.computeIfAbsent(operation, this::register);
+        }
+
+        private GuardedOperation register(String operation) {
+            var limiter = new AimdLimiter(
+                    properties.initialLimit(),
+                    properties.minLimit(),
+                    properties.maxLimit(),
+                    properties.backoffRatio(),
+                    properties.backoffCooldown().toNanos(),
+                    System::nanoTime
+            );
+            queueMetrics.registerConcurrencyLimiter(queueName, operation, limiter::limit, limiter::inFlight);
+            return new GuardedOperation(queueName, operation, limiter);
+        }
+    }
+}
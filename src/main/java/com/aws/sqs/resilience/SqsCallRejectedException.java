@@ -0,0 +1,30 @@
+package com.aws.sqs.resilience;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Getter
+public abstract class SqsCallRejectedException extends RuntimeException {
+
+    private final String queueName;
+    private final Duration retryAfter;
+
+    protected SqsCallRejectedException(String message, String queueName, Duration retryAfter) {
+        super(message, null, false, false);
+        this.queueName = queueName;
+        this.retryAfter = retryAfter;
+    }
+
+    public static Optional<SqsCallRejectedException> find(Throwable throwable) {
+        var current = throwable;
+        while (current != null) {
+            if (current instanceof SqsCallRejectedException rejected) {
+                return Optional.of(rejected);
+            }
+            current = current.getCause();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.aws.sqs.resilience;
+
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.config.CircuitBreakerProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.circuit-breaker.enabled", havingValue = "true")
+public class SqsCircuitBreakers implements SqsCallDecorator {
+
+    private static final String RECEIVE_MESSAGE = "ReceiveMessage";
+    private static final String CREATE_QUEUE = "CreateQueue";
+
+    private final CircuitBreakerProperties properties;
+    private final QueueMetrics queueMetrics;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, GuardedQueue> byName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, GuardedQueue> byKey = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SqsCircuitBreakers(CircuitBreakerProperties properties, QueueMetrics queueMetrics) {
+        this(properties, queueMetrics, System::nanoTime);
+    }
+
+    SqsCircuitBreakers(CircuitBreakerProperties properties, QueueMetrics queueMetrics, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.queueMetrics = queueMetrics;
+        this.nanoClock = nanoClock;
+        log.info("SQS circuit breakers enabled (failureRate: {}%, slowCall: {} >= {}%, window: {}, open: {})",
+                properties.failureRateThreshold(), properties.slowCallDuration(), properties.slowCallRateThreshold(),
+                properties.slidingWindow(), properties.waitDurationInOpenState());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> call(String queueKey, String operation, Supplier<CompletableFuture<T>> call) {
+        if (CREATE_QUEUE.equals(operation)) {
+            return createQueue(queueKey, call);
+        }
+        var queue = forKey(queueKey);
+        var permit = queue.breaker().tryAcquire();
+        if (permit == null) {
+            queue.rejected().increment();
+            return CompletableFuture.failedFuture(
+                    new CircuitOpenException(queue.breaker().queueName(), queue.breaker().retryAfter()));
+        }
+
+        long startNanos = nanoClock.getAsLong();
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            queue.breaker().onIgnored(permit);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return future.whenComplete((value, throwable) -> {
+            long durationNanos = nanoClock.getAsLong() - startNanos;
+            boolean slowCallEligible = !RECEIVE_MESSAGE.equals(operation);
+            if (throwable == null) {
+                queue.successful().increment();
+                queue.breaker().onResult(permit, durationNanos, false, slowCallEligible);
+            } else if (isFailure(throwable)) {
+                queue.failed().increment();
+                queue.breaker().onResult(permit, durationNanos, true, slowCallEligible);
+            } else if (SqsCallRejectedException.find(throwable).isPresent()) {
+                queue.breaker().onIgnored(permit);
+            } else {
+                queue.successful().increment();
+                queue.breaker().onResult(permit, durationNanos, false, slowCallEligible);
+            }
+        });
+    }
+
+    public Map<String, CircuitBreakerSnapshot> snapshots() {
+        var snapshots = new TreeMap<String, CircuitBreakerSnapshot>();
+        byName.forEach((name, queue) -> snapshots.put(name, queue.breaker().snapshot()));
+        return snapshots;
+    }
+
+    public Optional<CircuitBreakerSnapshot> snapshot(String queueName) {
+        return Optional.ofNullable(byName.get(queueName)).map(queue -> queue.breaker().snapshot());
+    }
+
+    public boolean reset(String queueName) {
+        var queue = byName.get(queueName);
+        if (queue == null) {
+            return false;
+        }
+        queue.breaker().reset();
+        return true;
+    }
+
+    private <T> CompletableFuture<T> createQueue(String queueName, Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((value, throwable) -> {
+            var queue = byName.get(queueName);
+            if (throwable == null && queue != null) {
+                log.debug("Queue {} was created, resetting its circuit breaker", queueName);
+                queue.breaker().reset();
+            }
+        });
+    }
+
+    static boolean isFailure(Throwable throwable) {
+        var cause = SqsErrors.unwrap(throwable);
+        return cause instanceof QueueDoesNotExistException
+                || !(cause instanceof SqsCallRejectedException) && SqsErrors.isRetryable(cause);
+    }
+
+    private GuardedQueue forKey(String queueKey) {
+        var queue = byKey.get(queueKey);
+        if (queue != null) {
+            return queue;
+        }
+        return byKey.computeIfAbsent(queueKey,
+                key -> byName.computeIfAbsent(key.substring(key.lastIndexOf('/') + 1), this::register));
+    }
+
+    private GuardedQueue register(String queueName) {
+        var breaker = new QueueCircuitBreaker(queueName, properties, nanoClock);
+        for (var state : QueueCircuitBreaker.State.values()) {
+            queueMetrics.registerCircuitBreakerState(queueName, state.name().toLowerCase(),
+                    () -> breaker.state() == state);
+        }
+        queueMetrics.registerCircuitBreakerFailureRate(queueName, breaker::failureRate);
+        return new GuardedQueue(
+                breaker,
+                queueMetrics.circuitBreakerCalls(queueName, "success"),
+                queueMetrics.circuitBreakerCalls(queueName, "failure"),
+                queueMetrics.circuitBreakerCalls(queueName, "rejected")
+        );
+    }
+
+    private record GuardedQueue(QueueCircuitBreaker breaker, Counter successful, Counter failed, Counter rejected) {
+    }
+}
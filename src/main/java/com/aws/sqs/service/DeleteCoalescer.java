@@ -0,0 +1,86 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchCoalescer;
+import com.aws.sqs.batch.BatchEntryException;
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.aws.sqs.config.DeleteCoalescingProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.consumer.delete-coalescing.enabled", havingValue = "true")
+public class DeleteCoalescer {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final BatchCoalescer<String, Void> coalescer;
+
+    public DeleteCoalescer(SqsAsyncClient sqsAsyncClient,
+                           QueueUrlResolver queueUrlResolver,
+                           QueueMetrics queueMetrics,
+                           DeleteCoalescingProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.coalescer = new BatchCoalescer<>(
+                "delete",
+                this::sendBatch,
+                queueMetrics,
+                SqsBatchLimits.MAX_ENTRIES,
+                Integer.MAX_VALUE,
+                properties.flushInterval(),
+                properties.maxAttempts(),
+                properties.retryBackoff()
+        );
+    }
+
+    public CompletableFuture<Void> submit(String queueName, String receiptHandle) {
+        return coalescer.submit(queueName, receiptHandle, 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.close();
+    }
+
+    private CompletableFuture<Void> sendBatch(String queueName, List<BatchCoalescer.Entry<String, Void>> batch) {
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> {
+                    var entries = new ArrayList<DeleteMessageBatchRequestEntry>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        entries.add(DeleteMessageBatchRequestEntry.builder()
+                                .id(String.valueOf(i))
+                                .receiptHandle(batch.get(i).payload())
+                                .build());
+                    }
+                    return sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build());
+                })
+                .thenAccept(response -> {
+                    for (var successful : response.successful()) {
+                        batch.get(Integer.parseInt(successful.id())).future().complete(null);
+                    }
+                    for (var failed : response.failed()) {
+                        batch.get(Integer.parseInt(failed.id())).future().completeExceptionally(new BatchEntryException(
+                                failed.code(), failed.message(), Boolean.TRUE.equals(failed.senderFault())));
+                    }
+                })
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                    }
+                });
+    }
+}
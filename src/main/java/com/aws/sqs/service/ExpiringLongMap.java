@@ -0,0 +1,229 @@
+package com.aws.sqs.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+final class ExpiringLongMap {
+
+    static final long ABSENT = Long.MIN_VALUE;
+
+    private static final long EMPTY = 0;
+    private static final int SEGMENTS = 16;
+    private static final int SEGMENT_SHIFT = 64 - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongSupplier millisClock;
+    private final LongAdder evictions = new LongAdder();
+
+    ExpiringLongMap(int maxEntries, LongSupplier millisClock) {
+        this.millisClock = millisClock;
+        int perSegment = Math.max(16, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        int capacity = Integer.highestOneBit(perSegment * 2 - 1) * 2;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(capacity, perSegment);
+        }
+    }
+
+    long get(long key) {
+        var segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(key, millisClock.getAsLong());
+            return slot < 0 ? ABSENT : segment.values[slot];
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    long putIfAbsent(long key, long value, long ttlMillis) {
+        var segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            long now = millisClock.getAsLong();
+            int slot = segment.find(key, now);
+            if (slot >= 0) {
+                return segment.values[slot];
+            }
+            segment.insert(key, value, now + ttlMillis, now);
+            return ABSENT;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    void put(long key, long value, long ttlMillis) {
+        var segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            long now = millisClock.getAsLong();
+            int slot = segment.find(key, now);
+            if (slot >= 0) {
+                segment.values[slot] = value;
+                segment.expiries[slot] = now + ttlMillis;
+            } else {
+                segment.insert(key, value, now + ttlMillis, now);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    long remove(long key) {
+        var segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            int slot = segment.find(key, millisClock.getAsLong());
+            if (slot < 0) {
+                return ABSENT;
+            }
+            segment.expiries[slot] = Long.MIN_VALUE;
+            segment.live--;
+            return segment.values[slot];
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (var segment : segments) {
+            size += segment.live;
+        }
+        return size;
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    long capacityBytes() {
+        long slots = 0;
+        for (var segment : segments) {
+            slots += segment.keys.length;
+        }
+        return slots * 3 * Long.BYTES;
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int) (key >>> SEGMENT_SHIFT)];
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] keys;
+        private final long[] values;
+        private final long[] expiries;
+        private final int mask;
+        private final int maxLive;
+        private final int maxOccupied;
+        private int occupied;
+        private int live;
+
+        private Segment(int capacity, int maxLive) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.expiries = new long[capacity];
+            this.mask = capacity - 1;
+            this.maxLive = maxLive;
+            this.maxOccupied = capacity - capacity / 4;
+        }
+
+        private int find(long key, long now) {
+            for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+                long candidate = keys[slot];
+                if (candidate == EMPTY) {
+                    return -1;
+                }
+                if (candidate == key) {
+                    return expiries[slot] > now ? slot : -1;
+                }
+            }
+        }
+
+        private void insert(long key, long value, long expiresAt, long now) {
+            if (occupied >= maxOccupied || live >= maxLive) {
+                compact(now);
+            }
+            int reusable = -1;
+            int slot = (int) key & mask;
+            for (; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    claim(slot, value, expiresAt);
+                    return;
+                }
+                if (reusable < 0 && expiries[slot] <= now) {
+                    reusable = slot;
+                }
+            }
+            if (reusable >= 0) {
+                keys[reusable] = key;
+                claim(reusable, value, expiresAt);
+                return;
+            }
+            occupied++;
+            live++;
+            keys[slot] = key;
+            values[slot] = value;
+            expiries[slot] = expiresAt;
+        }
+
+        private void claim(int slot, long value, long expiresAt) {
+            if (expiries[slot] == Long.MIN_VALUE) {
+                live++;
+            }
+            values[slot] = value;
+            expiries[slot] = expiresAt;
+        }
+
+        private void compact(long now) {
+            long cutoff = now;
+            int survivors = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY && expiries[i] > now) {
+                    survivors++;
+                }
+            }
+            if (survivors >= maxLive / 2 + maxLive / 4) {
+                var liveExpiries = new long[survivors];
+                int n = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i] != EMPTY && expiries[i] > now) {
+                        liveExpiries[n++] = expiries[i];
+                    }
+                }
+                Arrays.sort(liveExpiries);
+                cutoff = liveExpiries[survivors / 2];
+            }
+
+            var oldKeys = keys.clone();
+            var oldValues = values.clone();
+            var oldExpiries = expiries.clone();
+            Arrays.fill(keys, EMPTY);
+            occupied = 0;
+            live = 0;
+            long evicted = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == EMPTY || oldExpiries[i] <= now) {
+                    continue;
+                }
+                if (oldExpiries[i] <= cutoff) {
+                    evicted++;
+                } else {
+                    int slot = (int) oldKeys[i] & mask;
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                    expiries[slot] = oldExpiries[i];
+                    occupied++;
+                    live++;
+                }
+            }
+            evictions.add(evicted);
+        }
+    }
+}
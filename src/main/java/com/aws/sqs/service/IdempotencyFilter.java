@@ -0,0 +1,128 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.IdempotencyProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.consumer.idempotency.enabled", havingValue = "true")
+public class IdempotencyFilter {
+
+    public enum Verdict {
+        ADMIT("miss"),
+        DUPLICATE_PROCESSED("duplicate_processed"),
+        DUPLICATE_IN_FLIGHT("duplicate_in_flight");
+
+        private final String result;
+
+        Verdict(String result) {
+            this.result = result;
+        }
+    }
+
+    private static final long IN_FLIGHT = 0;
+    private static final long PROCESSED = 1;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final QueueMetrics queueMetrics;
+    private final IdempotencyProperties properties;
+    private final long ttlMillis;
+    private final long inFlightTtlMillis;
+    private final ExpiringLongMap seen;
+    private final ExpiringLongMap receipts;
+
+    @Autowired
+    public IdempotencyFilter(QueueMetrics queueMetrics, IdempotencyProperties properties) {
+        this(queueMetrics, properties, System::currentTimeMillis);
+    }
+
+    IdempotencyFilter(QueueMetrics queueMetrics, IdempotencyProperties properties, LongSupplier millisClock) {
+        this.queueMetrics = queueMetrics;
+        this.properties = properties;
+        this.ttlMillis = properties.ttl().toMillis();
+        this.inFlightTtlMillis = properties.inFlightTtl().toMillis();
+        this.seen = new ExpiringLongMap(properties.maxEntries(), millisClock);
+        this.receipts = new ExpiringLongMap(properties.maxEntries(), millisClock);
+        queueMetrics.registerIdempotencyMeters(seen::size, seen::evictions);
+        log.info("Idempotency filter enabled (key: {}, ttl: {}, maxEntries: {}, ~{} KiB)",
+                properties.keySource(), properties.ttl(), properties.maxEntries(),
+                (seen.capacityBytes() + receipts.capacityBytes()) / 1024);
+    }
+
+    public Verdict admit(String queueName, Message message) {
+        long key = key(queueName, message);
+        long state = seen.putIfAbsent(key, IN_FLIGHT, inFlightTtlMillis);
+        Verdict verdict;
+        if (state == ExpiringLongMap.ABSENT) {
+            receipts.put(hash(message.receiptHandle()), key, ttlMillis);
+            verdict = Verdict.ADMIT;
+        } else {
+            verdict = state == PROCESSED ? Verdict.DUPLICATE_PROCESSED : Verdict.DUPLICATE_IN_FLIGHT;
+        }
+        queueMetrics.incrementIdempotencyLookup(queueName, verdict.result);
+        return verdict;
+    }
+
+    public void complete(String receiptHandle) {
+        long key = receipts.remove(hash(receiptHandle));
+        if (key != ExpiringLongMap.ABSENT) {
+            seen.put(key, PROCESSED, ttlMillis);
+        }
+    }
+
+    public void abandon(String receiptHandle) {
+        long key = receipts.remove(hash(receiptHandle));
+        if (key != ExpiringLongMap.ABSENT) {
+            seen.remove(key);
+        }
+    }
+
+    public Optional<String> keyAttributeName() {
+        return properties.keySource() == IdempotencyProperties.KeySource.ATTRIBUTE
+                ? Optional.of(properties.attributeName())
+                : Optional.empty();
+    }
+
+    private long key(String queueName, Message message) {
+        var value = switch (properties.keySource()) {
+            case MESSAGE_ID -> message.messageId();
+            case BODY -> message.body();
+            case ATTRIBUTE -> {
+                var attribute = message.messageAttributes().get(properties.attributeName());
+                yield attribute != null && attribute.stringValue() != null
+                        ? attribute.stringValue()
+                        : message.messageId();
+            }
+        };
+        return mix(append(append(FNV_OFFSET, queueName) * FNV_PRIME, value));
+    }
+
+    static long hash(String value) {
+        return mix(append(FNV_OFFSET, value));
+    }
+
+    private static long append(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+}
@@ -0,0 +1,68 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.model.dto.MessageBodyMode;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+@Slf4j
+public final class MessageBodies {
+
+    private MessageBodies() {
+    }
+
+    public static JsonNode toBody(ObjectMapper objectMapper, String body, MessageBodyMode mode) {
+        if (body == null) {
+            return JsonNodeFactory.instance.nullNode();
+        }
+        return switch (mode) {
+            case STRING -> TextNode.valueOf(body);
+            case RAW -> isJsonDocument(objectMapper, body)
+                    ? JsonNodeFactory.instance.rawValueNode(new RawValue(body))
+                    : TextNode.valueOf(body);
+            case JSON -> parse(objectMapper, body);
+        };
+    }
+
+    public static void validateJson(ObjectMapper objectMapper, byte[] body) {
+        try (var parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                throw new IllegalArgumentException("Message body is empty");
+            }
+            parser.skipChildren();
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Message body contains trailing content");
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Message body is not valid JSON: " + e.getMessage(), e);
+        }
+    }
+
+    static boolean isJsonDocument(ObjectMapper objectMapper, String body) {
+        try (var parser = objectMapper.getFactory().createParser(body)) {
+            var token = parser.nextToken();
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static JsonNode parse(ObjectMapper objectMapper, String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            log.warn("Message body is not valid JSON, returning it as a string: {}", e.getMessage());
+            return TextNode.valueOf(body);
+        }
+    }
+}
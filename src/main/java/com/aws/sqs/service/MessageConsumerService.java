@@ -1,92 +1,472 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.batch.BatchPacker;
+import com.aws.sqs.codec.PayloadCodec;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.model.dto.AckFailure;
+import com.aws.sqs.model.dto.AckResponse;
 import com.aws.sqs.model.dto.ConsumeRequest;
+import com.aws.sqs.model.dto.MessageBodyMode;
 import com.aws.sqs.model.dto.MessageResponse;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.aws.sqs.model.dto.StreamConsumeRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MessageConsumerService {
 
     private final SqsAsyncClient sqsAsyncClient;
     private final ObjectMapper objectMapper;
+    private final QueueUrlResolver queueUrlResolver;
+    private final QueueMetrics queueMetrics;
+    private final Executor executor;
+    private final Optional<DeleteCoalescer> deleteCoalescer;
+    private final Optional<PrefetchBuffer> prefetchBuffer;
+    private final Optional<VisibilityHeartbeat> visibilityHeartbeat;
+    private final Optional<PayloadCodec> payloadCodec;
+    private final Optional<IdempotencyFilter> idempotencyFilter;
+
+    public MessageConsumerService(SqsAsyncClient sqsAsyncClient,
+                                  ObjectMapper objectMapper,
+                                  QueueUrlResolver queueUrlResolver,
+                                  QueueMetrics queueMetrics,
+                                  @Qualifier("virtualThreadExecutor") Executor executor,
+                                  Optional<DeleteCoalescer> deleteCoalescer,
+                                  Optional<PrefetchBuffer> prefetchBuffer,
+                                  Optional<VisibilityHeartbeat> visibilityHeartbeat,
+                                  Optional<PayloadCodec> payloadCodec,
+                                  Optional<IdempotencyFilter> idempotencyFilter) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.objectMapper = objectMapper;
+        this.queueUrlResolver = queueUrlResolver;
+        this.queueMetrics = queueMetrics;
+        this.executor = executor;
+        this.deleteCoalescer = deleteCoalescer;
+        this.prefetchBuffer = prefetchBuffer;
+        this.visibilityHeartbeat = visibilityHeartbeat;
+        this.payloadCodec = payloadCodec;
+        this.idempotencyFilter = idempotencyFilter;
+    }
 
     public CompletableFuture<List<MessageResponse>> consumeMessages(String queueName, ConsumeRequest consumeRequest) {
         log.info("Consuming messages from queue: {} (maxMessages: {}, waitTime: {})",
                 queueName, consumeRequest.maxMessages(), consumeRequest.waitTimeSeconds());
 
-        return getQueueUrl(queueName)
+        if (prefetchBuffer.isPresent() && prefetchBuffer.get().supports(queueName)) {
+            var buffered = prefetchBuffer.get().take(queueName, consumeRequest.maxMessages());
+            if (!buffered.isEmpty()) {
+                recordEndToEndLatency(queueName, buffered);
+                return decode(queueName, buffered)
+                        .thenApply(messages -> suppressDuplicates(queueName, messages))
+                        .thenApply(messages -> messages.stream()
+                                .map(message -> toMessageResponse(message, consumeRequest.bodyMode(),
+                                        consumeRequest.attributeNames(), consumeRequest.messageAttributeNames()))
+                                .collect(Collectors.toList()))
+                        .thenApply(responses -> {
+                            visibilityHeartbeat.ifPresent(heartbeat -> responses.forEach(response ->
+                                    heartbeat.track(queueName, response.receiptHandle(), Duration.ZERO)));
+                            return responses;
+                        })
+                        .exceptionally(throwable -> {
+                            log.error("Error consuming messages from queue: {}", queueName, throwable);
+                            throw new RuntimeException("Failed to consume messages from queue: " + queueName, throwable);
+                        });
+            }
+        }
+
+        return queueUrlResolver.resolve(queueName)
                 .thenCompose(queueUrl -> {
                     var receiveMessageRequest = ReceiveMessageRequest.builder()
                             .queueUrl(queueUrl)
                             .maxNumberOfMessages(consumeRequest.maxMessages())
-                            .waitTimeSeconds(consumeRequest.waitTimeSeconds())
-                            .attributeNames(QueueAttributeName.ALL)
-                            .build();
+                            .waitTimeSeconds(consumeRequest.waitTimeSeconds());
+                    if (!consumeRequest.attributeNames().isEmpty()) {
+                        receiveMessageRequest.attributeNamesWithStrings(consumeRequest.attributeNames());
+                    }
+                    receiveMessageRequest.messageAttributeNames(withInternalAttributes(consumeRequest.messageAttributeNames()));
 
-                    return sqsAsyncClient.receiveMessage(receiveMessageRequest);
+                    return sqsAsyncClient.receiveMessage(receiveMessageRequest.build());
                 })
-                .thenApply(receiveMessageResponse -> receiveMessageResponse.messages().stream()
-                        .map(message -> {
-                            try {
-                                JsonNode body = objectMapper.readTree(message.body());
-                                Map<String, String> attributes = message.attributes().entrySet().stream()
-                                        .collect(Collectors.toMap(
-                                                entry -> entry.getKey().toString(),
-                                                Map.Entry::getValue
-                                        ));
-
-                                return new MessageResponse(
-                                        message.messageId(),
-                                        message.receiptHandle(),
-                                        body,
-                                        attributes,
-                                        Instant.now()
-                                );
-                            } catch (Exception e) {
-                                log.error("Error parsing message body", e);
-                                throw new RuntimeException("Failed to parse message", e);
-                            }
-                        })
+                .thenCompose(receiveMessageResponse -> {
+                    recordEndToEndLatency(queueName, receiveMessageResponse.messages());
+                    return decode(queueName, receiveMessageResponse.messages());
+                })
+                .thenApply(messages -> suppressDuplicates(queueName, messages))
+                .thenApply(messages -> messages.stream()
+                        .map(message -> toMessageResponse(message, consumeRequest.bodyMode(),
+                                null, consumeRequest.messageAttributeNames()))
                         .collect(Collectors.toList()))
+                .thenApply(responses -> {
+                    visibilityHeartbeat.ifPresent(heartbeat -> responses.forEach(response ->
+                            heartbeat.track(queueName, response.receiptHandle())));
+                    return responses;
+                })
                 .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
                     log.error("Error consuming messages from queue: {}", queueName, throwable);
                     throw new RuntimeException("Failed to consume messages from queue: " + queueName, throwable);
                 });
     }
 
+    public CompletableFuture<Integer> streamMessages(String queueName,
+                                                     StreamConsumeRequest streamRequest,
+                                                     Predicate<MessageResponse> sink,
+                                                     BooleanSupplier closed) {
+        log.info("Streaming messages from queue: {} (limit: {}, idleTimeout: {}s)",
+                queueName, streamRequest.limit(), streamRequest.idleTimeoutSeconds());
+
+        var result = new CompletableFuture<Integer>();
+        queueUrlResolver.resolve(queueName).whenComplete((queueUrl, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                pollStream(queueName, queueUrl, streamRequest, sink, closed, 0, System.nanoTime(), result);
+            }
+        });
+
+        return result.exceptionally(throwable -> {
+            queueUrlResolver.invalidateIfMissing(queueName, throwable);
+            log.error("Error streaming messages from queue: {}", queueName, throwable);
+            throw new RuntimeException("Failed to stream messages from queue: " + queueName, throwable);
+        });
+    }
+
+    private void pollStream(String queueName,
+                            String queueUrl,
+                            StreamConsumeRequest streamRequest,
+                            Predicate<MessageResponse> sink,
+                            BooleanSupplier closed,
+                            int emitted,
+                            long lastMessageNanos,
+                            CompletableFuture<Integer> result) {
+        if (result.isDone()) {
+            return;
+        }
+        if (closed.getAsBoolean()) {
+            log.info("Stream from queue {} closed by client after {} messages", queueName, emitted);
+            result.complete(emitted);
+            return;
+        }
+
+        var receiveMessageRequest = ReceiveMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .maxNumberOfMessages(Math.min(streamRequest.maxMessages(), streamRequest.limit() - emitted))
+                .waitTimeSeconds(Math.min(streamRequest.waitTimeSeconds(), streamRequest.idleTimeoutSeconds()))
+                .attributeNamesWithStrings(MessageSystemAttributeName.SENT_TIMESTAMP.toString())
+                .messageAttributeNames(withInternalAttributes(List.of()))
+                .build();
+
+        sqsAsyncClient.receiveMessage(receiveMessageRequest)
+                .thenCompose(response -> {
+                    recordEndToEndLatency(queueName, response.messages());
+                    return decode(queueName, response.messages());
+                })
+                .thenApply(messages -> suppressDuplicates(queueName, messages))
+                .whenCompleteAsync((messages, throwable) -> {
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                        return;
+                    }
+                    try {
+                        int count = emitted;
+                        int index = 0;
+                        for (; index < messages.size() && count < streamRequest.limit(); index++) {
+                            var message = messages.get(index);
+                            if (!sink.test(toMessageResponse(message, streamRequest.bodyMode(), null, List.of()))) {
+                                log.info("Stream from queue {} closed by client after {} messages", queueName, count);
+                                release(queueName, queueUrl, messages.subList(index, messages.size()));
+                                result.complete(count);
+                                return;
+                            }
+                            visibilityHeartbeat.ifPresent(heartbeat -> heartbeat.track(queueName, message.receiptHandle()));
+                            count++;
+                        }
+                        release(queueName, queueUrl, messages.subList(index, messages.size()));
+
+                        var now = System.nanoTime();
+                        var lastMessage = messages.isEmpty() ? lastMessageNanos : now;
+                        if (count >= streamRequest.limit()
+                                || now - lastMessage >= TimeUnit.SECONDS.toNanos(streamRequest.idleTimeoutSeconds())) {
+                            result.complete(count);
+                            return;
+                        }
+                        pollStream(queueName, queueUrl, streamRequest, sink, closed, count, lastMessage, result);
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }, executor);
+    }
+
+    private void release(String queueName, String queueUrl, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        messages.forEach(message -> abandon(message.receiptHandle()));
+        for (var chunk : BatchPacker.pack(messages, message -> 0)) {
+            var entries = new ArrayList<ChangeMessageVisibilityBatchRequestEntry>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .receiptHandle(chunk.get(i).receiptHandle())
+                        .visibilityTimeout(0)
+                        .build());
+            }
+            sqsAsyncClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            log.warn("Error releasing {} unsent messages back to queue: {}",
+                                    chunk.size(), queueName, throwable);
+                        }
+                    });
+        }
+    }
+
     public CompletableFuture<Void> deleteMessage(String queueName, String receiptHandle) {
         log.info("Deleting message from queue: {}", queueName);
+        visibilityHeartbeat.ifPresent(heartbeat -> heartbeat.untrack(receiptHandle));
+
+        if (deleteCoalescer.isPresent()) {
+            return deleteCoalescer.get().submit(queueName, receiptHandle)
+                    .thenRun(() -> completed(queueName, receiptHandle))
+                    .exceptionally(throwable -> {
+                        queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                        log.error("Error deleting message from queue: {}", queueName, throwable);
+                        throw new RuntimeException("Failed to delete message from queue: " + queueName, throwable);
+                    });
+        }
 
-        return getQueueUrl(queueName)
+        return queueUrlResolver.resolve(queueName)
                 .thenCompose(queueUrl -> sqsAsyncClient.deleteMessage(DeleteMessageRequest.builder()
                         .queueUrl(queueUrl)
                         .receiptHandle(receiptHandle)
                         .build())
-                        .<Void>thenApply(response -> null))
+                        .thenRun(() -> completed(queueName, receiptHandle)))
                 .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
                     log.error("Error deleting message from queue: {}", queueName, throwable);
                     throw new RuntimeException("Failed to delete message from queue: " + queueName, throwable);
                 });
     }
 
-    private CompletableFuture<String> getQueueUrl(String queueName) {
-        return sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
-                        .queueName(queueName)
+    public CompletableFuture<AckResponse> acknowledgeMessages(String queueName, List<String> receiptHandles) {
+        log.info("Acknowledging {} messages from queue: {}", receiptHandles.size(), queueName);
+        visibilityHeartbeat.ifPresent(heartbeat -> receiptHandles.forEach(heartbeat::untrack));
+
+        var failures = new ConcurrentLinkedQueue<AckFailure>();
+        var chunks = BatchPacker.pack(receiptHandles, handle -> 0);
+
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> CompletableFuture.allOf(chunks.stream()
+                        .map(chunk -> deleteChunk(queueUrl, chunk, failures))
+                        .toArray(CompletableFuture[]::new)))
+                .thenApply(v -> {
+                    if (payloadCodec.isPresent() || idempotencyFilter.isPresent()) {
+                        var failed = failures.stream().map(AckFailure::receiptHandle).collect(Collectors.toSet());
+                        receiptHandles.stream()
+                                .filter(handle -> !failed.contains(handle))
+                                .forEach(handle -> completed(queueName, handle));
+                    }
+                    return new AckResponse(receiptHandles.size() - failures.size(), new ArrayList<>(failures));
+                })
+                .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                    log.error("Error acknowledging messages from queue: {}", queueName, throwable);
+                    throw new RuntimeException("Failed to acknowledge messages from queue: " + queueName, throwable);
+                });
+    }
+
+    public List<Message> suppressDuplicates(String queueName, List<Message> messages) {
+        if (idempotencyFilter.isEmpty() || messages.isEmpty()) {
+            return messages;
+        }
+        var admitted = new ArrayList<Message>(messages.size());
+        for (var message : messages) {
+            switch (idempotencyFilter.get().admit(queueName, message)) {
+                case ADMIT -> admitted.add(message);
+                case DUPLICATE_PROCESSED -> discardDuplicate(queueName, message);
+                case DUPLICATE_IN_FLIGHT -> log.debug("Skipping message {} from queue {}: already in flight",
+                        message.messageId(), queueName);
+            }
+        }
+        return admitted;
+    }
+
+    public void abandon(String receiptHandle) {
+        idempotencyFilter.ifPresent(filter -> filter.abandon(receiptHandle));
+    }
+
+    private void discardDuplicate(String queueName, Message message) {
+        log.debug("Deleting duplicate delivery of message {} from queue {}", message.messageId(), queueName);
+        CompletableFuture<?> deleted = deleteCoalescer.isPresent()
+                ? deleteCoalescer.get().submit(queueName, message.receiptHandle())
+                : queueUrlResolver.resolve(queueName)
+                        .thenCompose(queueUrl -> sqsAsyncClient.deleteMessage(DeleteMessageRequest.builder()
+                                .queueUrl(queueUrl)
+                                .receiptHandle(message.receiptHandle())
+                                .build()));
+        deleted.whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                log.warn("Failed to delete duplicate message {} from queue {}", message.messageId(), queueName, throwable);
+            }
+        });
+    }
+
+    private CompletableFuture<Void> deleteChunk(String queueUrl,
+                                                List<String> chunk,
+                                                ConcurrentLinkedQueue<AckFailure> failures) {
+        var entries = new ArrayList<DeleteMessageBatchRequestEntry>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(chunk.get(i))
+                    .build());
+        }
+
+        return sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
                         .build())
-                .thenApply(GetQueueUrlResponse::queueUrl);
+                .handle((response, throwable) -> {
+                    if (throwable != null) {
+                        var errorCode = SqsErrors.errorCode(throwable);
+                        var errorMessage = SqsErrors.errorMessage(throwable);
+                        var retryable = SqsErrors.isRetryable(throwable);
+                        chunk.forEach(handle -> failures.add(new AckFailure(handle, errorCode, errorMessage, retryable)));
+                    } else {
+                        for (var failed : response.failed()) {
+                            failures.add(new AckFailure(
+                                    chunk.get(Integer.parseInt(failed.id())),
+                                    failed.code(),
+                                    failed.message(),
+                                    !Boolean.TRUE.equals(failed.senderFault())));
+                        }
+                    }
+                    return null;
+                });
+    }
+
+    private CompletableFuture<List<Message>> decode(String queueName, List<Message> messages) {
+        return payloadCodec
+                .map(codec -> codec.decodeAll(queueName, messages))
+                .orElseGet(() -> CompletableFuture.completedFuture(messages));
+    }
+
+    private void recordEndToEndLatency(String queueName, List<Message> messages) {
+        if (!messages.isEmpty()) {
+            PublishTimestamps.recordEndToEndLatency(queueMetrics.forQueue(queueName).endToEndLatency(), messages);
+        }
+    }
+
+    public List<String> withInternalAttributes(List<String> messageAttributeNames) {
+        messageAttributeNames = PublishTimestamps.withTimestampAttribute(messageAttributeNames);
+        if (messageAttributeNames.contains(ConsumeRequest.ALL_ATTRIBUTES)
+                || (payloadCodec.isEmpty() && idempotencyFilter.isEmpty())) {
+            return messageAttributeNames;
+        }
+        var names = new ArrayList<String>(messageAttributeNames.size() + PayloadCodec.ATTRIBUTE_NAMES.size() + 1);
+        names.addAll(messageAttributeNames);
+        if (payloadCodec.isPresent()) {
+            names.addAll(PayloadCodec.ATTRIBUTE_NAMES);
+        }
+        idempotencyFilter.flatMap(IdempotencyFilter::keyAttributeName)
+                .filter(name -> !names.contains(name))
+                .ifPresent(names::add);
+        return names;
+    }
+
+    private void completed(String queueName, String receiptHandle) {
+        idempotencyFilter.ifPresent(filter -> filter.complete(receiptHandle));
+        payloadCodec.ifPresent(codec -> codec.release(queueName, receiptHandle));
+    }
+
+    private MessageResponse toMessageResponse(Message message,
+                                              MessageBodyMode bodyMode,
+                                              List<String> attributeNames,
+                                              List<String> messageAttributeNames) {
+        return new MessageResponse(
+                message.messageId(),
+                message.receiptHandle(),
+                MessageBodies.toBody(objectMapper, message.body(), bodyMode),
+                message.hasAttributes() ? projectAttributes(message.attributesAsStrings(), attributeNames) : Map.of(),
+                message.hasMessageAttributes() ? toMessageAttributes(message.messageAttributes(), messageAttributeNames) : Map.of(),
+                Instant.now()
+        );
+    }
+
+    private static Map<String, String> projectAttributes(Map<String, String> attributes, List<String> names) {
+        if (names == null || names.contains(ConsumeRequest.ALL_ATTRIBUTES)) {
+            return attributes;
+        }
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        var projected = new HashMap<String, String>(names.size() * 2);
+        for (var name : names) {
+            var value = attributes.get(name);
+            if (value != null) {
+                projected.put(name, value);
+            }
+        }
+        return projected;
+    }
+
+    private static Map<String, String> toMessageAttributes(Map<String, MessageAttributeValue> messageAttributes,
+                                                           List<String> names) {
+        if (names != null && names.isEmpty()) {
+            return Map.of();
+        }
+        var result = new HashMap<String, String>(messageAttributes.size() * 2);
+        for (var entry : messageAttributes.entrySet()) {
+            if (entry.getKey().equals(PublishTimestamps.ATTRIBUTE) || !matchesAttributeName(entry.getKey(), names)) {
+                continue;
+            }
+            var value = entry.getValue();
+            if (value.stringValue() != null) {
+                result.put(entry.getKey(), value.stringValue());
+            } else if (value.binaryValue() != null) {
+                result.put(entry.getKey(), Base64.getEncoder().encodeToString(value.binaryValue().asByteArray()));
+            }
+        }
+        return result;
+    }
+
+    private static boolean matchesAttributeName(String name, List<String> names) {
+        if (names == null) {
+            return true;
+        }
+        for (var candidate : names) {
+            if (candidate.equals(ConsumeRequest.ALL_ATTRIBUTES) || candidate.equals(".*") || candidate.equals(name)) {
+                return true;
+            }
+            if (candidate.endsWith(".*") && name.startsWith(candidate.substring(0, candidate.length() - 1))) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,5 +1,11 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.batch.BatchEntrySender;
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.aws.sqs.codec.EncodedMessage;
+import com.aws.sqs.codec.PayloadCodec;
+import com.aws.sqs.config.PublisherBatchProperties;
+import com.aws.sqs.model.dto.BatchEntryResult;
 import com.aws.sqs.model.dto.MessageRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +14,12 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -17,36 +29,153 @@ public class MessagePublisherService {
 
     private final SqsAsyncClient sqsAsyncClient;
     private final ObjectMapper objectMapper;
+    private final QueueUrlResolver queueUrlResolver;
+    private final PublisherBatchProperties batchProperties;
+    private final Optional<PublishCoalescer> publishCoalescer;
+    private final Optional<PayloadCodec> payloadCodec;
 
     public CompletableFuture<String> publishMessage(String queueName, MessageRequest messageRequest) {
         log.info("Publishing message to queue: {}", queueName);
 
-        return getQueueUrl(queueName)
-                .thenCompose(queueUrl -> {
-                    try {
-                        var messageBody = objectMapper.writeValueAsString(messageRequest.body());
-                        var sendMessageRequest = SendMessageRequest.builder()
-                                .queueUrl(queueUrl)
-                                .messageBody(messageBody)
-                                .build();
-
-                        return sqsAsyncClient.sendMessage(sendMessageRequest);
-                    } catch (Exception e) {
-                        log.error("Error serializing message body", e);
-                        return CompletableFuture.failedFuture(e);
-                    }
-                })
-                .thenApply(SendMessageResponse::messageId)
+        String messageBody;
+        try {
+            messageBody = objectMapper.writeValueAsString(messageRequest.body());
+        } catch (Exception e) {
+            log.error("Error serializing message body", e);
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Failed to publish message to queue: " + queueName, e));
+        }
+
+        return send(queueName, messageBody,
+                messageRequest.messageGroupId(), messageRequest.messageDeduplicationId());
+    }
+
+    public CompletableFuture<String> publishRawMessage(String queueName, byte[] body, boolean validate,
+                                                       String messageGroupId, String messageDeduplicationId) {
+        log.info("Publishing raw message ({} bytes) to queue: {}", body.length, queueName);
+
+        if (payloadCodec.isEmpty() && body.length > SqsBatchLimits.MAX_PAYLOAD_BYTES) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Message body exceeds " + SqsBatchLimits.MAX_PAYLOAD_BYTES + " bytes"));
+        }
+        if (validate) {
+            try {
+                MessageBodies.validateJson(objectMapper, body);
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return send(queueName, new String(body, StandardCharsets.UTF_8), messageGroupId, messageDeduplicationId);
+    }
+
+    private CompletableFuture<String> send(String queueName, String messageBody,
+                                           String messageGroupId, String messageDeduplicationId) {
+        long publishedAtMicros = PublishTimestamps.nowMicros();
+        return encode(queueName, messageBody)
+                .thenCompose(message -> message.isPlain() && messageGroupId == null && publishCoalescer.isPresent()
+                        ? publishCoalescer.get().submit(queueName, message.body(), publishedAtMicros)
+                        : queueUrlResolver.resolve(queueName)
+                                .thenCompose(queueUrl -> sqsAsyncClient.sendMessage(SendMessageRequest.builder()
+                                        .queueUrl(queueUrl)
+                                        .messageBody(message.body())
+                                        .messageAttributes(PublishTimestamps.stamp(message.attributes(), publishedAtMicros))
+                                        .messageGroupId(messageGroupId)
+                                        .messageDeduplicationId(messageDeduplicationId)
+                                        .build()))
+                                .thenApply(SendMessageResponse::messageId))
                 .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
                     log.error("Error publishing message to queue: {}", queueName, throwable);
                     throw new RuntimeException("Failed to publish message to queue: " + queueName, throwable);
                 });
     }
 
-    private CompletableFuture<String> getQueueUrl(String queueName) {
-        return sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
-                        .queueName(queueName)
-                        .build())
-                .thenApply(GetQueueUrlResponse::queueUrl);
+    private CompletableFuture<EncodedMessage> encode(String queueName, String messageBody) {
+        return payloadCodec
+                .map(codec -> codec.encode(queueName, messageBody))
+                .orElseGet(() -> CompletableFuture.completedFuture(EncodedMessage.plain(messageBody)));
+    }
+
+    public CompletableFuture<List<BatchEntryResult>> publishBatch(String queueName, List<MessageRequest> messages) {
+        log.info("Publishing batch of {} messages to queue: {}", messages.size(), queueName);
+
+        long publishedAtMicros = PublishTimestamps.nowMicros();
+        var results = new BatchEntryResult[messages.size()];
+        var encodedEntries = new ArrayList<CompletableFuture<SendMessageBatchRequestEntry>>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            String messageBody;
+            try {
+                messageBody = objectMapper.writeValueAsString(messages.get(i).body());
+            } catch (Exception e) {
+                log.error("Error serializing message body at index {}", i, e);
+                results[i] = BatchEntryResult.failure(i, "SerializationError", e.getMessage());
+                continue;
+            }
+            int index = i;
+            var request = messages.get(i);
+            encodedEntries.add(encode(queueName, messageBody)
+                    .thenApply(message -> SendMessageBatchRequestEntry.builder()
+                            .id(String.valueOf(index))
+                            .messageBody(message.body())
+                            .messageAttributes(PublishTimestamps.stamp(message.attributes(), publishedAtMicros))
+                            .messageGroupId(request.messageGroupId())
+                            .messageDeduplicationId(request.messageDeduplicationId())
+                            .build())
+                    .exceptionally(throwable -> {
+                        log.error("Error encoding message body at index {}", index, throwable);
+                        results[index] = BatchEntryResult.failure(index, "EncodingError", throwable.getMessage());
+                        return null;
+                    }));
+        }
+
+        var batchSender = new BatchEntrySender<>("SendMessageBatch",
+                SendMessageBatchRequestEntry::id,
+                SendMessageBatchRequestEntry::messageGroupId,
+                MessagePublisherService::entrySize,
+                batchProperties.maxAttempts(),
+                batchProperties.retryBackoff());
+        return CompletableFuture.allOf(encodedEntries.toArray(CompletableFuture[]::new))
+                .thenCompose(v -> queueUrlResolver.resolve(queueName))
+                .thenCompose(queueUrl -> batchSender.send(
+                        encodedEntries.stream()
+                                .map(CompletableFuture::join)
+                                .filter(Objects::nonNull)
+                                .toList(),
+                        chunk -> sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                                        .queueUrl(queueUrl)
+                                        .entries(chunk)
+                                        .build())
+                                .thenApply(MessagePublisherService::batchResponse),
+                        results))
+                .thenApply(v -> Arrays.asList(results))
+                .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                    log.error("Error publishing batch to queue: {}", queueName, throwable);
+                    throw new RuntimeException("Failed to publish batch to queue: " + queueName, throwable);
+                });
+    }
+
+    private static int entrySize(SendMessageBatchRequestEntry entry) {
+        int size = SqsBatchLimits.utf8Length(entry.messageBody());
+        if (entry.hasMessageAttributes()) {
+            for (var attribute : entry.messageAttributes().entrySet()) {
+                size += SqsBatchLimits.utf8Length(attribute.getKey())
+                        + SqsBatchLimits.utf8Length(attribute.getValue().dataType())
+                        + SqsBatchLimits.utf8Length(attribute.getValue().stringValue());
+            }
+        }
+        return size;
+    }
+
+    private static BatchEntrySender.BatchResponse batchResponse(SendMessageBatchResponse response) {
+        return new BatchEntrySender.BatchResponse(
+                response.successful().stream()
+                        .map(entry -> new BatchEntrySender.Accepted(entry.id(), entry.messageId()))
+                        .toList(),
+                response.failed().stream()
+                        .map(entry -> new BatchEntrySender.Rejected(entry.id(), entry.code(), entry.message(),
+                                Boolean.TRUE.equals(entry.senderFault())))
+                        .toList());
     }
 }
@@ -0,0 +1,337 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchPacker;
+import com.aws.sqs.config.PrefetchProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.model.dto.ConsumeRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.consumer.prefetch.enabled", havingValue = "true")
+public class PrefetchBuffer {
+
+    private static final Pattern MAX_RECEIVE_COUNT = Pattern.compile("\"maxReceiveCount\"\\s*:\\s*\"?(\\d+)\"?");
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final QueueMetrics queueMetrics;
+    private final PrefetchProperties properties;
+    private final long visibilityNanos;
+    private final long releaseMarginNanos;
+    private final ConcurrentMap<String, QueueBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public PrefetchBuffer(SqsAsyncClient sqsAsyncClient,
+                          QueueUrlResolver queueUrlResolver,
+                          QueueMetrics queueMetrics,
+                          PrefetchProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.queueMetrics = queueMetrics;
+        this.properties = properties;
+        this.visibilityNanos = properties.visibilityTimeout().toNanos();
+        this.releaseMarginNanos = properties.releaseMargin().toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "prefetch-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = properties.reapInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::releaseExpiring, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean supports(String queueName) {
+        return properties.queues().isEmpty() || properties.queues().contains(queueName);
+    }
+
+    public List<Message> take(String queueName, int maxMessages) {
+        var buffer = buffers.computeIfAbsent(queueName, this::newBuffer);
+        var now = System.nanoTime();
+        buffer.recordDemand(maxMessages, now);
+        var taken = new ArrayList<Message>(maxMessages);
+        List<BufferedMessage> expiring = null;
+
+        BufferedMessage next;
+        while (taken.size() < maxMessages && (next = buffer.messages.pollFirst()) != null) {
+            buffer.size.decrementAndGet();
+            if (next.isExpiring(now, releaseMarginNanos)) {
+                if (expiring == null) {
+                    expiring = new ArrayList<>();
+                }
+                expiring.add(next);
+            } else {
+                taken.add(next.message());
+            }
+        }
+
+        if (expiring != null) {
+            expire(buffer, expiring, now);
+        }
+        queueMetrics.incrementPrefetchLookup(queueName, taken.isEmpty() ? "miss" : "hit");
+        refill(buffer);
+        return taken;
+    }
+
+    public int depth(String queueName) {
+        var buffer = buffers.get(queueName);
+        return buffer == null ? 0 : buffer.size.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        var releases = new ArrayList<CompletableFuture<Void>>();
+        for (var buffer : buffers.values()) {
+            var remaining = new ArrayList<BufferedMessage>();
+            BufferedMessage next;
+            while ((next = buffer.messages.pollFirst()) != null) {
+                buffer.size.decrementAndGet();
+                remaining.add(next);
+            }
+            if (!remaining.isEmpty()) {
+                releases.add(release(buffer.queueName, remaining));
+            }
+        }
+        try {
+            CompletableFuture.allOf(releases.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("Could not release all prefetched messages on shutdown", e);
+        }
+    }
+
+    void releaseExpiring() {
+        var now = System.nanoTime();
+        for (var buffer : buffers.values()) {
+            List<BufferedMessage> expiring = new ArrayList<>();
+            for (var buffered : buffer.messages) {
+                if (buffered.isExpiring(now, releaseMarginNanos) && buffer.messages.remove(buffered)) {
+                    buffer.size.decrementAndGet();
+                    expiring.add(buffered);
+                }
+            }
+            if (!expiring.isEmpty()) {
+                expire(buffer, expiring, now);
+            }
+        }
+    }
+
+    private QueueBuffer newBuffer(String queueName) {
+        var buffer = new QueueBuffer(queueName, visibilityNanos);
+        queueMetrics.registerPrefetchGauges(queueName, buffer.size::get, () -> buffer.oldestAgeMillis(System.nanoTime()));
+        queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.REDRIVE_POLICY)
+                        .build()))
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Could not read redrive policy of queue {}, releasing every expiring message", queueName, throwable);
+                        return;
+                    }
+                    var redrivePolicy = response.attributes().get(QueueAttributeName.REDRIVE_POLICY);
+                    if (redrivePolicy != null) {
+                        var matcher = MAX_RECEIVE_COUNT.matcher(redrivePolicy);
+                        if (matcher.find()) {
+                            buffer.maxReceiveCount = Integer.parseInt(matcher.group(1));
+                        }
+                    }
+                });
+        return buffer;
+    }
+
+    private void expire(QueueBuffer buffer, List<BufferedMessage> expiring, long now) {
+        var released = new ArrayList<BufferedMessage>(expiring.size());
+        var extended = new ArrayList<BufferedMessage>();
+        for (var buffered : expiring) {
+            if (buffer.isNearRedriveLimit(buffered.message())) {
+                extended.add(buffered);
+            } else {
+                released.add(buffered);
+            }
+        }
+        if (!released.isEmpty()) {
+            release(buffer.queueName, released);
+        }
+        if (!extended.isEmpty()) {
+            extend(buffer, extended, now);
+        }
+    }
+
+    private void refill(QueueBuffer buffer) {
+        if (buffer.size.get() < buffer.target(System.nanoTime(), properties.capacity())
+                && buffer.refilling.compareAndSet(false, true)) {
+            fetch(buffer);
+        }
+    }
+
+    private void fetch(QueueBuffer buffer) {
+        int missing = buffer.target(System.nanoTime(), properties.capacity()) - buffer.size.get();
+        if (missing <= 0) {
+            buffer.refilling.set(false);
+            return;
+        }
+
+        var requestedAt = System.nanoTime();
+        queueUrlResolver.resolve(buffer.queueName)
+                .thenCompose(queueUrl -> sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .maxNumberOfMessages(Math.min(10, missing))
+                        .visibilityTimeout((int) properties.visibilityTimeout().toSeconds())
+                        .waitTimeSeconds(properties.waitTimeSeconds())
+                        .attributeNames(QueueAttributeName.ALL)
+                        .messageAttributeNames(ConsumeRequest.ALL_ATTRIBUTES)
+                        .build()))
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        queueUrlResolver.invalidateIfMissing(buffer.queueName, throwable);
+                        log.warn("Error prefetching messages from queue: {}", buffer.queueName, throwable);
+                        buffer.refilling.set(false);
+                        return;
+                    }
+                    var deadline = requestedAt + visibilityNanos;
+                    var receivedAt = System.nanoTime();
+                    for (var message : response.messages()) {
+                        buffer.messages.offerLast(new BufferedMessage(message, deadline, receivedAt));
+                        buffer.size.incrementAndGet();
+                    }
+                    if (response.messages().isEmpty()) {
+                        buffer.refilling.set(false);
+                    } else {
+                        fetch(buffer);
+                    }
+                });
+    }
+
+    private CompletableFuture<Void> release(String queueName, List<BufferedMessage> messages) {
+        queueMetrics.incrementPrefetchReleased(queueName, messages.size());
+        return changeVisibility(queueName, messages, 0)
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Error releasing {} prefetched messages from queue: {}", messages.size(), queueName, throwable);
+                    }
+                });
+    }
+
+    private void extend(QueueBuffer buffer, List<BufferedMessage> messages, long now) {
+        var deadline = now + visibilityNanos;
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            buffer.messages.offerFirst(messages.get(i).extendedTo(deadline));
+            buffer.size.incrementAndGet();
+        }
+        changeVisibility(buffer.queueName, messages, (int) properties.visibilityTimeout().toSeconds())
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Error extending {} prefetched messages near the redrive limit of queue: {}",
+                                messages.size(), buffer.queueName, throwable);
+                    }
+                });
+    }
+
+    private CompletableFuture<Void> changeVisibility(String queueName, List<BufferedMessage> messages, int visibilityTimeout) {
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> CompletableFuture.allOf(BatchPacker.pack(messages, message -> 0).stream()
+                        .map(chunk -> {
+                            var entries = new ArrayList<ChangeMessageVisibilityBatchRequestEntry>(chunk.size());
+                            for (int i = 0; i < chunk.size(); i++) {
+                                entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                                        .id(String.valueOf(i))
+                                        .receiptHandle(chunk.get(i).message().receiptHandle())
+                                        .visibilityTimeout(visibilityTimeout)
+                                        .build());
+                            }
+                            return sqsAsyncClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                                    .queueUrl(queueUrl)
+                                    .entries(entries)
+                                    .build());
+                        })
+                        .toArray(CompletableFuture[]::new)));
+    }
+
+    private record BufferedMessage(Message message, long deadlineNanos, long receivedAtNanos) {
+
+        boolean isExpiring(long now, long marginNanos) {
+            return deadlineNanos - now < marginNanos;
+        }
+
+        BufferedMessage extendedTo(long deadline) {
+            return new BufferedMessage(message, deadline, receivedAtNanos);
+        }
+    }
+
+    private static final class QueueBuffer {
+        private final String queueName;
+        private final ConcurrentLinkedDeque<BufferedMessage> messages = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final long demandWindowNanos;
+        private volatile int maxReceiveCount;
+        private long windowStartNanos;
+        private int requestedInWindow;
+        private int requestedInPreviousWindow;
+
+        private QueueBuffer(String queueName, long demandWindowNanos) {
+            this.queueName = queueName;
+            this.demandWindowNanos = Math.max(1, demandWindowNanos);
+            this.windowStartNanos = System.nanoTime();
+        }
+
+        synchronized void recordDemand(int requested, long now) {
+            roll(now);
+            requestedInWindow += requested;
+        }
+
+        synchronized int target(long now, int capacity) {
+            roll(now);
+            return Math.min(capacity, Math.max(requestedInWindow, requestedInPreviousWindow));
+        }
+
+        private void roll(long now) {
+            long elapsed = now - windowStartNanos;
+            if (elapsed < demandWindowNanos) {
+                return;
+            }
+            requestedInPreviousWindow = elapsed < 2 * demandWindowNanos ? requestedInWindow : 0;
+            requestedInWindow = 0;
+            windowStartNanos = now;
+        }
+
+        boolean isNearRedriveLimit(Message message) {
+            int limit = maxReceiveCount;
+            if (limit <= 0) {
+                return false;
+            }
+            var receiveCount = message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+            return receiveCount != null && Integer.parseInt(receiveCount) + 1 >= limit;
+        }
+
+        double oldestAgeMillis(long now) {
+            var oldest = messages.peekFirst();
+            return oldest == null ? 0 : TimeUnit.NANOSECONDS.toMillis(now - oldest.receivedAtNanos());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchCoalescer;
+import com.aws.sqs.batch.BatchEntryException;
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.aws.sqs.config.PublisherBatchProperties;
+import com.aws.sqs.config.PublisherCoalescingProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.publisher.coalescing.enabled", havingValue = "true")
+public class PublishCoalescer {
+
+    private static final int TIMESTAMP_ATTRIBUTE_BYTES = PublishTimestamps.ATTRIBUTE.length() + "Number".length() + 16;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final BatchCoalescer<PendingMessage, String> coalescer;
+
+    public PublishCoalescer(SqsAsyncClient sqsAsyncClient,
+                            QueueUrlResolver queueUrlResolver,
+                            QueueMetrics queueMetrics,
+                            PublisherCoalescingProperties properties,
+                            PublisherBatchProperties batchProperties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.coalescer = new BatchCoalescer<>(
+                "publish",
+                this::sendBatch,
+                queueMetrics,
+                properties.maxBatchSize(),
+                SqsBatchLimits.MAX_PAYLOAD_BYTES,
+                properties.linger(),
+                batchProperties.maxAttempts(),
+                batchProperties.retryBackoff()
+        );
+        log.info("Publish coalescing enabled (linger: {}, maxBatchSize: {})",
+                properties.linger(), properties.maxBatchSize());
+    }
+
+    public CompletableFuture<String> submit(String queueName, String messageBody, long publishedAtMicros) {
+        return coalescer.submit(queueName, new PendingMessage(messageBody, publishedAtMicros),
+                SqsBatchLimits.utf8Length(messageBody) + TIMESTAMP_ATTRIBUTE_BYTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.close();
+    }
+
+    private CompletableFuture<Void> sendBatch(String queueName,
+                                              List<BatchCoalescer.Entry<PendingMessage, String>> batch) {
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> {
+                    var entries = new ArrayList<SendMessageBatchRequestEntry>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        var message = batch.get(i).payload();
+                        entries.add(SendMessageBatchRequestEntry.builder()
+                                .id(String.valueOf(i))
+                                .messageBody(message.body())
+                                .messageAttributes(PublishTimestamps.stamp(Map.of(), message.publishedAtMicros()))
+                                .build());
+                    }
+                    return sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                            .queueUrl(queueUrl)
+                            .entries(entries)
+                            .build());
+                })
+                .thenAccept(response -> {
+                    for (var successful : response.successful()) {
+                        batch.get(Integer.parseInt(successful.id())).future().complete(successful.messageId());
+                    }
+                    for (var failed : response.failed()) {
+                        batch.get(Integer.parseInt(failed.id())).future().completeExceptionally(new BatchEntryException(
+                                failed.code(), failed.message(), Boolean.TRUE.equals(failed.senderFault())));
+                    }
+                })
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        queueUrlResolver.invalidateIfMissing(queueName, throwable);
+                    }
+                });
+    }
+
+    private record PendingMessage(String body, long publishedAtMicros) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.model.dto.ConsumeRequest;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public final class PublishTimestamps {
+
+    public static final String ATTRIBUTE = "sqs-publish-timestamp-us";
+
+    private PublishTimestamps() {
+    }
+
+    public static long nowMicros() {
+        var now = Instant.now();
+        return TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + TimeUnit.NANOSECONDS.toMicros(now.getNano());
+    }
+
+    public static Map<String, MessageAttributeValue> stamp(Map<String, MessageAttributeValue> attributes) {
+        return stamp(attributes, nowMicros());
+    }
+
+    public static Map<String, MessageAttributeValue> stamp(Map<String, MessageAttributeValue> attributes,
+                                                           long publishedAtMicros) {
+        var stamped = new HashMap<String, MessageAttributeValue>(attributes.size() * 2 + 2);
+        stamped.putAll(attributes);
+        stamped.put(ATTRIBUTE, MessageAttributeValue.builder()
+                .dataType("Number")
+                .stringValue(Long.toString(publishedAtMicros))
+                .build());
+        return stamped;
+    }
+
+    public static List<String> withTimestampAttribute(List<String> messageAttributeNames) {
+        if (messageAttributeNames.contains(ConsumeRequest.ALL_ATTRIBUTES) || messageAttributeNames.contains(".*")
+                || messageAttributeNames.contains(ATTRIBUTE)) {
+            return messageAttributeNames;
+        }
+        var names = new ArrayList<String>(messageAttributeNames.size() + 1);
+        names.addAll(messageAttributeNames);
+        names.add(ATTRIBUTE);
+        return names;
+    }
+
+    public static Message strip(Message message) {
+        if (!message.hasMessageAttributes() || !message.messageAttributes().containsKey(ATTRIBUTE)) {
+            return message;
+        }
+        var remaining = new HashMap<>(message.messageAttributes());
+        remaining.remove(ATTRIBUTE);
+        return message.toBuilder().messageAttributes(remaining).build();
+    }
+
+    public static void recordEndToEndLatency(Timer timer, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        long nowMicros = nowMicros();
+        for (var message : messages) {
+            long publishedAtMicros = publishedAtMicros(message);
+            if (publishedAtMicros > 0) {
+                timer.record(Math.max(0, nowMicros - publishedAtMicros), TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    static long publishedAtMicros(Message message) {
+        if (message.hasMessageAttributes()) {
+            var stamp = message.messageAttributes().get(ATTRIBUTE);
+            if (stamp != null && stamp.stringValue() != null) {
+                try {
+                    return Long.parseLong(stamp.stringValue());
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        if (message.hasAttributes()) {
+            var sentTimestamp = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+            if (sentTimestamp != null) {
+                return TimeUnit.MILLISECONDS.toMicros(Long.parseLong(sentTimestamp));
+            }
+        }
+        return -1;
+    }
+}
@@ -1,5 +1,7 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.aws.SqsErrors;
+import com.aws.sqs.config.QueueListingProperties;
 import com.aws.sqs.model.dto.QueueCreateRequest;
 import com.aws.sqs.model.dto.QueueResponse;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +11,17 @@ import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -21,6 +30,9 @@ import java.util.stream.Collectors;
 public class QueueManagementService {
 
     private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final QueueListingProperties listingProperties;
+    private final AtomicReference<List<QueueResponse>> snapshot = new AtomicReference<>();
 
     public CompletableFuture<QueueResponse> createQueue(QueueCreateRequest request) {
         log.info("Creating queue: {}", request.queueName());
@@ -32,8 +44,18 @@ public class QueueManagementService {
         attributes.put(QueueAttributeName.VISIBILITY_TIMEOUT, String.valueOf(request.visibilityTimeoutSeconds()));
         attributes.put(QueueAttributeName.MESSAGE_RETENTION_PERIOD, String.valueOf(request.messageRetentionPeriodSeconds()));
 
+        if (request.fifo()) {
+            attributes.put(QueueAttributeName.FIFO_QUEUE, "true");
+            attributes.put(QueueAttributeName.CONTENT_BASED_DEDUPLICATION,
+                    String.valueOf(request.contentBasedDeduplication()));
+            if (request.highThroughput()) {
+                attributes.put(QueueAttributeName.DEDUPLICATION_SCOPE, "messageGroup");
+                attributes.put(QueueAttributeName.FIFO_THROUGHPUT_LIMIT, "perMessageGroupId");
+            }
+        }
+
         if (request.enableDlq()) {
-            var dlqResponse = createDlq(request.queueName()).join();
+            var dlqResponse = createDlq(request.queueName(), request.fifo()).join();
             var redrivePolicy = String.format(
                     "{\"deadLetterTargetArn\":\"%s\",\"maxReceiveCount\":%d}",
                     dlqResponse.attributes().get(QueueAttributeName.QUEUE_ARN),
@@ -47,6 +69,7 @@ public class QueueManagementService {
         return sqsAsyncClient.createQueue(createQueueRequestBuilder.build())
                 .thenCompose(createQueueResponse -> {
                     var queueUrl = createQueueResponse.queueUrl();
+                    queueUrlResolver.prime(request.queueName(), queueUrl);
                     return getQueueAttributesByUrl(queueUrl)
                             .thenApply(attributesResponse -> {
                                 var queueName = extractQueueNameFromUrl(queueUrl);
@@ -55,12 +78,19 @@ public class QueueManagementService {
                                                 entry -> entry.getKey().toString(),
                                                 Map.Entry::getValue
                                         ));
-                                return new QueueResponse(
+                                var queueResponse = new QueueResponse(
                                         queueUrl,
                                         queueName,
                                         attributeMap,
                                         Instant.now()
                                 );
+                                updateSnapshot(queues -> {
+                                    var updated = new ArrayList<>(queues);
+                                    updated.removeIf(queue -> queue.queueUrl().equals(queueUrl));
+                                    updated.add(queueResponse);
+                                    return updated;
+                                });
+                                return queueResponse;
                             });
                 })
                 .exceptionally(throwable -> {
@@ -69,13 +99,19 @@ public class QueueManagementService {
                 });
     }
 
-    private CompletableFuture<GetQueueAttributesResponse> createDlq(String queueName) {
-        var dlqName = queueName + "-dlq";
-        log.info("Creating DLQ: {}", dlqName);
+    private CompletableFuture<GetQueueAttributesResponse> createDlq(String queueName, boolean fifo) {
+        var dlqRequest = CreateQueueRequest.builder();
+        if (fifo) {
+            var baseName = queueName.substring(0, queueName.length() - QueueCreateRequest.FIFO_SUFFIX.length());
+            dlqRequest.queueName(baseName + "-dlq" + QueueCreateRequest.FIFO_SUFFIX)
+                    .attributes(Map.of(QueueAttributeName.FIFO_QUEUE, "true"));
+        } else {
+            dlqRequest.queueName(queueName + "-dlq");
+        }
+        var dlq = dlqRequest.build();
+        log.info("Creating DLQ: {}", dlq.queueName());
 
-        return sqsAsyncClient.createQueue(CreateQueueRequest.builder()
-                        .queueName(dlqName)
-                        .build())
+        return sqsAsyncClient.createQueue(dlq)
                 .thenCompose(response -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
                         .queueUrl(response.queueUrl())
                         .attributeNames(QueueAttributeName.QUEUE_ARN)
@@ -95,46 +131,122 @@ public class QueueManagementService {
                 .build());
     }
 
-    public CompletableFuture<List<QueueResponse>> listQueues() {
-        log.info("Listing all queues");
-
-        return sqsAsyncClient.listQueues(ListQueuesRequest.builder().build())
-                .thenCompose(listQueuesResponse -> {
-                    var queueUrls = listQueuesResponse.queueUrls();
-
-                    var futures = queueUrls.stream()
-                            .map(queueUrl -> getQueueAttributesByUrl(queueUrl)
-                                    .thenApply(response -> {
-                                        var queueName = extractQueueNameFromUrl(queueUrl);
-                                        Map<String, String> attributeMap = response.attributes().entrySet().stream()
-                                                .collect(Collectors.toMap(
-                                                        entry -> entry.getKey().toString(),
-                                                        Map.Entry::getValue
-                                                ));
-                                        return new QueueResponse(
-                                                queueUrl,
-                                                queueName,
-                                                attributeMap,
-                                                Instant.now()
-                                        );
-                                    }))
-                            .toList();
-
-                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                            .thenApply(v -> futures.stream()
-                                    .map(CompletableFuture::join)
-                                    .collect(Collectors.toList()));
-                })
+    public CompletableFuture<List<QueueResponse>> listQueues(String prefix) {
+        var cached = snapshot.get();
+        if (listingProperties.snapshotEnabled() && cached != null) {
+            log.debug("Listing queues from snapshot (prefix: {})", prefix);
+            return CompletableFuture.completedFuture(filterByPrefix(cached, prefix));
+        }
+
+        log.info("Listing queues (prefix: {})", prefix);
+        return fetchQueues(prefix)
                 .exceptionally(throwable -> {
                     log.error("Error listing queues", throwable);
                     throw new RuntimeException("Failed to list queues", throwable);
                 });
     }
 
+    public CompletableFuture<List<String>> listQueueNames() {
+        return listQueueUrls(null, null, new ArrayList<>())
+                .thenApply(queueUrls -> queueUrls.stream().map(this::extractQueueNameFromUrl).toList());
+    }
+
+    public CompletableFuture<Void> refreshSnapshot() {
+        return fetchQueues(null)
+                .thenAccept(queues -> {
+                    snapshot.set(List.copyOf(queues));
+                    log.debug("Queue snapshot refreshed ({} queues)", queues.size());
+                });
+    }
+
+    private CompletableFuture<List<QueueResponse>> fetchQueues(String prefix) {
+        return listQueueUrls(prefix, null, new ArrayList<>())
+                .thenCompose(this::describeQueues);
+    }
+
+    private CompletableFuture<List<String>> listQueueUrls(String prefix, String nextToken, List<String> queueUrls) {
+        var request = ListQueuesRequest.builder()
+                .maxResults(listingProperties.pageSize())
+                .nextToken(nextToken);
+        if (prefix != null && !prefix.isEmpty()) {
+            request.queueNamePrefix(prefix);
+        }
+
+        return sqsAsyncClient.listQueues(request.build())
+                .thenCompose(response -> {
+                    queueUrls.addAll(response.queueUrls());
+                    if (response.nextToken() == null || response.nextToken().isEmpty()) {
+                        return CompletableFuture.completedFuture(queueUrls);
+                    }
+                    return listQueueUrls(prefix, response.nextToken(), queueUrls);
+                });
+    }
+
+    private CompletableFuture<List<QueueResponse>> describeQueues(List<String> queueUrls) {
+        var results = new QueueResponse[queueUrls.size()];
+        var next = new AtomicInteger();
+        int workers = Math.min(listingProperties.maxConcurrency(), queueUrls.size());
+
+        var futures = new CompletableFuture<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            futures[i] = describeNext(queueUrls, next, results);
+        }
+
+        return CompletableFuture.allOf(futures)
+                .thenApply(v -> Arrays.stream(results).filter(Objects::nonNull).toList());
+    }
+
+    private CompletableFuture<Void> describeNext(List<String> queueUrls, AtomicInteger next, QueueResponse[] results) {
+        int index = next.getAndIncrement();
+        if (index >= queueUrls.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var queueUrl = queueUrls.get(index);
+        return getQueueAttributesByUrl(queueUrl)
+                .<Void>handle((response, throwable) -> {
+                    if (throwable == null) {
+                        results[index] = new QueueResponse(
+                                queueUrl,
+                                extractQueueNameFromUrl(queueUrl),
+                                response.attributesAsStrings(),
+                                Instant.now()
+                        );
+                    } else if (SqsErrors.unwrap(throwable) instanceof QueueDoesNotExistException) {
+                        log.debug("Queue {} was deleted while listing, skipping it", queueUrl);
+                    } else {
+                        throw throwable instanceof CompletionException completionException
+                                ? completionException
+                                : new CompletionException(throwable);
+                    }
+                    return null;
+                })
+                .thenCompose(v -> describeNext(queueUrls, next, results));
+    }
+
+    private void updateSnapshot(UnaryOperator<List<QueueResponse>> update) {
+        if (listingProperties.snapshotEnabled()) {
+            snapshot.updateAndGet(current -> current == null ? null : List.copyOf(update.apply(current)));
+        }
+    }
+
+    private List<QueueResponse> filterByPrefix(List<QueueResponse> queues, String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return queues;
+        }
+        var filtered = new ArrayList<QueueResponse>();
+        for (var queue : queues) {
+            if (queue.queueName().startsWith(prefix)) {
+                filtered.add(queue);
+            }
+        }
+        return filtered;
+    }
+
     public CompletableFuture<Map<String, String>> getQueueAttributes(String queueName) {
         log.info("Getting attributes for queue: {}", queueName);
 
-        return getQueueUrl(queueName)
+        return queueUrlResolver.resolve(queueName)
                 .thenCompose(this::getQueueAttributesByUrl)
                 .thenApply(response -> response.attributes().entrySet().stream()
                         .collect(Collectors.toMap(
@@ -142,6 +254,7 @@ public class QueueManagementService {
                                 Map.Entry::getValue
                         )))
                 .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
                     log.error("Error getting queue attributes: {}", queueName, throwable);
                     throw new RuntimeException("Failed to get queue attributes: " + queueName, throwable);
                 });
@@ -150,24 +263,24 @@ public class QueueManagementService {
     public CompletableFuture<Void> deleteQueue(String queueName) {
         log.info("Deleting queue: {}", queueName);
 
-        return getQueueUrl(queueName)
+        return queueUrlResolver.resolve(queueName)
                 .thenCompose(queueUrl -> sqsAsyncClient.deleteQueue(DeleteQueueRequest.builder()
                         .queueUrl(queueUrl)
                         .build())
-                        .<Void>thenApply(response -> null))
+                        .<Void>thenApply(response -> {
+                            queueUrlResolver.invalidate(queueName);
+                            updateSnapshot(queues -> queues.stream()
+                                    .filter(queue -> !queue.queueUrl().equals(queueUrl))
+                                    .toList());
+                            return null;
+                        }))
                 .exceptionally(throwable -> {
+                    queueUrlResolver.invalidateIfMissing(queueName, throwable);
                     log.error("Error deleting queue: {}", queueName, throwable);
                     throw new RuntimeException("Failed to delete queue: " + queueName, throwable);
                 });
     }
 
-    private CompletableFuture<String> getQueueUrl(String queueName) {
-        return sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
-                        .queueName(queueName)
-                        .build())
-                .thenApply(GetQueueUrlResponse::queueUrl);
-    }
-
     private String extractQueueNameFromUrl(String queueUrl) {
         return queueUrl.substring(queueUrl.lastIndexOf('/') + 1);
     }
@@ -0,0 +1,46 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.QueueListingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.queue-listing.snapshot-enabled", havingValue = "true")
+public class QueueSnapshotRefresher {
+
+    private final QueueManagementService queueManagementService;
+    private final ScheduledExecutorService scheduler;
+
+    public QueueSnapshotRefresher(QueueManagementService queueManagementService,
+                                  QueueListingProperties properties) {
+        this.queueManagementService = queueManagementService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "queue-snapshot-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        var interval = properties.snapshotRefreshInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("Queue listing snapshot enabled (refresh interval: {})", properties.snapshotRefreshInterval());
+    }
+
+    void refresh() {
+        try {
+            queueManagementService.refreshSnapshot().join();
+        } catch (RuntimeException e) {
+            log.warn("Error refreshing queue snapshot, serving the previous one", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,119 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.QueueUrlCacheProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@Component
+public class QueueUrlResolver {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueMetrics queueMetrics;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentMap<String, CachedQueueUrl> cache = new ConcurrentHashMap<>();
+
+    public QueueUrlResolver(SqsAsyncClient sqsAsyncClient,
+                            QueueMetrics queueMetrics,
+                            QueueUrlCacheProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueMetrics = queueMetrics;
+        this.maxSize = properties.maxSize();
+        this.ttlNanos = properties.ttl().toNanos();
+    }
+
+    public CompletableFuture<String> resolve(String queueName) {
+        var now = System.nanoTime();
+        var cached = cache.get(queueName);
+        if (cached != null && !cached.isExpired(now)) {
+            queueMetrics.incrementQueueUrlCacheLookup(queueName, "hit");
+            return cached.queueUrl();
+        }
+
+        var candidate = new CachedQueueUrl(new CompletableFuture<>(), now + ttlNanos);
+        var winner = cache.compute(queueName, (key, existing) ->
+                existing != null && !existing.isExpired(now) ? existing : candidate);
+        if (winner != candidate) {
+            queueMetrics.incrementQueueUrlCacheLookup(queueName, "hit");
+            return winner.queueUrl();
+        }
+
+        queueMetrics.incrementQueueUrlCacheLookup(queueName, "miss");
+        evictIfFull(now);
+        lookup(queueName, candidate);
+        return candidate.queueUrl();
+    }
+
+    public void prime(String queueName, String queueUrl) {
+        cache.put(queueName, new CachedQueueUrl(
+                CompletableFuture.completedFuture(queueUrl),
+                System.nanoTime() + ttlNanos));
+        evictIfFull(System.nanoTime());
+    }
+
+    public void invalidate(String queueName) {
+        if (cache.remove(queueName) != null) {
+            log.debug("Invalidated cached URL for queue: {}", queueName);
+        }
+    }
+
+    public void invalidateIfMissing(String queueName, Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueueDoesNotExistException) {
+                invalidate(queueName);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private void lookup(String queueName, CachedQueueUrl candidate) {
+        try {
+            sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
+                            .queueName(queueName)
+                            .build())
+                    .whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            cache.remove(queueName, candidate);
+                            candidate.queueUrl().completeExceptionally(throwable);
+                        } else {
+                            candidate.queueUrl().complete(response.queueUrl());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            cache.remove(queueName, candidate);
+            candidate.queueUrl().completeExceptionally(e);
+        }
+    }
+
+    private void evictIfFull(long now) {
+        if (cache.size() <= maxSize) {
+            return;
+        }
+        cache.values().removeIf(entry -> entry.isExpired(now));
+        var iterator = cache.keySet().iterator();
+        while (cache.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record CachedQueueUrl(CompletableFuture<String> queueUrl, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.aws.sqs.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.ListTopicsRequest;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopicArnResolver {
+
+    private final SnsAsyncClient snsAsyncClient;
+    private final ConcurrentMap<String, CompletableFuture<String>> cache = new ConcurrentHashMap<>();
+
+    public CompletableFuture<String> resolve(String topicName) {
+        var cached = cache.get(topicName);
+        if (cached != null) {
+            return cached;
+        }
+
+        var candidate = new CompletableFuture<String>();
+        var winner = cache.putIfAbsent(topicName, candidate);
+        if (winner != null) {
+            return winner;
+        }
+
+        findTopicArn(topicName, null).whenComplete((topicArn, throwable) -> {
+            if (throwable != null) {
+                cache.remove(topicName, candidate);
+                candidate.completeExceptionally(throwable);
+            } else {
+                candidate.complete(topicArn);
+            }
+        });
+        return candidate;
+    }
+
+    public void prime(String topicName, String topicArn) {
+        cache.put(topicName, CompletableFuture.completedFuture(topicArn));
+    }
+
+    public void invalidate(String topicName) {
+        if (cache.remove(topicName) != null) {
+            log.debug("Invalidated cached ARN for topic: {}", topicName);
+        }
+    }
+
+    public void invalidateIfMissing(String topicName, Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof NotFoundException) {
+                invalidate(topicName);
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<String> findTopicArn(String topicName, String nextToken) {
+        var suffix = ":" + topicName;
+        return snsAsyncClient.listTopics(ListTopicsRequest.builder().nextToken(nextToken).build())
+                .thenCompose(response -> {
+                    for (var topic : response.topics()) {
+                        if (topic.topicArn().endsWith(suffix)) {
+                            return CompletableFuture.completedFuture(topic.topicArn());
+                        }
+                    }
+                    if (response.nextToken() == null || response.nextToken().isEmpty()) {
+                        return CompletableFuture.failedFuture(NotFoundException.builder()
+                                .message("Topic does not exist: " + topicName)
+                                .statusCode(404)
+                                .build());
+                    }
+                    return findTopicArn(topicName, response.nextToken());
+                });
+    }
+}
@@ -0,0 +1,272 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.model.dto.SubscriptionRequest;
+import com.aws.sqs.model.dto.SubscriptionResponse;
+import com.aws.sqs.model.dto.TopicCreateRequest;
+import com.aws.sqs.model.dto.TopicResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.*;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.SetQueueAttributesRequest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TopicManagementService {
+
+    private static final String SQS_PROTOCOL = "sqs";
+
+    private final SnsAsyncClient snsAsyncClient;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final TopicArnResolver topicArnResolver;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, CompletableFuture<Void>> policyUpdates = new ConcurrentHashMap<>();
+
+    public CompletableFuture<TopicResponse> createTopic(TopicCreateRequest request) {
+        log.info("Creating topic: {}", request.topicName());
+
+        var attributes = new HashMap<String, String>();
+        if (request.displayName() != null) {
+            attributes.put("DisplayName", request.displayName());
+        }
+        if (request.fifo()) {
+            attributes.put("FifoTopic", "true");
+            attributes.put("ContentBasedDeduplication", String.valueOf(request.contentBasedDeduplication()));
+        }
+
+        return snsAsyncClient.createTopic(CreateTopicRequest.builder()
+                        .name(request.topicName())
+                        .attributes(attributes)
+                        .build())
+                .thenCompose(response -> {
+                    topicArnResolver.prime(request.topicName(), response.topicArn());
+                    return describeTopic(response.topicArn());
+                })
+                .exceptionally(throwable -> {
+                    log.error("Error creating topic: {}", request.topicName(), throwable);
+                    throw new RuntimeException("Failed to create topic: " + request.topicName(), throwable);
+                });
+    }
+
+    public CompletableFuture<List<TopicResponse>> listTopics() {
+        log.info("Listing topics");
+
+        return listTopicArns(null, new ArrayList<>())
+                .thenApply(topicArns -> topicArns.stream()
+                        .map(topicArn -> new TopicResponse(topicArn, topicName(topicArn), Map.of()))
+                        .toList())
+                .exceptionally(throwable -> {
+                    log.error("Error listing topics", throwable);
+                    throw new RuntimeException("Failed to list topics", throwable);
+                });
+    }
+
+    private CompletableFuture<List<String>> listTopicArns(String nextToken, List<String> topicArns) {
+        return snsAsyncClient.listTopics(ListTopicsRequest.builder().nextToken(nextToken).build())
+                .thenCompose(response -> {
+                    response.topics().forEach(topic -> topicArns.add(topic.topicArn()));
+                    if (response.nextToken() == null || response.nextToken().isEmpty()) {
+                        return CompletableFuture.completedFuture(topicArns);
+                    }
+                    return listTopicArns(response.nextToken(), topicArns);
+                });
+    }
+
+    public CompletableFuture<TopicResponse> getTopic(String topicName) {
+        log.info("Getting topic: {}", topicName);
+
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(this::describeTopic)
+                .exceptionally(throwable -> {
+                    topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    log.error("Error getting topic: {}", topicName, throwable);
+                    throw new RuntimeException("Failed to get topic: " + topicName, throwable);
+                });
+    }
+
+    private CompletableFuture<TopicResponse> describeTopic(String topicArn) {
+        return snsAsyncClient.getTopicAttributes(GetTopicAttributesRequest.builder().topicArn(topicArn).build())
+                .thenApply(response -> new TopicResponse(topicArn, topicName(topicArn), response.attributes()));
+    }
+
+    public CompletableFuture<Void> deleteTopic(String topicName) {
+        log.info("Deleting topic: {}", topicName);
+
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(topicArn -> snsAsyncClient.deleteTopic(DeleteTopicRequest.builder()
+                        .topicArn(topicArn)
+                        .build()))
+                .<Void>thenApply(response -> {
+                    topicArnResolver.invalidate(topicName);
+                    return null;
+                })
+                .exceptionally(throwable -> {
+                    topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    log.error("Error deleting topic: {}", topicName, throwable);
+                    throw new RuntimeException("Failed to delete topic: " + topicName, throwable);
+                });
+    }
+
+    public CompletableFuture<SubscriptionResponse> subscribeQueue(String topicName, SubscriptionRequest request) {
+        log.info("Subscribing queue {} to topic: {}", request.queueName(), topicName);
+
+        var subscriptionAttributes = new HashMap<String, String>();
+        subscriptionAttributes.put("RawMessageDelivery", String.valueOf(request.rawMessageDelivery()));
+        if (request.filterPolicy() != null && !request.filterPolicy().isEmpty()) {
+            try {
+                subscriptionAttributes.put("FilterPolicy", objectMapper.writeValueAsString(request.filterPolicy()));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid filter policy", e);
+            }
+            subscriptionAttributes.put("FilterPolicyScope", request.filterPolicyScope().name());
+        }
+
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(topicArn -> queueUrlResolver.resolve(request.queueName())
+                        .thenCompose(queueUrl -> allowTopic(queueUrl, topicName, topicArn))
+                        .thenCompose(queueArn -> snsAsyncClient.subscribe(SubscribeRequest.builder()
+                                        .topicArn(topicArn)
+                                        .protocol(SQS_PROTOCOL)
+                                        .endpoint(queueArn)
+                                        .attributes(subscriptionAttributes)
+                                        .returnSubscriptionArn(true)
+                                        .build())
+                                .thenApply(response -> new SubscriptionResponse(
+                                        response.subscriptionArn(), topicArn, SQS_PROTOCOL, queueArn))))
+                .exceptionally(throwable -> {
+                    topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    queueUrlResolver.invalidateIfMissing(request.queueName(), throwable);
+                    log.error("Error subscribing queue {} to topic: {}", request.queueName(), topicName, throwable);
+                    throw new RuntimeException("Failed to subscribe queue " + request.queueName()
+                            + " to topic: " + topicName, throwable);
+                });
+    }
+
+    private CompletableFuture<String> allowTopic(String queueUrl, String topicName, String topicArn) {
+        var done = new CompletableFuture<Void>();
+        var previous = policyUpdates.put(queueUrl, done);
+        var ready = previous != null ? previous : CompletableFuture.<Void>completedFuture(null);
+        return ready
+                .thenCompose(v -> updatePolicy(queueUrl, topicName, topicArn))
+                .whenComplete((queueArn, throwable) -> {
+                    policyUpdates.remove(queueUrl, done);
+                    done.complete(null);
+                });
+    }
+
+    private CompletableFuture<String> updatePolicy(String queueUrl, String topicName, String topicArn) {
+        return sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.QUEUE_ARN, QueueAttributeName.POLICY)
+                        .build())
+                .thenCompose(response -> {
+                    var queueArn = response.attributes().get(QueueAttributeName.QUEUE_ARN);
+                    var policy = withTopicStatement(response.attributes().get(QueueAttributeName.POLICY),
+                            "topic-" + topicName, queueArn, topicArn);
+                    if (policy == null) {
+                        return CompletableFuture.completedFuture(queueArn);
+                    }
+                    return sqsAsyncClient.setQueueAttributes(SetQueueAttributesRequest.builder()
+                                    .queueUrl(queueUrl)
+                                    .attributes(Map.of(QueueAttributeName.POLICY, policy))
+                                    .build())
+                            .thenApply(v -> queueArn);
+                });
+    }
+
+    private String withTopicStatement(String currentPolicy, String sid, String queueArn, String topicArn) {
+        ObjectNode policy;
+        try {
+            policy = currentPolicy == null || currentPolicy.isBlank()
+                    ? objectMapper.createObjectNode().put("Version", "2012-10-17")
+                    : (ObjectNode) objectMapper.readTree(currentPolicy);
+        } catch (JsonProcessingException | ClassCastException e) {
+            throw new IllegalStateException("Queue " + queueArn + " has an unreadable access policy", e);
+        }
+
+        var statements = policy.get("Statement") instanceof ArrayNode existing
+                ? existing
+                : policy.putArray("Statement");
+        for (var statement : statements) {
+            if (sid.equals(statement.path("Sid").asText())) {
+                return null;
+            }
+        }
+
+        var statement = statements.addObject()
+                .put("Sid", sid)
+                .put("Effect", "Allow")
+                .put("Action", "sqs:SendMessage")
+                .put("Resource", queueArn);
+        statement.putObject("Principal").put("Service", "sns.amazonaws.com");
+        statement.putObject("Condition").putObject("ArnEquals").put("aws:SourceArn", topicArn);
+        return policy.toString();
+    }
+
+    public CompletableFuture<List<SubscriptionResponse>> listSubscriptions(String topicName) {
+        log.info("Listing subscriptions of topic: {}", topicName);
+
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(topicArn -> listSubscriptions(topicArn, null, new ArrayList<>()))
+                .exceptionally(throwable -> {
+                    topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    log.error("Error listing subscriptions of topic: {}", topicName, throwable);
+                    throw new RuntimeException("Failed to list subscriptions of topic: " + topicName, throwable);
+                });
+    }
+
+    private CompletableFuture<List<SubscriptionResponse>> listSubscriptions(String topicArn,
+                                                                            String nextToken,
+                                                                            List<SubscriptionResponse> subscriptions) {
+        return snsAsyncClient.listSubscriptionsByTopic(ListSubscriptionsByTopicRequest.builder()
+                        .topicArn(topicArn)
+                        .nextToken(nextToken)
+                        .build())
+                .thenCompose(response -> {
+                    response.subscriptions().forEach(subscription -> subscriptions.add(new SubscriptionResponse(
+                            subscription.subscriptionArn(),
+                            subscription.topicArn(),
+                            subscription.protocol(),
+                            subscription.endpoint())));
+                    if (response.nextToken() == null || response.nextToken().isEmpty()) {
+                        return CompletableFuture.completedFuture(subscriptions);
+                    }
+                    return listSubscriptions(topicArn, response.nextToken(), subscriptions);
+                });
+    }
+
+    public CompletableFuture<Void> unsubscribe(String subscriptionArn) {
+        log.info("Removing subscription: {}", subscriptionArn);
+
+        return snsAsyncClient.unsubscribe(UnsubscribeRequest.builder()
+                        .subscriptionArn(subscriptionArn)
+                        .build())
+                .<Void>thenApply(response -> null)
+                .exceptionally(throwable -> {
+                    log.error("Error removing subscription: {}", subscriptionArn, throwable);
+                    throw new RuntimeException("Failed to remove subscription: " + subscriptionArn, throwable);
+                });
+    }
+
+    private static String topicName(String topicArn) {
+        return topicArn.substring(topicArn.lastIndexOf(':') + 1);
+    }
+}
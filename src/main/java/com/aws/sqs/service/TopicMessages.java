@@ -0,0 +1,60 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+final class TopicMessages {
+
+    private TopicMessages() {
+    }
+
+    static Map<String, MessageAttributeValue> attributes(ObjectMapper objectMapper,
+                                                         Map<String, Object> values,
+                                                         long publishedAtMicros) {
+        var attributes = new HashMap<String, MessageAttributeValue>(values.size() * 2 + 2);
+        for (var entry : values.entrySet()) {
+            attributes.put(entry.getKey(), attribute(objectMapper, entry.getKey(), entry.getValue()));
+        }
+        attributes.put(PublishTimestamps.ATTRIBUTE, MessageAttributeValue.builder()
+                .dataType("Number")
+                .stringValue(Long.toString(publishedAtMicros))
+                .build());
+        return attributes;
+    }
+
+    static int size(String message, Map<String, MessageAttributeValue> attributes) {
+        int size = SqsBatchLimits.utf8Length(message);
+        for (var attribute : attributes.entrySet()) {
+            size += SqsBatchLimits.utf8Length(attribute.getKey())
+                    + SqsBatchLimits.utf8Length(attribute.getValue().dataType())
+                    + SqsBatchLimits.utf8Length(attribute.getValue().stringValue());
+        }
+        return size;
+    }
+
+    private static MessageAttributeValue attribute(ObjectMapper objectMapper, String name, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Message attribute " + name + " has no value");
+        }
+        if (value instanceof Number number) {
+            return MessageAttributeValue.builder().dataType("Number").stringValue(number.toString()).build();
+        }
+        if (value instanceof Collection<?> || value.getClass().isArray()) {
+            try {
+                return MessageAttributeValue.builder()
+                        .dataType("String.Array")
+                        .stringValue(objectMapper.writeValueAsString(value))
+                        .build();
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Message attribute " + name + " is not a valid array", e);
+            }
+        }
+        return MessageAttributeValue.builder().dataType("String").stringValue(value.toString()).build();
+    }
+}
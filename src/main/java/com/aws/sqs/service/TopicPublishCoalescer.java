@@ -0,0 +1,96 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchCoalescer;
+import com.aws.sqs.batch.BatchEntryException;
+import com.aws.sqs.batch.SqsBatchLimits;
+import com.aws.sqs.config.TopicPublisherProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequest;
+import software.amazon.awssdk.services.sns.model.PublishBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sns.publisher.coalescing.enabled", havingValue = "true")
+public class TopicPublishCoalescer {
+
+    private final SnsAsyncClient snsAsyncClient;
+    private final TopicArnResolver topicArnResolver;
+    private final BatchCoalescer<PendingMessage, String> coalescer;
+
+    public TopicPublishCoalescer(SnsAsyncClient snsAsyncClient,
+                                 TopicArnResolver topicArnResolver,
+                                 QueueMetrics queueMetrics,
+                                 TopicPublisherProperties properties) {
+        this.snsAsyncClient = snsAsyncClient;
+        this.topicArnResolver = topicArnResolver;
+        this.coalescer = new BatchCoalescer<>(
+                "sns_publish",
+                this::sendBatch,
+                queueMetrics,
+                properties.coalescing().maxBatchSize(),
+                SqsBatchLimits.MAX_PAYLOAD_BYTES,
+                properties.coalescing().linger(),
+                properties.maxAttempts(),
+                properties.retryBackoff()
+        );
+        log.info("Topic publish coalescing enabled (linger: {}, maxBatchSize: {})",
+                properties.coalescing().linger(), properties.coalescing().maxBatchSize());
+    }
+
+    public CompletableFuture<String> submit(String topicName, String message, Map<String, MessageAttributeValue> attributes) {
+        return coalescer.submit(topicName, new PendingMessage(message, attributes), TopicMessages.size(message, attributes));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coalescer.close();
+    }
+
+    private CompletableFuture<Void> sendBatch(String topicName,
+                                              List<BatchCoalescer.Entry<PendingMessage, String>> batch) {
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(topicArn -> {
+                    var entries = new ArrayList<PublishBatchRequestEntry>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        var message = batch.get(i).payload();
+                        entries.add(PublishBatchRequestEntry.builder()
+                                .id(String.valueOf(i))
+                                .message(message.body())
+                                .messageAttributes(message.attributes())
+                                .build());
+                    }
+                    return snsAsyncClient.publishBatch(PublishBatchRequest.builder()
+                            .topicArn(topicArn)
+                            .publishBatchRequestEntries(entries)
+                            .build());
+                })
+                .thenAccept(response -> {
+                    for (var successful : response.successful()) {
+                        batch.get(Integer.parseInt(successful.id())).future().complete(successful.messageId());
+                    }
+                    for (var failed : response.failed()) {
+                        batch.get(Integer.parseInt(failed.id())).future().completeExceptionally(new BatchEntryException(
+                                failed.code(), failed.message(), Boolean.TRUE.equals(failed.senderFault())));
+                    }
+                })
+                .whenComplete((v, throwable) -> {
+                    if (throwable != null) {
+                        topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    }
+                });
+    }
+
+    private record PendingMessage(String body, Map<String, MessageAttributeValue> attributes) {
+    }
+}
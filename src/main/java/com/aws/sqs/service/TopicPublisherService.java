@@ -0,0 +1,121 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchEntrySender;
+import com.aws.sqs.config.TopicPublisherProperties;
+import com.aws.sqs.model.dto.BatchEntryResult;
+import com.aws.sqs.model.dto.TopicMessageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TopicPublisherService {
+
+    private final SnsAsyncClient snsAsyncClient;
+    private final ObjectMapper objectMapper;
+    private final TopicArnResolver topicArnResolver;
+    private final TopicPublisherProperties properties;
+    private final Optional<TopicPublishCoalescer> publishCoalescer;
+
+    public CompletableFuture<String> publishMessage(String topicName, TopicMessageRequest messageRequest) {
+        log.info("Publishing message to topic: {}", topicName);
+
+        String message;
+        Map<String, MessageAttributeValue> attributes;
+        try {
+            message = objectMapper.writeValueAsString(messageRequest.body());
+            attributes = TopicMessages.attributes(objectMapper, messageRequest.attributes(), PublishTimestamps.nowMicros());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            log.error("Error serializing message for topic: {}", topicName, e);
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Failed to publish message to topic: " + topicName, e));
+        }
+
+        CompletableFuture<String> published = messageRequest.messageGroupId() == null && publishCoalescer.isPresent()
+                ? publishCoalescer.get().submit(topicName, message, attributes)
+                : topicArnResolver.resolve(topicName)
+                        .thenCompose(topicArn -> snsAsyncClient.publish(PublishRequest.builder()
+                                .topicArn(topicArn)
+                                .message(message)
+                                .messageAttributes(attributes)
+                                .messageGroupId(messageRequest.messageGroupId())
+                                .messageDeduplicationId(messageRequest.messageDeduplicationId())
+                                .build()))
+                        .thenApply(PublishResponse::messageId);
+
+        return published.exceptionally(throwable -> {
+            topicArnResolver.invalidateIfMissing(topicName, throwable);
+            log.error("Error publishing message to topic: {}", topicName, throwable);
+            throw new RuntimeException("Failed to publish message to topic: " + topicName, throwable);
+        });
+    }
+
+    public CompletableFuture<List<BatchEntryResult>> publishBatch(String topicName, List<TopicMessageRequest> messages) {
+        log.info("Publishing batch of {} messages to topic: {}", messages.size(), topicName);
+
+        long publishedAtMicros = PublishTimestamps.nowMicros();
+        var results = new BatchEntryResult[messages.size()];
+        var entries = new ArrayList<PublishBatchRequestEntry>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            var request = messages.get(i);
+            try {
+                entries.add(PublishBatchRequestEntry.builder()
+                        .id(String.valueOf(i))
+                        .message(objectMapper.writeValueAsString(request.body()))
+                        .messageAttributes(TopicMessages.attributes(objectMapper, request.attributes(), publishedAtMicros))
+                        .messageGroupId(request.messageGroupId())
+                        .messageDeduplicationId(request.messageDeduplicationId())
+                        .build());
+            } catch (Exception e) {
+                log.error("Error serializing message at index {}", i, e);
+                results[i] = BatchEntryResult.failure(i, "SerializationError", e.getMessage());
+            }
+        }
+
+        var batchSender = new BatchEntrySender<>("PublishBatch",
+                PublishBatchRequestEntry::id,
+                PublishBatchRequestEntry::messageGroupId,
+                entry -> TopicMessages.size(entry.message(), entry.messageAttributes()),
+                properties.maxAttempts(),
+                properties.retryBackoff());
+        return topicArnResolver.resolve(topicName)
+                .thenCompose(topicArn -> batchSender.send(entries,
+                        chunk -> snsAsyncClient.publishBatch(PublishBatchRequest.builder()
+                                        .topicArn(topicArn)
+                                        .publishBatchRequestEntries(chunk)
+                                        .build())
+                                .thenApply(TopicPublisherService::batchResponse),
+                        results))
+                .thenApply(v -> Arrays.asList(results))
+                .exceptionally(throwable -> {
+                    topicArnResolver.invalidateIfMissing(topicName, throwable);
+                    log.error("Error publishing batch to topic: {}", topicName, throwable);
+                    throw new RuntimeException("Failed to publish batch to topic: " + topicName, throwable);
+                });
+    }
+
+    private static BatchEntrySender.BatchResponse batchResponse(PublishBatchResponse response) {
+        return new BatchEntrySender.BatchResponse(
+                response.successful().stream()
+                        .map(entry -> new BatchEntrySender.Accepted(entry.id(), entry.messageId()))
+                        .toList(),
+                response.failed().stream()
+                        .map(entry -> new BatchEntrySender.Rejected(entry.id(), entry.code(), entry.message(),
+                                Boolean.TRUE.equals(entry.senderFault())))
+                        .toList());
+    }
+}
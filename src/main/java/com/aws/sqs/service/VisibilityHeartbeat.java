@@ -0,0 +1,260 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.batch.BatchPacker;
+import com.aws.sqs.config.VisibilityHeartbeatProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sqs.consumer.heartbeat.enabled", havingValue = "true")
+public class VisibilityHeartbeat {
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final QueueMetrics queueMetrics;
+    private final int visibilitySeconds;
+    private final long heartbeatIntervalNanos;
+    private final long safetyMarginNanos;
+    private final long maxExtensionNanos;
+    private final long tickNanos;
+    private final int mask;
+    private final List<ArrayDeque<TrackedMessage>> wheel;
+    private final ConcurrentLinkedQueue<TrackedMessage> pending = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<String, TrackedMessage> tracked = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Long>> firstHeartbeatDelays = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private long tick;
+
+    public VisibilityHeartbeat(SqsAsyncClient sqsAsyncClient,
+                               QueueUrlResolver queueUrlResolver,
+                               QueueMetrics queueMetrics,
+                               VisibilityHeartbeatProperties properties) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.queueMetrics = queueMetrics;
+        this.visibilitySeconds = (int) properties.visibilityTimeout().toSeconds();
+        this.heartbeatIntervalNanos = properties.visibilityTimeout().minus(properties.safetyMargin()).toNanos();
+        this.safetyMarginNanos = properties.safetyMargin().toNanos();
+        this.maxExtensionNanos = properties.maxExtension().toNanos();
+        this.tickNanos = properties.tickDuration().toNanos();
+        this.mask = properties.wheelSize() - 1;
+        this.wheel = new ArrayList<>(properties.wheelSize());
+        for (int i = 0; i < properties.wheelSize(); i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "visibility-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        queueMetrics.registerHeartbeatGauge(tracked::size);
+    }
+
+    public void track(String queueName, String receiptHandle) {
+        var message = register(queueName, receiptHandle);
+        firstHeartbeatDelay(queueName).whenComplete((delayNanos, throwable) ->
+                schedule(message, throwable == null ? delayNanos : 0));
+    }
+
+    public void track(String queueName, String receiptHandle, Duration firstHeartbeatIn) {
+        schedule(register(queueName, receiptHandle), firstHeartbeatIn.toNanos());
+    }
+
+    public void untrack(String receiptHandle) {
+        var message = tracked.remove(receiptHandle);
+        if (message != null) {
+            message.cancelled = true;
+        }
+    }
+
+    public int trackedCount() {
+        return tracked.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private TrackedMessage register(String queueName, String receiptHandle) {
+        var message = new TrackedMessage(queueName, receiptHandle, System.nanoTime());
+        var previous = tracked.put(receiptHandle, message);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        return message;
+    }
+
+    private CompletableFuture<Long> firstHeartbeatDelay(String queueName) {
+        var delay = firstHeartbeatDelays.computeIfAbsent(queueName, this::fetchFirstHeartbeatDelay);
+        return delay.whenComplete((delayNanos, throwable) -> {
+            if (throwable != null && firstHeartbeatDelays.remove(queueName, delay)) {
+                log.warn("Could not read visibility timeout of queue {}, extending immediately", queueName, throwable);
+            }
+        });
+    }
+
+    private CompletableFuture<Long> fetchFirstHeartbeatDelay(String queueName) {
+        return queueUrlResolver.resolve(queueName)
+                .thenCompose(queueUrl -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.VISIBILITY_TIMEOUT)
+                        .build()))
+                .thenApply(response -> {
+                    long visibilityNanos = TimeUnit.SECONDS.toNanos(
+                            Long.parseLong(response.attributes().get(QueueAttributeName.VISIBILITY_TIMEOUT)));
+                    return visibilityNanos > safetyMarginNanos
+                            ? visibilityNanos - safetyMarginNanos
+                            : visibilityNanos / 2;
+                });
+    }
+
+    private void schedule(TrackedMessage message, long delayNanos) {
+        message.delayNanos = delayNanos;
+        pending.offer(message);
+    }
+
+    void advance() {
+        try {
+            transferPending();
+
+            var bucket = wheel.get((int) (tick & mask));
+            var due = new HashMap<String, List<TrackedMessage>>();
+            for (int i = bucket.size(); i > 0; i--) {
+                var message = bucket.poll();
+                if (message.cancelled) {
+                    continue;
+                }
+                if (message.remainingRounds > 0) {
+                    message.remainingRounds--;
+                    bucket.offer(message);
+                    continue;
+                }
+                due.computeIfAbsent(message.queueName, key -> new ArrayList<>()).add(message);
+            }
+            tick++;
+
+            due.forEach(this::extend);
+        } catch (RuntimeException e) {
+            log.error("Error advancing visibility heartbeat wheel", e);
+        }
+    }
+
+    private void transferPending() {
+        TrackedMessage message;
+        while ((message = pending.poll()) != null) {
+            if (message.cancelled) {
+                continue;
+            }
+            long ticks = Math.max(0, (message.delayNanos + tickNanos - 1) / tickNanos);
+            message.remainingRounds = ticks / wheel.size();
+            wheel.get((int) ((tick + ticks) & mask)).offer(message);
+        }
+    }
+
+    private void extend(String queueName, List<TrackedMessage> messages) {
+        var now = System.nanoTime();
+        var active = new ArrayList<TrackedMessage>(messages.size());
+        for (var message : messages) {
+            if (now - message.trackedAtNanos >= maxExtensionNanos) {
+                tracked.remove(message.receiptHandle, message);
+                queueMetrics.incrementVisibilityExtensions(queueName, "max_reached", 1);
+            } else {
+                active.add(message);
+            }
+        }
+        if (active.isEmpty()) {
+            return;
+        }
+
+        queueUrlResolver.resolve(queueName).whenComplete((queueUrl, resolveError) -> {
+            if (resolveError != null) {
+                log.warn("Could not resolve queue {} to extend visibility", queueName, resolveError);
+                active.forEach(message -> reschedule(message, tickNanos));
+                return;
+            }
+            for (var chunk : BatchPacker.pack(active, message -> 0)) {
+                extendChunk(queueName, queueUrl, chunk);
+            }
+        });
+    }
+
+    private void extendChunk(String queueName, String queueUrl, List<TrackedMessage> chunk) {
+        var entries = new ArrayList<ChangeMessageVisibilityBatchRequestEntry>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(chunk.get(i).receiptHandle)
+                    .visibilityTimeout(visibilitySeconds)
+                    .build());
+        }
+
+        sqsAsyncClient.changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Error extending visibility of {} messages in queue: {}", chunk.size(), queueName, throwable);
+                        queueMetrics.incrementVisibilityExtensions(queueName, "error", chunk.size());
+                        chunk.forEach(message -> reschedule(message, tickNanos));
+                        return;
+                    }
+                    for (var failed : response.failed()) {
+                        var message = chunk.get(Integer.parseInt(failed.id()));
+                        log.debug("Stopped extending visibility of message in queue {}: {}", queueName, failed.code());
+                        tracked.remove(message.receiptHandle, message);
+                        message.cancelled = true;
+                    }
+                    queueMetrics.incrementVisibilityExtensions(queueName, "success", response.successful().size());
+                    queueMetrics.incrementVisibilityExtensions(queueName, "error", response.failed().size());
+                    for (var successful : response.successful()) {
+                        reschedule(chunk.get(Integer.parseInt(successful.id())), heartbeatIntervalNanos);
+                    }
+                });
+    }
+
+    private void reschedule(TrackedMessage message, long delayNanos) {
+        if (!message.cancelled) {
+            schedule(message, delayNanos);
+        }
+    }
+
+    private static final class TrackedMessage {
+        private final String queueName;
+        private final String receiptHandle;
+        private final long trackedAtNanos;
+        private volatile boolean cancelled;
+        private long delayNanos;
+        private long remainingRounds;
+
+        private TrackedMessage(String queueName, String receiptHandle, long trackedAtNanos) {
+            this.queueName = queueName;
+            this.receiptHandle = receiptHandle;
+            this.trackedAtNanos = trackedAtNanos;
+        }
+    }
+}
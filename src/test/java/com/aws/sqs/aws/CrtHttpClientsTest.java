@@ -0,0 +1,24 @@
+package com.aws.sqs.aws;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrtHttpClientsTest {
+
+    @Test
+    void shouldFailClearlyWhenCrtIsNotOnClasspath() throws Exception {
+        try (var withoutCrt = new URLClassLoader(new URL[0], null)) {
+            var exception = assertThrows(IllegalStateException.class, () -> CrtHttpClients.requireAvailable(withoutCrt));
+            assertTrue(exception.getMessage().contains("aws-crt-client"));
+        }
+    }
+
+    @Test
+    void shouldAcceptClasspathWithCrt() {
+        assertDoesNotThrow(() -> CrtHttpClients.requireAvailable(CrtHttpClientsTest.class.getClassLoader()));
+    }
+}
@@ -0,0 +1,164 @@
+package com.aws.sqs.aws.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sns.model.*;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySnsAsyncClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InMemorySqsAsyncClient sqsClient;
+    private InMemorySnsAsyncClient snsClient;
+
+    @BeforeEach
+    void setUp() {
+        sqsClient = new InMemorySqsAsyncClient("us-east-1");
+        snsClient = new InMemorySnsAsyncClient("us-east-1", sqsClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snsClient.close();
+        sqsClient.close();
+    }
+
+    @Test
+    void shouldFanOutRawAndEnvelopedDeliveries() throws Exception {
+        var topicArn = createTopic("orders", Map.of());
+        var rawUrl = createQueue("orders-raw", Map.of());
+        var envelopeUrl = createQueue("orders-envelope", Map.of());
+        subscribe(topicArn, rawUrl, Map.of("RawMessageDelivery", "true"));
+        subscribe(topicArn, envelopeUrl, Map.of());
+
+        var messageId = snsClient.publish(request -> request.topicArn(topicArn)
+                .message("{\"id\":1}")
+                .messageAttributes(Map.of("type", stringAttribute("created")))).join().messageId();
+
+        var raw = receive(rawUrl);
+        assertEquals(1, raw.size());
+        assertEquals("{\"id\":1}", raw.get(0).body());
+        assertEquals("created", raw.get(0).messageAttributes().get("type").stringValue());
+
+        var enveloped = receive(envelopeUrl);
+        assertEquals(1, enveloped.size());
+        var envelope = objectMapper.readTree(enveloped.get(0).body());
+        assertEquals("Notification", envelope.get("Type").asText());
+        assertEquals(messageId, envelope.get("MessageId").asText());
+        assertEquals(topicArn, envelope.get("TopicArn").asText());
+        assertEquals("{\"id\":1}", envelope.get("Message").asText());
+        assertEquals("created", envelope.at("/MessageAttributes/type/Value").asText());
+    }
+
+    @Test
+    void shouldApplyAttributeAndBodyFilterPolicies() {
+        var topicArn = createTopic("events", Map.of());
+        var createdUrl = createQueue("created-events", Map.of());
+        var expensiveUrl = createQueue("expensive-events", Map.of());
+        subscribe(topicArn, createdUrl, Map.of(
+                "RawMessageDelivery", "true",
+                "FilterPolicy", "{\"type\":[\"created\"]}"));
+        subscribe(topicArn, expensiveUrl, Map.of(
+                "RawMessageDelivery", "true",
+                "FilterPolicy", "{\"order\":{\"total\":[{\"numeric\":[\">=\",100]}]}}",
+                "FilterPolicyScope", "MessageBody"));
+
+        snsClient.publish(request -> request.topicArn(topicArn)
+                .message("{\"order\":{\"total\":150}}")
+                .messageAttributes(Map.of("type", stringAttribute("created")))).join();
+        snsClient.publish(request -> request.topicArn(topicArn)
+                .message("{\"order\":{\"total\":20}}")
+                .messageAttributes(Map.of("type", stringAttribute("cancelled")))).join();
+
+        assertEquals(List.of("{\"order\":{\"total\":150}}"), receive(createdUrl).stream().map(Message::body).toList());
+        assertEquals(List.of("{\"order\":{\"total\":150}}"), receive(expensiveUrl).stream().map(Message::body).toList());
+    }
+
+    @Test
+    void shouldRejectInvalidFilterPolicy() {
+        var topicArn = createTopic("invalid-policy", Map.of());
+        var queueUrl = createQueue("invalid-policy-queue", Map.of());
+
+        var error = assertThrows(CompletionException.class,
+                () -> subscribe(topicArn, queueUrl, Map.of("FilterPolicy", "{\"type\":[{\"unknown\":1}]}")));
+        assertInstanceOf(InvalidParameterException.class, error.getCause());
+    }
+
+    @Test
+    void shouldValidatePublishBatch() {
+        var topicArn = createTopic("batches", Map.of());
+        var entry = PublishBatchRequestEntry.builder().id("1").message("payload").build();
+
+        var tooMany = assertThrows(CompletionException.class, () -> snsClient.publishBatch(request -> request
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(Collections.nCopies(11, entry))).join());
+        assertInstanceOf(TooManyEntriesInBatchRequestException.class, tooMany.getCause());
+
+        var duplicated = assertThrows(CompletionException.class, () -> snsClient.publishBatch(request -> request
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(entry, entry)).join());
+        assertInstanceOf(BatchEntryIdsNotDistinctException.class, duplicated.getCause());
+
+        var response = snsClient.publishBatch(request -> request
+                .topicArn(topicArn)
+                .publishBatchRequestEntries(entry, PublishBatchRequestEntry.builder().id("2").message("").build()))
+                .join();
+        assertEquals(List.of("1"), response.successful().stream().map(PublishBatchResultEntry::id).toList());
+        assertEquals("2", response.failed().get(0).id());
+        assertTrue(response.failed().get(0).senderFault());
+    }
+
+    @Test
+    void shouldDeliverFifoTopicMessagesWithContentBasedDeduplication() {
+        var topicArn = createTopic("payments.fifo", Map.of("FifoTopic", "true", "ContentBasedDeduplication", "true"));
+        var queueUrl = createQueue("payments.fifo", Map.of("FifoQueue", "true"));
+        subscribe(topicArn, queueUrl, Map.of("RawMessageDelivery", "true"));
+
+        var missingGroup = assertThrows(CompletionException.class,
+                () -> snsClient.publish(request -> request.topicArn(topicArn).message("a")).join());
+        assertInstanceOf(InvalidParameterException.class, missingGroup.getCause());
+
+        snsClient.publish(request -> request.topicArn(topicArn).message("a").messageGroupId("g")).join();
+        snsClient.publish(request -> request.topicArn(topicArn).message("a").messageGroupId("g")).join();
+
+        assertEquals(1, receive(queueUrl).size());
+    }
+
+    private String createTopic(String name, Map<String, String> attributes) {
+        return snsClient.createTopic(request -> request.name(name).attributes(attributes)).join().topicArn();
+    }
+
+    private String createQueue(String name, Map<String, String> attributes) {
+        return sqsClient.createQueue(request -> request.queueName(name).attributesWithStrings(attributes))
+                .join().queueUrl();
+    }
+
+    private void subscribe(String topicArn, String queueUrl, Map<String, String> attributes) {
+        var queueArn = sqsClient.getQueueAttributes(request -> request.queueUrl(queueUrl)
+                .attributeNamesWithStrings("QueueArn")).join().attributesAsStrings().get("QueueArn");
+        snsClient.subscribe(request -> request.topicArn(topicArn)
+                .protocol("sqs")
+                .endpoint(queueArn)
+                .attributes(attributes)).join();
+    }
+
+    private List<Message> receive(String queueUrl) {
+        return sqsClient.receiveMessage(request -> request.queueUrl(queueUrl)
+                .maxNumberOfMessages(10)
+                .messageAttributeNames("All")).join().messages();
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.aws.sqs.aws.memory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemorySqsAsyncClientTest {
+
+    private InMemorySqsAsyncClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new InMemorySqsAsyncClient("us-east-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void shouldRedeliverAfterVisibilityTimeoutAndRedriveToDeadLetterQueue() {
+        var dlqUrl = createQueue("orders-dlq", Map.of());
+        var dlqArn = client.getQueueAttributes(request -> request.queueUrl(dlqUrl)
+                .attributeNamesWithStrings("QueueArn")).join().attributesAsStrings().get("QueueArn");
+        var queueUrl = createQueue("orders", Map.of("RedrivePolicy",
+                "{\"deadLetterTargetArn\":\"" + dlqArn + "\",\"maxReceiveCount\":\"2\"}"));
+
+        client.sendMessage(request -> request.queueUrl(queueUrl).messageBody("{\"id\":1}")).join();
+
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            var messages = receive(queueUrl, 0);
+            assertEquals(1, messages.size());
+            assertEquals(String.valueOf(attempt), messages.get(0).attributesAsStrings().get("ApproximateReceiveCount"));
+            client.changeMessageVisibility(request -> request.queueUrl(queueUrl)
+                    .receiptHandle(messages.get(0).receiptHandle())
+                    .visibilityTimeout(0)).join();
+        }
+
+        assertTrue(receive(queueUrl, 0).isEmpty());
+        var deadLettered = receive(dlqUrl, 0);
+        assertEquals(1, deadLettered.size());
+        assertEquals("{\"id\":1}", deadLettered.get(0).body());
+    }
+
+    @Test
+    void shouldReturnMessageToQueueWhenVisibilityExpires() {
+        var queueUrl = createQueue("expiring", Map.of("VisibilityTimeout", "1"));
+        client.sendMessage(request -> request.queueUrl(queueUrl).messageBody("payload")).join();
+
+        assertEquals(1, receive(queueUrl, 0).size());
+        assertTrue(receive(queueUrl, 0).isEmpty());
+
+        var redelivered = receive(queueUrl, 5);
+        assertEquals(1, redelivered.size());
+        assertEquals("2", redelivered.get(0).attributesAsStrings().get("ApproximateReceiveCount"));
+    }
+
+    @Test
+    void shouldCompleteLongPollWhenMessageArrives() throws Exception {
+        var queueUrl = createQueue("long-poll", Map.of());
+
+        var pending = client.receiveMessage(request -> request.queueUrl(queueUrl).waitTimeSeconds(20));
+        assertFalse(pending.isDone());
+
+        client.sendMessage(request -> request.queueUrl(queueUrl).messageBody("late")).join();
+
+        var messages = pending.get(2, TimeUnit.SECONDS).messages();
+        assertEquals(1, messages.size());
+        assertEquals("late", messages.get(0).body());
+    }
+
+    @Test
+    void shouldBlockFifoGroupWhileMessageIsInFlight() {
+        var queueUrl = createQueue("payments.fifo", Map.of("FifoQueue", "true", "ContentBasedDeduplication", "true"));
+
+        var batch = client.sendMessageBatch(request -> request.queueUrl(queueUrl).entries(
+                SendMessageBatchRequestEntry.builder().id("0").messageBody("a-1").messageGroupId("a").build(),
+                SendMessageBatchRequestEntry.builder().id("1").messageBody("b-1").messageGroupId("b").build(),
+                SendMessageBatchRequestEntry.builder().id("2").messageBody("a-2").messageGroupId("a").build(),
+                SendMessageBatchRequestEntry.builder().id("3").messageBody("a-1").messageGroupId("a").build()
+        )).join();
+        assertEquals(4, batch.successful().size());
+        assertEquals(batch.successful().get(0).messageId(), batch.successful().get(3).messageId());
+
+        var first = client.receiveMessage(request -> request.queueUrl(queueUrl).maxNumberOfMessages(1)).join().messages();
+        assertEquals("a-1", first.get(0).body());
+
+        var second = receive(queueUrl, 0);
+        assertEquals(List.of("b-1"), second.stream().map(Message::body).toList());
+
+        client.deleteMessage(request -> request.queueUrl(queueUrl).receiptHandle(first.get(0).receiptHandle())).join();
+        assertEquals(List.of("a-2"), receive(queueUrl, 0).stream().map(Message::body).toList());
+    }
+
+    @Test
+    void shouldReportMissingQueue() {
+        var exception = assertThrows(CompletionException.class, () -> client.getQueueUrl(
+                request -> request.queueName("missing")).join());
+        assertInstanceOf(QueueDoesNotExistException.class, exception.getCause());
+    }
+
+    @Test
+    void shouldPaginateListQueues() {
+        for (int i = 0; i < 5; i++) {
+            createQueue("page-" + i, Map.of());
+        }
+
+        var first = client.listQueues(request -> request.queueNamePrefix("page-").maxResults(3)).join();
+        var second = client.listQueues(request -> request.queueNamePrefix("page-").maxResults(3)
+                .nextToken(first.nextToken())).join();
+
+        assertEquals(3, first.queueUrls().size());
+        assertEquals(2, second.queueUrls().size());
+        assertNull(second.nextToken());
+    }
+
+    private String createQueue(String name, Map<String, String> attributes) {
+        return client.createQueue(request -> request.queueName(name).attributesWithStrings(attributes))
+                .join()
+                .queueUrl();
+    }
+
+    private List<Message> receive(String queueUrl, int waitTimeSeconds) {
+        return client.receiveMessage(request -> request.queueUrl(queueUrl)
+                        .maxNumberOfMessages(10)
+                        .waitTimeSeconds(waitTimeSeconds)
+                        .attributeNamesWithStrings("All"))
+                .join()
+                .messages();
+    }
+}
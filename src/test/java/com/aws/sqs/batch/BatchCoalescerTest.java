@@ -0,0 +1,133 @@
+package com.aws.sqs.batch;
+
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchCoalescerTest {
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private BatchCoalescer<String, String> coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+
+    @Test
+    void shouldFlushWhenBatchIsFull() throws Exception {
+        coalescer = new BatchCoalescer<>("publish", this::echo, queueMetrics, 10, 1024, Duration.ofMinutes(1), 1, Duration.ZERO);
+
+        var futures = new ArrayList<CompletableFuture<String>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(coalescer.submit("test-queue", "message-" + i, 9));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("id-message-" + i, futures.get(i).get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(10), batchSizes);
+    }
+
+    @Test
+    void shouldFlushAfterLinger() throws Exception {
+        coalescer = new BatchCoalescer<>("publish", this::echo, queueMetrics, 10, 1024, Duration.ofMillis(5), 1, Duration.ZERO);
+
+        var first = coalescer.submit("test-queue", "a", 1);
+        var second = coalescer.submit("test-queue", "b", 1);
+
+        assertEquals("id-a", first.get(1, TimeUnit.SECONDS));
+        assertEquals("id-b", second.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void shouldSplitBatchesByPayloadSize() throws Exception {
+        coalescer = new BatchCoalescer<>("publish", this::echo, queueMetrics, 10, 100, Duration.ofMinutes(1), 1, Duration.ZERO);
+
+        var first = coalescer.submit("test-queue", "a", 60);
+        var second = coalescer.submit("test-queue", "b", 60);
+
+        assertEquals("id-a", first.get(1, TimeUnit.SECONDS));
+        assertEquals("id-b", second.get(1, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 1), batchSizes);
+    }
+
+    @Test
+    void shouldFailEntriesWhenSenderFails() {
+        coalescer = new BatchCoalescer<>("publish",
+                (key, batch) -> CompletableFuture.failedFuture(new RuntimeException("SQS unavailable")),
+                queueMetrics, 1, 1024, Duration.ofMinutes(1), 1, Duration.ZERO);
+
+        var future = coalescer.submit("test-queue", "a", 1);
+
+        assertThrows(Exception.class, () -> future.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRetryEntriesFailedOnServerSide() throws Exception {
+        var attempts = new AtomicInteger();
+        coalescer = new BatchCoalescer<>("publish", (key, batch) -> {
+            batchSizes.add(batch.size());
+            for (var entry : batch) {
+                if (entry.payload().equals("b") && attempts.getAndIncrement() == 0) {
+                    entry.future().completeExceptionally(new BatchEntryException("InternalError", "retry", false));
+                } else if (entry.payload().equals("c")) {
+                    entry.future().completeExceptionally(new BatchEntryException("InvalidMessageContents", "bad", true));
+                } else {
+                    entry.future().complete("id-" + entry.payload());
+                }
+            }
+            return CompletableFuture.completedFuture(null);
+        }, queueMetrics, 3, 1024, Duration.ofMillis(5), 3, Duration.ZERO);
+
+        var first = coalescer.submit("test-queue", "a", 1);
+        var second = coalescer.submit("test-queue", "b", 1);
+        var third = coalescer.submit("test-queue", "c", 1);
+
+        assertEquals("id-a", first.get(1, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertEquals("id-b", second.get(1, TimeUnit.SECONDS));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shouldEvictIdleBuffers() throws Exception {
+        coalescer = new BatchCoalescer<>("publish", this::echo, queueMetrics, 1, 1024, Duration.ofMinutes(1),
+                1, Duration.ZERO);
+
+        coalescer.submit("test-queue", "a", 1).get(1, TimeUnit.SECONDS);
+        assertEquals(1, coalescer.bufferCount());
+
+        coalescer.evictIdle(0);
+
+        assertEquals(0, coalescer.bufferCount());
+        assertEquals("id-b", coalescer.submit("test-queue", "b", 1).get(1, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<Void> echo(String key, List<BatchCoalescer.Entry<String, String>> batch) {
+        batchSizes.add(batch.size());
+        batch.forEach(entry -> entry.future().complete("id-" + entry.payload()));
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.aws.sqs.batch;
+
+import com.aws.sqs.model.dto.BatchEntryResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEntrySenderTest {
+
+    private final BatchEntrySender<Item> sender = new BatchEntrySender<>(
+            "TestBatch", Item::id, Item::groupId, item -> 1, 3, Duration.ZERO);
+
+    @Test
+    void shouldRetryTransientFailuresOfUngroupedEntries() {
+        var calls = new ArrayList<List<String>>();
+        var results = new BatchEntryResult[2];
+
+        sender.send(List.of(new Item("0", null), new Item("1", null)), chunk -> {
+            calls.add(chunk.stream().map(Item::id).toList());
+            return CompletableFuture.completedFuture(calls.size() == 1
+                    ? new BatchEntrySender.BatchResponse(
+                            List.of(new BatchEntrySender.Accepted("0", "message-0")),
+                            List.of(new BatchEntrySender.Rejected("1", "InternalError", "busy", false)))
+                    : new BatchEntrySender.BatchResponse(
+                            List.of(new BatchEntrySender.Accepted("1", "message-1")), List.of()));
+        }, results).join();
+
+        assertEquals(List.of(List.of("0", "1"), List.of("1")), calls);
+        assertEquals("message-1", results[1].messageId());
+    }
+
+    @Test
+    void shouldSkipLaterChunksOfFailedGroup() {
+        var items = new ArrayList<Item>();
+        for (int i = 0; i < 12; i++) {
+            items.add(new Item(String.valueOf(i), i % 2 == 0 ? "even" : "odd"));
+        }
+        var calls = new ArrayList<List<String>>();
+        var results = new BatchEntryResult[items.size()];
+
+        sender.send(items, chunk -> {
+            calls.add(chunk.stream().map(Item::id).toList());
+            var accepted = new ArrayList<BatchEntrySender.Accepted>();
+            var rejected = new ArrayList<BatchEntrySender.Rejected>();
+            for (var item : chunk) {
+                if (item.id().equals("0")) {
+                    rejected.add(new BatchEntrySender.Rejected("0", "InvalidMessageContents", "bad", true));
+                } else {
+                    accepted.add(new BatchEntrySender.Accepted(item.id(), "message-" + item.id()));
+                }
+            }
+            return CompletableFuture.completedFuture(new BatchEntrySender.BatchResponse(accepted, rejected));
+        }, results).join();
+
+        assertEquals(List.of("11"), calls.get(1));
+        assertEquals("InvalidMessageContents", results[0].errorCode());
+        assertEquals(BatchEntrySender.GROUP_FAILED, results[10].errorCode());
+        assertTrue(results[11].success());
+    }
+
+    private record Item(String id, String groupId) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.aws.sqs.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPackerTest {
+
+    @Test
+    void shouldSplitByEntryCount() {
+        var chunks = BatchPacker.pack(Collections.nCopies(23, "x"), String::length);
+
+        assertEquals(3, chunks.size());
+        assertEquals(10, chunks.get(0).size());
+        assertEquals(3, chunks.get(2).size());
+    }
+
+    @Test
+    void shouldSplitByPayloadSize() {
+        var large = "a".repeat(100_000);
+        var chunks = BatchPacker.pack(List.of(large, large, large, "b"), String::length);
+
+        assertEquals(2, chunks.size());
+        assertEquals(2, chunks.get(0).size());
+        assertEquals(List.of(large, "b"), chunks.get(1));
+    }
+
+    @Test
+    void shouldKeepOversizedEntryInItsOwnChunk() {
+        var oversized = "a".repeat(SqsBatchLimits.MAX_PAYLOAD_BYTES + 1);
+        var chunks = BatchPacker.pack(List.of("b", oversized, "c"), String::length);
+
+        assertEquals(3, chunks.size());
+    }
+
+    @Test
+    void shouldCountUtf8Bytes() {
+        assertEquals(3, SqsBatchLimits.utf8Length("abc"));
+        assertEquals(2, SqsBatchLimits.utf8Length("é"));
+        assertEquals(3, SqsBatchLimits.utf8Length("€"));
+        assertEquals(4, SqsBatchLimits.utf8Length("😀"));
+    }
+}
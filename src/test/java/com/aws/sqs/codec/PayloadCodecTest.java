@@ -0,0 +1,123 @@
+package com.aws.sqs.codec;
+
+import com.aws.sqs.config.PayloadCodecProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PayloadCodecTest {
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    @TempDir
+    private Path blobDirectory;
+
+    private PayloadCodec payloadCodec;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new PayloadCodecProperties(
+                true, DataSize.ofKilobytes(1), DataSize.ofKilobytes(8), blobDirectory, Duration.ofHours(1));
+        payloadCodec = new PayloadCodec(new LocalFileBlobStore(blobDirectory, Runnable::run), queueMetrics, properties);
+    }
+
+    @Test
+    void shouldLeaveSmallBodiesUntouched() {
+        var encoded = payloadCodec.encode("test-queue", "{\"id\":1}").join();
+
+        assertTrue(encoded.isPlain());
+        assertEquals("{\"id\":1}", encoded.body());
+    }
+
+    @Test
+    void shouldCompressLargeBodiesAndRestoreThemOnDecode() {
+        var body = "{\"data\":\"" + "a".repeat(4_000) + "\"}";
+
+        var encoded = payloadCodec.encode("test-queue", body).join();
+
+        assertEquals(PayloadCodec.GZIP, encoded.attributes().get(PayloadCodec.ENCODING_ATTRIBUTE).stringValue());
+        assertTrue(encoded.body().length() < body.length());
+        var decoded = payloadCodec.decode("test-queue", received(encoded, "handle-1")).join();
+        assertEquals(body, decoded.body());
+        assertFalse(decoded.messageAttributes().containsKey(PayloadCodec.ENCODING_ATTRIBUTE));
+        verify(queueMetrics).incrementPayloadCodec("test-queue", "compressed");
+    }
+
+    @Test
+    void shouldOffloadIncompressibleBodiesAndDeleteThemOnRelease() throws Exception {
+        var bytes = new byte[12_000];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        var body = Base64.getEncoder().encodeToString(bytes);
+
+        var encoded = payloadCodec.encode("test-queue", body).join();
+
+        var claimCheck = encoded.attributes().get(PayloadCodec.CLAIM_CHECK_ATTRIBUTE).stringValue();
+        assertTrue(Files.exists(blobDirectory.resolve(claimCheck)));
+        assertTrue(encoded.body().contains(claimCheck));
+
+        var decoded = payloadCodec.decode("test-queue", received(encoded, "handle-1")).join();
+        assertEquals(body, decoded.body());
+        assertEquals(1, payloadCodec.pendingClaims());
+
+        payloadCodec.release("test-queue", "handle-1");
+
+        assertFalse(Files.exists(blobDirectory.resolve(claimCheck)));
+        assertEquals(0, payloadCodec.pendingClaims());
+    }
+
+    @Test
+    void shouldSkipMessagesThatCannotBeDecoded() throws Exception {
+        var body = "{\"data\":\"" + "a".repeat(4_000) + "\"}";
+        var compressed = payloadCodec.encode("test-queue", body).join();
+        var corrupt = received(new EncodedMessage("not base64!", compressed.attributes()), "handle-2");
+        var missingBlob = received(new EncodedMessage("{\"claimCheck\":\"missing\"}", Map.of(
+                PayloadCodec.CLAIM_CHECK_ATTRIBUTE, MessageAttributeValue.builder()
+                        .dataType("String").stringValue("missing").build())), "handle-3");
+
+        var decoded = payloadCodec.decodeAll("test-queue",
+                List.of(received(compressed, "handle-1"), corrupt, missingBlob)).join();
+
+        assertEquals(List.of("handle-1"), decoded.stream().map(Message::receiptHandle).toList());
+        assertEquals(body, decoded.get(0).body());
+        verify(queueMetrics, times(2)).incrementPayloadCodec("test-queue", "decode_failed");
+    }
+
+    @Test
+    void shouldRejectClaimChecksOutsideTheBlobDirectory() {
+        var blobStore = new LocalFileBlobStore(blobDirectory, Runnable::run);
+
+        var failure = assertThrows(CompletionException.class, () -> blobStore.get("../etc/passwd").join());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
+
+    private static Message received(EncodedMessage encoded, String receiptHandle) {
+        return Message.builder()
+                .messageId("message-id")
+                .receiptHandle(receiptHandle)
+                .body(encoded.body())
+                .messageAttributes(encoded.attributes())
+                .build();
+    }
+}
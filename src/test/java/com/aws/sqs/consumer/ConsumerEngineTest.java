@@ -0,0 +1,343 @@
+package com.aws.sqs.consumer;
+
+import com.aws.sqs.codec.PayloadCodec;
+import com.aws.sqs.config.ConsumerEngineProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.service.MessageConsumerService;
+import com.aws.sqs.service.PublishTimestamps;
+import com.aws.sqs.service.QueueUrlResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ConsumerEngineTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
+    @Mock
+    private MessageConsumerService messageConsumerService;
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    @Mock
+    private PayloadCodec payloadCodec;
+
+    private ExecutorService executor;
+
+    private ConsumerEngine consumerEngine;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(messageConsumerService.deleteMessage(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(messageConsumerService.suppressDuplicates(anyString(), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(messageConsumerService.withInternalAttributes(anyList()))
+                .thenAnswer(invocation -> PublishTimestamps.withTimestampAttribute(invocation.getArgument(0)));
+        when(queueMetrics.forQueue(anyString()))
+                .thenAnswer(invocation -> new QueueMetrics(new SimpleMeterRegistry()).forQueue(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (consumerEngine != null) {
+            consumerEngine.stop();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldDispatchMessagesAndDeleteOnSuccess() throws Exception {
+        var messages = List.of(message("1"), message("2"), message("3"));
+        stubReceive(messages);
+
+        var handled = new CountDownLatch(3);
+        consumerEngine = engine(handler(message -> handled.countDown()), 10);
+        consumerEngine.start();
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        verify(messageConsumerService, timeout(1000)).deleteMessage("test-queue", "receipt-1");
+        verify(messageConsumerService, timeout(1000)).deleteMessage("test-queue", "receipt-3");
+    }
+
+    @Test
+    void shouldRequestOnlyNeededAttributesAndStripInternalOnes() throws Exception {
+        var stamped = message("1").toBuilder()
+                .messageAttributes(PublishTimestamps.stamp(Map.of(), 1L))
+                .build();
+        stubReceive(List.of(stamped));
+
+        var handled = new CompletableFuture<Message>();
+        consumerEngine = engine(handler(handled::complete), 10);
+        consumerEngine.start();
+
+        assertFalse(handled.get(5, TimeUnit.SECONDS).messageAttributes().containsKey(PublishTimestamps.ATTRIBUTE));
+        verify(sqsAsyncClient, atLeastOnce()).receiveMessage(argThat((ReceiveMessageRequest request) ->
+                request.attributeNamesAsStrings().equals(List.of("SentTimestamp"))
+                        && request.messageAttributeNames().equals(List.of(PublishTimestamps.ATTRIBUTE))));
+    }
+
+    @Test
+    void shouldRequestInternalAttributesOfConsumerService() throws Exception {
+        when(messageConsumerService.withInternalAttributes(anyList()))
+                .thenReturn(List.of(PublishTimestamps.ATTRIBUTE, "order-key"));
+        stubReceive(List.of(message("1")));
+
+        var handled = new CountDownLatch(1);
+        consumerEngine = engine(handler(message -> handled.countDown()), 10);
+        consumerEngine.start();
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        verify(sqsAsyncClient, atLeastOnce()).receiveMessage(argThat((ReceiveMessageRequest request) ->
+                request.messageAttributeNames().equals(List.of(PublishTimestamps.ATTRIBUTE, "order-key"))));
+    }
+
+    @Test
+    void shouldDecodeMessagesBeforeSuppressingDuplicates() throws Exception {
+        var encoded = message("1");
+        var decoded = encoded.toBuilder().body("{\"decoded\":true}").build();
+        when(payloadCodec.decodeAll(anyString(), anyList()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(1)));
+        when(payloadCodec.decodeAll("test-queue", List.of(encoded)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(decoded)));
+        stubReceive(List.of(encoded));
+
+        var handled = new CompletableFuture<Message>();
+        consumerEngine = new ConsumerEngine(sqsAsyncClient, queueUrlResolver, messageConsumerService, queueMetrics,
+                new ConsumerEngineProperties(true, Duration.ofSeconds(2), List.of(
+                        new ConsumerEngineProperties.QueueConsumer("test-queue", 1, 10, 10, 0, null, null))),
+                List.of(handler(handled::complete)), executor, Optional.empty(), Optional.of(payloadCodec));
+        consumerEngine.start();
+
+        assertEquals("{\"decoded\":true}", handled.get(5, TimeUnit.SECONDS).body());
+        verify(messageConsumerService, atLeastOnce()).suppressDuplicates("test-queue", List.of(decoded));
+        verify(payloadCodec, never()).decode(anyString(), any(Message.class));
+    }
+
+    @Test
+    void shouldNotDeleteWhenHandlerFails() throws Exception {
+        stubReceive(List.of(message("1")));
+
+        var attempted = new CountDownLatch(1);
+        consumerEngine = engine(handler(message -> {
+            attempted.countDown();
+            throw new IllegalStateException("boom");
+        }), 10);
+        consumerEngine.start();
+
+        assertTrue(attempted.await(5, TimeUnit.SECONDS));
+        verify(queueMetrics, timeout(1000)).incrementMessagesProcessed("test-queue", "error");
+        verify(messageConsumerService, never()).deleteMessage(anyString(), anyString());
+    }
+
+    @Test
+    void shouldBoundInFlightMessages() throws Exception {
+        stubReceive(List.of(message("1"), message("2"), message("3")));
+
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(2);
+        consumerEngine = engine(handler(message -> {
+            started.countDown();
+            release.await();
+        }), 2);
+        consumerEngine.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2, consumerEngine.inFlight("test-queue"));
+        verify(sqsAsyncClient, atLeastOnce()).receiveMessage(argThat((ReceiveMessageRequest request) ->
+                request.maxNumberOfMessages() <= 2));
+        release.countDown();
+    }
+
+    @Test
+    void shouldProcessFifoGroupsInParallelAndInOrderWithinGroup() throws Exception {
+        stubReceive(List.of(
+                fifoMessage("1", "a"), fifoMessage("2", "b"), fifoMessage("3", "a"),
+                fifoMessage("4", "b"), fifoMessage("5", "a")));
+
+        var bothGroupsStarted = new CountDownLatch(2);
+        var processed = new ConcurrentHashMap<String, List<String>>();
+        var done = new CountDownLatch(5);
+        consumerEngine = fifoEngine(handler(message -> {
+            var groupId = message.attributes().get(MessageSystemAttributeName.MESSAGE_GROUP_ID);
+            if (message.messageId().equals("message-1") || message.messageId().equals("message-2")) {
+                bothGroupsStarted.countDown();
+                assertTrue(bothGroupsStarted.await(5, TimeUnit.SECONDS));
+            }
+            processed.computeIfAbsent(groupId, key -> new CopyOnWriteArrayList<>()).add(message.messageId());
+            done.countDown();
+        }, "test-queue.fifo"));
+        consumerEngine.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("message-1", "message-3", "message-5"), processed.get("a"));
+        assertEquals(List.of("message-2", "message-4"), processed.get("b"));
+    }
+
+    @Test
+    void shouldSkipRestOfFifoGroupAfterFailure() throws Exception {
+        stubReceive(List.of(fifoMessage("1", "a"), fifoMessage("2", "a"), fifoMessage("3", "b")));
+
+        var handled = new CopyOnWriteArrayList<String>();
+        var failFirst = new CountDownLatch(1);
+        consumerEngine = fifoEngine(handler(message -> {
+            if (message.messageId().equals("message-1")) {
+                try {
+                    failFirst.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("boom");
+            }
+            handled.add(message.messageId());
+        }, "test-queue.fifo"));
+        consumerEngine.start();
+
+        verify(messageConsumerService, timeout(5000)).deleteMessage("test-queue.fifo", "receipt-3");
+        failFirst.countDown();
+
+        verify(queueMetrics, timeout(5000)).incrementMessagesProcessed("test-queue.fifo", "skipped");
+        verify(messageConsumerService, timeout(1000)).abandon("receipt-2");
+        verify(messageConsumerService, never()).deleteMessage("test-queue.fifo", "receipt-2");
+        assertEquals(List.of("message-3"), handled);
+    }
+
+    @Test
+    void shouldContinueFifoGroupWhenDeleteFailsAfterHandlerSucceeded() throws Exception {
+        when(messageConsumerService.deleteMessage("test-queue.fifo", "receipt-1"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to delete message")));
+        stubReceive(List.of(fifoMessage("1", "a"), fifoMessage("2", "a")));
+
+        var handled = new CopyOnWriteArrayList<String>();
+        consumerEngine = fifoEngine(handler(message -> handled.add(message.messageId()), "test-queue.fifo"));
+        consumerEngine.start();
+
+        verify(messageConsumerService, timeout(5000)).deleteMessage("test-queue.fifo", "receipt-2");
+        verify(queueMetrics, timeout(1000)).incrementMessagesProcessed("test-queue.fifo", "delete_failed");
+        verify(queueMetrics, never()).incrementMessagesProcessed("test-queue.fifo", "error");
+        verify(messageConsumerService, never()).abandon("receipt-1");
+        assertEquals(List.of("message-1", "message-2"), handled);
+    }
+
+    private void stubReceive(List<Message> firstBatch) {
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(firstBatch)
+                        .build()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(20);
+                    return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build());
+                });
+    }
+
+    private ConsumerEngine engine(MessageHandler handler, int maxInFlight) {
+        var properties = new ConsumerEngineProperties(true, Duration.ofSeconds(2), List.of(
+                new ConsumerEngineProperties.QueueConsumer("test-queue", 1, maxInFlight, 10, 0, null, null)));
+        return new ConsumerEngine(
+                sqsAsyncClient,
+                queueUrlResolver,
+                messageConsumerService,
+                queueMetrics,
+                properties,
+                List.of(handler),
+                executor,
+                Optional.empty(),
+                Optional.empty()
+        );
+    }
+
+    private ConsumerEngine fifoEngine(MessageHandler handler) {
+        when(queueUrlResolver.resolve("test-queue.fifo"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue.fifo"));
+        var properties = new ConsumerEngineProperties(true, Duration.ofSeconds(2), List.of(
+                new ConsumerEngineProperties.QueueConsumer("test-queue.fifo", 1, 10, 10, 0, null, null)));
+        return new ConsumerEngine(
+                sqsAsyncClient,
+                queueUrlResolver,
+                messageConsumerService,
+                queueMetrics,
+                properties,
+                List.of(handler),
+                executor,
+                Optional.empty(),
+                Optional.empty()
+        );
+    }
+
+    private MessageHandler handler(ThrowingConsumer consumer) {
+        return handler(consumer, "test-queue");
+    }
+
+    private MessageHandler handler(ThrowingConsumer consumer, String queueName) {
+        return new MessageHandler() {
+            @Override
+            public String queueName() {
+                return queueName;
+            }
+
+            @Override
+            public void handle(Message message) throws Exception {
+                consumer.accept(message);
+            }
+        };
+    }
+
+    private Message message(String id) {
+        return Message.builder()
+                .messageId("message-" + id)
+                .receiptHandle("receipt-" + id)
+                .body("{\"id\":" + id + "}")
+                .build();
+    }
+
+    private Message fifoMessage(String id, String groupId) {
+        return message(id).toBuilder()
+                .attributes(Map.of(MessageSystemAttributeName.MESSAGE_GROUP_ID, groupId))
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ThrowingConsumer {
+        void accept(Message message) throws Exception;
+    }
+}
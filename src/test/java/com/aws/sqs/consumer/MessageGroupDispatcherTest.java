@@ -0,0 +1,43 @@
+package com.aws.sqs.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageGroupDispatcherTest {
+
+    @Test
+    void shouldSkipRestOfBatchAfterFailureEvenWhenLaneDrainsInline() {
+        var dispatcher = new MessageGroupDispatcher(Runnable::run);
+        var events = new ArrayList<String>();
+
+        dispatcher.dispatch("a", List.of(
+                task(events, "1", false),
+                task(events, "2", true),
+                task(events, "3", true)));
+
+        assertEquals(List.of("run-1", "skip-2", "skip-3"), events);
+        assertEquals(0, dispatcher.activeGroups());
+    }
+
+    @Test
+    void shouldStartNextBatchOfGroupWithoutFailureMarker() {
+        var dispatcher = new MessageGroupDispatcher(Runnable::run);
+        var events = new ArrayList<String>();
+
+        dispatcher.dispatch("a", List.of(task(events, "1", false), task(events, "2", true)));
+        dispatcher.dispatch("a", List.of(task(events, "1", true), task(events, "2", true)));
+
+        assertEquals(List.of("run-1", "skip-2", "run-1", "run-2"), events);
+    }
+
+    private static MessageGroupDispatcher.GroupTask task(List<String> events, String id, boolean succeeds) {
+        return new MessageGroupDispatcher.GroupTask(() -> {
+            events.add("run-" + id);
+            return succeeds;
+        }, () -> events.add("skip-" + id));
+    }
+}
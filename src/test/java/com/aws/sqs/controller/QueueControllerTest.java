@@ -1,6 +1,8 @@
 package com.aws.sqs.controller;
 
 import com.aws.sqs.model.dto.*;
+import com.aws.sqs.resilience.CircuitOpenException;
+import com.aws.sqs.resilience.ConcurrencyLimitExceededException;
 import com.aws.sqs.service.MessageConsumerService;
 import com.aws.sqs.service.MessagePublisherService;
 import com.aws.sqs.service.QueueManagementService;
@@ -13,11 +15,17 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -83,6 +91,83 @@ class QueueControllerTest {
                 .andExpect(jsonPath("$.messageId").value(messageId));
     }
 
+    @Test
+    void shouldRejectWithRetryAfterWhenConcurrencyLimitIsReached() throws Exception {
+        var messageRequest = new MessageRequest(Map.of("message", "test"));
+
+        when(messagePublisherService.publishMessage(anyString(), any(MessageRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(
+                        new ConcurrencyLimitExceededException("test-queue", "SendMessage", Duration.ofMillis(1500)))));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/queues/test-queue/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(messageRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void shouldPublishRawMessage() throws Exception {
+        var body = "{\"message\":\"test\"}";
+
+        when(messagePublisherService.publishRawMessage(eq("test-queue"), any(byte[].class), eq(true), isNull(), isNull()))
+                .thenReturn(CompletableFuture.completedFuture("raw-message-id"));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/queues/test-queue/messages/raw")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.messageId").value("raw-message-id"));
+    }
+
+    @Test
+    void shouldRejectInvalidRawMessageWithBadRequest() throws Exception {
+        when(messagePublisherService.publishRawMessage(eq("orders.fifo"), any(byte[].class), eq(true),
+                eq("customer-7"), isNull()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Message body is not valid JSON")));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/queues/orders.fifo/messages/raw")
+                        .param("messageGroupId", "customer-7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\": "))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Message body is not valid JSON"));
+    }
+
+    @Test
+    void shouldReportPartialBatchFailure() throws Exception {
+        var entries = List.of(
+                BatchEntryResult.success(0, "message-0"),
+                BatchEntryResult.failure(1, "InvalidMessageContents", "invalid"));
+
+        when(messagePublisherService.publishBatch(anyString(), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(entries));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/queues/test-queue/messages/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"messages\":[{\"body\":{\"id\":1}},{\"body\":{\"id\":2}}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.successful").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.entries[1].errorCode").value("InvalidMessageContents"));
+    }
+
     @Test
     void shouldConsumeMessages() throws Exception {
         var consumeRequest = new ConsumeRequest(1, 0);
@@ -108,6 +193,62 @@ class QueueControllerTest {
                 .andExpect(jsonPath("$[0].messageId").value("test-message-id"));
     }
 
+    @Test
+    void shouldFailFastWhenCircuitIsOpen() throws Exception {
+        when(messageConsumerService.consumeMessages(anyString(), any(ConsumeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Failed to consume messages",
+                        new CircuitOpenException("test-queue", Duration.ofSeconds(4)))));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/queues/test-queue/consume")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ConsumeRequest(1, 0))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "4"));
+    }
+
+    @Test
+    void shouldStreamMessagesAsNdjson() throws Exception {
+        var messageResponse = new MessageResponse(
+                "test-message-id",
+                "test-receipt-handle",
+                objectMapper.readTree("{\"message\":\"test\"}"),
+                Map.of(),
+                java.time.Instant.now()
+        );
+
+        when(messageConsumerService.streamMessages(anyString(), any(StreamConsumeRequest.class), any(), any()))
+                .thenAnswer(invocation -> {
+                    Predicate<MessageResponse> sink = invocation.getArgument(2);
+                    sink.test(messageResponse);
+                    sink.test(messageResponse);
+                    return CompletableFuture.completedFuture(2);
+                });
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/queues/test-queue/consume/stream")
+                        .param("limit", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvcResult.getAsyncResult(1000);
+        var lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("test-message-id", objectMapper.readTree(lines[0]).get("messageId").asText());
+    }
+
+    @Test
+    void shouldRejectStreamWithoutLongPolling() throws Exception {
+        mockMvc.perform(get("/api/queues/test-queue/consume/stream")
+                        .param("waitTimeSeconds", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Stream wait time must be at least 1 second"));
+
+        verify(messageConsumerService, never()).streamMessages(anyString(), any(StreamConsumeRequest.class), any(), any());
+    }
+
     @Test
     void shouldListQueues() throws Exception {
         var queueResponse = new QueueResponse(
@@ -117,7 +258,7 @@ class QueueControllerTest {
                 java.time.Instant.now()
         );
 
-        when(queueManagementService.listQueues())
+        when(queueManagementService.listQueues(isNull()))
                 .thenReturn(CompletableFuture.completedFuture(List.of(queueResponse)));
 
         MvcResult mvcResult = mockMvc.perform(get("/api/queues"))
@@ -0,0 +1,140 @@
+package com.aws.sqs.controller;
+
+import com.aws.sqs.model.dto.*;
+import com.aws.sqs.resilience.CircuitOpenException;
+import com.aws.sqs.resilience.ConcurrencyLimitExceededException;
+import com.aws.sqs.service.TopicManagementService;
+import com.aws.sqs.service.TopicPublisherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TopicController.class)
+class TopicControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TopicManagementService topicManagementService;
+
+    @MockBean
+    private TopicPublisherService topicPublisherService;
+
+    @Test
+    void shouldSubscribeQueueToTopic() throws Exception {
+        var response = new SubscriptionResponse(
+                "arn:aws:sns:us-east-1:000000000000:orders:1",
+                "arn:aws:sns:us-east-1:000000000000:orders",
+                "sqs",
+                "arn:aws:sqs:us-east-1:000000000000:order-events");
+
+        when(topicManagementService.subscribeQueue(eq("orders"), any(SubscriptionRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/topics/orders/subscriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queueName\":\"order-events\",\"filterPolicy\":{\"type\":[\"created\"]}}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.endpoint").value("arn:aws:sqs:us-east-1:000000000000:order-events"));
+    }
+
+    @Test
+    void shouldReportPartialTopicBatchFailure() throws Exception {
+        var entries = List.of(
+                BatchEntryResult.success(0, "message-0"),
+                BatchEntryResult.failure(1, "InvalidParameter", "invalid"));
+
+        when(topicPublisherService.publishBatch(anyString(), anyList()))
+                .thenReturn(CompletableFuture.completedFuture(entries));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/topics/orders/messages/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"messages\":[{\"body\":{\"id\":1}},{\"body\":{\"id\":2}}]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.successful").value(1))
+                .andExpect(jsonPath("$.entries[1].errorCode").value("InvalidParameter"));
+    }
+
+    @Test
+    void shouldRejectInvalidTopicMessageWithBadRequest() throws Exception {
+        when(topicPublisherService.publishMessage(eq("orders"), any(TopicMessageRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(
+                        new IllegalArgumentException("Message attribute traceId has no value"))));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/topics/orders/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"body\":{\"id\":1},\"attributes\":{\"traceId\":null}}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Message attribute traceId has no value"));
+    }
+
+    @Test
+    void shouldRejectSubscriptionWithRetryAfterWhenSqsCallIsRejected() throws Exception {
+        when(topicManagementService.subscribeQueue(eq("orders"), any(SubscriptionRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(
+                        new CircuitOpenException("order-events", Duration.ofSeconds(4)))))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(
+                        new ConcurrencyLimitExceededException("order-events", "SetQueueAttributes",
+                                Duration.ofMillis(1500)))));
+
+        mockMvc.perform(asyncDispatch(subscribe()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "4"));
+        mockMvc.perform(asyncDispatch(subscribe()))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingTopic() throws Exception {
+        var notFound = NotFoundException.builder().message("Topic does not exist").statusCode(404).build();
+        when(topicPublisherService.publishMessage(eq("missing"), any(TopicMessageRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new RuntimeException("Failed to publish message to topic: missing", notFound)));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/topics/missing/messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"body\":{\"id\":1}}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(post("/api/topics/orders/subscriptions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"queueName\":\"order-events\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
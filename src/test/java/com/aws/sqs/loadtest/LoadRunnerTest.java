@@ -0,0 +1,85 @@
+package com.aws.sqs.loadtest;
+
+import com.aws.sqs.config.LoadTestProperties;
+import com.aws.sqs.config.LoadTestProperties.Mode;
+import com.aws.sqs.config.LoadTestProperties.Target;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadRunnerTest {
+
+    @Test
+    void shouldReportThroughputAndLatencies() {
+        var driver = new QueueBackedDriver();
+        var properties = properties(Mode.CLOSED_LOOP, 1000);
+
+        var report = new LoadRunner(properties, driver).run();
+
+        assertTrue(report.published() > 0);
+        assertTrue(report.received() > 0);
+        assertTrue(report.publish().count() > 0);
+        assertTrue(report.endToEnd().count() > 0);
+        assertTrue(report.endToEnd().p50() <= report.endToEnd().max());
+        assertTrue(report.format().contains("end-to-end"));
+    }
+
+    @Test
+    void shouldPaceTargetRatePublishers() {
+        var driver = new QueueBackedDriver();
+        var properties = properties(Mode.TARGET_RATE, 100);
+
+        var report = new LoadRunner(properties, driver).run();
+
+        assertTrue(report.publishThroughput() <= 150, "throughput " + report.publishThroughput());
+        assertTrue(report.published() > 0);
+    }
+
+    private static LoadTestProperties properties(Mode mode, int targetRate) {
+        return new LoadTestProperties(true, Target.SERVICE, null, "load-test", mode, 2, 2, targetRate,
+                16, 10, 0, Duration.ZERO, Duration.ofMillis(500));
+    }
+
+    private static final class QueueBackedDriver implements LoadDriver {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public CompletableFuture<Void> createQueue(String queueName) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> publish(String queueName, String body) {
+            queue.add(body);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<List<Received>> receive(String queueName, int maxMessages, int waitTimeSeconds) {
+            var received = new ArrayList<Received>();
+            String body;
+            while (received.size() < maxMessages && (body = queue.poll()) != null) {
+                try {
+                    received.add(new Received("handle", objectMapper.readTree(body)));
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+            return CompletableFuture.completedFuture(received);
+        }
+
+        @Override
+        public CompletableFuture<Void> acknowledge(String queueName, List<String> receiptHandles) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
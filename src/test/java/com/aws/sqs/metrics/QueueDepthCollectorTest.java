@@ -0,0 +1,119 @@
+package com.aws.sqs.metrics;
+
+import com.aws.sqs.config.QueueDepthProperties;
+import com.aws.sqs.service.QueueManagementService;
+import com.aws.sqs.service.QueueUrlResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueueDepthCollectorTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
+    @Mock
+    private QueueManagementService queueManagementService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QueueMetrics queueMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queueMetrics = new QueueMetrics(meterRegistry);
+    }
+
+    @Test
+    void shouldUpdateGaugesWithLatestDepth() {
+        var collector = collector(List.of("orders"));
+        when(queueUrlResolver.resolve("orders"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/orders"));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(depth("5", "2", "1"))
+                .thenReturn(depth("42", "0", "0"));
+
+        collector.collect().join();
+        assertEquals(5, gauge("sqs.queue.messages", "orders", "visible"));
+        assertEquals(2, gauge("sqs.queue.messages", "orders", "in_flight"));
+        assertEquals(1, gauge("sqs.queue.messages", "orders", "delayed"));
+
+        collector.collect().join();
+        assertEquals(42, gauge("sqs.queue.messages", "orders", "visible"));
+        assertEquals(42, meterRegistry.get("sqs.queue.size").tag("queue_name", "orders").gauge().value());
+    }
+
+    @Test
+    void shouldSpaceFetchesOfListedQueuesWhenNoQueuesConfigured() {
+        var collector = new QueueDepthCollector(sqsAsyncClient, queueUrlResolver, queueManagementService, queueMetrics,
+                new QueueDepthProperties(true, List.of(), Duration.ofMinutes(1), 10));
+        when(queueManagementService.listQueueNames())
+                .thenReturn(CompletableFuture.completedFuture(List.of("payments", "refunds")));
+        when(queueUrlResolver.resolve(anyString()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        "http://localhost:4566/000000000000/" + invocation.getArgument(0)));
+        var fetchedAt = new ArrayList<Long>();
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenAnswer(invocation -> {
+                    synchronized (fetchedAt) {
+                        fetchedAt.add(System.nanoTime());
+                    }
+                    return depth("7", "0", "0");
+                });
+
+        collector.collect().join();
+
+        assertEquals(7, gauge("sqs.queue.messages", "payments", "visible"));
+        assertEquals(7, gauge("sqs.queue.messages", "refunds", "visible"));
+        assertEquals(2, fetchedAt.size());
+        assertTrue(Math.abs(fetchedAt.get(1) - fetchedAt.get(0)) >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    private QueueDepthCollector collector(List<String> queues) {
+        return new QueueDepthCollector(
+                sqsAsyncClient,
+                queueUrlResolver,
+                queueManagementService,
+                queueMetrics,
+                new QueueDepthProperties(true, queues, Duration.ofMinutes(1), 1000)
+        );
+    }
+
+    private double gauge(String name, String queueName, String state) {
+        return meterRegistry.get(name).tag("queue_name", queueName).tag("state", state).gauge().value();
+    }
+
+    private static CompletableFuture<GetQueueAttributesResponse> depth(String visible, String inFlight, String delayed) {
+        return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                .attributes(Map.of(
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, visible,
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, inFlight,
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED, delayed))
+                .build());
+    }
+}
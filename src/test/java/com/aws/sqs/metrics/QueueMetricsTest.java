@@ -0,0 +1,83 @@
+package com.aws.sqs.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueueMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QueueMetrics queueMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queueMetrics = new QueueMetrics(meterRegistry);
+    }
+
+    @Test
+    void shouldResolveQueueMetersOnce() {
+        assertSame(queueMetrics.forQueue("orders"), queueMetrics.forQueue("orders"));
+        assertNotSame(queueMetrics.forQueue("orders"), queueMetrics.forQueue("payments"));
+    }
+
+    @Test
+    void shouldShareCountersBetweenHolderAndNamedApi() {
+        var meters = queueMetrics.forQueue("orders");
+
+        meters.messagesSent(true).increment();
+        queueMetrics.incrementMessagesSent("orders", "success", 2);
+        queueMetrics.incrementMessagesSent("orders", "error");
+
+        assertEquals(3, counter("sqs.messages.sent.total", "success"));
+        assertEquals(1, counter("sqs.messages.sent.total", "error"));
+    }
+
+    @Test
+    void shouldKeepProcessedCountersApartFromOtherQueueCounters() {
+        queueMetrics.incrementQueueCreated("orders");
+        queueMetrics.incrementMessagesProcessed("orders", "queue.created");
+        queueMetrics.incrementMessagesProcessed("orders", "queue.created");
+
+        assertEquals(1, meterRegistry.get("sqs.queue.created.total").tag("queue_name", "orders").counter().count());
+        assertEquals(2, counter("sqs.messages.processed.total", "queue.created"));
+    }
+
+    @Test
+    void shouldRecordProcessingDurationPerOperation() {
+        var meters = queueMetrics.forQueue("orders");
+
+        meters.recordProcessing("publish", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+        meters.recordProcessing("consume", System.nanoTime());
+
+        var publish = meterRegistry.get("sqs.message.processing.duration")
+                .tag("queue_name", "orders")
+                .tag("operation", "publish")
+                .timer();
+        assertEquals(1, publish.count());
+        assertTrue(publish.totalTime(TimeUnit.MILLISECONDS) >= 5);
+        assertSame(meters.processingTimer("publish"), meters.processingTimer("publish"));
+    }
+
+    @Test
+    void shouldPreregisterTopicPublishCounters() {
+        var meters = queueMetrics.forTopic("orders");
+
+        assertSame(meters, queueMetrics.forTopic("orders"));
+        meters.messagesPublished(true).increment(3);
+
+        assertEquals(3, meterRegistry.get("sns.messages.published.total")
+                .tag("topic_name", "orders").tag("status", "success").counter().count());
+        assertEquals(0, meterRegistry.get("sns.messages.published.total")
+                .tag("topic_name", "orders").tag("status", "error").counter().count());
+    }
+
+    private double counter(String name, String status) {
+        return meterRegistry.get(name).tag("queue_name", "orders").tag("status", status).counter().count();
+    }
+}
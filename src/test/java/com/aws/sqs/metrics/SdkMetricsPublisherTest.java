@@ -0,0 +1,72 @@
+package com.aws.sqs.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SdkMetricsPublisherTest {
+
+    @Test
+    void shouldBridgeApiCallAndConnectionPoolMetrics() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var publisher = new SdkMetricsPublisher(meterRegistry);
+
+        var apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.SERVICE_ID, "SQS");
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, "SendMessage");
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, true);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, Duration.ofMillis(12));
+        apiCall.reportMetric(CoreMetric.RETRY_COUNT, 1);
+        var httpClient = apiCall.createChild("ApiCallAttempt").createChild("HttpClient");
+        httpClient.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(3));
+        httpClient.reportMetric(HttpMetric.LEASED_CONCURRENCY, 7);
+        httpClient.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 2);
+        httpClient.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 4);
+
+        publisher.publish(apiCall.collect());
+
+        var duration = meterRegistry.get("sqs.sdk.api.call.duration")
+                .tag("service", "SQS").tag("operation", "SendMessage").tag("status", "success").timer();
+        assertEquals(1, duration.count());
+        assertEquals(12, duration.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, meterRegistry.get("sqs.sdk.api.call.retries").summary().totalAmount(), 0.001);
+        assertEquals(3, meterRegistry.get("sqs.sdk.connection.acquire.duration").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(7, meterRegistry.get("sqs.sdk.connections").tag("state", "leased").gauge().value());
+        assertEquals(2, meterRegistry.get("sqs.sdk.connections").tag("state", "available").gauge().value());
+        assertEquals(4, meterRegistry.get("sqs.sdk.connections").tag("state", "pending_acquire").gauge().value());
+    }
+
+    @Test
+    void shouldSeparateMetersByService() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var publisher = new SdkMetricsPublisher(meterRegistry);
+
+        publisher.publish(apiCall("SQS", "SendMessage", Duration.ofMillis(5)));
+        publisher.publish(apiCall("SNS", "Publish", Duration.ofMillis(8)));
+
+        assertEquals(5, meterRegistry.get("sqs.sdk.api.call.duration")
+                .tag("service", "SQS").tag("status", "success").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(8, meterRegistry.get("sqs.sdk.api.call.duration")
+                .tag("service", "SNS").tag("status", "success").timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private static MetricCollection apiCall(String service, String operation, Duration duration) {
+        var apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.SERVICE_ID, service);
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, operation);
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, true);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, duration);
+        return apiCall.collect();
+    }
+}
@@ -0,0 +1,73 @@
+package com.aws.sqs.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AimdLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldGrowAdditivelyWhileUtilized() {
+        var limiter = new AimdLimiter(4, 1, 100, 0.5, 0, clock::get);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < limiter.limit(); i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            while (limiter.inFlight() > 0) {
+                limiter.onSuccess();
+            }
+        }
+
+        assertTrue(limiter.limit() > 4);
+        assertTrue(limiter.limit() < 20);
+    }
+
+    @Test
+    void shouldNotGrowWhenMostlyIdle() {
+        var limiter = new AimdLimiter(10, 1, 100, 0.5, 0, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess();
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void shouldBackOffMultiplicativelyOncePerCooldown() {
+        var limiter = new AimdLimiter(16, 2, 100, 0.5, 100, clock::get);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.onDropped();
+        limiter.onDropped();
+        assertEquals(8, limiter.limit());
+
+        clock.addAndGet(100);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+            clock.addAndGet(100);
+        }
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shouldRejectAboveLimit() {
+        var limiter = new AimdLimiter(2, 1, 10, 0.5, 0, clock::get);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+    }
+}
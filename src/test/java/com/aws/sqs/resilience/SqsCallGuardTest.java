@@ -0,0 +1,97 @@
+package com.aws.sqs.resilience;
+
+import com.aws.sqs.config.ResilienceProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsCallGuardTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/test-queue";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRejectWhenLimitIsSaturated() {
+        var guard = guard(1, 3);
+
+        var pending = new CompletableFuture<String>();
+        var first = guard.call(QUEUE_URL, "SendMessage", () -> pending);
+        var second = guard.call(QUEUE_URL, "SendMessage", () -> CompletableFuture.completedFuture("never"));
+
+        var exception = assertThrows(ExecutionException.class, second::get);
+        var rejection = assertInstanceOf(ConcurrencyLimitExceededException.class, exception.getCause());
+        assertEquals("test-queue", rejection.getQueueName());
+        assertEquals(1, meterRegistry.get("sqs.limiter.rejections.total")
+                .tag("queue_name", "test-queue").tag("operation", "SendMessage").counter().count());
+
+        pending.complete("ok");
+        assertEquals("ok", first.join());
+        assertEquals(0, meterRegistry.get("sqs.limiter.in.flight").gauge().value());
+    }
+
+    @Test
+    void shouldRetryServerErrorsWithBackoff() throws Exception {
+        var guard = guard(10, 3);
+        var calls = new AtomicInteger();
+
+        var result = guard.call(QUEUE_URL, "ReceiveMessage", () -> calls.incrementAndGet() < 3
+                ? CompletableFuture.failedFuture(SqsException.builder().statusCode(503).message("unavailable").build())
+                : CompletableFuture.completedFuture("received"));
+
+        assertEquals("received", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.get("sqs.retries.total").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        var guard = guard(10, 3);
+        var calls = new AtomicInteger();
+
+        var result = guard.call(QUEUE_URL, "SendMessage", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(SqsException.builder().statusCode(400).message("invalid").build());
+        });
+
+        var exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SqsException.class, exception.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        var guard = guard(10, 2);
+        var calls = new AtomicInteger();
+
+        var result = guard.call(QUEUE_URL, "SendMessage", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(SqsException.builder().statusCode(500).message("boom").build());
+        });
+
+        assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get("sqs.retries.total").tag("outcome", "exhausted").counter().count());
+    }
+
+    private SqsCallGuard guard(int limit, int maxAttempts) {
+        var properties = new ResilienceProperties(true, limit, 1, limit, 0.5, Duration.ZERO, maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(5), 0.1, 10, Duration.ofSeconds(2));
+        return new SqsCallGuard(properties, new QueueMetrics(meterRegistry));
+    }
+}
@@ -0,0 +1,162 @@
+package com.aws.sqs.resilience;
+
+import com.aws.sqs.config.CircuitBreakerProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqsCircuitBreakersTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/test-queue";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private SimpleMeterRegistry meterRegistry;
+    private SqsCircuitBreakers circuitBreakers;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new CircuitBreakerProperties(true, 50.0, 50.0, Duration.ofSeconds(1),
+                Duration.ofSeconds(10), 4, Duration.ofSeconds(5), 2);
+        circuitBreakers = new SqsCircuitBreakers(properties, new QueueMetrics(meterRegistry), clock::get);
+    }
+
+    @Test
+    void shouldOpenAndFailFastWhenFailureRateIsExceeded() {
+        var calls = new AtomicInteger();
+        succeed(2);
+        fail(2, () -> QueueDoesNotExistException.builder().message("gone").build());
+
+        var result = circuitBreakers.call(QUEUE_URL, "SendMessage", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("sent");
+        });
+
+        var exception = assertThrows(ExecutionException.class, result::get);
+        var open = assertInstanceOf(CircuitOpenException.class, exception.getCause());
+        assertEquals("test-queue", open.getQueueName());
+        assertEquals(Duration.ofSeconds(5), open.getRetryAfter());
+        assertEquals(0, calls.get());
+        assertEquals("OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+        assertEquals(1, meterRegistry.get("sqs.circuit.breaker.state").tag("state", "open").gauge().value());
+        assertEquals(1, meterRegistry.get("sqs.circuit.breaker.calls.total").tag("outcome", "rejected")
+                .counter().count());
+    }
+
+    @Test
+    void shouldLetCreateQueueThroughAndCloseBreakerOnceQueueExists() {
+        fail(4, () -> QueueDoesNotExistException.builder().message("gone").build());
+        assertEquals("OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+
+        var created = circuitBreakers.call("test-queue", "CreateQueue",
+                () -> CompletableFuture.completedFuture(QUEUE_URL));
+
+        assertEquals(QUEUE_URL, created.join());
+        assertEquals("CLOSED", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+        assertEquals("sent", circuitBreakers.call(QUEUE_URL, "SendMessage",
+                () -> CompletableFuture.completedFuture("sent")).join());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        fail(4, SqsCircuitBreakersTest::serviceUnavailable);
+        assertEquals("OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        var firstProbe = new CompletableFuture<String>();
+        var secondProbe = new CompletableFuture<String>();
+        var first = circuitBreakers.call(QUEUE_URL, "SendMessage", () -> firstProbe);
+        var second = circuitBreakers.call(QUEUE_URL, "SendMessage", () -> secondProbe);
+        var third = circuitBreakers.call(QUEUE_URL, "SendMessage", () -> CompletableFuture.completedFuture("x"));
+
+        assertEquals("HALF_OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+        assertTrue(third.isCompletedExceptionally());
+
+        firstProbe.complete("a");
+        secondProbe.complete("b");
+        assertEquals("a", first.join());
+        assertEquals("b", second.join());
+        assertEquals("CLOSED", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+        assertEquals(0, circuitBreakers.snapshot("test-queue").orElseThrow().calls());
+    }
+
+    @Test
+    void shouldReopenWhenHalfOpenProbeFails() {
+        fail(4, SqsCircuitBreakersTest::serviceUnavailable);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        fail(1, SqsCircuitBreakersTest::serviceUnavailable);
+
+        assertEquals("OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+    }
+
+    @Test
+    void shouldNotCountClientErrorsAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            circuitBreakers.call(QUEUE_URL, "SendMessage", () -> CompletableFuture.failedFuture(
+                    SqsException.builder().statusCode(400).message("invalid").build()));
+        }
+
+        var snapshot = circuitBreakers.snapshot("test-queue").orElseThrow();
+        assertEquals("CLOSED", snapshot.state());
+        assertEquals(10, snapshot.calls());
+        assertEquals(0, snapshot.failureRate());
+    }
+
+    @Test
+    void shouldOpenOnSlowCallsExceptLongPolling() {
+        for (int i = 0; i < 4; i++) {
+            var pending = new CompletableFuture<String>();
+            circuitBreakers.call(QUEUE_URL, "ReceiveMessage", () -> pending);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+            pending.complete("received");
+        }
+        assertEquals("CLOSED", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+
+        for (int i = 0; i < 4; i++) {
+            var pending = new CompletableFuture<String>();
+            circuitBreakers.call(QUEUE_URL, "SendMessage", () -> pending);
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+            pending.complete("sent");
+        }
+        assertEquals("OPEN", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+    }
+
+    @Test
+    void shouldResetToClosed() {
+        fail(4, SqsCircuitBreakersTest::serviceUnavailable);
+
+        assertTrue(circuitBreakers.reset("test-queue"));
+        assertFalse(circuitBreakers.reset("unknown-queue"));
+        assertEquals("CLOSED", circuitBreakers.snapshot("test-queue").orElseThrow().state());
+    }
+
+    private void succeed(int count) {
+        for (int i = 0; i < count; i++) {
+            circuitBreakers.call(QUEUE_URL, "SendMessage", () -> CompletableFuture.completedFuture("sent"));
+        }
+    }
+
+    private void fail(int count, Supplier<Throwable> error) {
+        for (int i = 0; i < count; i++) {
+            circuitBreakers.call(QUEUE_URL, "SendMessage", () -> CompletableFuture.failedFuture(error.get()));
+        }
+    }
+
+    private static Throwable serviceUnavailable() {
+        return SqsException.builder().statusCode(503).message("unavailable").build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.IdempotencyProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.aws.sqs.service.IdempotencyFilter.Verdict.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void shouldSuppressRedeliveryOfProcessedMessage() {
+        var filter = filter(IdempotencyProperties.KeySource.MESSAGE_ID, 1000);
+
+        assertEquals(ADMIT, filter.admit("test-queue", message("id-1", "receipt-1", "body")));
+        assertEquals(DUPLICATE_IN_FLIGHT, filter.admit("test-queue", message("id-1", "receipt-2", "body")));
+
+        filter.complete("receipt-1");
+
+        assertEquals(DUPLICATE_PROCESSED, filter.admit("test-queue", message("id-1", "receipt-3", "body")));
+        assertEquals(ADMIT, filter.admit("other-queue", message("id-1", "receipt-4", "body")));
+        assertEquals(1.0, meterRegistry.get("sqs.idempotency.lookups.total")
+                .tags("queue_name", "test-queue", "result", "duplicate_processed").counter().count());
+    }
+
+    @Test
+    void shouldReadmitAbandonedAndExpiredMessages() {
+        var filter = filter(IdempotencyProperties.KeySource.MESSAGE_ID, 1000);
+
+        assertEquals(ADMIT, filter.admit("test-queue", message("id-1", "receipt-1", "body")));
+        filter.abandon("receipt-1");
+        assertEquals(ADMIT, filter.admit("test-queue", message("id-1", "receipt-2", "body")));
+
+        clock.addAndGet(Duration.ofMinutes(16).toMillis());
+        assertEquals(ADMIT, filter.admit("test-queue", message("id-1", "receipt-3", "body")));
+        filter.complete("receipt-3");
+
+        clock.addAndGet(Duration.ofMinutes(16).toMillis());
+        assertEquals(ADMIT, filter.admit("test-queue", message("id-1", "receipt-4", "body")));
+    }
+
+    @Test
+    void shouldKeyOnBodyOrAttributeWhenConfigured() {
+        var byBody = filter(IdempotencyProperties.KeySource.BODY, 1000);
+        assertEquals(ADMIT, byBody.admit("test-queue", message("id-1", "receipt-1", "same")));
+        assertEquals(DUPLICATE_IN_FLIGHT, byBody.admit("test-queue", message("id-2", "receipt-2", "same")));
+
+        var byAttribute = filter(IdempotencyProperties.KeySource.ATTRIBUTE, 1000);
+        var first = message("id-1", "receipt-1", "a").toBuilder()
+                .messageAttributes(Map.of("idempotency-key", attribute("order-42")))
+                .build();
+        var second = message("id-2", "receipt-2", "b").toBuilder()
+                .messageAttributes(Map.of("idempotency-key", attribute("order-42")))
+                .build();
+        assertEquals(ADMIT, byAttribute.admit("test-queue", first));
+        assertEquals(DUPLICATE_IN_FLIGHT, byAttribute.admit("test-queue", second));
+        assertEquals(ADMIT, byAttribute.admit("test-queue", message("id-3", "receipt-3", "c")));
+    }
+
+    @Test
+    void shouldEvictOldestEntriesWhenFull() {
+        var filter = filter(IdempotencyProperties.KeySource.MESSAGE_ID, 1024);
+
+        for (int i = 0; i < 10_000; i++) {
+            clock.incrementAndGet();
+            filter.admit("test-queue", message("id-" + i, "receipt-" + i, "body"));
+        }
+
+        var entries = meterRegistry.get("sqs.idempotency.entries").gauge().value();
+        assertTrue(entries <= 1024, "entries: " + entries);
+        assertTrue(meterRegistry.get("sqs.idempotency.evictions.total").functionCounter().count() > 0);
+        assertEquals(DUPLICATE_IN_FLIGHT, filter.admit("test-queue", message("id-9999", "receipt-x", "body")));
+    }
+
+    private IdempotencyFilter filter(IdempotencyProperties.KeySource keySource, int maxEntries) {
+        return new IdempotencyFilter(
+                new QueueMetrics(meterRegistry),
+                new IdempotencyProperties(true, keySource, null, null, null, maxEntries),
+                clock::get);
+    }
+
+    private static Message message(String id, String receiptHandle, String body) {
+        return Message.builder()
+                .messageId(id)
+                .receiptHandle(receiptHandle)
+                .body(body)
+                .build();
+    }
+
+    private static MessageAttributeValue attribute(String value) {
+        return MessageAttributeValue.builder().dataType("String").stringValue(value).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.model.dto.MessageBodyMode;
+import com.aws.sqs.model.dto.MessageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageBodiesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldParseJsonBody() {
+        var body = MessageBodies.toBody(objectMapper, "{\"id\":1}", MessageBodyMode.JSON);
+
+        assertTrue(body.isObject());
+        assertEquals(1, body.get("id").asInt());
+    }
+
+    @Test
+    void shouldFallBackToStringForInvalidJson() {
+        var body = MessageBodies.toBody(objectMapper, "plain text", MessageBodyMode.JSON);
+
+        assertTrue(body.isTextual());
+        assertEquals("plain text", body.asText());
+    }
+
+    @Test
+    void shouldWriteRawBodyVerbatim() throws Exception {
+        var raw = "{\"id\": 1, \"tags\": [\"a\"]}";
+        var response = new MessageResponse("id", "handle",
+                MessageBodies.toBody(objectMapper, raw, MessageBodyMode.RAW), Map.of(), null);
+
+        var json = objectMapper.writeValueAsString(response);
+
+        assertTrue(json.contains("\"body\":" + raw));
+    }
+
+    @Test
+    void shouldWriteNonJsonRawBodyAsString() throws Exception {
+        var body = MessageBodies.toBody(objectMapper, "not json", MessageBodyMode.RAW);
+
+        assertEquals("\"not json\"", objectMapper.writeValueAsString(body));
+    }
+
+    @Test
+    void shouldWriteMalformedRawBodyAsString() throws Exception {
+        for (var malformed : new String[]{"{not json}", "[1, 2", "{\"id\":1} trailing", "{\"id\":1}{\"id\":2}"}) {
+            var body = MessageBodies.toBody(objectMapper, malformed, MessageBodyMode.RAW);
+
+            assertTrue(body.isTextual(), malformed);
+            assertEquals(malformed, objectMapper.readTree(objectMapper.writeValueAsString(body)).asText());
+        }
+    }
+
+    @Test
+    void shouldAlwaysReturnStringInStringMode() {
+        var body = MessageBodies.toBody(objectMapper, "{\"id\":1}", MessageBodyMode.STRING);
+
+        assertTrue(body.isTextual());
+        assertEquals("{\"id\":1}", body.asText());
+    }
+}
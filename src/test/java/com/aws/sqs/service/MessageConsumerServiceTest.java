@@ -1,18 +1,29 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.config.IdempotencyProperties;
+import com.aws.sqs.metrics.QueueMetrics;
 import com.aws.sqs.model.dto.ConsumeRequest;
+import com.aws.sqs.model.dto.MessageResponse;
+import com.aws.sqs.model.dto.StreamConsumeRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -24,25 +35,43 @@ class MessageConsumerServiceTest {
     @Mock
     private SqsAsyncClient sqsAsyncClient;
 
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
+    @Mock
+    private DeleteCoalescer deleteCoalescer;
+
+    @Mock
+    private PrefetchBuffer prefetchBuffer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private MessageConsumerService messageConsumerService;
 
     private ConsumeRequest consumeRequest;
 
     @BeforeEach
     void setUp() {
+        messageConsumerService = new MessageConsumerService(
+                sqsAsyncClient,
+                objectMapper,
+                queueUrlResolver,
+                new QueueMetrics(meterRegistry),
+                Runnable::run,
+                Optional.of(deleteCoalescer),
+                Optional.of(prefetchBuffer),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty()
+        );
         consumeRequest = new ConsumeRequest(1, 0);
     }
 
     @Test
     void shouldConsumeMessagesSuccessfully() throws Exception {
-        var getQueueUrlResponse = GetQueueUrlResponse.builder()
-                .queueUrl("http://localhost:4566/000000000000/test-queue")
-                .build();
-
         var message = Message.builder()
                 .messageId("test-message-id")
                 .receiptHandle("test-receipt-handle")
@@ -53,8 +82,8 @@ class MessageConsumerServiceTest {
                 .messages(List.of(message))
                 .build();
 
-        when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
-                .thenReturn(CompletableFuture.completedFuture(getQueueUrlResponse));
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
 
         when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
                 .thenReturn(CompletableFuture.completedFuture(receiveMessageResponse));
@@ -68,4 +97,258 @@ class MessageConsumerServiceTest {
         assertEquals(1, result.size());
         verify(sqsAsyncClient, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
     }
+
+    @Test
+    void shouldRequestOnlyProjectedAttributes() throws Exception {
+        var message = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle("test-receipt-handle")
+                .body("{\"message\":\"test\"}")
+                .messageAttributes(Map.of("traceId", MessageAttributeValue.builder()
+                        .dataType("String")
+                        .stringValue("trace-1")
+                        .build()))
+                .build();
+
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message)
+                        .build()));
+
+        when(objectMapper.readTree(anyString()))
+                .thenReturn(new com.fasterxml.jackson.databind.ObjectMapper().readTree("{\"message\":\"test\"}"));
+
+        var request = new ConsumeRequest(1, 0, null, List.of(), List.of("traceId"));
+        var result = messageConsumerService.consumeMessages("test-queue", request).join();
+
+        var captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient).receiveMessage(captor.capture());
+        assertFalse(captor.getValue().hasAttributeNames());
+        assertEquals(List.of("traceId", PublishTimestamps.ATTRIBUTE), captor.getValue().messageAttributeNames());
+        assertTrue(result.get(0).attributes().isEmpty());
+        assertEquals("trace-1", result.get(0).messageAttributes().get("traceId"));
+    }
+
+    @Test
+    void shouldRequestIdempotencyKeyAttributeOnEveryReceive() {
+        var service = new MessageConsumerService(
+                sqsAsyncClient,
+                objectMapper,
+                queueUrlResolver,
+                new QueueMetrics(meterRegistry),
+                Runnable::run,
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.empty(),
+                Optional.of(new IdempotencyFilter(new QueueMetrics(meterRegistry), new IdempotencyProperties(
+                        true, IdempotencyProperties.KeySource.ATTRIBUTE, "order-key", null, null, 1000))));
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build()));
+
+        service.consumeMessages("test-queue", new ConsumeRequest(1, 0, null, List.of(), List.of("traceId"))).join();
+        var receives = new AtomicInteger();
+        service.streamMessages("test-queue", new StreamConsumeRequest(100, 10, 1, 60, null), response -> true,
+                () -> receives.incrementAndGet() > 1).join();
+
+        var captor = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(sqsAsyncClient, times(2)).receiveMessage(captor.capture());
+        assertEquals(List.of("traceId", PublishTimestamps.ATTRIBUTE, "order-key"),
+                captor.getAllValues().get(0).messageAttributeNames());
+        assertEquals(List.of(PublishTimestamps.ATTRIBUTE, "order-key"),
+                captor.getAllValues().get(1).messageAttributeNames());
+    }
+
+    @Test
+    void shouldDeleteMessageThroughCoalescer() {
+        when(deleteCoalescer.submit("test-queue", "test-receipt-handle"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        messageConsumerService.deleteMessage("test-queue", "test-receipt-handle").join();
+
+        verify(deleteCoalescer).submit("test-queue", "test-receipt-handle");
+        verify(sqsAsyncClient, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    void shouldInvalidateQueueUrlWhenCoalescedDeleteFails() {
+        var missing = QueueDoesNotExistException.builder().message("Queue does not exist").build();
+        when(deleteCoalescer.submit("test-queue", "test-receipt-handle"))
+                .thenReturn(CompletableFuture.failedFuture(missing));
+
+        assertThrows(CompletionException.class,
+                () -> messageConsumerService.deleteMessage("test-queue", "test-receipt-handle").join());
+
+        verify(queueUrlResolver).invalidateIfMissing(eq("test-queue"), any(Throwable.class));
+    }
+
+    @Test
+    void shouldReportFailedAcknowledgements() {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        when(sqsAsyncClient.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    DeleteMessageBatchRequest request = invocation.getArgument(0);
+                    var response = DeleteMessageBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .filter(entry -> !entry.receiptHandle().equals("handle-3"))
+                                    .map(entry -> DeleteMessageBatchResultEntry.builder().id(entry.id()).build())
+                                    .toList())
+                            .failed(request.entries().stream()
+                                    .filter(entry -> entry.receiptHandle().equals("handle-3"))
+                                    .map(entry -> BatchResultErrorEntry.builder()
+                                            .id(entry.id())
+                                            .code("ReceiptHandleIsInvalid")
+                                            .senderFault(true)
+                                            .build())
+                                    .toList())
+                            .build();
+                    return CompletableFuture.completedFuture(response);
+                });
+
+        var handles = java.util.stream.IntStream.range(0, 12)
+                .mapToObj(i -> "handle-" + i)
+                .toList();
+
+        var result = messageConsumerService.acknowledgeMessages("test-queue", handles).join();
+
+        assertEquals(11, result.acknowledged());
+        assertEquals(1, result.failed().size());
+        assertEquals("handle-3", result.failed().get(0).receiptHandle());
+        assertFalse(result.failed().get(0).retryable());
+        verify(sqsAsyncClient, times(2)).deleteMessageBatch(any(DeleteMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldStreamMessagesUntilLimit() throws Exception {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        var message = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle("test-receipt-handle")
+                .body("{\"message\":\"test\"}")
+                .build();
+
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message, message)
+                        .build()));
+
+        when(objectMapper.readTree(anyString()))
+                .thenReturn(new com.fasterxml.jackson.databind.ObjectMapper().readTree("{\"message\":\"test\"}"));
+
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        var emitted = new ArrayList<MessageResponse>();
+        var count = messageConsumerService.streamMessages(
+                "test-queue", new StreamConsumeRequest(3, 10, 0, 5, null), emitted::add, () -> false).join();
+
+        assertEquals(3, count);
+        assertEquals(3, emitted.size());
+        verify(sqsAsyncClient, times(2)).receiveMessage(any(ReceiveMessageRequest.class));
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().size() == 1 && request.entries().get(0).visibilityTimeout() == 0));
+    }
+
+    @Test
+    void shouldStopStreamingWhenClientDisconnects() throws Exception {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        var message = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle("test-receipt-handle")
+                .body("{\"message\":\"test\"}")
+                .build();
+
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message)
+                        .build()));
+
+        when(objectMapper.readTree(anyString()))
+                .thenReturn(new com.fasterxml.jackson.databind.ObjectMapper().readTree("{\"message\":\"test\"}"));
+
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        var count = messageConsumerService.streamMessages(
+                "test-queue", new StreamConsumeRequest(100, 10, 0, 5, null), response -> false, () -> false).join();
+
+        assertEquals(0, count);
+        verify(sqsAsyncClient, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().get(0).receiptHandle().equals("test-receipt-handle")
+                        && request.entries().get(0).visibilityTimeout() == 0));
+    }
+
+    @Test
+    void shouldNotPollAgainAfterStreamIsClosed() {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder().build()));
+
+        var receives = new AtomicInteger();
+        var count = messageConsumerService.streamMessages(
+                "test-queue", new StreamConsumeRequest(100, 10, 0, 60, null), response -> true,
+                () -> receives.incrementAndGet() > 1).join();
+
+        assertEquals(0, count);
+        verify(sqsAsyncClient, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    void shouldServeConsumeFromPrefetchBuffer() throws Exception {
+        var message = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle("test-receipt-handle")
+                .body("{\"message\":\"test\"}")
+                .build();
+
+        when(prefetchBuffer.supports("test-queue")).thenReturn(true);
+        when(prefetchBuffer.take("test-queue", 1)).thenReturn(List.of(message));
+        when(objectMapper.readTree(anyString()))
+                .thenReturn(new com.fasterxml.jackson.databind.ObjectMapper().readTree("{\"message\":\"test\"}"));
+
+        var result = messageConsumerService.consumeMessages("test-queue", consumeRequest).join();
+
+        assertEquals(1, result.size());
+        verify(sqsAsyncClient, never()).receiveMessage(any(ReceiveMessageRequest.class));
+    }
+
+    @Test
+    void shouldRecordEndToEndLatencyFromPublishTimestamp() throws Exception {
+        var publishedAtMicros = PublishTimestamps.nowMicros() - 250_000;
+        var message = Message.builder()
+                .messageId("test-message-id")
+                .receiptHandle("test-receipt-handle")
+                .body("{\"message\":\"test\"}")
+                .messageAttributes(PublishTimestamps.stamp(Map.of(), publishedAtMicros))
+                .build();
+
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message)
+                        .build()));
+        when(objectMapper.readTree(anyString()))
+                .thenReturn(new com.fasterxml.jackson.databind.ObjectMapper().readTree("{\"message\":\"test\"}"));
+
+        var result = messageConsumerService.consumeMessages("test-queue", consumeRequest).join();
+
+        var timer = meterRegistry.get("sqs.message.e2e.latency").tag("queue_name", "test-queue").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 250);
+        assertFalse(result.get(0).messageAttributes().containsKey(PublishTimestamps.ATTRIBUTE));
+    }
 }
@@ -1,19 +1,29 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.config.PublisherBatchProperties;
 import com.aws.sqs.model.dto.MessageRequest;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,16 +35,27 @@ class MessagePublisherServiceTest {
     @Mock
     private SqsAsyncClient sqsAsyncClient;
 
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
     @Mock
     private ObjectMapper objectMapper;
 
-    @InjectMocks
     private MessagePublisherService messagePublisherService;
 
     private MessageRequest messageRequest;
 
     @BeforeEach
     void setUp() {
+        messagePublisherService = new MessagePublisherService(
+                sqsAsyncClient,
+                objectMapper,
+                queueUrlResolver,
+                new PublisherBatchProperties(2, Duration.ZERO),
+                Optional.empty(),
+                Optional.empty()
+        );
+
         Map<String, Object> body = new HashMap<>();
         body.put("message", "test");
         messageRequest = new MessageRequest(body);
@@ -42,16 +63,12 @@ class MessagePublisherServiceTest {
 
     @Test
     void shouldPublishMessageSuccessfully() throws Exception {
-        var getQueueUrlResponse = GetQueueUrlResponse.builder()
-                .queueUrl("http://localhost:4566/000000000000/test-queue")
-                .build();
-
         var sendMessageResponse = SendMessageResponse.builder()
                 .messageId("test-message-id")
                 .build();
 
-        when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
-                .thenReturn(CompletableFuture.completedFuture(getQueueUrlResponse));
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
 
         when(objectMapper.writeValueAsString(any()))
                 .thenReturn("{\"message\":\"test\"}");
@@ -65,4 +82,180 @@ class MessagePublisherServiceTest {
         assertEquals("test-message-id", result);
         verify(sqsAsyncClient, times(1)).sendMessage(any(SendMessageRequest.class));
     }
+
+    @Test
+    void shouldPublishFifoMessageWithGroupAndDeduplicationIds() throws Exception {
+        when(queueUrlResolver.resolve("orders.fifo"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/orders.fifo"));
+        when(objectMapper.writeValueAsString(any()))
+                .thenReturn("{\"message\":\"test\"}");
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("id").build()));
+
+        messagePublisherService.publishMessage("orders.fifo",
+                new MessageRequest(Map.of("message", "test"), "customer-1", "order-1")).join();
+
+        var captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsAsyncClient).sendMessage(captor.capture());
+        assertEquals("customer-1", captor.getValue().messageGroupId());
+        assertEquals("order-1", captor.getValue().messageDeduplicationId());
+    }
+
+    @Test
+    void shouldPublishBatchInChunksOfTen() throws Exception {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        when(objectMapper.writeValueAsString(any()))
+                .thenReturn("{\"message\":\"test\"}");
+
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    SendMessageBatchRequest request = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(SendMessageBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .map(entry -> SendMessageBatchResultEntry.builder()
+                                            .id(entry.id())
+                                            .messageId("message-" + entry.id())
+                                            .build())
+                                    .toList())
+                            .build());
+                });
+
+        var result = messagePublisherService.publishBatch(
+                "test-queue", Collections.nCopies(25, messageRequest)).join();
+
+        assertEquals(25, result.size());
+        assertTrue(result.stream().allMatch(entry -> entry.success()));
+        assertEquals("message-24", result.get(24).messageId());
+        verify(sqsAsyncClient, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldRetryOnlyFailedBatchEntries() throws Exception {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+
+        when(objectMapper.writeValueAsString(any()))
+                .thenReturn("{\"message\":\"test\"}");
+
+        var partialFailure = SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("0").messageId("message-0").build())
+                .failed(
+                        BatchResultErrorEntry.builder().id("1").code("InternalError").senderFault(false).build(),
+                        BatchResultErrorEntry.builder().id("2").code("InvalidMessageContents").senderFault(true).build())
+                .build();
+
+        var retrySuccess = SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("1").messageId("message-1").build())
+                .build();
+
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(partialFailure))
+                .thenReturn(CompletableFuture.completedFuture(retrySuccess));
+
+        var result = messagePublisherService.publishBatch(
+                "test-queue", List.of(messageRequest, messageRequest, messageRequest)).join();
+
+        assertTrue(result.get(0).success());
+        assertTrue(result.get(1).success());
+        assertFalse(result.get(2).success());
+        assertEquals("InvalidMessageContents", result.get(2).errorCode());
+        verify(sqsAsyncClient, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldStopFifoGroupAtFirstFailureWithoutRetryingOutOfOrder() throws Exception {
+        when(queueUrlResolver.resolve("orders.fifo"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/orders.fifo"));
+        when(objectMapper.writeValueAsString(any()))
+                .thenReturn("{\"message\":\"test\"}");
+
+        var messages = new ArrayList<MessageRequest>();
+        for (int i = 0; i < 11; i++) {
+            messages.add(new MessageRequest(Map.of("index", i), i == 3 ? "h" : "g", "dedup-" + i));
+        }
+
+        var firstChunk = SendMessageBatchResponse.builder()
+                .successful(IntStream.of(0, 2, 4, 5, 6, 7, 8, 9)
+                        .mapToObj(i -> SendMessageBatchResultEntry.builder()
+                                .id(String.valueOf(i)).messageId("message-" + i).build())
+                        .toList())
+                .failed(
+                        BatchResultErrorEntry.builder().id("1").code("InternalError").senderFault(false).build(),
+                        BatchResultErrorEntry.builder().id("3").code("InternalError").senderFault(false).build())
+                .build();
+        var retry = SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("3").messageId("message-3").build())
+                .build();
+
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(firstChunk))
+                .thenReturn(CompletableFuture.completedFuture(retry));
+
+        var result = messagePublisherService.publishBatch("orders.fifo", messages).join();
+
+        assertFalse(result.get(1).success());
+        assertEquals("InternalError", result.get(1).errorCode());
+        assertTrue(result.get(3).success());
+        assertFalse(result.get(10).success());
+        assertEquals("MessageGroupFailed", result.get(10).errorCode());
+
+        var captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsAsyncClient, times(2)).sendMessageBatch(captor.capture());
+        assertEquals(List.of("3"), captor.getAllValues().get(1).entries().stream()
+                .map(SendMessageBatchRequestEntry::id)
+                .toList());
+    }
+
+    @Test
+    void shouldPublishRawBodyWithoutReserializing() throws Exception {
+        var raw = "{\"message\": \"test\", \"nested\": {\"a\": [1, 2]}}";
+
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(objectMapper.getFactory()).thenReturn(new JsonFactory());
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        SendMessageResponse.builder().messageId("raw-message-id").build()));
+
+        var result = messagePublisherService.publishRawMessage(
+                "test-queue", raw.getBytes(StandardCharsets.UTF_8), true, null, null).join();
+
+        assertEquals("raw-message-id", result);
+        var captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsAsyncClient).sendMessage(captor.capture());
+        assertEquals(raw, captor.getValue().messageBody());
+        assertEquals("Number", captor.getValue().messageAttributes().get(PublishTimestamps.ATTRIBUTE).dataType());
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void shouldRejectInvalidRawBodyWhenValidating() {
+        when(objectMapper.getFactory()).thenReturn(new JsonFactory());
+
+        var result = messagePublisherService.publishRawMessage(
+                "test-queue", "{\"message\": ".getBytes(StandardCharsets.UTF_8), true, null, null);
+
+        var error = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        verifyNoInteractions(sqsAsyncClient);
+    }
+
+    @Test
+    void shouldPublishRawFifoMessageWithGroupAndDeduplicationIds() {
+        when(queueUrlResolver.resolve("orders.fifo"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/orders.fifo"));
+        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        SendMessageResponse.builder().messageId("raw-fifo-id").build()));
+
+        messagePublisherService.publishRawMessage("orders.fifo", "order-42".getBytes(StandardCharsets.UTF_8),
+                false, "customer-7", "order-42").join();
+
+        var captor = ArgumentCaptor.forClass(SendMessageRequest.class);
+        verify(sqsAsyncClient).sendMessage(captor.capture());
+        assertEquals("customer-7", captor.getValue().messageGroupId());
+        assertEquals("order-42", captor.getValue().messageDeduplicationId());
+    }
 }
@@ -0,0 +1,71 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.aws.memory.InMemorySqsAsyncClient;
+import com.aws.sqs.config.PrefetchProperties;
+import com.aws.sqs.config.QueueUrlCacheProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrefetchBufferInMemoryTest {
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    private InMemorySqsAsyncClient client;
+    private PrefetchBuffer prefetchBuffer;
+
+    @BeforeEach
+    void setUp() {
+        client = new InMemorySqsAsyncClient("us-east-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (prefetchBuffer != null) {
+            prefetchBuffer.shutdown();
+        }
+        client.close();
+    }
+
+    @Test
+    void shouldNotRedriveMessagesWhileWaitingForSlowConsumer() throws InterruptedException {
+        var dlqUrl = client.createQueue(request -> request.queueName("orders-dlq")).join().queueUrl();
+        var dlqArn = client.getQueueAttributes(request -> request.queueUrl(dlqUrl)
+                .attributeNamesWithStrings("QueueArn")).join().attributesAsStrings().get("QueueArn");
+        var queueUrl = client.createQueue(request -> request.queueName("orders").attributesWithStrings(Map.of(
+                "RedrivePolicy", "{\"deadLetterTargetArn\":\"" + dlqArn + "\",\"maxReceiveCount\":3}"))).join().queueUrl();
+        for (int i = 0; i < 3; i++) {
+            var body = "{\"id\":" + i + "}";
+            client.sendMessage(request -> request.queueUrl(queueUrl).messageBody(body)).join();
+        }
+        prefetchBuffer = new PrefetchBuffer(client,
+                new QueueUrlResolver(client, queueMetrics, new QueueUrlCacheProperties(null, null)),
+                queueMetrics,
+                new PrefetchProperties(true, List.of(), 10, Duration.ofSeconds(1), Duration.ofMillis(500), 0,
+                        Duration.ofMillis(100)));
+
+        int consumed = 0;
+        for (int attempt = 0; attempt < 20 && consumed < 3; attempt++) {
+            for (var message : prefetchBuffer.take("orders", 1)) {
+                client.deleteMessage(request -> request.queueUrl(queueUrl).receiptHandle(message.receiptHandle())).join();
+                consumed++;
+            }
+            Thread.sleep(600);
+        }
+
+        assertEquals(3, consumed);
+        assertTrue(client.receiveMessage(request -> request.queueUrl(dlqUrl)).join().messages().isEmpty());
+    }
+}
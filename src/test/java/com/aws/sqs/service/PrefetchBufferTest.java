@@ -0,0 +1,150 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.PrefetchProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrefetchBufferTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    private PrefetchBuffer prefetchBuffer;
+
+    @BeforeEach
+    void setUp() {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                        .attributes(Map.of(QueueAttributeName.REDRIVE_POLICY,
+                                "{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:test-queue-dlq\",\"maxReceiveCount\":3}"))
+                        .build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (prefetchBuffer != null) {
+            prefetchBuffer.shutdown();
+        }
+    }
+
+    @Test
+    void shouldServeMessagesFromBufferAfterRefill() {
+        prefetchBuffer = buffer(Duration.ofSeconds(30), Duration.ofSeconds(5));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message("1"), message("2"), message("3"))
+                        .build()));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        assertTrue(prefetchBuffer.take("test-queue", 3).isEmpty());
+        assertEquals(3, prefetchBuffer.depth("test-queue"));
+
+        var taken = prefetchBuffer.take("test-queue", 2);
+
+        assertEquals(List.of("message-1", "message-2"), taken.stream().map(Message::messageId).toList());
+        verify(queueMetrics).incrementPrefetchLookup("test-queue", "hit");
+    }
+
+    @Test
+    void shouldReleaseMessagesCloseToVisibilityExpiry() {
+        prefetchBuffer = buffer(Duration.ofSeconds(1), Duration.ofSeconds(5));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message("1"), message("2"))
+                        .build()));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        prefetchBuffer.take("test-queue", 1);
+        prefetchBuffer.releaseExpiring();
+
+        assertEquals(0, prefetchBuffer.depth("test-queue"));
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().size() == 2 && request.entries().get(0).visibilityTimeout() == 0));
+        verify(queueMetrics).incrementPrefetchReleased("test-queue", 2);
+    }
+
+    @Test
+    void shouldOnlyPrefetchRecentDemand() {
+        prefetchBuffer = buffer(Duration.ofSeconds(30), Duration.ofSeconds(5));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message("1"))
+                        .build()));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        prefetchBuffer.take("test-queue", 1);
+
+        assertEquals(1, prefetchBuffer.depth("test-queue"));
+        verify(sqsAsyncClient).receiveMessage(argThat((ReceiveMessageRequest request) -> request.maxNumberOfMessages() == 1));
+    }
+
+    @Test
+    void shouldExtendMessagesNearRedriveLimitInsteadOfReleasing() {
+        prefetchBuffer = buffer(Duration.ofSeconds(1), Duration.ofSeconds(5));
+        when(sqsAsyncClient.receiveMessage(any(ReceiveMessageRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ReceiveMessageResponse.builder()
+                        .messages(message("1", 1), message("2", 2))
+                        .build()));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().build()));
+
+        prefetchBuffer.take("test-queue", 2);
+        prefetchBuffer.releaseExpiring();
+
+        assertEquals(1, prefetchBuffer.depth("test-queue"));
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().size() == 1 && request.entries().get(0).receiptHandle().equals("receipt-1")
+                        && request.entries().get(0).visibilityTimeout() == 0));
+        verify(sqsAsyncClient).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().size() == 1 && request.entries().get(0).receiptHandle().equals("receipt-2")
+                        && request.entries().get(0).visibilityTimeout() == 1));
+        verify(queueMetrics).incrementPrefetchReleased("test-queue", 1);
+    }
+
+    private PrefetchBuffer buffer(Duration visibilityTimeout, Duration releaseMargin) {
+        return new PrefetchBuffer(sqsAsyncClient, queueUrlResolver, queueMetrics, new PrefetchProperties(
+                true, List.of(), 10, visibilityTimeout, releaseMargin, 0, Duration.ofHours(1)));
+    }
+
+    private Message message(String id) {
+        return Message.builder()
+                .messageId("message-" + id)
+                .receiptHandle("receipt-" + id)
+                .body("{}")
+                .build();
+    }
+
+    private Message message(String id, int receiveCount) {
+        return message(id).toBuilder()
+                .attributes(Map.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, String.valueOf(receiveCount)))
+                .build();
+    }
+}
@@ -1,16 +1,21 @@
 package com.aws.sqs.service;
 
+import com.aws.sqs.config.QueueListingProperties;
 import com.aws.sqs.model.dto.QueueCreateRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,13 +27,20 @@ class QueueManagementServiceTest {
     @Mock
     private SqsAsyncClient sqsAsyncClient;
 
-    @InjectMocks
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
     private QueueManagementService queueManagementService;
 
     private QueueCreateRequest request;
 
     @BeforeEach
     void setUp() {
+        queueManagementService = new QueueManagementService(
+                sqsAsyncClient,
+                queueUrlResolver,
+                new QueueListingProperties(2, 2, false, null)
+        );
         request = new QueueCreateRequest(
                 "test-queue",
                 false,
@@ -63,6 +75,36 @@ class QueueManagementServiceTest {
         verify(sqsAsyncClient, times(1)).createQueue(any(CreateQueueRequest.class));
     }
 
+    @Test
+    void shouldCreateHighThroughputFifoQueueWithFifoDlq() {
+        var fifoRequest = new QueueCreateRequest("orders", true, 5, 30, 345600, true, true, true);
+        when(sqsAsyncClient.createQueue(any(CreateQueueRequest.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(CreateQueueResponse.builder()
+                        .queueUrl("http://localhost:4566/000000000000/"
+                                + invocation.<CreateQueueRequest>getArgument(0).queueName())
+                        .build()));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                        .attributes(java.util.Map.of(
+                                QueueAttributeName.QUEUE_ARN, "arn:aws:sqs:us-east-1:000000000000:orders-dlq.fifo"))
+                        .build()));
+
+        var result = queueManagementService.createQueue(fifoRequest).join();
+
+        assertEquals("orders.fifo", result.queueName());
+        var captor = ArgumentCaptor.forClass(CreateQueueRequest.class);
+        verify(sqsAsyncClient, times(2)).createQueue(captor.capture());
+        var dlq = captor.getAllValues().get(0);
+        assertEquals("orders-dlq.fifo", dlq.queueName());
+        assertEquals("true", dlq.attributes().get(QueueAttributeName.FIFO_QUEUE));
+        var queue = captor.getAllValues().get(1);
+        assertEquals("orders.fifo", queue.queueName());
+        assertEquals("true", queue.attributes().get(QueueAttributeName.FIFO_QUEUE));
+        assertEquals("true", queue.attributes().get(QueueAttributeName.CONTENT_BASED_DEDUPLICATION));
+        assertEquals("messageGroup", queue.attributes().get(QueueAttributeName.DEDUPLICATION_SCOPE));
+        assertEquals("perMessageGroupId", queue.attributes().get(QueueAttributeName.FIFO_THROUGHPUT_LIMIT));
+    }
+
     @Test
     void shouldHandleCreateQueueError() {
         when(sqsAsyncClient.createQueue(any(CreateQueueRequest.class)))
@@ -72,4 +114,107 @@ class QueueManagementServiceTest {
             queueManagementService.createQueue(request).join();
         });
     }
+
+    @Test
+    void shouldFollowNextTokenWithPrefix() {
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls(queueUrl("orders-1"), queueUrl("orders-2"))
+                        .nextToken("page-2")
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls(queueUrl("orders-3"))
+                        .build()));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueAttributesResponse.builder().build()));
+
+        var result = queueManagementService.listQueues("orders").join();
+
+        assertEquals(List.of("orders-1", "orders-2", "orders-3"),
+                result.stream().map(queue -> queue.queueName()).toList());
+        var captor = ArgumentCaptor.forClass(ListQueuesRequest.class);
+        verify(sqsAsyncClient, times(2)).listQueues(captor.capture());
+        assertEquals("orders", captor.getAllValues().get(0).queueNamePrefix());
+        assertNull(captor.getAllValues().get(0).nextToken());
+        assertEquals("page-2", captor.getAllValues().get(1).nextToken());
+    }
+
+    @Test
+    void shouldSkipQueuesDeletedWhileListing() {
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls(queueUrl("orders-1"), queueUrl("orders-2"), queueUrl("orders-3"))
+                        .build()));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenAnswer(invocation -> {
+                    GetQueueAttributesRequest request = invocation.getArgument(0);
+                    if (request.queueUrl().endsWith("orders-2")) {
+                        return CompletableFuture.failedFuture(QueueDoesNotExistException.builder()
+                                .message("The specified queue does not exist").build());
+                    }
+                    return CompletableFuture.completedFuture(GetQueueAttributesResponse.builder().build());
+                });
+
+        var result = queueManagementService.listQueues(null).join();
+
+        assertEquals(List.of("orders-1", "orders-3"), result.stream().map(queue -> queue.queueName()).toList());
+    }
+
+    @Test
+    void shouldBoundConcurrentAttributeFetches() {
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls(queueUrl("a"), queueUrl("b"), queueUrl("c"), queueUrl("d"), queueUrl("e"))
+                        .build()));
+
+        var pending = new ArrayList<CompletableFuture<GetQueueAttributesResponse>>();
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenAnswer(invocation -> {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    var future = new CompletableFuture<GetQueueAttributesResponse>();
+                    pending.add(future);
+                    return future;
+                });
+
+        var result = queueManagementService.listQueues(null);
+        while (!pending.isEmpty()) {
+            var next = pending.remove(0);
+            inFlight.decrementAndGet();
+            next.complete(GetQueueAttributesResponse.builder().build());
+        }
+
+        assertEquals(5, result.join().size());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void shouldServeListingFromSnapshot() {
+        queueManagementService = new QueueManagementService(
+                sqsAsyncClient,
+                queueUrlResolver,
+                new QueueListingProperties(null, null, true, null)
+        );
+        when(sqsAsyncClient.listQueues(any(ListQueuesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(ListQueuesResponse.builder()
+                        .queueUrls(queueUrl("orders"), queueUrl("payments"))
+                        .build()));
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                        .attributes(Map.of(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "3"))
+                        .build()));
+
+        queueManagementService.refreshSnapshot().join();
+        var result = queueManagementService.listQueues("pay").join();
+
+        assertEquals(1, result.size());
+        assertEquals("payments", result.get(0).queueName());
+        assertEquals("3", result.get(0).attributes().get("ApproximateNumberOfMessages"));
+        verify(sqsAsyncClient, times(1)).listQueues(any(ListQueuesRequest.class));
+    }
+
+    private static String queueUrl(String queueName) {
+        return "http://localhost:4566/000000000000/" + queueName;
+    }
 }
@@ -0,0 +1,105 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.QueueUrlCacheProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.QueueDoesNotExistException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueueUrlResolverTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/test-queue";
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    private QueueUrlResolver queueUrlResolver;
+
+    @BeforeEach
+    void setUp() {
+        queueUrlResolver = new QueueUrlResolver(
+                sqsAsyncClient,
+                queueMetrics,
+                new QueueUrlCacheProperties(2, Duration.ofMinutes(5))
+        );
+    }
+
+    @Test
+    void shouldCacheResolvedQueueUrl() {
+        when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(urlResponse(QUEUE_URL)));
+
+        assertEquals(QUEUE_URL, queueUrlResolver.resolve("test-queue").join());
+        assertEquals(QUEUE_URL, queueUrlResolver.resolve("test-queue").join());
+
+        verify(sqsAsyncClient, times(1)).getQueueUrl(any(GetQueueUrlRequest.class));
+        verify(queueMetrics).incrementQueueUrlCacheLookup("test-queue", "miss");
+        verify(queueMetrics).incrementQueueUrlCacheLookup("test-queue", "hit");
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookups() {
+        var pending = new CompletableFuture<GetQueueUrlResponse>();
+        when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class))).thenReturn(pending);
+
+        var first = queueUrlResolver.resolve("test-queue");
+        var second = queueUrlResolver.resolve("test-queue");
+        pending.complete(urlResponse(QUEUE_URL));
+
+        assertEquals(QUEUE_URL, first.join());
+        assertEquals(QUEUE_URL, second.join());
+        verify(sqsAsyncClient, times(1)).getQueueUrl(any(GetQueueUrlRequest.class));
+    }
+
+    @Test
+    void shouldNotCacheFailedLookups() {
+        when(sqsAsyncClient.getQueueUrl(any(GetQueueUrlRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(QueueDoesNotExistException.builder().message("missing").build()))
+                .thenReturn(CompletableFuture.completedFuture(urlResponse(QUEUE_URL)));
+
+        assertThrows(CompletionException.class, () -> queueUrlResolver.resolve("test-queue").join());
+        assertEquals(QUEUE_URL, queueUrlResolver.resolve("test-queue").join());
+        verify(sqsAsyncClient, times(2)).getQueueUrl(any(GetQueueUrlRequest.class));
+    }
+
+    @Test
+    void shouldInvalidateWhenQueueDoesNotExist() {
+        queueUrlResolver.prime("test-queue", QUEUE_URL);
+
+        queueUrlResolver.invalidateIfMissing("test-queue", new RuntimeException(
+                new CompletionException(QueueDoesNotExistException.builder().message("missing").build())));
+
+        assertEquals(0, queueUrlResolver.size());
+    }
+
+    @Test
+    void shouldBoundCacheSize() {
+        queueUrlResolver.prime("queue-a", "url-a");
+        queueUrlResolver.prime("queue-b", "url-b");
+        queueUrlResolver.prime("queue-c", "url-c");
+
+        assertEquals(2, queueUrlResolver.size());
+    }
+
+    private GetQueueUrlResponse urlResponse(String queueUrl) {
+        return GetQueueUrlResponse.builder().queueUrl(queueUrl).build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.aws.memory.InMemorySnsAsyncClient;
+import com.aws.sqs.aws.memory.InMemorySqsAsyncClient;
+import com.aws.sqs.config.QueueUrlCacheProperties;
+import com.aws.sqs.config.TopicPublisherProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import com.aws.sqs.model.dto.SubscriptionRequest;
+import com.aws.sqs.model.dto.TopicCreateRequest;
+import com.aws.sqs.model.dto.TopicMessageRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sns.model.NotFoundException;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class TopicManagementServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InMemorySqsAsyncClient sqsClient;
+    private InMemorySnsAsyncClient snsClient;
+    private TopicManagementService topicManagementService;
+    private TopicPublisherService topicPublisherService;
+
+    @BeforeEach
+    void setUp() {
+        sqsClient = new InMemorySqsAsyncClient("us-east-1");
+        snsClient = new InMemorySnsAsyncClient("us-east-1", sqsClient);
+        var queueUrlResolver = new QueueUrlResolver(
+                sqsClient,
+                new QueueMetrics(new SimpleMeterRegistry()),
+                new QueueUrlCacheProperties(10, Duration.ofMinutes(5))
+        );
+        var topicArnResolver = new TopicArnResolver(snsClient);
+        topicManagementService = new TopicManagementService(
+                snsClient, sqsClient, queueUrlResolver, topicArnResolver, objectMapper);
+        topicPublisherService = new TopicPublisherService(
+                snsClient, objectMapper, topicArnResolver, new TopicPublisherProperties(null, null, null), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        snsClient.close();
+        sqsClient.close();
+    }
+
+    @Test
+    void shouldFanOutPublishedMessagesToFilteredSubscriptions() {
+        topicManagementService.createTopic(new TopicCreateRequest("orders")).join();
+        var allUrl = createQueue("all-orders");
+        var createdUrl = createQueue("created-orders");
+        topicManagementService.subscribeQueue("orders", new SubscriptionRequest("all-orders")).join();
+        topicManagementService.subscribeQueue("orders", new SubscriptionRequest(
+                "created-orders", true, Map.of("type", List.of("created")), null)).join();
+
+        var results = topicPublisherService.publishBatch("orders", List.of(
+                new TopicMessageRequest(Map.of("id", 1), Map.of("type", "created")),
+                new TopicMessageRequest(Map.of("id", 2), Map.of("type", "cancelled")))).join();
+
+        assertTrue(results.stream().allMatch(entry -> entry.success()));
+        assertEquals(List.of("{\"id\":1}", "{\"id\":2}"), bodies(allUrl));
+        assertEquals(List.of("{\"id\":1}"), bodies(createdUrl));
+        assertEquals(2, topicManagementService.listSubscriptions("orders").join().size());
+    }
+
+    @Test
+    void shouldMergeTopicStatementIntoExistingQueuePolicy() throws Exception {
+        var queueUrl = createQueue("audited");
+        var existing = "{\"Version\":\"2012-10-17\",\"Statement\":[{\"Sid\":\"owner\",\"Effect\":\"Allow\","
+                + "\"Principal\":{\"AWS\":\"000000000000\"},\"Action\":\"sqs:*\",\"Resource\":\"*\"}]}";
+        sqsClient.setQueueAttributes(request -> request.queueUrl(queueUrl)
+                .attributesWithStrings(Map.of("Policy", existing))).join();
+
+        var topic = topicManagementService.createTopic(new TopicCreateRequest("audit")).join();
+        var subscription = topicManagementService.subscribeQueue("audit", new SubscriptionRequest("audited")).join();
+        topicManagementService.subscribeQueue("audit", new SubscriptionRequest("audited")).join();
+
+        var statements = policy(queueUrl).get("Statement");
+        assertEquals(2, statements.size());
+        assertEquals("owner", statements.get(0).get("Sid").asText());
+        var granted = statements.get(1);
+        assertEquals("topic-audit", granted.get("Sid").asText());
+        assertEquals("sns.amazonaws.com", granted.at("/Principal/Service").asText());
+        assertEquals(subscription.endpoint(), granted.get("Resource").asText());
+        assertEquals(topic.topicArn(), granted.at("/Condition/ArnEquals/aws:SourceArn").asText());
+    }
+
+    @Test
+    void shouldKeepEveryTopicStatementWhenSubscribingConcurrently() throws Exception {
+        var queueUrl = createQueue("shared");
+        var topics = List.of("alpha", "beta", "gamma", "delta");
+        for (var topic : topics) {
+            topicManagementService.createTopic(new TopicCreateRequest(topic)).join();
+        }
+        var slowReads = spy(sqsClient);
+        doAnswer(invocation -> ((CompletableFuture<?>) invocation.callRealMethod()).thenApplyAsync(response -> response,
+                CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS)))
+                .when(slowReads).getQueueAttributes(any(GetQueueAttributesRequest.class));
+        var service = new TopicManagementService(snsClient, slowReads,
+                new QueueUrlResolver(slowReads, new QueueMetrics(new SimpleMeterRegistry()),
+                        new QueueUrlCacheProperties(10, Duration.ofMinutes(5))),
+                new TopicArnResolver(snsClient), objectMapper);
+
+        CompletableFuture.allOf(topics.stream()
+                .map(topic -> service.subscribeQueue(topic, new SubscriptionRequest("shared")))
+                .toArray(CompletableFuture[]::new)).join();
+
+        var sids = new ArrayList<String>();
+        policy(queueUrl).get("Statement").forEach(statement -> sids.add(statement.get("Sid").asText()));
+        assertEquals(topics.stream().map(topic -> "topic-" + topic).sorted().toList(), sids.stream().sorted().toList());
+    }
+
+    @Test
+    void shouldStopDeliveringAfterUnsubscribe() {
+        topicManagementService.createTopic(new TopicCreateRequest("notifications")).join();
+        var queueUrl = createQueue("inbox");
+        var subscription = topicManagementService.subscribeQueue(
+                "notifications", new SubscriptionRequest("inbox")).join();
+
+        topicManagementService.unsubscribe(subscription.subscriptionArn()).join();
+        topicPublisherService.publishMessage("notifications",
+                new TopicMessageRequest(Map.of("id", 1), Map.of())).join();
+
+        assertTrue(bodies(queueUrl).isEmpty());
+        assertTrue(topicManagementService.listSubscriptions("notifications").join().isEmpty());
+    }
+
+    @Test
+    void shouldFailWhenTopicDoesNotExist() {
+        createQueue("orphan");
+
+        var error = assertThrows(CompletionException.class, () -> topicManagementService
+                .subscribeQueue("missing", new SubscriptionRequest("orphan")).join());
+
+        assertInstanceOf(NotFoundException.class, rootCause(error));
+    }
+
+    private String createQueue(String name) {
+        return sqsClient.createQueue(request -> request.queueName(name)).join().queueUrl();
+    }
+
+    private List<String> bodies(String queueUrl) {
+        return sqsClient.receiveMessage(request -> request.queueUrl(queueUrl).maxNumberOfMessages(10))
+                .join().messages().stream()
+                .map(Message::body)
+                .sorted()
+                .toList();
+    }
+
+    private JsonNode policy(String queueUrl) throws Exception {
+        return objectMapper.readTree(sqsClient.getQueueAttributes(request -> request.queueUrl(queueUrl)
+                .attributeNamesWithStrings("Policy")).join().attributesAsStrings().get("Policy"));
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        var cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
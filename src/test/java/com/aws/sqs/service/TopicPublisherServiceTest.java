@@ -0,0 +1,142 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.TopicPublisherProperties;
+import com.aws.sqs.model.dto.TopicMessageRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.sns.SnsAsyncClient;
+import software.amazon.awssdk.services.sns.model.*;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopicPublisherServiceTest {
+
+    private static final String TOPIC_ARN = "arn:aws:sns:us-east-1:000000000000:test-topic";
+
+    @Mock
+    private SnsAsyncClient snsAsyncClient;
+
+    @Mock
+    private TopicArnResolver topicArnResolver;
+
+    private TopicPublisherService topicPublisherService;
+
+    private TopicMessageRequest messageRequest;
+
+    @BeforeEach
+    void setUp() {
+        topicPublisherService = new TopicPublisherService(
+                snsAsyncClient,
+                new ObjectMapper(),
+                topicArnResolver,
+                new TopicPublisherProperties(2, Duration.ZERO, null),
+                Optional.empty()
+        );
+
+        messageRequest = new TopicMessageRequest(Map.of("message", "test"), Map.of("type", "created", "amount", 10));
+
+        when(topicArnResolver.resolve("test-topic")).thenReturn(CompletableFuture.completedFuture(TOPIC_ARN));
+    }
+
+    @Test
+    void shouldPublishMessageWithTypedAttributes() {
+        when(snsAsyncClient.publish(any(PublishRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(PublishResponse.builder().messageId("test-message-id").build()));
+
+        var result = topicPublisherService.publishMessage("test-topic", messageRequest).join();
+
+        assertEquals("test-message-id", result);
+        var captor = ArgumentCaptor.forClass(PublishRequest.class);
+        verify(snsAsyncClient).publish(captor.capture());
+        var request = captor.getValue();
+        assertEquals(TOPIC_ARN, request.topicArn());
+        assertEquals("{\"message\":\"test\"}", request.message());
+        assertEquals("String", request.messageAttributes().get("type").dataType());
+        assertEquals("Number", request.messageAttributes().get("amount").dataType());
+        assertEquals("10", request.messageAttributes().get("amount").stringValue());
+        assertTrue(request.messageAttributes().containsKey(PublishTimestamps.ATTRIBUTE));
+    }
+
+    @Test
+    void shouldPublishBatchInChunksOfTen() {
+        when(snsAsyncClient.publishBatch(any(PublishBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    PublishBatchRequest request = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(PublishBatchResponse.builder()
+                            .successful(request.publishBatchRequestEntries().stream()
+                                    .map(entry -> PublishBatchResultEntry.builder()
+                                            .id(entry.id())
+                                            .messageId("message-" + entry.id())
+                                            .build())
+                                    .toList())
+                            .build());
+                });
+
+        var result = topicPublisherService.publishBatch("test-topic", Collections.nCopies(25, messageRequest)).join();
+
+        assertEquals(25, result.size());
+        assertTrue(result.stream().allMatch(entry -> entry.success()));
+        assertEquals("message-24", result.get(24).messageId());
+        verify(snsAsyncClient, times(3)).publishBatch(any(PublishBatchRequest.class));
+    }
+
+    @Test
+    void shouldRetryOnlyTransientBatchFailures() {
+        var partialFailure = PublishBatchResponse.builder()
+                .successful(PublishBatchResultEntry.builder().id("0").messageId("message-0").build())
+                .failed(
+                        BatchResultErrorEntry.builder().id("1").code("InternalError").senderFault(false).build(),
+                        BatchResultErrorEntry.builder().id("2").code("InvalidParameter").senderFault(true).build())
+                .build();
+
+        var retrySuccess = PublishBatchResponse.builder()
+                .successful(PublishBatchResultEntry.builder().id("1").messageId("message-1").build())
+                .build();
+
+        when(snsAsyncClient.publishBatch(any(PublishBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(partialFailure))
+                .thenReturn(CompletableFuture.completedFuture(retrySuccess));
+
+        var result = topicPublisherService.publishBatch(
+                "test-topic", List.of(messageRequest, messageRequest, messageRequest)).join();
+
+        assertTrue(result.get(0).success());
+        assertTrue(result.get(1).success());
+        assertFalse(result.get(2).success());
+        assertEquals("InvalidParameter", result.get(2).errorCode());
+
+        var captor = ArgumentCaptor.forClass(PublishBatchRequest.class);
+        verify(snsAsyncClient, times(2)).publishBatch(captor.capture());
+        assertEquals(List.of("1"), captor.getAllValues().get(1).publishBatchRequestEntries().stream()
+                .map(PublishBatchRequestEntry::id)
+                .toList());
+    }
+
+    @Test
+    void shouldInvalidateTopicArnWhenTopicIsMissing() {
+        var notFound = NotFoundException.builder().message("Topic does not exist").statusCode(404).build();
+        when(snsAsyncClient.publish(any(PublishRequest.class))).thenReturn(CompletableFuture.failedFuture(notFound));
+
+        var error = assertThrows(CompletionException.class,
+                () -> topicPublisherService.publishMessage("test-topic", messageRequest).join());
+
+        assertEquals("Failed to publish message to topic: test-topic", error.getCause().getMessage());
+        verify(topicArnResolver).invalidateIfMissing(eq("test-topic"), any());
+    }
+}
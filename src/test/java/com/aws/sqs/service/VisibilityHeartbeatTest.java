@@ -0,0 +1,151 @@
+package com.aws.sqs.service;
+
+import com.aws.sqs.config.VisibilityHeartbeatProperties;
+import com.aws.sqs.metrics.QueueMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VisibilityHeartbeatTest {
+
+    @Mock
+    private SqsAsyncClient sqsAsyncClient;
+
+    @Mock
+    private QueueUrlResolver queueUrlResolver;
+
+    @Mock
+    private QueueMetrics queueMetrics;
+
+    private VisibilityHeartbeat visibilityHeartbeat;
+
+    @BeforeEach
+    void setUp() {
+        when(queueUrlResolver.resolve("test-queue"))
+                .thenReturn(CompletableFuture.completedFuture("http://localhost:4566/000000000000/test-queue"));
+        when(sqsAsyncClient.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    ChangeMessageVisibilityBatchRequest request = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .filter(entry -> !entry.receiptHandle().equals("deleted"))
+                                    .map(entry -> ChangeMessageVisibilityBatchResultEntry.builder().id(entry.id()).build())
+                                    .toList())
+                            .failed(request.entries().stream()
+                                    .filter(entry -> entry.receiptHandle().equals("deleted"))
+                                    .map(entry -> BatchResultErrorEntry.builder()
+                                            .id(entry.id())
+                                            .code("ReceiptHandleIsInvalid")
+                                            .senderFault(true)
+                                            .build())
+                                    .toList())
+                            .build());
+                });
+
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(GetQueueAttributesResponse.builder()
+                        .attributes(Map.of(QueueAttributeName.VISIBILITY_TIMEOUT, "30"))
+                        .build()));
+
+        visibilityHeartbeat = new VisibilityHeartbeat(sqsAsyncClient, queueUrlResolver, queueMetrics,
+                new VisibilityHeartbeatProperties(true, Duration.ofSeconds(30), Duration.ofSeconds(10),
+                        Duration.ofMinutes(15), Duration.ofHours(1), 8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        visibilityHeartbeat.shutdown();
+    }
+
+    @Test
+    void shouldExtendVisibilityInBatches() {
+        for (int i = 0; i < 25; i++) {
+            visibilityHeartbeat.track("test-queue", "receipt-" + i, Duration.ZERO);
+        }
+
+        visibilityHeartbeat.advance();
+
+        verify(sqsAsyncClient, times(3)).changeMessageVisibilityBatch(argThat((ChangeMessageVisibilityBatchRequest request) ->
+                request.entries().stream().allMatch(entry -> entry.visibilityTimeout() == 30)));
+        assertEquals(25, visibilityHeartbeat.trackedCount());
+    }
+
+    @Test
+    void shouldNotExtendUntrackedMessages() {
+        visibilityHeartbeat.track("test-queue", "receipt-1", Duration.ZERO);
+        visibilityHeartbeat.untrack("receipt-1");
+
+        visibilityHeartbeat.advance();
+
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        assertEquals(0, visibilityHeartbeat.trackedCount());
+    }
+
+    @Test
+    void shouldWaitForHeartbeatInterval() {
+        visibilityHeartbeat.track("test-queue", "receipt-1");
+
+        visibilityHeartbeat.advance();
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+
+        visibilityHeartbeat.advance();
+        verify(sqsAsyncClient, times(1)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void shouldDeriveFirstHeartbeatFromQueueVisibilityTimeout() {
+        visibilityHeartbeat.shutdown();
+        visibilityHeartbeat = new VisibilityHeartbeat(sqsAsyncClient, queueUrlResolver, queueMetrics,
+                new VisibilityHeartbeatProperties(true, Duration.ofMinutes(2), Duration.ofSeconds(10),
+                        Duration.ofMinutes(15), Duration.ofSeconds(10), 16));
+
+        visibilityHeartbeat.track("test-queue", "receipt-1");
+        visibilityHeartbeat.track("test-queue", "receipt-2");
+
+        visibilityHeartbeat.advance();
+        visibilityHeartbeat.advance();
+        verify(sqsAsyncClient, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+
+        visibilityHeartbeat.advance();
+        verify(sqsAsyncClient, times(1)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+        verify(sqsAsyncClient, times(1)).getQueueAttributes(any(GetQueueAttributesRequest.class));
+    }
+
+    @Test
+    void shouldExtendImmediatelyWhenVisibilityTimeoutIsUnknown() {
+        when(sqsAsyncClient.getQueueAttributes(any(GetQueueAttributesRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(SqsException.builder().message("boom").statusCode(500).build()));
+
+        visibilityHeartbeat.track("test-queue", "receipt-1");
+        visibilityHeartbeat.advance();
+
+        verify(sqsAsyncClient, times(1)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    void shouldStopTrackingRejectedReceiptHandles() {
+        visibilityHeartbeat.track("test-queue", "receipt-1", Duration.ZERO);
+        visibilityHeartbeat.track("test-queue", "deleted", Duration.ZERO);
+
+        visibilityHeartbeat.advance();
+
+        assertEquals(1, visibilityHeartbeat.trackedCount());
+    }
+}